@@ -0,0 +1,174 @@
+package com.andreamazzon.exercise3.montecarlo;
+
+/**
+ * This class accumulates the values of the single drawings of a Monte-Carlo
+ * computation, given in blocks, and gives their mean and the standard error of
+ * the mean, i.e., an estimate of the standard deviation of the mean. The
+ * values are never stored.
+ *
+ * The sum of a block is computed by four independent accumulators, every one
+ * summing every fourth value: in this way the additions do not have to wait for
+ * each other, and the processor can execute them together. Every accumulator
+ * uses Kahan compensated summation, so that the rounding error does not grow
+ * with the number of values. In order to compute the variance without
+ * cancellation, the values are shifted by the first one before summing them
+ * and their squares.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class BlockAccumulator {
+
+	private long numberOfValues;
+	private double shift;// the first value, subtracted from all the values
+
+	// the sums of the shifted values and their compensations, for the four accumulators
+	private double sum0, sum1, sum2, sum3;
+	private double compensation0, compensation1, compensation2, compensation3;
+
+	// the sums of the squares of the shifted values, for the four accumulators
+	private double sumOfSquares0, sumOfSquares1, sumOfSquares2, sumOfSquares3;
+
+	/**
+	 * It adds the first numberOfValues values of the array passed as an argument.
+	 *
+	 * @param values,         the array with the values
+	 * @param numberOfValues, the number of values to be added
+	 */
+	public void add(double[] values, int numberOfValues) {
+		if (numberOfValues <= 0) {
+			return;
+		}
+		if (this.numberOfValues == 0) {
+			shift = values[0];
+		}
+		// local copies, so that the accumulators can stay in the registers
+		final double shift = this.shift;
+		double s0 = sum0, s1 = sum1, s2 = sum2, s3 = sum3;
+		double c0 = compensation0, c1 = compensation1, c2 = compensation2, c3 = compensation3;
+		double q0 = sumOfSquares0, q1 = sumOfSquares1, q2 = sumOfSquares2, q3 = sumOfSquares3;
+
+		int i = 0;
+		for (; i + 3 < numberOfValues; i += 4) {
+			final double x0 = values[i] - shift;
+			final double x1 = values[i + 1] - shift;
+			final double x2 = values[i + 2] - shift;
+			final double x3 = values[i + 3] - shift;
+
+			// Kahan summation: c is the part of the previous addition which got lost
+			final double y0 = x0 - c0;
+			final double y1 = x1 - c1;
+			final double y2 = x2 - c2;
+			final double y3 = x3 - c3;
+			final double t0 = s0 + y0;
+			final double t1 = s1 + y1;
+			final double t2 = s2 + y2;
+			final double t3 = s3 + y3;
+			c0 = (t0 - s0) - y0;
+			c1 = (t1 - s1) - y1;
+			c2 = (t2 - s2) - y2;
+			c3 = (t3 - s3) - y3;
+			s0 = t0;
+			s1 = t1;
+			s2 = t2;
+			s3 = t3;
+
+			q0 += x0 * x0;
+			q1 += x1 * x1;
+			q2 += x2 * x2;
+			q3 += x3 * x3;
+		}
+		// the last values, if numberOfValues is not a multiple of four
+		for (; i < numberOfValues; i++) {
+			final double x = values[i] - shift;
+			final double y = x - c0;
+			final double t = s0 + y;
+			c0 = (t - s0) - y;
+			s0 = t;
+			q0 += x * x;
+		}
+
+		sum0 = s0;
+		sum1 = s1;
+		sum2 = s2;
+		sum3 = s3;
+		compensation0 = c0;
+		compensation1 = c1;
+		compensation2 = c2;
+		compensation3 = c3;
+		sumOfSquares0 = q0;
+		sumOfSquares1 = q1;
+		sumOfSquares2 = q2;
+		sumOfSquares3 = q3;
+		this.numberOfValues += numberOfValues;
+	}
+
+	/**
+	 * getter method for the number of values
+	 *
+	 * @return the number of values added so far
+	 */
+	public long getNumberOfValues() {
+		return numberOfValues;
+	}
+
+	/**
+	 * It returns the mean of the values added so far.
+	 *
+	 * @return the mean of the values, NaN if no value has been added
+	 */
+	public double getMean() {
+		if (numberOfValues == 0) {
+			return Double.NaN;
+		}
+		return shift + getSumOfShiftedValues() / numberOfValues;
+	}
+
+	/**
+	 * It returns the unbiased estimator of the variance of the values added so
+	 * far, i.e., the sum of the squared distances from the mean divided by n-1.
+	 *
+	 * @return the variance of the values, NaN if less than two values have been
+	 *         added
+	 */
+	public double getVariance() {
+		if (numberOfValues < 2) {
+			return Double.NaN;
+		}
+		final double sumOfShiftedValues = getSumOfShiftedValues();
+		final double sumOfSquares = (sumOfSquares0 + sumOfSquares1) + (sumOfSquares2 + sumOfSquares3);
+		// the squares are not compensated: the rounding might make it slightly negative
+		return Math.max(sumOfSquares - sumOfShiftedValues * sumOfShiftedValues / numberOfValues, 0.0)
+				/ (numberOfValues - 1);
+	}
+
+	/**
+	 * It returns the standard error of the mean, i.e., the square root of the
+	 * variance of the values divided by their number. For a Monte-Carlo
+	 * approximation this estimates the standard deviation of the approximation.
+	 *
+	 * @return the standard error of the mean, NaN if less than two values have
+	 *         been added
+	 */
+	public double getStandardError() {
+		return Math.sqrt(getVariance() / numberOfValues);
+	}
+
+	/*
+	 * It adds up the four accumulators, again with Kahan summation, taking their
+	 * compensations into account.
+	 */
+	private double getSumOfShiftedValues() {
+		final double[] partialSums = { sum0 - compensation0, sum1 - compensation1, sum2 - compensation2,
+				sum3 - compensation3 };
+		double sum = 0;
+		double compensation = 0;
+		for (final double partialSum : partialSums) {
+			final double y = partialSum - compensation;
+			final double t = sum + y;
+			compensation = (t - sum) - y;
+			sum = t;
+		}
+		return sum;
+	}
+}
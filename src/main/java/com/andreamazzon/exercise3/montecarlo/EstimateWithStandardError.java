@@ -0,0 +1,42 @@
+package com.andreamazzon.exercise3.montecarlo;
+
+/**
+ * This class represents a Monte-Carlo approximation together with its standard
+ * error, i.e., an estimate of the standard deviation of the approximation.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class EstimateWithStandardError {
+
+	private final double value;
+	private final double standardError;
+
+	public EstimateWithStandardError(double value, double standardError) {
+		this.value = value;
+		this.standardError = standardError;
+	}
+
+	/**
+	 * getter method for the approximation
+	 *
+	 * @return the Monte-Carlo approximation
+	 */
+	public double getValue() {
+		return value;
+	}
+
+	/**
+	 * getter method for the standard error
+	 *
+	 * @return the estimate of the standard deviation of the approximation
+	 */
+	public double getStandardError() {
+		return standardError;
+	}
+
+	@Override
+	public String toString() {
+		return value + " +/- " + standardError;
+	}
+}
@@ -1,5 +1,15 @@
 package com.andreamazzon.exercise3.montecarlo;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+import java.util.function.ToDoubleFunction;
+
+import com.andreamazzon.exercise6.randomvariables.RandomSource;
+import com.andreamazzon.exercise6.randomvariables.SplitMixRandomSource;
+import com.andreamazzon.exercise6.randomvariables.SplittableRandomSource;
 import com.andreamazzon.session4.usefulmatrices.UsefulMethodsMatricesVectors;
 
 /**
@@ -13,6 +23,18 @@ import com.andreamazzon.session4.usefulmatrices.UsefulMethodsMatricesVectors;
  * protected abstract void method generateMonteCarloComputations(), whose
  * implementation depends on the kind of Monte-Carlo approximation considered.
  *
+ * The computations are independent, and they can be run in parallel by the
+ * method fillMonteCarloComputations, which can be called by the implementations
+ * of generateMonteCarloComputations(). If a seed is given, every computation
+ * gets its own stream of pseudo random numbers, split from the seed in the
+ * order of the computations: then the vector only depends on the seed, and not
+ * on the number of threads.
+ *
+ * The abstract class MonteCarloExperimentsWithCheckpoints extends this class
+ * for the approximations given by the mean of the values of single drawings,
+ * and computes them for increasing numbers of drawings from the same sequence
+ * of drawings.
+ *
  * @author Andrea Mazzon
  *
  */
@@ -24,9 +46,105 @@ public abstract class MonteCarloExperiments implements MonteCarloEvaluations {
 
 	protected double[] monteCarloComputations;
 
+	protected int numberOfThreads = 1;// the number of threads running the computations
+	protected boolean isSeeded;// if false, the computations use Math.random()
+	protected long seed;// from which the streams of the computations are split, if isSeeded is true
+
 	// it initializes and fill the vector monteCarloComputations
 	protected abstract void generateMonteCarloComputations();
 
+	/*
+	 * It initializes monteCarloComputations and fills it: its i-th element is the
+	 * result of computation applied to the source of uniform numbers of the i-th
+	 * computation. If numberOfThreads > 1, the computations are run in parallel,
+	 * and every one writes its own element of the array.
+	 */
+	protected void fillMonteCarloComputations(ToDoubleFunction<RandomSource> computation) {
+		monteCarloComputations = new double[numberOfMonteCarloComputations];
+		final RandomSource[] sources = getSourcesOfComputations();
+		runComputations(i -> monteCarloComputations[i] = computation.applyAsDouble(sources[i]));
+	}
+
+	/*
+	 * It returns the sources of uniform numbers of the computations. If a seed is
+	 * given, they are split here, in the order of the computations, so that they
+	 * only depend on the seed. Otherwise they are all Math.random().
+	 */
+	protected RandomSource[] getSourcesOfComputations() {
+		if (isSeeded) {
+			return getSplittableSourcesOfComputations();
+		}
+		final RandomSource[] sources = new RandomSource[numberOfMonteCarloComputations];
+		for (int i = 0; i < numberOfMonteCarloComputations; i++) {
+			sources[i] = Math::random;
+		}
+		return sources;
+	}
+
+	/*
+	 * It returns the sources of uniform numbers of the computations, for the
+	 * subclasses which split every computation further, so that every part has its
+	 * own source. If a seed is given, they are the ones of
+	 * getSourcesOfComputations(). Otherwise they are split from a source whose seed
+	 * is drawn by Math.random(): so no source is shared among threads also in this
+	 * case.
+	 */
+	protected SplittableRandomSource[] getSplittableSourcesOfComputations() {
+		final SplittableRandomSource[] sources = new SplittableRandomSource[numberOfMonteCarloComputations];
+		final SplittableRandomSource seedSource = new SplitMixRandomSource(
+				isSeeded ? seed : (long) (Math.random() * Long.MAX_VALUE));
+		for (int i = 0; i < numberOfMonteCarloComputations; i++) {
+			sources[i] = seedSource.split();
+		}
+		return sources;
+	}
+
+	/*
+	 * It runs the given computation for all the indices from 0 to
+	 * numberOfMonteCarloComputations - 1: in a loop if numberOfThreads is 1,
+	 * otherwise in parallel, one task for every index.
+	 */
+	protected void runComputations(IntConsumer computation) {
+		runComputations(numberOfMonteCarloComputations, computation);
+	}
+
+	/*
+	 * It runs the given computation for all the indices from 0 to numberOfTasks -
+	 * 1, as runComputations(IntConsumer). It is used by the subclasses which split
+	 * every computation in more tasks.
+	 */
+	protected void runComputations(int numberOfTasks, IntConsumer computation) {
+		if (numberOfThreads == 1) {
+			for (int i = 0; i < numberOfTasks; i++) {
+				computation.accept(i);
+			}
+			return;
+		}
+
+		final ForkJoinPool pool = new ForkJoinPool(numberOfThreads);
+		try {
+			final List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+			for (int i = 0; i < numberOfTasks; i++) {
+				final int taskIndex = i;
+				tasks.add(pool.submit(() -> computation.accept(taskIndex)));
+			}
+			for (final ForkJoinTask<?> task : tasks) {
+				task.join();// it rethrows the exception if the task has failed
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * getter method for the number of threads
+	 *
+	 * @return the number of threads running the Monte-Carlo computations
+	 */
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
 	// the Javadoc documentation is already given in the interface
 	@Override
 	public double[] getComputations() {
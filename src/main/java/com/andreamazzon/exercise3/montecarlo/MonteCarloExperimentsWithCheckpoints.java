@@ -0,0 +1,87 @@
+package com.andreamazzon.exercise3.montecarlo;
+
+import com.andreamazzon.exercise6.randomvariables.RandomSource;
+
+/**
+ * This is an abstract class inheriting from MonteCarloExperiments, for the
+ * Monte-Carlo approximations which are a function of the mean of the values of
+ * single, independent drawings, as the approximation of pi by the fraction of
+ * points inside a circle or the approximation of an integral by the mean of the
+ * integrand evaluated at random points. The value of a single drawing is given
+ * by the implementation of the abstract method drawSingleValue, and the
+ * approximation is given by the mean of the values via getEstimateFromMean.
+ *
+ * The method getComputationsAtCheckpoints computes then the Monte-Carlo
+ * approximations for increasing numbers of drawings from the same sequence of
+ * drawings: the approximation with n drawings is given by the first n drawings
+ * of the one with more. Then the whole analysis of the error for increasing
+ * numbers of drawings costs as much as the computation with the biggest number.
+ * The approximation with n drawings is the same estimator as the one computed
+ * by getComputations() with n drawings, with the same uniform numbers. The two
+ * coincide exactly when getComputations() also sums the values of the single
+ * drawings one after the other, as in MonteCarloPi with crude sampling. When
+ * the values are summed in another way, for example in blocks by a
+ * BlockAccumulator, they can differ in the last digits.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public abstract class MonteCarloExperimentsWithCheckpoints extends MonteCarloExperiments {
+
+	/*
+	 * It returns the value given by a single drawing, for example the indicator
+	 * function of a point being inside a circle, or the integrand evaluated at a
+	 * point. The Monte-Carlo approximation is a function of the mean of these
+	 * values, see getEstimateFromMean.
+	 */
+	protected abstract double drawSingleValue(RandomSource randomSource);
+
+	/*
+	 * It returns the Monte-Carlo approximation given the mean of the values of the
+	 * single drawings. Here it is the mean itself, as for the approximation of an
+	 * integral.
+	 */
+	protected double getEstimateFromMean(double mean) {
+		return mean;
+	}
+
+	/**
+	 * It returns the Monte-Carlo approximations for increasing numbers of
+	 * drawings. For every one of the numberOfMonteCarloComputations computations
+	 * a single sequence of drawings is generated, up to the biggest number of
+	 * drawings, and the approximation is recorded when the number of drawings
+	 * reaches one of the given numbers. So the approximations for different
+	 * numbers of drawings are not independent, but their computation only costs
+	 * as much as the one for the biggest number. The computations are run in
+	 * parallel and split from the seed as the ones of getComputations().
+	 *
+	 * @param numbersOfDrawings, the numbers of drawings at which the
+	 *                           approximations are recorded. They must be
+	 *                           positive and increasing
+	 * @return a matrix whose element (i,j) is the j-th Monte-Carlo approximation
+	 *         with numbersOfDrawings[i] drawings
+	 */
+	public double[][] getComputationsAtCheckpoints(int[] numbersOfDrawings) {
+		for (int i = 0; i < numbersOfDrawings.length; i++) {
+			if (numbersOfDrawings[i] <= 0 || (i > 0 && numbersOfDrawings[i] <= numbersOfDrawings[i - 1])) {
+				throw new IllegalArgumentException("The numbers of drawings must be positive and increasing.");
+			}
+		}
+		final double[][] computationsAtCheckpoints = new double[numbersOfDrawings.length][numberOfMonteCarloComputations];
+		final RandomSource[] sources = getSourcesOfComputations();
+		runComputations(computationIndex -> {
+			final RandomSource randomSource = sources[computationIndex];
+			double sumOfValues = 0;
+			int numberOfDrawingsSoFar = 0;
+			for (int checkpoint = 0; checkpoint < numbersOfDrawings.length; checkpoint++) {
+				// we go on with the same sequence of drawings
+				for (; numberOfDrawingsSoFar < numbersOfDrawings[checkpoint]; numberOfDrawingsSoFar++) {
+					sumOfValues += drawSingleValue(randomSource);
+				}
+				computationsAtCheckpoints[checkpoint][computationIndex] = getEstimateFromMean(
+						sumOfValues / numberOfDrawingsSoFar);
+			}
+		});
+		return computationsAtCheckpoints;
+	}
+}
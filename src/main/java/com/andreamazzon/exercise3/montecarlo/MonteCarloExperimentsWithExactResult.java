@@ -6,8 +6,9 @@ import com.andreamazzon.session4.usefulmatrices.DifferentLengthException;
 import com.andreamazzon.session4.usefulmatrices.UsefulMethodsMatricesVectors;
 
 /**
- * This is an abstract class inheriting from MonteCarloExperiments, so also
- * implementing the interface MonteCarloEvaluations. Therefore, it provides the
+ * This is an abstract class inheriting from
+ * MonteCarloExperimentsWithCheckpoints, so from MonteCarloExperiments, and
+ * also implementing the interface MonteCarloEvaluations. Therefore, it provides the
  * implementation of methods that can be called in order to get the vector of
  * several Monte-Carlo approximations of a given quantity, the average and the
  * standard deviation of the vector, as well as its minimum and maximum value
@@ -27,7 +28,7 @@ import com.andreamazzon.session4.usefulmatrices.UsefulMethodsMatricesVectors;
  * @author Andrea Mazzon
  *
  */
-public abstract class MonteCarloExperimentsWithExactResult extends MonteCarloExperiments {
+public abstract class MonteCarloExperimentsWithExactResult extends MonteCarloExperimentsWithCheckpoints {
 
 	protected double exactResult;// hosts the exact value of the quantity we approximate
 
@@ -70,4 +71,28 @@ public abstract class MonteCarloExperimentsWithExactResult extends MonteCarloExp
 		return UsefulMethodsMatricesVectors.getAverage(getAbsoluteErrorsOfComputations());
 	}
 
+	/**
+	 * It returns the averages of the absolute errors of the Monte-Carlo
+	 * approximations for increasing numbers of drawings, computed by
+	 * getComputationsAtCheckpoints: so a single sequence of drawings is generated
+	 * for every computation, up to the biggest number of drawings.
+	 *
+	 * @param numbersOfDrawings, the numbers of drawings at which the errors are
+	 *                           computed. They must be positive and increasing
+	 * @return an array whose i-th element is the average of the absolute errors of
+	 *         the approximations with numbersOfDrawings[i] drawings
+	 */
+	public double[] getAverageAbsoluteErrorsAtCheckpoints(int[] numbersOfDrawings) {
+		final double[][] computationsAtCheckpoints = getComputationsAtCheckpoints(numbersOfDrawings);
+		final double[] averageAbsoluteErrors = new double[numbersOfDrawings.length];
+		for (int checkpoint = 0; checkpoint < numbersOfDrawings.length; checkpoint++) {
+			double sumOfErrors = 0;
+			for (final double computation : computationsAtCheckpoints[checkpoint]) {
+				sumOfErrors += Math.abs(computation - exactResult);
+			}
+			averageAbsoluteErrors[checkpoint] = sumOfErrors / computationsAtCheckpoints[checkpoint].length;
+		}
+		return averageAbsoluteErrors;
+	}
+
 }
@@ -0,0 +1,16 @@
+package com.andreamazzon.exercise3.montecarlo;
+
+/**
+ * The ways in which the points in [0,1]^d can be sampled by
+ * VarianceReducedSampler in order to approximate the mean of a function:
+ * independent points, antithetic pairs of points, Latin hypercube samples and
+ * independent points with a control variate.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public enum SamplingStrategies {
+
+	CRUDE, ANTITHETIC, STRATIFIED, CONTROLVARIATE;
+
+}
@@ -0,0 +1,222 @@
+package com.andreamazzon.exercise3.montecarlo;
+
+import java.util.function.ToDoubleFunction;
+
+import com.andreamazzon.exercise6.randomvariables.RandomSource;
+
+/**
+ * This class approximates the mean of a function f of points uniformly
+ * distributed in [0,1]^d, i.e., its integral in [0,1]^d, together with the
+ * standard error of the approximation. The points can be sampled according to
+ * one of the SamplingStrategies:
+ * - CRUDE: the points are independent, and the approximation is the mean of the
+ * values of f;
+ * - ANTITHETIC: the points come in pairs x, 1-x, and the approximation is the
+ * mean of the averages (f(x)+f(1-x))/2, which are independent. The variance is
+ * reduced when f(x) and f(1-x) are negatively correlated, for example when f is
+ * monotone in every coordinate;
+ * - STRATIFIED: the points are given by Latin hypercube samples: for every
+ * coordinate, every one of the n intervals [k/n,(k+1)/n) contains exactly one
+ * point of the sample, in a random order independent of the other coordinates.
+ * The points are then not independent: the standard error is computed from
+ * NUMBER_OF_STRATIFIED_REPLICATES independent samples of n /
+ * NUMBER_OF_STRATIFIED_REPLICATES points;
+ * - CONTROLVARIATE: the points are independent, and the mean of f is corrected
+ * by the difference between the mean of the values of a control g and its
+ * exact mean, multiplied by the coefficient which minimizes the variance,
+ * estimated from the same points as the covariance of f and g divided by the
+ * variance of g.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class VarianceReducedSampler {
+
+	public static final int NUMBER_OF_STRATIFIED_REPLICATES = 16;
+
+	private final ToDoubleFunction<double[]> function;
+	private final int dimension;
+	private final ToDoubleFunction<double[]> control;// used only for CONTROLVARIATE
+	private final double meanOfControl;
+
+	/**
+	 * It constructs a sampler for a function without control variate: it cannot
+	 * be used with CONTROLVARIATE.
+	 *
+	 * @param function,  the function whose mean is approximated
+	 * @param dimension, the dimension d of the points
+	 */
+	public VarianceReducedSampler(ToDoubleFunction<double[]> function, int dimension) {
+		this(function, dimension, null, Double.NaN);
+	}
+
+	/**
+	 * It constructs a sampler for a function with a control variate.
+	 *
+	 * @param function,      the function whose mean is approximated
+	 * @param dimension,     the dimension d of the points
+	 * @param control,       the control variate g, a function of the same points
+	 * @param meanOfControl, the exact mean of g for points uniformly distributed
+	 *                       in [0,1]^d
+	 */
+	public VarianceReducedSampler(ToDoubleFunction<double[]> function, int dimension,
+			ToDoubleFunction<double[]> control, double meanOfControl) {
+		this.function = function;
+		this.dimension = dimension;
+		this.control = control;
+		this.meanOfControl = meanOfControl;
+	}
+
+	/**
+	 * It approximates the mean of the function with numberOfPoints evaluations,
+	 * sampling the points according to the given strategy. For ANTITHETIC, the
+	 * number of points is rounded down to an even number.
+	 *
+	 * @param strategy,       the way in which the points are sampled
+	 * @param numberOfPoints, the number of evaluations of the function. It must
+	 *                        be at least 2, and at least
+	 *                        2*NUMBER_OF_STRATIFIED_REPLICATES for STRATIFIED
+	 * @param randomSource,   the source of the uniform numbers
+	 * @return the approximation of the mean and its standard error
+	 */
+	public EstimateWithStandardError getMean(SamplingStrategies strategy, int numberOfPoints,
+			RandomSource randomSource) {
+		final int minimumNumberOfPoints = strategy == SamplingStrategies.STRATIFIED
+				? 2 * NUMBER_OF_STRATIFIED_REPLICATES
+				: 2;
+		if (numberOfPoints < minimumNumberOfPoints) {
+			throw new IllegalArgumentException(
+					"At least " + minimumNumberOfPoints + " points are needed for " + strategy + " sampling.");
+		}
+		switch (strategy) {
+		case CRUDE:
+			return getCrudeMean(numberOfPoints, randomSource);
+		case ANTITHETIC:
+			return getAntitheticMean(numberOfPoints / 2, randomSource);
+		case STRATIFIED:
+			return getStratifiedMean(numberOfPoints, randomSource);
+		case CONTROLVARIATE:
+			if (control == null) {
+				throw new IllegalStateException("No control variate has been given.");
+			}
+			return getMeanWithControlVariate(numberOfPoints, randomSource);
+		default:
+			throw new IllegalArgumentException("Unknown sampling strategy " + strategy);
+		}
+	}
+
+	private EstimateWithStandardError getCrudeMean(int numberOfPoints, RandomSource randomSource) {
+		final double[] point = new double[dimension];
+		final BlockAccumulator accumulator = new BlockAccumulator();
+		final double[] values = new double[Math.min(numberOfPoints, 1024)];
+		for (int firstPoint = 0; firstPoint < numberOfPoints; firstPoint += values.length) {
+			final int numberOfPointsInBlock = Math.min(values.length, numberOfPoints - firstPoint);
+			for (int i = 0; i < numberOfPointsInBlock; i++) {
+				randomSource.fill(point, 0, dimension);
+				values[i] = function.applyAsDouble(point);
+			}
+			accumulator.add(values, numberOfPointsInBlock);
+		}
+		return new EstimateWithStandardError(accumulator.getMean(), accumulator.getStandardError());
+	}
+
+	private EstimateWithStandardError getAntitheticMean(int numberOfPairs, RandomSource randomSource) {
+		final double[] point = new double[dimension];
+		final double[] antitheticPoint = new double[dimension];
+		final BlockAccumulator accumulator = new BlockAccumulator();
+		final double[] averagesOfPairs = new double[Math.min(numberOfPairs, 1024)];
+		for (int firstPair = 0; firstPair < numberOfPairs; firstPair += averagesOfPairs.length) {
+			final int numberOfPairsInBlock = Math.min(averagesOfPairs.length, numberOfPairs - firstPair);
+			for (int i = 0; i < numberOfPairsInBlock; i++) {
+				randomSource.fill(point, 0, dimension);
+				for (int j = 0; j < dimension; j++) {
+					antitheticPoint[j] = 1 - point[j];
+				}
+				averagesOfPairs[i] = 0.5 * (function.applyAsDouble(point) + function.applyAsDouble(antitheticPoint));
+			}
+			accumulator.add(averagesOfPairs, numberOfPairsInBlock);
+		}
+		return new EstimateWithStandardError(accumulator.getMean(), accumulator.getStandardError());
+	}
+
+	/*
+	 * The i-th replicate has numberOfPoints / NUMBER_OF_STRATIFIED_REPLICATES
+	 * points, plus one if i < numberOfPoints % NUMBER_OF_STRATIFIED_REPLICATES.
+	 * The approximation is the mean of the means of the replicates.
+	 */
+	private EstimateWithStandardError getStratifiedMean(int numberOfPoints, RandomSource randomSource) {
+		final int numberOfReplicates = NUMBER_OF_STRATIFIED_REPLICATES;
+		final int maximumSizeOfReplicate = (numberOfPoints + numberOfReplicates - 1) / numberOfReplicates;
+		// the strata of the j-th coordinate of the points, i.e., the k of [k/n,(k+1)/n)
+		final int[][] strata = new int[dimension][maximumSizeOfReplicate];
+		final double[] point = new double[dimension];
+		final double[] meansOfReplicates = new double[numberOfReplicates];
+
+		for (int replicate = 0; replicate < numberOfReplicates; replicate++) {
+			final int sizeOfReplicate = numberOfPoints / numberOfReplicates
+					+ (replicate < numberOfPoints % numberOfReplicates ? 1 : 0);
+			// a random permutation of 0,...,sizeOfReplicate-1 for every coordinate, by Fisher-Yates
+			for (final int[] strataOfCoordinate : strata) {
+				for (int i = 0; i < sizeOfReplicate; i++) {
+					final int k = (int) (randomSource.nextDouble() * (i + 1));// uniform in 0,...,i
+					strataOfCoordinate[i] = strataOfCoordinate[k];
+					strataOfCoordinate[k] = i;
+				}
+			}
+			double sumOfValues = 0;
+			for (int i = 0; i < sizeOfReplicate; i++) {
+				for (int j = 0; j < dimension; j++) {
+					point[j] = (strata[j][i] + randomSource.nextDouble()) / sizeOfReplicate;
+				}
+				sumOfValues += function.applyAsDouble(point);
+			}
+			meansOfReplicates[replicate] = sumOfValues / sizeOfReplicate;
+		}
+
+		final BlockAccumulator accumulator = new BlockAccumulator();
+		accumulator.add(meansOfReplicates, numberOfReplicates);
+		return new EstimateWithStandardError(accumulator.getMean(), accumulator.getStandardError());
+	}
+
+	/*
+	 * The sums are computed for the values of f shifted by the first one and for
+	 * the values of g minus its exact mean, so that there is no cancellation. The
+	 * standard error is the one of the mean of f - b*g with the estimated b,
+	 * whose variance is var(f) - cov(f,g)^2/var(g).
+	 */
+	private EstimateWithStandardError getMeanWithControlVariate(int numberOfPoints, RandomSource randomSource) {
+		final double[] point = new double[dimension];
+		double shift = 0;
+		double sumOfValues = 0, sumOfSquaredValues = 0;
+		double sumOfControls = 0, sumOfSquaredControls = 0;
+		double sumOfProducts = 0;
+		for (int i = 0; i < numberOfPoints; i++) {
+			randomSource.fill(point, 0, dimension);
+			final double valueOfFunction = function.applyAsDouble(point);
+			if (i == 0) {
+				shift = valueOfFunction;
+			}
+			final double value = valueOfFunction - shift;
+			final double controlValue = control.applyAsDouble(point) - meanOfControl;
+			sumOfValues += value;
+			sumOfSquaredValues += value * value;
+			sumOfControls += controlValue;
+			sumOfSquaredControls += controlValue * controlValue;
+			sumOfProducts += value * controlValue;
+		}
+		final double meanOfValues = sumOfValues / numberOfPoints;
+		final double meanOfControls = sumOfControls / numberOfPoints;
+		final double varianceOfValues = (sumOfSquaredValues - numberOfPoints * meanOfValues * meanOfValues)
+				/ (numberOfPoints - 1);
+		final double varianceOfControls = (sumOfSquaredControls - numberOfPoints * meanOfControls * meanOfControls)
+				/ (numberOfPoints - 1);
+		final double covariance = (sumOfProducts - numberOfPoints * meanOfValues * meanOfControls)
+				/ (numberOfPoints - 1);
+
+		// if the control is constant, it is of no use
+		final double coefficient = varianceOfControls > 0 ? covariance / varianceOfControls : 0;
+		final double residualVariance = Math.max(varianceOfValues - coefficient * covariance, 0.0);
+		return new EstimateWithStandardError(shift + meanOfValues - coefficient * meanOfControls,
+				Math.sqrt(residualVariance / numberOfPoints));
+	}
+}
@@ -6,8 +6,16 @@
  * and the standard deviation of the vector, as well as its minimum and maximum
  * value and an histogram of its elements. It is implemented by the abstract
  * class MonteCarloExperiments. The abstract class
- * MonteCarloExperimentsWithExactResult extends MonteCarloExperiments, providing
- * methods to get analyze the error of the approximation in the case when we
- * know the exact result.
+ * MonteCarloExperimentsWithCheckpoints extends MonteCarloExperiments for the
+ * approximations given by the mean of the values of single drawings, and
+ * computes them for increasing numbers of drawings from the same drawings. The
+ * abstract class MonteCarloExperimentsWithExactResult extends
+ * MonteCarloExperimentsWithCheckpoints, providing methods to get analyze the
+ * error of the approximation in the case when we know the exact result. The class BlockAccumulator sums the values of the
+ * single drawings of one Monte-Carlo approximation, given in blocks, and gives
+ * their mean and its standard error. The class VarianceReducedSampler
+ * approximates the mean of a function in [0,1]^d with one of the
+ * SamplingStrategies (crude, antithetic, Latin hypercube or control variate),
+ * and returns it as an EstimateWithStandardError.
  */
 package com.andreamazzon.exercise3.montecarlo;
\ No newline at end of file
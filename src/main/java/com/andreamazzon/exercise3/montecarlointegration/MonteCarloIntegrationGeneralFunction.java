@@ -2,7 +2,9 @@ package com.andreamazzon.exercise3.montecarlointegration;
 
 import java.util.function.DoubleUnaryOperator;
 
-import com.andreamazzon.exercise3.montecarlo.MonteCarloExperiments;
+import com.andreamazzon.exercise3.montecarlo.BlockAccumulator;
+import com.andreamazzon.exercise3.montecarlo.MonteCarloExperimentsWithCheckpoints;
+import com.andreamazzon.exercise6.randomvariables.RandomSource;
 
 /**
  * This class deals with Monte Carlo integration of general functions in the
@@ -12,15 +14,17 @@ import com.andreamazzon.exercise3.montecarlo.MonteCarloExperiments;
  *
  * \[ 1/n \sum_{i=1}^n f(x_i) \approx \int_0^1 f(x)dx. \]
  *
- * The class extends MonteCarloExperiments, so it inherits the fields
- * numberOfMonteCarloComputations and monteCarloComputations, which is the array
- * storing the computations of the Monte-Carlo integral. The array is filled by
- * the implementation of generateMonteCarloComputations().
+ * The class extends MonteCarloExperimentsWithCheckpoints, so it inherits the
+ * fields numberOfMonteCarloComputations and monteCarloComputations, which is
+ * the array storing the computations of the Monte-Carlo integral. The array is
+ * filled by the implementation of generateMonteCarloComputations().
  *
  * @author Andrea Mazzon
  *
  */
-public class MonteCarloIntegrationGeneralFunction extends MonteCarloExperiments {
+public class MonteCarloIntegrationGeneralFunction extends MonteCarloExperimentsWithCheckpoints {
+
+	private static final int NUMBER_OF_DRAWINGS_PER_BLOCK = 1024;
 
 	private DoubleUnaryOperator integrand;
 
@@ -32,6 +36,19 @@ public class MonteCarloIntegrationGeneralFunction extends MonteCarloExperiments
 		this.numberOfDrawings = numberOfDrawings;
 	}
 
+	/*
+	 * public constructor for computations run in parallel by numberOfThreads
+	 * threads: every computation has its own stream of pseudo random numbers, split
+	 * from the seed
+	 */
+	public MonteCarloIntegrationGeneralFunction(DoubleUnaryOperator integrand, int numberOfMonteCarloComputations,
+			int numberOfDrawings, int numberOfThreads, long seed) {
+		this(integrand, numberOfMonteCarloComputations, numberOfDrawings);
+		this.numberOfThreads = numberOfThreads;
+		this.isSeeded = true;
+		this.seed = seed;
+	}
+
 	/**
 	 * It computes the Monte Carlo approximation of the integral of integrand in
 	 * [0,1].
@@ -39,26 +56,65 @@ public class MonteCarloIntegrationGeneralFunction extends MonteCarloExperiments
 	 * @return the approximated value of the integral
 	 */
 	public double computeIntegral() {
-		double integralValue = 0;
-		/*
-		 * another (more efficient) way would be to do it with DoubleStream, look for
-		 * example at
-		 * info.quantlab.numericalmethods.lecture.montecarlo.MonteCarloIntegrator. Let's
-		 * see this one here to see this way to compute the average
-		 */
-		for (int i = 0; i < numberOfDrawings; i++) {
-			// every time with a different seed
-			integralValue = (integralValue * i + integrand.applyAsDouble(Math.random())/* integrand(Math.random()) */)
-					/ (i + 1.0);
+		return computeIntegral(Math::random);
+	}
+
+	/**
+	 * It computes the Monte Carlo approximation of the integral of integrand in
+	 * [0,1], with the random numbers given by the source passed as an argument.
+	 *
+	 * @param randomSource, the source of the uniform numbers
+	 * @return the approximated value of the integral
+	 */
+	public double computeIntegral(RandomSource randomSource) {
+		return computeIntegralWithError(randomSource).getMean();
+	}
+
+	/**
+	 * It computes the Monte Carlo approximation of the integral of integrand in
+	 * [0,1], together with its standard error.
+	 *
+	 * @return the BlockAccumulator giving the approximated value of the integral by
+	 *         getMean() and its standard error by getStandardError()
+	 */
+	public BlockAccumulator computeIntegralWithError() {
+		return computeIntegralWithError(Math::random);
+	}
+
+	/**
+	 * It computes the Monte Carlo approximation of the integral of integrand in
+	 * [0,1], together with its standard error, with the random numbers given by
+	 * the source passed as an argument. The integrand is evaluated in blocks, and
+	 * the values of every block are summed by a BlockAccumulator: this is faster
+	 * and more precise than updating the average after every drawing, as
+	 * integralValue = (integralValue * i + f(U_i)) / (i + 1.0), since it has no
+	 * division and the additions do not all wait for the previous one.
+	 *
+	 * @param randomSource, the source of the uniform numbers
+	 * @return the BlockAccumulator giving the approximated value of the integral by
+	 *         getMean() and its standard error by getStandardError()
+	 */
+	public BlockAccumulator computeIntegralWithError(RandomSource randomSource) {
+		final BlockAccumulator accumulator = new BlockAccumulator();
+		final double[] values = new double[Math.min(NUMBER_OF_DRAWINGS_PER_BLOCK, numberOfDrawings)];
+		for (int firstDrawing = 0; firstDrawing < numberOfDrawings; firstDrawing += values.length) {
+			final int numberOfValues = Math.min(values.length, numberOfDrawings - firstDrawing);
+			for (int i = 0; i < numberOfValues; i++) {
+				values[i] = integrand.applyAsDouble(randomSource.nextDouble());// integrand(U_i)
+			}
+			accumulator.add(values, numberOfValues);
 		}
-		return integralValue;
+		return accumulator;
+	}
+
+	// the integrand evaluated at a point uniformly distributed in [0,1]
+	@Override
+	protected double drawSingleValue(RandomSource randomSource) {
+		return integrand.applyAsDouble(randomSource.nextDouble());
 	}
 
 	@Override
 	protected void generateMonteCarloComputations() {
-		monteCarloComputations = new double[numberOfMonteCarloComputations];
-		for (int i = 0; i < numberOfMonteCarloComputations; i++) {
-			monteCarloComputations[i] = computeIntegral();// specific computation
-		}
+		fillMonteCarloComputations(this::computeIntegral);// specific computation
 	}
 }
\ No newline at end of file
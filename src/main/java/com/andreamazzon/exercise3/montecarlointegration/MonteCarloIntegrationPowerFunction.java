@@ -3,6 +3,7 @@ package com.andreamazzon.exercise3.montecarlointegration;
 import java.util.function.DoubleUnaryOperator;
 
 import com.andreamazzon.exercise3.montecarlo.MonteCarloExperimentsWithExactResult;
+import com.andreamazzon.exercise6.randomvariables.RandomSource;
 
 /**
  * This class deals with Monte Carlo integration for functions of the form
@@ -31,6 +32,24 @@ public class MonteCarloIntegrationPowerFunction extends MonteCarloExperimentsWit
 		this.monteCarloGeneralFunction = new MonteCarloIntegrationGeneralFunction(integrand,
 				numberOfMonteCarloComputations, numberOfDrawings);
 		this.exactResult = 1 / (1 + exponent);
+		// also here, since they are used by getComputationsAtCheckpoints
+		this.numberOfMonteCarloComputations = numberOfMonteCarloComputations;
+		this.numberOfDrawings = numberOfDrawings;
+	}
+
+	// public constructor for computations run in parallel, see MonteCarloIntegrationGeneralFunction
+	public MonteCarloIntegrationPowerFunction(double exponent, int numberOfMonteCarloComputations,
+			int numberOfDrawings, int numberOfThreads, long seed) {
+		DoubleUnaryOperator integrand = (x -> Math.pow(x, exponent));
+		this.monteCarloGeneralFunction = new MonteCarloIntegrationGeneralFunction(integrand,
+				numberOfMonteCarloComputations, numberOfDrawings, numberOfThreads, seed);
+		this.exactResult = 1 / (1 + exponent);
+		// also here, since they are used by getComputationsAtCheckpoints
+		this.numberOfMonteCarloComputations = numberOfMonteCarloComputations;
+		this.numberOfDrawings = numberOfDrawings;
+		this.numberOfThreads = numberOfThreads;
+		this.isSeeded = true;
+		this.seed = seed;
 	}
 
 	@Override
@@ -38,4 +57,10 @@ public class MonteCarloIntegrationPowerFunction extends MonteCarloExperimentsWit
 		// use of delegation through composition
 		monteCarloComputations = monteCarloGeneralFunction.getComputations();
 	}
+
+	@Override
+	protected double drawSingleValue(RandomSource randomSource) {
+		// use of delegation through composition
+		return monteCarloGeneralFunction.drawSingleValue(randomSource);
+	}
 }
\ No newline at end of file
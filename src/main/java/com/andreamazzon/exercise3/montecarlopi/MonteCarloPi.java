@@ -1,17 +1,31 @@
 package com.andreamazzon.exercise3.montecarlopi;
 
+import com.andreamazzon.exercise3.montecarlo.EstimateWithStandardError;
 import com.andreamazzon.exercise3.montecarlo.MonteCarloExperimentsWithExactResult;
+import com.andreamazzon.exercise3.montecarlo.SamplingStrategies;
+import com.andreamazzon.exercise3.montecarlo.VarianceReducedSampler;
+import com.andreamazzon.exercise6.randomvariables.RandomSource;
 
 /**
  * This class regards the approximation of Pi by Monte-Carlo. It implements
  * MonteCarloExperimentsWithExactResult, since we can compare the values we get
  * with the value of pi given by Java.
  *
+ * Apart from the crude hit-or-miss approximation, pi can be approximated with
+ * the variance reduction techniques of SamplingStrategies, by a
+ * VarianceReducedSampler: in this case the area of the quarter of the circle
+ * in [0,1]^2 is approximated, and the control variate is x^2+y^2, whose mean is
+ * 2/3. If a sampling strategy is given to the constructor, the computations are
+ * done with it, except the ones of getComputationsAtCheckpoints which are
+ * always crude.
+ *
  * @author Andrea Mazzon
  *
  */
 public class MonteCarloPi extends MonteCarloExperimentsWithExactResult {
 
+	private SamplingStrategies samplingStrategy = SamplingStrategies.CRUDE;
+
 	public MonteCarloPi(int numberOfMonteCarloComputations, int numberOfSimulatedPoints) {
 		/*
 		 * numberOfMonteCarloComputations and numberOfDrawings are inherited from
@@ -23,6 +37,29 @@ public class MonteCarloPi extends MonteCarloExperimentsWithExactResult {
 		this.exactResult = Math.PI;
 	}
 
+	/*
+	 * constructor for computations run in parallel by numberOfThreads threads:
+	 * every computation has its own stream of pseudo random numbers, split from
+	 * the seed
+	 */
+	public MonteCarloPi(int numberOfMonteCarloComputations, int numberOfSimulatedPoints, int numberOfThreads,
+			long seed) {
+		this(numberOfMonteCarloComputations, numberOfSimulatedPoints);
+		this.numberOfThreads = numberOfThreads;
+		this.isSeeded = true;
+		this.seed = seed;
+	}
+
+	/*
+	 * constructor for computations run in parallel by numberOfThreads threads,
+	 * whose points are sampled according to the given strategy
+	 */
+	public MonteCarloPi(int numberOfMonteCarloComputations, int numberOfSimulatedPoints, int numberOfThreads,
+			long seed, SamplingStrategies samplingStrategy) {
+		this(numberOfMonteCarloComputations, numberOfSimulatedPoints, numberOfThreads, seed);
+		this.samplingStrategy = samplingStrategy;
+	}
+
 	/**
 	 * It computes a Monte Carlo approximation of pi as the area of a circle of
 	 * radius 1, which is of course four times the area of the part of the circle in
@@ -33,23 +70,76 @@ public class MonteCarloPi extends MonteCarloExperimentsWithExactResult {
 	 * @return the approximation of pi.
 	 */
 	public double piMonteCarlo() {
-		int numberOfPOintsInsideCircle = 0;
+		return piMonteCarlo(Math::random);
+	}
+
+	/**
+	 * It computes a Monte Carlo approximation of pi as in piMonteCarlo(), with the
+	 * random numbers given by the source passed as an argument.
+	 *
+	 * @param randomSource, the source of the uniform numbers
+	 * @return the approximation of pi.
+	 */
+	public double piMonteCarlo(RandomSource randomSource) {
+		double numberOfPOintsInsideCircle = 0;
 		for (int i = 0; i < numberOfDrawings; i++) {
-			double x = 2 * (0.5 - Math.random());// random double between -1 and 1
-			double y = 2 * (0.5 - Math.random());// random double between -1 and 1
-			if (x * x + y * y < 1) {
-				numberOfPOintsInsideCircle += 1;
-			}
+			numberOfPOintsInsideCircle += drawSingleValue(randomSource);
 		}
 		// close to pi for a large number of simulations
-		return 4.0 * numberOfPOintsInsideCircle / numberOfDrawings;
+		return getEstimateFromMean(numberOfPOintsInsideCircle / numberOfDrawings);
+	}
+
+	/**
+	 * It computes a Monte Carlo approximation of pi as four times the area of the
+	 * part of the circle of radius 1 in [0,1]^2, sampling the points according to
+	 * the given strategy, and its standard error.
+	 *
+	 * @param samplingStrategy, the way in which the points are sampled
+	 * @param randomSource,     the source of the uniform numbers
+	 * @return the approximation of pi and its standard error
+	 */
+	public EstimateWithStandardError piMonteCarloWithStandardError(SamplingStrategies samplingStrategy,
+			RandomSource randomSource) {
+		final VarianceReducedSampler sampler = new VarianceReducedSampler(
+				point -> point[0] * point[0] + point[1] * point[1] <= 1 ? 1 : 0, 2,
+				point -> point[0] * point[0] + point[1] * point[1], 2.0 / 3.0);
+		final EstimateWithStandardError area = sampler.getMean(samplingStrategy, numberOfDrawings, randomSource);
+		return new EstimateWithStandardError(getEstimateFromMean(area.getValue()), 4.0 * area.getStandardError());
+	}
+
+	/**
+	 * It computes a Monte Carlo approximation of pi and its standard error as in
+	 * piMonteCarloWithStandardError(SamplingStrategies, RandomSource), with the
+	 * random numbers given by Math.random().
+	 *
+	 * @param samplingStrategy, the way in which the points are sampled
+	 * @return the approximation of pi and its standard error
+	 */
+	public EstimateWithStandardError piMonteCarloWithStandardError(SamplingStrategies samplingStrategy) {
+		return piMonteCarloWithStandardError(samplingStrategy, Math::random);
+	}
+
+	// 1 if the random point is inside the circle, 0 otherwise
+	@Override
+	protected double drawSingleValue(RandomSource randomSource) {
+		double x = 2 * (0.5 - randomSource.nextDouble());// random double between -1 and 1
+		double y = 2 * (0.5 - randomSource.nextDouble());// random double between -1 and 1
+		return x * x + y * y <= 1 ? 1 : 0;
+	}
+
+	// the fraction of points inside the circle approximates pi/4
+	@Override
+	protected double getEstimateFromMean(double mean) {
+		return 4.0 * mean;
 	}
 
 	@Override
 	protected void generateMonteCarloComputations() {
-		monteCarloComputations = new double[numberOfMonteCarloComputations];
-		for (int i = 0; i < numberOfMonteCarloComputations; i++) {
-			monteCarloComputations[i] = piMonteCarlo();// pi_i
+		if (samplingStrategy == SamplingStrategies.CRUDE) {
+			fillMonteCarloComputations(this::piMonteCarlo);// pi_i
+		} else {
+			fillMonteCarloComputations(
+					randomSource -> piMonteCarloWithStandardError(samplingStrategy, randomSource).getValue());
 		}
 	}
 }
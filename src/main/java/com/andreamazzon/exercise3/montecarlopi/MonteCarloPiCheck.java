@@ -59,22 +59,24 @@ public class MonteCarloPiCheck {
 
 		System.out.println();
 
-		numberOfDrawings = 10;
-
-		while (numberOfDrawings <= 10000000) {
-			MonteCarloPi newSimulator = new MonteCarloPi(numberOfIntegrations, numberOfDrawings);
-			try {
-				/*
-				 * you want to be sure that the array of the approximations has same length as
-				 * the array filled with the exact solution. Otherwise an exception is thrown
-				 */
-				double averageAbsoluteError = newSimulator.getAverageAbsoluteError();
-				System.out.println("Mean of the errors in the computation of Pi with " + numberOfDrawings
-						+ " drawings: " + averageAbsoluteError);
-			} catch (DifferentLengthException exception) {
-				exception.print();
-			}
-			numberOfDrawings *= 10;
+		/*
+		 * the approximations for all the numbers of drawings are computed from the
+		 * same sequences of drawings, one for every computation: so this costs as
+		 * much as the computations with the biggest number of drawings. They are run
+		 * in parallel, every one with its own stream of pseudo random numbers split
+		 * from the seed, so the results do not depend on the number of threads.
+		 */
+		int numberOfThreads = Runtime.getRuntime().availableProcessors();
+		long seed = 1897;
+
+		int[] numbersOfDrawings = { 10, 100, 1000, 10000, 100000, 1000000, 10000000 };
+
+		MonteCarloPi sweepSimulator = new MonteCarloPi(numberOfIntegrations, numberOfDrawings, numberOfThreads, seed);
+		double[] averageAbsoluteErrors = sweepSimulator.getAverageAbsoluteErrorsAtCheckpoints(numbersOfDrawings);
+
+		for (int i = 0; i < numbersOfDrawings.length; i++) {
+			System.out.println("Mean of the errors in the computation of Pi with " + numbersOfDrawings[i]
+					+ " drawings: " + averageAbsoluteErrors[i]);
 		}
 	}
 
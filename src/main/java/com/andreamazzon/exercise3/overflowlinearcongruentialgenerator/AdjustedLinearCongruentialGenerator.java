@@ -21,6 +21,12 @@ package com.andreamazzon.exercise3.overflowlinearcongruentialgenerator;
  * already initialized. In order to do that, the best practice is to make
  * generate() private, as well as the sequence itself.
  *
+ * If many numbers are needed, it is faster to get them in blocks by the methods
+ * fill and fillUniform, which write the next numbers of the sequence in a
+ * given array without storing the sequence, also beyond its length
+ * numberOfPseudoRandomNumbers. There, the remainder modulo m is
+ * computed without branches and without the % operator, by Barrett reduction.
+ *
  * @author Andrea Mazzon
  *
  */
@@ -34,12 +40,21 @@ public class AdjustedLinearCongruentialGenerator {
 	private final long c = 11;// automatic upcasting
 	private long seed; // it will be the first entry of our pseudo random number list
 	private int numberOfPseudoRandomNumbers;// default value
-	private int count = 1;
+	private long count = 1;// the index of the next number: long, since fill can give more than 2^31 numbers
+	private long lastNumber;// x[count - 1], the last number returned
+
+	/*
+	 * floor(2^64 / modulus), used for the Barrett reduction. Note that
+	 * Long.divideUnsigned(-1L, modulus) is floor((2^64 - 1) / modulus), which is
+	 * the same since modulus does not divide 2^64.
+	 */
+	private final long barrettFactor = Long.divideUnsigned(-1L, modulus);
 
 	// constructor
 	public AdjustedLinearCongruentialGenerator(int numberOfPseudoRandomNumbers, long seed) {
 		this.numberOfPseudoRandomNumbers = numberOfPseudoRandomNumbers;
 		this.seed = seed;
+		this.lastNumber = seed;
 	}
 
 	/*
@@ -89,13 +104,95 @@ public class AdjustedLinearCongruentialGenerator {
 	}
 
 	/**
-	 * getter method for the sequence of pseudo random numbers
+	 * getter method for the sequence of pseudo random numbers. After the first
+	 * numberOfPseudoRandomNumbers numbers, which are taken from the stored
+	 * sequence, for example if fill or fillUniform have already given many
+	 * numbers, the next ones are computed from the last one.
 	 *
 	 * @return the next number of the sequence of pseudo random numbers
 	 */
 	public long getNextInteger() {
+		if (count > numberOfPseudoRandomNumbers) {
+			// past the end of the stored sequence: no need to generate it
+			lastNumber = reduceModuloModulus(a * lastNumber + c);
+			count++;
+			return lastNumber;
+		}
 		long[] sequence = getRandomNumberSequence();// it gets really generated only once
-		return sequence[count++];
+		lastNumber = sequence[(int) count++];
+		return lastNumber;
+	}
+
+	/*
+	 * It sets the index of the next number given by getNextInteger(), without
+	 * changing the last number: it is used in order to test the generator after
+	 * more than Integer.MAX_VALUE numbers without computing all of them.
+	 */
+	void setCount(long count) {
+		this.count = count;
+	}
+
+	/*
+	 * It returns y mod_m, where y is seen as an unsigned long, i.e., as a number
+	 * between 0 and 2^64 - 1. This is the case for y = a*x + c, since a*(m-1) + c <
+	 * 2^64. The quotient y/m is approximated by the upper 64 bits of
+	 * y*floor(2^64/m): the approximation is smaller than the quotient by at most 1,
+	 * so we have to subtract m at most once from the remainder we get. We do it
+	 * with a mask, without if.
+	 */
+	private long reduceModuloModulus(long y) {
+		/*
+		 * Math.multiplyHigh sees y as a signed long: if y is "negative" (i.e., bigger
+		 * than 2^63 as unsigned) we have to add barrettFactor to get the unsigned
+		 * result. (y >> 63) is -1 (all bits equal to 1) in this case, 0 otherwise.
+		 */
+		long quotient = Math.multiplyHigh(y, barrettFactor) + ((y >> 63) & barrettFactor);
+		long remainder = y - quotient * modulus; // between 0 and 2m - 1
+		// (modulus - 1 - remainder) >> 63 is -1 if remainder >= modulus, 0 otherwise
+		return remainder - (modulus & ((modulus - 1 - remainder) >> 63));
+	}
+
+	/**
+	 * It writes the next length numbers of the sequence in the given array,
+	 * starting from the position offset. The numbers are computed without storing
+	 * the sequence, and the following calls of getNextInteger(), fill or
+	 * fillUniform go on from the number after the last one written here.
+	 *
+	 * @param destination, the array where the numbers are written
+	 * @param offset,      the position of the array where the first number is
+	 *                     written
+	 * @param length,      the number of numbers to write
+	 */
+	public void fill(long[] destination, int offset, int length) {
+		long number = lastNumber;
+		for (int i = offset; i < offset + length; i++) {
+			number = reduceModuloModulus(a * number + c);
+			destination[i] = number;
+		}
+		lastNumber = number;
+		count += length;
+	}
+
+	/**
+	 * It writes the next length numbers of the sequence, divided by the modulus,
+	 * in the given array, starting from the position offset. These are pseudo
+	 * random numbers in [0,1). The numbers are computed without storing the
+	 * sequence, and the following calls of getNextInteger(), fill or fillUniform go
+	 * on from the number after the last one used here.
+	 *
+	 * @param destination, the array where the numbers are written
+	 * @param offset,      the position of the array where the first number is
+	 *                     written
+	 * @param length,      the number of numbers to write
+	 */
+	public void fillUniform(double[] destination, int offset, int length) {
+		long number = lastNumber;
+		for (int i = offset; i < offset + length; i++) {
+			number = reduceModuloModulus(a * number + c);
+			destination[i] = number / (double) modulus;
+		}
+		lastNumber = number;
+		count += length;
 	}
 
 	/**
@@ -0,0 +1,79 @@
+package com.andreamazzon.exercise3.overflowlinearcongruentialgenerator;
+
+/**
+ * This class contains one main method that compares the time needed to
+ * generate the same pseudo random numbers by the method getRandomNumberSequence()
+ * of AdjustedLinearCongruentialGenerator, where the overflow is fixed with an if
+ * and the remainder is computed by %, and by its method fill, where the
+ * remainder is computed by Barrett reduction. The numbers are generated several
+ * times, and only the last times are measured: the first ones are needed by the
+ * Java Virtual Machine to compile the methods.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class GeneratorThroughputTesting {
+
+	public static void main(String[] args) {
+
+		long seed = 2814749763100L;
+		int numberOfPseudoRandomNumbers = 10000000;
+		int blockSize = 4096;// the numbers are written in blocks of this size by fill
+
+		int numberOfWarmUpRounds = 5;
+		int numberOfMeasuredRounds = 10;
+
+		long[] block = new long[blockSize];
+		double[] uniformBlock = new double[blockSize];
+
+		long timeWithSequence = 0;
+		long timeWithFill = 0;
+		long timeWithFillUniform = 0;
+		long checkSum = 0;// we use the numbers, otherwise the computations might be skipped
+
+		for (int round = 0; round < numberOfWarmUpRounds + numberOfMeasuredRounds; round++) {
+
+			long start = System.nanoTime();
+			long[] sequence = new AdjustedLinearCongruentialGenerator(numberOfPseudoRandomNumbers, seed)
+					.getRandomNumberSequence();
+			long timeOfThisRound = System.nanoTime() - start;
+			checkSum += sequence[numberOfPseudoRandomNumbers];
+			if (round >= numberOfWarmUpRounds) {
+				timeWithSequence += timeOfThisRound;
+			}
+
+			start = System.nanoTime();
+			AdjustedLinearCongruentialGenerator generator = new AdjustedLinearCongruentialGenerator(
+					numberOfPseudoRandomNumbers, seed);
+			for (int generated = 0; generated < numberOfPseudoRandomNumbers; generated += blockSize) {
+				generator.fill(block, 0, Math.min(blockSize, numberOfPseudoRandomNumbers - generated));
+			}
+			timeOfThisRound = System.nanoTime() - start;
+			// the last number generated must be the same
+			checkSum -= block[(numberOfPseudoRandomNumbers - 1) % blockSize];
+			if (round >= numberOfWarmUpRounds) {
+				timeWithFill += timeOfThisRound;
+			}
+
+			start = System.nanoTime();
+			generator = new AdjustedLinearCongruentialGenerator(numberOfPseudoRandomNumbers, seed);
+			for (int generated = 0; generated < numberOfPseudoRandomNumbers; generated += blockSize) {
+				generator.fillUniform(uniformBlock, 0, Math.min(blockSize, numberOfPseudoRandomNumbers - generated));
+			}
+			timeOfThisRound = System.nanoTime() - start;
+			checkSum += (long) uniformBlock[0];// always zero
+			if (round >= numberOfWarmUpRounds) {
+				timeWithFillUniform += timeOfThisRound;
+			}
+		}
+
+		double numberOfMeasuredNumbers = (double) numberOfMeasuredRounds * numberOfPseudoRandomNumbers;
+
+		System.out.println("Check: " + (checkSum == 0 ? "same numbers" : "different numbers"));
+		System.out.println("Nanoseconds per number with getRandomNumberSequence(): "
+				+ timeWithSequence / numberOfMeasuredNumbers);
+		System.out.println("Nanoseconds per number with fill: " + timeWithFill / numberOfMeasuredNumbers);
+		System.out.println("Nanoseconds per number with fillUniform: "
+				+ timeWithFillUniform / numberOfMeasuredNumbers);
+	}
+}
@@ -0,0 +1,55 @@
+package com.andreamazzon.exercise3.overflowlinearcongruentialgenerator;
+
+import java.util.Arrays;
+
+/**
+ * This class contains one main method that compares the numbers produced by
+ * AdjustedLinearCongruentialGenerator and SkipAheadLinearCongruentialGenerator,
+ * and that shows how to jump ahead in the sequence and to split it in
+ * substreams.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class SkipAheadGeneratorTesting {
+	public static void main(String[] args) {
+
+		long seed = 2814749763100L;
+		int numberOfPseudoRandomNumbers = 5;
+
+		AdjustedLinearCongruentialGenerator storingGenerator = new AdjustedLinearCongruentialGenerator(
+				numberOfPseudoRandomNumbers, seed);
+
+		System.out.println("Sequence stored by AdjustedLinearCongruentialGenerator: "
+				+ Arrays.toString(storingGenerator.getRandomNumberSequence()));
+
+		SkipAheadLinearCongruentialGenerator generator = new SkipAheadLinearCongruentialGenerator(seed);
+
+		long[] sequence = new long[numberOfPseudoRandomNumbers + 1];
+		sequence[0] = generator.getSeed();
+		for (int i = 1; i <= numberOfPseudoRandomNumbers; i++) {
+			sequence[i] = generator.getNextInteger();
+		}
+		System.out.println("Sequence generated on demand by SkipAheadLinearCongruentialGenerator: "
+				+ Arrays.toString(sequence));
+
+		System.out.println();
+
+		// one billion of numbers: storing them would need 8 GB
+		long farIndex = 1000000000L;
+		long start = System.currentTimeMillis();
+		long farNumber = generator.getIntegerAtIndex(farIndex);
+		System.out.println("Number with index " + farIndex + ": " + farNumber + ", computed in "
+				+ (System.currentTimeMillis() - start) + " ms");
+
+		System.out.println();
+
+		// for example, one substream of 10^6 numbers for every thread
+		long substreamLength = 1000000;
+		for (int substreamIndex = 0; substreamIndex < 4; substreamIndex++) {
+			SkipAheadLinearCongruentialGenerator substream = generator.getSubstream(substreamIndex,
+					substreamLength);
+			System.out.println("First number of the substream " + substreamIndex + ": " + substream.getNextInteger());
+		}
+	}
+}
@@ -0,0 +1,185 @@
+package com.andreamazzon.exercise3.overflowlinearcongruentialgenerator;
+
+/**
+ * This class generates the same pseudo random natural numbers of
+ * AdjustedLinearCongruentialGenerator,
+ *
+ * x[i+1] =(a*x[i] +c) mod_m,
+ *
+ * where x[0] = seed, but without storing the sequence: every number is
+ * computed when it is needed, so the memory used does not depend on how many
+ * numbers we generate.
+ *
+ * Moreover, it is possible to jump ahead in the sequence in O(log n)
+ * operations. In fact, n steps of the generator are the affine map
+ *
+ * x -> A_n*x + C_n mod_m, with A_n = a^n mod_m and C_n = c(a^{n-1}+...+a+1) mod_m,
+ *
+ * and A_n, C_n can be computed by repeated squaring, as for the power of a
+ * number. This is used to split the sequence in substreams, i.e., disjoint
+ * blocks of the sequence which can be given to different threads, for example
+ * one for every Monte-Carlo repetition: the numbers generated do not depend on
+ * which thread uses which substream.
+ *
+ * Note that an object of this class is not supposed to be shared among
+ * threads: every thread should get its own substream.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class SkipAheadLinearCongruentialGenerator {
+
+	/*
+	 * same parameters of AdjustedLinearCongruentialGenerator. Note that
+	 * a*(modulus-1)+c < 2^64: so a*x+c never overflows if we see it as an unsigned
+	 * long, and we can directly compute its remainder with
+	 * Long.remainderUnsigned.
+	 */
+	private static final long MODULUS = 2814749767110L;
+	private static final long A = 6553590L;
+	private static final long C = 11;
+
+	private final long seed;
+	private long state;// the last number returned, x[count]
+	private long count;// the index of the last number returned
+
+	// constructor
+	public SkipAheadLinearCongruentialGenerator(long seed) {
+		this.seed = Math.floorMod(seed, MODULUS);
+		this.state = this.seed;
+	}
+
+	/*
+	 * it returns x*y mod_m for 0 <= x,y < m. Since m < 2^42, x*y can have up to 84
+	 * bits: we then split y in two parts of 21 bits, and every product that we
+	 * compute is smaller than 2^63.
+	 */
+	private static long multiplyModulo(long x, long y) {
+		final long highPartOfY = y >>> 21;
+		final long lowPartOfY = y & ((1L << 21) - 1);
+		final long highProduct = ((x * highPartOfY) % MODULUS << 21) % MODULUS;
+		return (highProduct + (x * lowPartOfY) % MODULUS) % MODULUS;
+	}
+
+	/*
+	 * it returns the number we get applying n times the generator to x, computing
+	 * A_n and C_n by repeated squaring.
+	 */
+	private static long jump(long x, long n) {
+		long multiplier = 1;// A for the steps done so far
+		long increment = 0;// C for the steps done so far
+		long squaredMultiplier = A;// A for 2^k steps
+		long squaredIncrement = C;// C for 2^k steps
+		while (n > 0) {
+			if ((n & 1) == 1) {
+				multiplier = multiplyModulo(squaredMultiplier, multiplier);
+				increment = (multiplyModulo(squaredMultiplier, increment) + squaredIncrement) % MODULUS;
+			}
+			// 2^(k+1) steps are 2^k steps done twice
+			squaredIncrement = multiplyModulo(squaredMultiplier + 1, squaredIncrement);
+			squaredMultiplier = multiplyModulo(squaredMultiplier, squaredMultiplier);
+			n >>>= 1;
+		}
+		return (multiplyModulo(multiplier, x) + increment) % MODULUS;
+	}
+
+	/**
+	 * It returns the next number of the sequence of pseudo random numbers. The
+	 * first time it is called it returns x[1], i.e., the one after the seed.
+	 *
+	 * @return the next number of the sequence of pseudo random numbers
+	 */
+	public long getNextInteger() {
+		state = Long.remainderUnsigned(A * state + C, MODULUS);
+		count++;
+		return state;
+	}
+
+	/**
+	 * It returns the next number of the sequence of pseudo random numbers, divided
+	 * by the modulus. This is a pseudo random number in [0,1).
+	 *
+	 * @return the next number of the sequence divided by the modulus
+	 */
+	public double getNextDouble() {
+		return getNextInteger() / (double) MODULUS;
+	}
+
+	/**
+	 * It skips the next numberOfSteps numbers of the sequence, in O(log
+	 * numberOfSteps) operations. So, if the last number returned was x[i], the
+	 * next one will be x[i + numberOfSteps + 1].
+	 *
+	 * @param numberOfSteps, the number of numbers to skip. It must be non negative.
+	 */
+	public void skip(long numberOfSteps) {
+		if (numberOfSteps < 0) {
+			throw new IllegalArgumentException("The number of steps to skip must be non negative.");
+		}
+		state = jump(state, numberOfSteps);
+		count += numberOfSteps;
+	}
+
+	/**
+	 * It returns the number x[index] of the sequence, without changing the state
+	 * of the generator. It needs O(log index) operations.
+	 *
+	 * @param index, the index of the number of the sequence. It must be non
+	 *               negative: the number with index 0 is the seed.
+	 * @return the number x[index] of the sequence
+	 */
+	public long getIntegerAtIndex(long index) {
+		if (index < 0) {
+			throw new IllegalArgumentException("The index must be non negative.");
+		}
+		return jump(seed, index);
+	}
+
+	/**
+	 * It returns a new generator for the substream of given index, i.e., for the
+	 * block of the sequence starting after x[substreamIndex * substreamLength].
+	 * Substreams with different indices do not overlap as long as no more than
+	 * substreamLength numbers are taken from each of them. The returned generator
+	 * does not depend on the state of the one calling the method.
+	 *
+	 * @param substreamIndex,  the index of the substream
+	 * @param substreamLength, the number of numbers in every substream
+	 * @return a generator whose first number is x[substreamIndex *
+	 *         substreamLength + 1]
+	 */
+	public SkipAheadLinearCongruentialGenerator getSubstream(long substreamIndex, long substreamLength) {
+		final SkipAheadLinearCongruentialGenerator substream = new SkipAheadLinearCongruentialGenerator(seed);
+		substream.skip(Math.multiplyExact(substreamIndex, substreamLength));
+		return substream;
+	}
+
+	/**
+	 * getter method for the modulus
+	 *
+	 * @return the modulus of the congruence that generates the pseudo random
+	 *         numbers
+	 */
+	public long getModulus() {
+		return MODULUS;
+	}
+
+	/**
+	 * getter method for the seed
+	 *
+	 * @return the seed, i.e., the first number of the sequence, reduced modulo the
+	 *         modulus
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * getter method for the index of the last number returned
+	 *
+	 * @return the index of the last number returned: 0 if no number has been
+	 *         returned yet
+	 */
+	public long getCount() {
+		return count;
+	}
+}
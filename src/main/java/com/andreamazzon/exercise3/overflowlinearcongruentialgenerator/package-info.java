@@ -1,6 +1,8 @@
 /**
  * This package is dedicated to the generation of semi random natural number
  * with a linear congruential generator. Since an overflow must be fixed, this
- * connects the first two chapters of the lecture.
+ * connects the first two chapters of the lecture. The class
+ * SkipAheadLinearCongruentialGenerator generates the same numbers on demand,
+ * and can jump ahead in the sequence in order to split it in substreams.
  */
 package com.andreamazzon.exercise3.overflowlinearcongruentialgenerator;
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.andreamazzon.exercise4;
+
+/**
+ * This class contains one main method that compares the time needed to compute
+ * the first points of a Halton sequence in dimension 7 by getSamplePoint,
+ * which computes every point from its index and creates a new array, and by
+ * the method fill of HaltonSequenceGenerator, which computes every point from
+ * the previous one and writes the points in a given array. The points are
+ * generated several times, and only the last times are measured: the first ones
+ * are needed by the Java Virtual Machine to compile the methods.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class HaltonGeneratorThroughputTesting {
+
+	public static void main(String[] args) {
+
+		int[] base = HaltonSequence.getFirstPrimes(7);
+		int numberOfPoints = 10000000;
+		int blockSize = 1024;// the points are written in blocks of this size by fill
+
+		int numberOfWarmUpRounds = 3;
+		int numberOfMeasuredRounds = 5;
+
+		HaltonSequence haltonSequence = new HaltonSequence(base);
+		double[][] block = new double[base.length][blockSize];
+
+		long timeWithSamplePoint = 0;
+		long timeWithGenerator = 0;
+		double maximumDifference = 0;
+
+		for (int round = 0; round < numberOfWarmUpRounds + numberOfMeasuredRounds; round++) {
+
+			long start = System.nanoTime();
+			double sumWithSamplePoint = 0;// we use the points, otherwise the computations might be skipped
+			for (int i = 0; i < numberOfPoints; i++) {
+				sumWithSamplePoint += haltonSequence.getSamplePoint(i)[base.length - 1];
+			}
+			long timeOfThisRound = System.nanoTime() - start;
+			if (round >= numberOfWarmUpRounds) {
+				timeWithSamplePoint += timeOfThisRound;
+			}
+
+			start = System.nanoTime();
+			double sumWithGenerator = 0;
+			LowDiscrepancySequenceGenerator generator = haltonSequence.getGenerator(0);
+			for (int generated = 0; generated < numberOfPoints; generated += blockSize) {
+				int numberOfPointsInBlock = Math.min(blockSize, numberOfPoints - generated);
+				generator.fill(block, numberOfPointsInBlock);
+				for (int i = 0; i < numberOfPointsInBlock; i++) {
+					sumWithGenerator += block[base.length - 1][i];
+				}
+			}
+			timeOfThisRound = System.nanoTime() - start;
+			if (round >= numberOfWarmUpRounds) {
+				timeWithGenerator += timeOfThisRound;
+			}
+			maximumDifference = Math.max(maximumDifference, Math.abs(sumWithSamplePoint - sumWithGenerator));
+		}
+
+		double numberOfMeasuredPoints = (double) numberOfMeasuredRounds * numberOfPoints;
+
+		System.out.println("Difference of the sums of the last coordinates: " + maximumDifference);
+		System.out.println("Nanoseconds per point with getSamplePoint: " + timeWithSamplePoint / numberOfMeasuredPoints);
+		System.out.println("Nanoseconds per point with HaltonSequenceGenerator: "
+				+ timeWithGenerator / numberOfMeasuredPoints);
+	}
+}
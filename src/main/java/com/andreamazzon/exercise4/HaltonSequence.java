@@ -11,7 +11,7 @@ package com.andreamazzon.exercise4;
  * @author Andrea Mazzon, from the implementation of Christian Fries
  *
  */
-public class HaltonSequence {
+public class HaltonSequence implements LowDiscrepancySequence {
 
 	private int[] base;
 
@@ -19,11 +19,56 @@ public class HaltonSequence {
 		this.base = base;
 	}
 
+	/**
+	 * It returns the first prime numbers, which are the usual base of a Halton
+	 * sequence.
+	 *
+	 * @param numberOfPrimes, the number of prime numbers
+	 * @return the array with the first numberOfPrimes prime numbers
+	 */
+	public static int[] getFirstPrimes(int numberOfPrimes) {
+		final int[] primes = new int[numberOfPrimes];
+		int candidate = 2;
+		for (int found = 0; found < numberOfPrimes; candidate++) {
+			boolean isPrime = true;
+			for (int j = 0; j < found && primes[j] * primes[j] <= candidate; j++) {
+				if (candidate % primes[j] == 0) {
+					isPrime = false;
+					break;
+				}
+			}
+			if (isPrime) {
+				primes[found++] = candidate;
+			}
+		}
+		return primes;
+	}
+
+	@Override
+	public int getDimension() {
+		return base.length;
+	}
+
+	@Override
 	public double[] getSamplePoint(int index) {
 		double[] x = new double[base.length];
-		for (int i = 0; i < x.length; i++) {
-			x[i] = VanDerCorputSequence.getVanDerCorputNumber(index, base[i]);
-		}
+		fillSamplePoint(index, x);
 		return x;
 	}
+
+	@Override
+	public void fillSamplePoint(int index, double[] point) {
+		for (int i = 0; i < base.length; i++) {
+			point[i] = VanDerCorputSequence.getVanDerCorputNumber(index, base[i]);
+		}
+	}
+
+	/*
+	 * the consecutive points are computed by adding one to the digits of the
+	 * index, see HaltonSequenceGenerator
+	 */
+	@Override
+	public LowDiscrepancySequenceGenerator getGenerator(long firstIndex) {
+		return new HaltonSequenceGenerator(base, null, firstIndex);
+	}
 }
@@ -0,0 +1,193 @@
+package com.andreamazzon.exercise4;
+
+/**
+ * This class generates the consecutive points of a Halton sequence of base
+ * (b_1,...,b_d), or of a scrambled Halton sequence, without computing every
+ * point from its index. For every base b, the class stores the digits of i+1 in
+ * base b, where i is the current index, and the integer
+ *
+ * \[ N = \sum_{k=0}^{K-1} pi(a_k) b^{K-1-k}, \]
+ *
+ * where a_0, a_1,... are the digits from the least significant one, pi is the
+ * permutation of the digits (the identity for the Halton sequence) and K is the
+ * biggest number such that b^K <= 2^53. The element of the point is then
+ * N / b^K, which is computed with only one rounding. When the index increases
+ * by one, the digits are updated by adding one with carry, and N changes by the
+ * difference of the permuted digits which changed: on average, less than
+ * b/(b-1) digits change, so the next point costs O(1) operations, and no
+ * division. The number of digits K allows indices up to b^K - 2 >= 2^52 - 2.
+ *
+ * The method skipTo computes the digits of any index directly, so that
+ * different threads can start from different parts of the sequence. A
+ * generator starting from a given index is obtained by the method
+ * getGenerator(long) of HaltonSequence and ScrambledHaltonSequence.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class HaltonSequenceGenerator implements LowDiscrepancySequenceGenerator {
+
+	private static final long MAXIMUM_DENOMINATOR = 1L << 53;
+
+	private final int[] base;
+	private final int[][] permutations;// null for the Halton sequence
+
+	private final int[] numberOfDigits;// the number K for every base
+	private final long[][] powers;// powers[j][k] = b_j^(K_j-1-k)
+	private final double[] inverseDenominators;// 1 / b_j^K_j
+	// steps[j][a] = (pi(a+1) - pi(a)) * b_j^(K_j-1): the change of N when the last digit goes from a to a+1
+	private final long[][] steps;
+
+	private final int[][] digits;// digits[j][k] is the k-th digit of index + 1 in base b_j
+	private final long[] numerators;// the number N for every base
+
+	private long index;// the index of the next point
+
+	/**
+	 * It constructs a generator of the Halton sequence of the given base, starting
+	 * from the point with index 0.
+	 *
+	 * @param base, the base of the sequence: its elements must be coprime
+	 */
+	public HaltonSequenceGenerator(int[] base) {
+		this(base, null, 0);
+	}
+
+	/**
+	 * It constructs a generator of the Halton sequence, or of the scrambled Halton
+	 * sequence if permutations is not null, starting from the given index.
+	 *
+	 * @param base,         the base of the sequence
+	 * @param permutations, the permutations of the digits for every base, with
+	 *                      permutations[j][0] = 0. If null, the digits are not
+	 *                      permuted
+	 * @param firstIndex,   the index of the first point
+	 */
+	HaltonSequenceGenerator(int[] base, int[][] permutations, long firstIndex) {
+		this.base = base;
+		this.permutations = permutations;
+		final int dimension = base.length;
+		numberOfDigits = new int[dimension];
+		powers = new long[dimension][];
+		inverseDenominators = new double[dimension];
+		steps = new long[dimension][];
+		digits = new int[dimension][];
+		numerators = new long[dimension];
+		for (int j = 0; j < dimension; j++) {
+			long denominator = 1;
+			int k = 0;
+			while (denominator <= MAXIMUM_DENOMINATOR / base[j]) {
+				denominator *= base[j];
+				k++;
+			}
+			numberOfDigits[j] = k;
+			inverseDenominators[j] = 1.0 / denominator;
+			powers[j] = new long[k];
+			long power = 1;
+			for (int digit = k - 1; digit >= 0; digit--) {
+				powers[j][digit] = power;
+				power *= base[j];
+			}
+			digits[j] = new int[k];
+			steps[j] = new long[base[j] - 1];
+			for (int digit = 0; digit < base[j] - 1; digit++) {
+				steps[j][digit] = (permute(j, digit + 1) - permute(j, digit)) * powers[j][0];
+			}
+		}
+		skipTo(firstIndex);
+	}
+
+	@Override
+	public int getDimension() {
+		return base.length;
+	}
+
+	@Override
+	public long getIndex() {
+		return index;
+	}
+
+	@Override
+	public void skipTo(long index) {
+		this.index = index;
+		for (int j = 0; j < base.length; j++) {
+			final int[] digitsOfBase = digits[j];
+			long remainingIndex = index + 1;// as for VanDerCorputSequence, we start from one
+			long numerator = 0;
+			for (int k = 0; k < digitsOfBase.length; k++) {
+				final int digit = (int) (remainingIndex % base[j]);
+				digitsOfBase[k] = digit;
+				numerator += permute(j, digit) * powers[j][k];
+				remainingIndex /= base[j];
+			}
+			if (remainingIndex > 0) {
+				throw new IllegalArgumentException("The index " + index + " is too big for the base " + base[j] + ".");
+			}
+			numerators[j] = numerator;
+		}
+	}
+
+	@Override
+	public void nextSamplePoint(double[] point) {
+		for (int j = 0; j < base.length; j++) {
+			point[j] = numerators[j] * inverseDenominators[j];
+		}
+		increment();
+	}
+
+	@Override
+	public void fill(double[][] points, int numberOfPoints) {
+		for (int i = 0; i < numberOfPoints; i++) {
+			for (int j = 0; j < base.length; j++) {
+				points[j][i] = numerators[j] * inverseDenominators[j];
+			}
+			increment();
+		}
+	}
+
+	/*
+	 * It adds one to the index, updating the digits with carry and the numerators.
+	 */
+	private void increment() {
+		index++;
+		for (int j = 0; j < base.length; j++) {
+			final int[] digitsOfBase = digits[j];
+			final int lastDigit = digitsOfBase[0];
+			if (lastDigit < base[j] - 1) {
+				// this happens with probability (b-1)/b: no carry
+				numerators[j] += steps[j][lastDigit];
+				digitsOfBase[0] = lastDigit + 1;
+			} else {
+				incrementWithCarry(j);
+			}
+		}
+	}
+
+	/*
+	 * It adds one to the digits of the given base when the last one is b-1: the
+	 * digits equal to b-1 become zero, and the carry goes on.
+	 */
+	private void incrementWithCarry(int j) {
+		final int[] digitsOfBase = digits[j];
+		final long[] powersOfBase = powers[j];
+		final int maximumDigit = base[j] - 1;
+		long numerator = numerators[j];
+		int k = 0;
+		while (k < digitsOfBase.length && digitsOfBase[k] == maximumDigit) {
+			numerator -= permute(j, maximumDigit) * powersOfBase[k];
+			digitsOfBase[k] = 0;
+			k++;
+		}
+		if (k == digitsOfBase.length) {
+			throw new IllegalStateException("The index " + index + " is too big for the base " + base[j] + ".");
+		}
+		numerator += (permute(j, digitsOfBase[k] + 1) - permute(j, digitsOfBase[k])) * powersOfBase[k];
+		digitsOfBase[k]++;
+		numerators[j] = numerator;
+	}
+
+	// the permuted digit, with pi(0) = 0
+	private long permute(int dimensionIndex, int digit) {
+		return permutations == null ? digit : permutations[dimensionIndex][digit];
+	}
+}
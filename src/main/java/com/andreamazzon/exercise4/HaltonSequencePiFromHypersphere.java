@@ -63,12 +63,15 @@ public class HaltonSequencePiFromHypersphere {
 	 */
 	public double piHalton() {
 		int numberOfPointsInsideHypersphere = 0;
+		// it gives the points one after the other, see HaltonSequenceGenerator
+		final LowDiscrepancySequenceGenerator generator = haltonSequence.getGenerator(0);
+		final double[] newPoint = new double[dimension];// the same array for all the points
 		for (int i = 0; i < numberOfSamplePoints; i++) {
 			/*
 			 * at every iteration, get (x_1,...,x_d) from the Halton sequence and compute
 			 * (2*(x_1-0.5))^2+...+(2*(x_d-0.5))^2
 			 */
-			final double[] newPoint = haltonSequence.getSamplePoint(i);// i-th element of the Halton Sequence
+			generator.nextSamplePoint(newPoint);// i-th element of the Halton Sequence
 			double sumOfSquares = 0;
 			for (int j = 0; j < dimension; j++) {
 				sumOfSquares += 2 * (newPoint[j] - 0.5) * 2 * (newPoint[j] - 0.5);
@@ -0,0 +1,82 @@
+package com.andreamazzon.exercise4;
+
+import com.andreamazzon.exercise6.randomvariables.RandomSource;
+import com.andreamazzon.exercise6.randomvariables.XoshiroRandomSource;
+
+/**
+ * This class contains one main method that compares the time needed to count
+ * the points inside the unit hypersphere in dimension 7 point by point, by the
+ * method drawSingleValue of MonteCarloPiFromHypersphere which draws one uniform
+ * number at a time and checks every point with a branch, and by
+ * the method piMonteCarloGeneralDimension of MonteCarloPiFromHypersphere, which
+ * draws the points in blocks. The two ways use the same numbers, so they give
+ * the same approximation of pi. The computations are repeated several times,
+ * and only the last times are measured: the first ones are needed by the Java
+ * Virtual Machine to compile the methods. At the end, the time needed to
+ * generate all the computations in parallel is printed.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class HypersphereThroughputTesting {
+
+	public static void main(String[] args) {
+
+		int dimension = 7;
+		int numberOfPoints = 1000000;
+		int numberOfComputations = 100;
+		long seed = 1897;
+
+		int numberOfWarmUpRounds = 3;
+		int numberOfMeasuredRounds = 5;
+
+		MonteCarloPiFromHypersphere piComputer = new MonteCarloPiFromHypersphere(numberOfComputations, numberOfPoints,
+				dimension);
+
+		long timePointByPoint = 0;
+		long timeInBlocks = 0;
+		double maximumDifference = 0;
+
+		for (int round = 0; round < numberOfWarmUpRounds + numberOfMeasuredRounds; round++) {
+
+			long start = System.nanoTime();
+			RandomSource randomSource = new XoshiroRandomSource(seed + round);
+			double sumOfValues = 0;
+			for (int i = 0; i < numberOfPoints; i++) {
+				sumOfValues += piComputer.drawSingleValue(randomSource);
+			}
+			double fraction = sumOfValues / numberOfPoints;
+			long timeOfThisRound = System.nanoTime() - start;
+			if (round >= numberOfWarmUpRounds) {
+				timePointByPoint += timeOfThisRound;
+			}
+
+			start = System.nanoTime();
+			double piInBlocks = piComputer.piMonteCarloGeneralDimension(new XoshiroRandomSource(seed + round));
+			timeOfThisRound = System.nanoTime() - start;
+			if (round >= numberOfWarmUpRounds) {
+				timeInBlocks += timeOfThisRound;
+			}
+
+			double piPointByPoint = piComputer.getEstimateFromMean(fraction);
+			maximumDifference = Math.max(maximumDifference, Math.abs(piPointByPoint - piInBlocks));
+		}
+
+		double numberOfMeasuredPoints = (double) numberOfMeasuredRounds * numberOfPoints;
+
+		System.out.println("Difference of the approximations of pi: " + maximumDifference);
+		System.out.println("Nanoseconds per point, point by point: " + timePointByPoint / numberOfMeasuredPoints);
+		System.out.println("Nanoseconds per point, in blocks: " + timeInBlocks / numberOfMeasuredPoints);
+
+		MonteCarloPiFromHypersphere parallelPiComputer = new MonteCarloPiFromHypersphere(numberOfComputations,
+				numberOfPoints, dimension, Runtime.getRuntime().availableProcessors(), seed);
+		long start = System.nanoTime();
+		double average = parallelPiComputer.getAverageComputations();
+		double timeInSeconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.println();
+		System.out.println("Average of " + numberOfComputations + " computations with "
+				+ parallelPiComputer.getNumberOfThreads() + " threads: " + average);
+		System.out.println("Seconds needed: " + timeInSeconds);
+	}
+}
@@ -0,0 +1,77 @@
+package com.andreamazzon.exercise4;
+
+/**
+ * This interface represents a d-dimensional low discrepancy sequence, i.e., a
+ * deterministic sequence of points in [0,1)^d which fill the hypercube more
+ * uniformly than independent uniform points. It is used by
+ * QuasiMonteCarloIntegration.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public interface LowDiscrepancySequence {
+
+	/**
+	 * getter method for the dimension
+	 *
+	 * @return the dimension d of the points of the sequence
+	 */
+	int getDimension();
+
+	/**
+	 * It writes the point of the sequence with the given index in the array passed
+	 * as an argument, without creating a new array.
+	 *
+	 * @param index, the index of the point, starting from 0
+	 * @param point, the array of length d where the point is written
+	 */
+	void fillSamplePoint(int index, double[] point);
+
+	/**
+	 * It returns the point of the sequence with the given index.
+	 *
+	 * @param index, the index of the point, starting from 0
+	 * @return the point, as an array of length d
+	 */
+	default double[] getSamplePoint(int index) {
+		final double[] point = new double[getDimension()];
+		fillSamplePoint(index, point);
+		return point;
+	}
+
+	/**
+	 * It returns a generator of the consecutive points of the sequence, starting
+	 * from the given index. Here the points are computed from their index, but
+	 * the sequences which can compute the next point from the current one
+	 * override this method.
+	 *
+	 * @param firstIndex, the index of the first point given by the generator
+	 * @return the generator
+	 */
+	default LowDiscrepancySequenceGenerator getGenerator(long firstIndex) {
+		return new LowDiscrepancySequenceGenerator() {
+
+			private long index = firstIndex;
+
+			@Override
+			public int getDimension() {
+				return LowDiscrepancySequence.this.getDimension();
+			}
+
+			@Override
+			public long getIndex() {
+				return index;
+			}
+
+			@Override
+			public void skipTo(long index) {
+				this.index = index;
+			}
+
+			@Override
+			public void nextSamplePoint(double[] point) {
+				fillSamplePoint(Math.toIntExact(index++), point);
+			}
+		};
+	}
+}
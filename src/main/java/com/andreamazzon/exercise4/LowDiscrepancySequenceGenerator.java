@@ -0,0 +1,65 @@
+package com.andreamazzon.exercise4;
+
+/**
+ * This interface represents an object which generates the consecutive points
+ * of a low discrepancy sequence, starting from a given index. It is obtained
+ * by LowDiscrepancySequence.getGenerator(long). Computing the next point from
+ * the current one is in general much cheaper than computing a point from its
+ * index. An object of this type has a state, so it must not be shared among
+ * threads: every thread can get its own generator, starting from its own index.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public interface LowDiscrepancySequenceGenerator {
+
+	/**
+	 * getter method for the dimension
+	 *
+	 * @return the dimension d of the points of the sequence
+	 */
+	int getDimension();
+
+	/**
+	 * It returns the index of the point that will be given by the next call of
+	 * nextSamplePoint.
+	 *
+	 * @return the index of the next point
+	 */
+	long getIndex();
+
+	/**
+	 * It moves the generator to the given index, so that the next point will be
+	 * the one with that index.
+	 *
+	 * @param index, the index of the next point, starting from 0
+	 */
+	void skipTo(long index);
+
+	/**
+	 * It writes the next point of the sequence in the array passed as an argument,
+	 * and moves to the following one.
+	 *
+	 * @param point, the array of length d where the point is written
+	 */
+	void nextSamplePoint(double[] point);
+
+	/**
+	 * It writes the next numberOfPoints points of the sequence in the array passed
+	 * as an argument, coordinate by coordinate: the j-th coordinate of the i-th
+	 * point is written in points[j][i], as for a BatchIntegrand.
+	 *
+	 * @param points,         the array with d rows, of length at least
+	 *                        numberOfPoints
+	 * @param numberOfPoints, the number of points to be written
+	 */
+	default void fill(double[][] points, int numberOfPoints) {
+		final double[] point = new double[getDimension()];
+		for (int i = 0; i < numberOfPoints; i++) {
+			nextSamplePoint(point);
+			for (int j = 0; j < point.length; j++) {
+				points[j][i] = point[j];
+			}
+		}
+	}
+}
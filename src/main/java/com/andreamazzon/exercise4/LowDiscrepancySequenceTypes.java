@@ -0,0 +1,14 @@
+package com.andreamazzon.exercise4;
+
+/**
+ * The low discrepancy sequences that can be used by
+ * QuasiMonteCarloIntegration.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public enum LowDiscrepancySequenceTypes {
+
+	HALTON, SCRAMBLEDHALTON, SOBOL;
+
+}
@@ -1,6 +1,11 @@
 package com.andreamazzon.exercise4;
 
+import com.andreamazzon.exercise3.montecarlo.EstimateWithStandardError;
 import com.andreamazzon.exercise3.montecarlo.MonteCarloExperimentsWithExactResult;
+import com.andreamazzon.exercise3.montecarlo.SamplingStrategies;
+import com.andreamazzon.exercise3.montecarlo.VarianceReducedSampler;
+import com.andreamazzon.exercise6.randomvariables.RandomSource;
+import com.andreamazzon.exercise6.randomvariables.SplittableRandomSource;
 
 /**
  * This class deals with the approximation of Pi by Monte-Carlo. In particular,
@@ -12,12 +17,42 @@ import com.andreamazzon.exercise3.montecarlo.MonteCarloExperimentsWithExactResul
  * the error by calling the inherited methods getAbsoluteErrorsOfComputations()
  * and getAverageAbsoluteError()
  *
+ * The points are drawn in blocks: the uniform numbers of a block are written in
+ * an array by the method fill of the RandomSource, which for
+ * XoshiroRandomSource keeps the state in local variables, the squared norms are
+ * computed reading the array in order and the points inside the hypersphere
+ * are counted without branches. When the computations
+ * are generated, every computation is split in tasks of
+ * NUMBER_OF_POINTS_PER_TASK points, which are run in parallel together with
+ * the tasks of the other computations: so also few computations use all the
+ * threads. Every task has its own source of uniform numbers, split from the one
+ * of its computation in the order of the tasks, also when no seed is given: in
+ * this case the sources of the computations are split from a seed drawn by
+ * Math.random(). With a seed, the computations then do not depend on the
+ * number of threads, but they are not made of the same numbers
+ * as piMonteCarloGeneralDimension(RandomSource) and
+ * getComputationsAtCheckpoints, which use one sequence for every computation.
+ *
+ * Apart from this crude hit-or-miss approximation, the volume can be
+ * approximated with the variance reduction techniques of SamplingStrategies,
+ * by a VarianceReducedSampler. In this case the fraction of [0,1]^d inside the
+ * hypersphere is approximated, which is the same as the fraction of [-1,1]^d
+ * by symmetry: in this way the indicator function is decreasing in every
+ * coordinate, so that antithetic points are negatively correlated. The control
+ * variate is x_1^2+...+x_d^2, whose mean is d/3. If a sampling strategy is given
+ * to the constructor, the computations are done with it, point by point and in
+ * parallel over the computations only.
+ *
  * @author Andrea Mazzon
  *
  */
 public class MonteCarloPiFromHypersphere extends MonteCarloExperimentsWithExactResult {
 
+	private static final int NUMBER_OF_POINTS_PER_BLOCK = 1024;
+	private static final int NUMBER_OF_POINTS_PER_TASK = 1 << 16;
+
 	private int dimension;// dimension of the unit hyperpshere
+	private SamplingStrategies samplingStrategy = SamplingStrategies.CRUDE;
 
 	public MonteCarloPiFromHypersphere(int numberOfMonteCarloComputations, int numberOfSimulatedPoints, int dimension) {
 		/*
@@ -34,6 +69,29 @@ public class MonteCarloPiFromHypersphere extends MonteCarloExperimentsWithExactR
 		this.dimension = dimension;// specific field of this class
 	}
 
+	/*
+	 * constructor for computations run in parallel by numberOfThreads threads:
+	 * every computation has its own stream of pseudo random numbers, split from
+	 * the seed
+	 */
+	public MonteCarloPiFromHypersphere(int numberOfMonteCarloComputations, int numberOfSimulatedPoints, int dimension,
+			int numberOfThreads, long seed) {
+		this(numberOfMonteCarloComputations, numberOfSimulatedPoints, dimension);
+		this.numberOfThreads = numberOfThreads;
+		this.isSeeded = true;
+		this.seed = seed;
+	}
+
+	/*
+	 * constructor for computations run in parallel by numberOfThreads threads,
+	 * whose points are sampled according to the given strategy
+	 */
+	public MonteCarloPiFromHypersphere(int numberOfMonteCarloComputations, int numberOfSimulatedPoints, int dimension,
+			int numberOfThreads, long seed, SamplingStrategies samplingStrategy) {
+		this(numberOfMonteCarloComputations, numberOfSimulatedPoints, dimension, numberOfThreads, seed);
+		this.samplingStrategy = samplingStrategy;
+	}
+
 	/*
 	 * used in order to compute the approximation of pi from the one of the volume
 	 * of the unit hypersphere
@@ -71,34 +129,157 @@ public class MonteCarloPiFromHypersphere extends MonteCarloExperimentsWithExactR
 	 * @return the approximation of pi.
 	 */
 	public double piMonteCarloGeneralDimension() {
-		int numberOfPointsInsideHypersphere = 0;
-		for (int i = 0; i < numberOfDrawings; i++) {
-			/*
-			 * at every iteration, sample (x_1,...,x_d) and compute
-			 * (2*(x_1-0.5))^2+...+(2*(x_d-0.5))^2
-			 */
-			double sumOfSquares = 0;
-			for (int j = 0; j < dimension; j++) {
-				double newRandom = 2 * (Math.random() - 0.5);
-				sumOfSquares += newRandom * newRandom;
-			}
-			/*
-			 * check if the sum is less or equal 1, i.e., if (x_1,...,x_d) is inside the
-			 * unit hypersphere
-			 */
-			if (sumOfSquares <= 1) {
-				numberOfPointsInsideHypersphere += 1;
+		return piMonteCarloGeneralDimension(Math::random);
+	}
+
+	/**
+	 * It computes a Monte Carlo approximation of pi from the volume of a unit
+	 * hypersphere of dimension d as in piMonteCarloGeneralDimension(), with the
+	 * random numbers given by the source passed as an argument.
+	 *
+	 * @param randomSource, the source of the uniform numbers
+	 * @return the approximation of pi.
+	 */
+	public double piMonteCarloGeneralDimension(RandomSource randomSource) {
+		final long numberOfPointsInsideHypersphere = countPointsInsideHypersphere(randomSource, numberOfDrawings);
+		return getEstimateFromMean((double) numberOfPointsInsideHypersphere / numberOfDrawings);
+	}
+
+	/**
+	 * It computes a Monte Carlo approximation of pi from the volume of a unit
+	 * hypersphere of dimension d, sampling the points according to the given
+	 * strategy, and its standard error. The standard error of pi is computed from
+	 * the one of the volume by the delta method: since pi is proportional to the
+	 * volume to the power 1/k, with k the integer part of d/2, it is pi times the
+	 * relative standard error of the volume divided by k.
+	 *
+	 * @param samplingStrategy, the way in which the points are sampled
+	 * @param randomSource,     the source of the uniform numbers
+	 * @return the approximation of pi and its standard error
+	 */
+	public EstimateWithStandardError piMonteCarloWithStandardError(SamplingStrategies samplingStrategy,
+			RandomSource randomSource) {
+		final VarianceReducedSampler sampler = new VarianceReducedSampler(
+				point -> getSquaredNorm(point) <= 1 ? 1 : 0, dimension, this::getSquaredNorm, dimension / 3.0);
+		final EstimateWithStandardError fraction = sampler.getMean(samplingStrategy, numberOfDrawings, randomSource);
+		final double approximatedPi = getEstimateFromMean(fraction.getValue());
+		return new EstimateWithStandardError(approximatedPi,
+				approximatedPi * fraction.getStandardError() / (fraction.getValue() * (dimension / 2)));
+	}
+
+	/**
+	 * It computes a Monte Carlo approximation of pi and its standard error as in
+	 * piMonteCarloWithStandardError(SamplingStrategies, RandomSource), with the
+	 * random numbers given by Math.random().
+	 *
+	 * @param samplingStrategy, the way in which the points are sampled
+	 * @return the approximation of pi and its standard error
+	 */
+	public EstimateWithStandardError piMonteCarloWithStandardError(SamplingStrategies samplingStrategy) {
+		return piMonteCarloWithStandardError(samplingStrategy, Math::random);
+	}
+
+	private double getSquaredNorm(double[] point) {
+		double sumOfSquares = 0;
+		for (final double coordinate : point) {
+			sumOfSquares += coordinate * coordinate;
+		}
+		return sumOfSquares;
+	}
+
+	/*
+	 * It draws numberOfPoints points uniformly distributed in [0,1]^d and returns
+	 * how many of them, transformed to [-1,1]^d, are inside the unit hypersphere.
+	 * The numbers are used in the same order as by drawSingleValue, and the squares
+	 * are summed in the same order, so the result is the same as summing
+	 * drawSingleValue numberOfPoints times.
+	 */
+	private long countPointsInsideHypersphere(RandomSource randomSource, int numberOfPoints) {
+		final int sizeOfBlock = Math.min(NUMBER_OF_POINTS_PER_BLOCK, numberOfPoints);
+		final double[] uniforms = new double[sizeOfBlock * dimension];// the i-th point starts at i * dimension
+		long numberOfPointsInsideHypersphere = 0;
+		for (int firstPoint = 0; firstPoint < numberOfPoints; firstPoint += sizeOfBlock) {
+			final int numberOfPointsInBlock = Math.min(sizeOfBlock, numberOfPoints - firstPoint);
+			randomSource.fill(uniforms, 0, numberOfPointsInBlock * dimension);
+			for (int i = 0; i < numberOfPointsInBlock; i++) {
+				final int start = i * dimension;
+				double sumOfSquares = 0;
+				for (int j = 0; j < dimension; j++) {
+					final double coordinate = 2 * (uniforms[start + j] - 0.5);
+					sumOfSquares += coordinate * coordinate;
+				}
+				/*
+				 * the sign bit of 1 - sumOfSquares is 1 if and only if the point is outside
+				 * (for sumOfSquares = 1, 1 - 1 = +0.0): no branch is needed
+				 */
+				numberOfPointsInsideHypersphere += 1 - (Double.doubleToRawLongBits(1 - sumOfSquares) >>> 63);
 			}
 		}
-		double volumeApproximation = Math.pow(2.0, dimension) * numberOfPointsInsideHypersphere / numberOfDrawings;
+		return numberOfPointsInsideHypersphere;
+	}
+
+	// 1 if the random point is inside the unit hypersphere, 0 otherwise
+	@Override
+	protected double drawSingleValue(RandomSource randomSource) {
+		/*
+		 * sample (x_1,...,x_d) and compute (2*(x_1-0.5))^2+...+(2*(x_d-0.5))^2
+		 */
+		double sumOfSquares = 0;
+		for (int j = 0; j < dimension; j++) {
+			double newRandom = 2 * (randomSource.nextDouble() - 0.5);
+			sumOfSquares += newRandom * newRandom;
+		}
+		/*
+		 * check if the sum is less or equal 1, i.e., if (x_1,...,x_d) is inside the
+		 * unit hypersphere
+		 */
+		return sumOfSquares <= 1 ? 1 : 0;
+	}
+
+	// the fraction of points inside the hypersphere, times 2^d, approximates its volume
+	@Override
+	protected double getEstimateFromMean(double mean) {
+		double volumeApproximation = Math.pow(2.0, dimension) * mean;
 		return computePiFromVolume(volumeApproximation);
 	}
 
 	@Override
 	protected void generateMonteCarloComputations() {
+		if (samplingStrategy != SamplingStrategies.CRUDE) {
+			fillMonteCarloComputations(
+					randomSource -> piMonteCarloWithStandardError(samplingStrategy, randomSource).getValue());
+			return;
+		}
+		final int numberOfTasksPerComputation = (numberOfDrawings + NUMBER_OF_POINTS_PER_TASK - 1)
+				/ NUMBER_OF_POINTS_PER_TASK;
+		final int numberOfTasks = numberOfMonteCarloComputations * numberOfTasksPerComputation;
+		/*
+		 * every task has its own source, split from the one of its computation in
+		 * the order of the tasks, also if no seed is given
+		 */
+		final SplittableRandomSource[] sources = getSplittableSourcesOfComputations();
+		final RandomSource[] sourcesOfTasks = new RandomSource[numberOfTasks];
+		for (int taskIndex = 0; taskIndex < numberOfTasks; taskIndex++) {
+			sourcesOfTasks[taskIndex] = sources[taskIndex / numberOfTasksPerComputation].split();
+		}
+
+		final long[] numbersOfPointsInsideHypersphere = new long[numberOfTasks];
+		runComputations(numberOfTasks, taskIndex -> {
+			final int numberOfPoints = Math.min(NUMBER_OF_POINTS_PER_TASK,
+					numberOfDrawings - (taskIndex % numberOfTasksPerComputation) * NUMBER_OF_POINTS_PER_TASK);
+			numbersOfPointsInsideHypersphere[taskIndex] = countPointsInsideHypersphere(sourcesOfTasks[taskIndex],
+					numberOfPoints);
+		});
+
 		monteCarloComputations = new double[numberOfMonteCarloComputations];
-		for (int i = 0; i < numberOfMonteCarloComputations; i++) {
-			monteCarloComputations[i] = piMonteCarloGeneralDimension();// pi_i
+		for (int computationIndex = 0; computationIndex < numberOfMonteCarloComputations; computationIndex++) {
+			long numberOfPointsInsideHypersphere = 0;
+			for (int taskIndex = 0; taskIndex < numberOfTasksPerComputation; taskIndex++) {
+				numberOfPointsInsideHypersphere += numbersOfPointsInsideHypersphere[computationIndex
+						* numberOfTasksPerComputation + taskIndex];
+			}
+			monteCarloComputations[computationIndex] = getEstimateFromMean(
+					(double) numberOfPointsInsideHypersphere / numberOfDrawings);// pi_i
 		}
 	}
 }
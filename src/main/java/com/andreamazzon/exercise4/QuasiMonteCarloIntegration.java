@@ -0,0 +1,196 @@
+package com.andreamazzon.exercise4;
+
+import java.util.function.ToDoubleFunction;
+
+import com.andreamazzon.exercise3.montecarlo.MonteCarloExperiments;
+import com.andreamazzon.exercise6.randomvariables.RandomSource;
+
+/**
+ * This class deals with the Quasi Monte-Carlo integration of f: [0,1]^d -> R,
+ * i.e., with the approximation
+ *
+ * \[ 1/n \sum_{i=1}^n f(x_i) \approx \int_{[0,1]^d} f(x)dx, \]
+ *
+ * where x_1,...,x_n are the first n points of a low discrepancy sequence: a
+ * Halton sequence, a scrambled Halton sequence or a Sobol sequence. For smooth
+ * integrands the error decreases almost as 1/n, instead of 1/sqrt(n) as for
+ * Monte-Carlo.
+ *
+ * Since the points are deterministic, the error of the approximation cannot be
+ * estimated from the points themselves. For this reason the class extends
+ * MonteCarloExperiments, and its computations are randomized Quasi Monte-Carlo
+ * approximations: in every computation, all the points are shifted by the same
+ * vector u uniformly distributed in [0,1)^d, modulo one, i.e., x_i is replaced
+ * by x_i + u - floor(x_i + u). Every computation is then an unbiased estimator
+ * of the integral, and the computations are independent. So the average of the
+ * computations is the approximation of the integral, and its standard error is
+ * given by getStandardError(). As for the other classes extending
+ * MonteCarloExperiments, the computations can be run in parallel and split from
+ * a seed.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class QuasiMonteCarloIntegration extends MonteCarloExperiments {
+
+	private final ToDoubleFunction<double[]> integrand;
+	private final LowDiscrepancySequence sequence;
+
+	/**
+	 * It constructs an object which computes numberOfShifts randomized Quasi
+	 * Monte-Carlo approximations, with Math.random() for the shifts.
+	 *
+	 * @param integrand,      the function to be integrated in [0,1]^d
+	 * @param sequence,       the low discrepancy sequence giving the points
+	 * @param numberOfShifts, the number of random shifts, i.e., of computations
+	 * @param numberOfPoints, the number of points for every computation
+	 */
+	public QuasiMonteCarloIntegration(ToDoubleFunction<double[]> integrand, LowDiscrepancySequence sequence,
+			int numberOfShifts, int numberOfPoints) {
+		this.integrand = integrand;
+		this.sequence = sequence;
+		this.numberOfMonteCarloComputations = numberOfShifts;
+		this.numberOfDrawings = numberOfPoints;
+	}
+
+	/**
+	 * It constructs an object which computes numberOfShifts randomized Quasi
+	 * Monte-Carlo approximations, run in parallel by numberOfThreads threads:
+	 * every shift is drawn from its own stream of pseudo random numbers, split
+	 * from the seed.
+	 *
+	 * @param integrand,       the function to be integrated in [0,1]^d
+	 * @param sequence,        the low discrepancy sequence giving the points
+	 * @param numberOfShifts,  the number of random shifts, i.e., of computations
+	 * @param numberOfPoints,  the number of points for every computation
+	 * @param numberOfThreads, the number of threads running the computations
+	 * @param seed,            the seed from which the shifts are drawn
+	 */
+	public QuasiMonteCarloIntegration(ToDoubleFunction<double[]> integrand, LowDiscrepancySequence sequence,
+			int numberOfShifts, int numberOfPoints, int numberOfThreads, long seed) {
+		this(integrand, sequence, numberOfShifts, numberOfPoints);
+		this.numberOfThreads = numberOfThreads;
+		this.isSeeded = true;
+		this.seed = seed;
+	}
+
+	/**
+	 * It constructs an object which computes numberOfShifts randomized Quasi
+	 * Monte-Carlo approximations with the given type of sequence in dimension d,
+	 * run in parallel and split from the seed. The Halton sequences have the
+	 * first d prime numbers as base, and the permutations of the scrambled Halton
+	 * sequence are also drawn from the seed.
+	 *
+	 * @param integrand,       the function to be integrated in [0,1]^d
+	 * @param dimension,       the dimension d
+	 * @param type,            the type of the low discrepancy sequence
+	 * @param numberOfShifts,  the number of random shifts, i.e., of computations
+	 * @param numberOfPoints,  the number of points for every computation
+	 * @param numberOfThreads, the number of threads running the computations
+	 * @param seed,            the seed from which the shifts are drawn
+	 */
+	public QuasiMonteCarloIntegration(ToDoubleFunction<double[]> integrand, int dimension,
+			LowDiscrepancySequenceTypes type, int numberOfShifts, int numberOfPoints, int numberOfThreads,
+			long seed) {
+		this(integrand, createSequence(type, dimension, seed), numberOfShifts, numberOfPoints, numberOfThreads,
+				seed);
+	}
+
+	/**
+	 * It returns a low discrepancy sequence of the given type and dimension.
+	 *
+	 * @param type,      the type of the sequence
+	 * @param dimension, the dimension of the points
+	 * @param seed,      the seed of the permutations, only used by the scrambled
+	 *                   Halton sequence
+	 * @return the sequence
+	 */
+	public static LowDiscrepancySequence createSequence(LowDiscrepancySequenceTypes type, int dimension,
+			long seed) {
+		switch (type) {
+		case HALTON:
+			return new HaltonSequence(HaltonSequence.getFirstPrimes(dimension));
+		case SCRAMBLEDHALTON:
+			return new ScrambledHaltonSequence(HaltonSequence.getFirstPrimes(dimension), seed);
+		case SOBOL:
+			return new SobolSequence(dimension);
+		default:
+			throw new IllegalArgumentException("Unknown type of sequence: " + type);
+		}
+	}
+
+	/**
+	 * It computes the Quasi Monte-Carlo approximation of the integral without any
+	 * shift, i.e., with the points of the sequence themselves.
+	 *
+	 * @return the approximated value of the integral
+	 */
+	public double computeIntegralWithoutShift() {
+		return computeIntegral(new double[sequence.getDimension()]);
+	}
+
+	/**
+	 * It computes the randomized Quasi Monte-Carlo approximation of the integral
+	 * with one shift drawn from the source passed as an argument.
+	 *
+	 * @param randomSource, the source of the uniform numbers giving the shift
+	 * @return the approximated value of the integral
+	 */
+	public double computeIntegral(RandomSource randomSource) {
+		final double[] shift = new double[sequence.getDimension()];
+		randomSource.fill(shift, 0, shift.length);
+		return computeIntegral(shift);
+	}
+
+	/*
+	 * It computes the approximation of the integral with the points of the
+	 * sequence shifted by the given vector, modulo one.
+	 */
+	private double computeIntegral(double[] shift) {
+		final int dimension = shift.length;
+		final double[] point = new double[dimension];// the same array for all the points
+		// it computes every point from the previous one, when the sequence allows it
+		final LowDiscrepancySequenceGenerator generator = sequence.getGenerator(0);
+		double sumOfValues = 0;
+		double compensation = 0;// Kahan summation, since the error of the approximation is small
+		for (int i = 0; i < numberOfDrawings; i++) {
+			generator.nextSamplePoint(point);
+			for (int j = 0; j < dimension; j++) {
+				final double shiftedCoordinate = point[j] + shift[j];
+				point[j] = shiftedCoordinate >= 1.0 ? shiftedCoordinate - 1.0 : shiftedCoordinate;
+			}
+			final double y = integrand.applyAsDouble(point) - compensation;
+			final double t = sumOfValues + y;
+			compensation = (t - sumOfValues) - y;
+			sumOfValues = t;
+		}
+		return sumOfValues / numberOfDrawings;
+	}
+
+	/**
+	 * It returns the standard error of the randomized Quasi Monte-Carlo
+	 * approximation of the integral, given by getAverageComputations(): this is
+	 * the standard deviation of the computations divided by the square root of
+	 * their number minus one, since getStandardDeviationComputations() divides by
+	 * their number.
+	 *
+	 * @return the standard error of the approximation
+	 */
+	public double getStandardError() {
+		return getStandardDeviationComputations() / Math.sqrt(numberOfMonteCarloComputations - 1.0);
+	}
+
+	/**
+	 * getter method for the sequence
+	 *
+	 * @return the low discrepancy sequence giving the points
+	 */
+	public LowDiscrepancySequence getSequence() {
+		return sequence;
+	}
+
+	@Override
+	protected void generateMonteCarloComputations() {
+		fillMonteCarloComputations(this::computeIntegral);// specific computation
+	}
+}
@@ -0,0 +1,58 @@
+package com.andreamazzon.exercise4;
+
+import java.util.function.ToDoubleFunction;
+
+import com.andreamazzon.exercise5.montecarlointegrationtwodimensions.MonteCarloIntegrationHypercube;
+
+/**
+ * This class has a main method where we compare the Monte-Carlo integration and
+ * the randomized Quasi Monte-Carlo integration with the Halton, the scrambled
+ * Halton and the Sobol sequence, for a smooth function in dimension d. For every
+ * method, we print the approximation of the integral, its error and its
+ * standard error, for increasing numbers of points.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class QuasiMonteCarloIntegrationCheck {
+
+	public static void main(String[] args) {
+
+		int dimension = 7;
+		int numberOfShifts = 32;// number of randomized computations
+		int numberOfThreads = Runtime.getRuntime().availableProcessors();
+		long seed = 1897;
+
+		// f(x) = exp(x_1 + ... + x_d), whose integral is (e-1)^d
+		ToDoubleFunction<double[]> integrand = point -> {
+			double sum = 0;
+			for (double coordinate : point) {
+				sum += coordinate;
+			}
+			return Math.exp(sum);
+		};
+		double exactResult = Math.pow(Math.E - 1, dimension);
+
+		int[] numbersOfPoints = { 1 << 10, 1 << 13, 1 << 16 };
+
+		for (int numberOfPoints : numbersOfPoints) {
+			System.out.println("Number of points: " + numberOfPoints);
+
+			MonteCarloIntegrationHypercube monteCarlo = new MonteCarloIntegrationHypercube(integrand, dimension,
+					numberOfShifts, numberOfPoints, numberOfThreads, seed);
+			double monteCarloStandardError = monteCarlo.getStandardDeviationComputations()
+					/ Math.sqrt(numberOfShifts - 1.0);
+			System.out.println("Monte-Carlo: error " + Math.abs(monteCarlo.getAverageComputations() - exactResult)
+					+ ", standard error " + monteCarloStandardError);
+
+			for (LowDiscrepancySequenceTypes type : LowDiscrepancySequenceTypes.values()) {
+				QuasiMonteCarloIntegration quasiMonteCarlo = new QuasiMonteCarloIntegration(integrand, dimension,
+						type, numberOfShifts, numberOfPoints, numberOfThreads, seed);
+				System.out.println(type + ": error "
+						+ Math.abs(quasiMonteCarlo.getAverageComputations() - exactResult) + ", standard error "
+						+ quasiMonteCarlo.getStandardError());
+			}
+			System.out.println();
+		}
+	}
+}
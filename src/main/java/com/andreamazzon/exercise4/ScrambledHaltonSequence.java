@@ -0,0 +1,78 @@
+package com.andreamazzon.exercise4;
+
+import com.andreamazzon.exercise6.randomvariables.RandomSource;
+import com.andreamazzon.exercise6.randomvariables.XoshiroRandomSource;
+
+/**
+ * This class is used to get elements of a d-dimensional scrambled Halton
+ * sequence of base (b_1,...,b_d). As for the Halton sequence, the j-th element
+ * of the i-th point is given by writing i+1 in base b_j and mirroring its
+ * digits after the decimal point, but every digit a is replaced by pi_j(a),
+ * where pi_j is a random permutation of {0,...,b_j-1} with pi_j(0)=0. In high
+ * dimension the points of the Halton sequence have strong correlations between
+ * the elements of big bases, and they fill the hypercube along few lines: the
+ * permutations break these correlations.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class ScrambledHaltonSequence implements LowDiscrepancySequence {
+
+	private final int[] base;
+	private final int[][] permutations;// permutations[j] is the permutation of the digits of base[j]
+
+	/**
+	 * It constructs the sequence, drawing the permutations from a
+	 * XoshiroRandomSource with the given seed.
+	 *
+	 * @param base, the base of the sequence: its elements must be coprime
+	 * @param seed, the seed from which the permutations are drawn
+	 */
+	public ScrambledHaltonSequence(int[] base, long seed) {
+		this.base = base;
+		this.permutations = new int[base.length][];
+		final RandomSource randomSource = new XoshiroRandomSource(seed);
+		for (int j = 0; j < base.length; j++) {
+			final int[] permutation = new int[base[j]];
+			for (int digit = 0; digit < base[j]; digit++) {
+				permutation[digit] = digit;
+			}
+			// Fisher-Yates shuffle of the digits from 1 to b-1: zero stays zero
+			for (int digit = base[j] - 1; digit > 1; digit--) {
+				final int other = 1 + (int) (randomSource.nextDouble() * digit);
+				final int temporary = permutation[digit];
+				permutation[digit] = permutation[other];
+				permutation[other] = temporary;
+			}
+			permutations[j] = permutation;
+		}
+	}
+
+	@Override
+	public int getDimension() {
+		return base.length;
+	}
+
+	@Override
+	public void fillSamplePoint(int index, double[] point) {
+		for (int j = 0; j < base.length; j++) {
+			final int currentBase = base[j];
+			final int[] permutation = permutations[j];
+			long remainingIndex = index + 1L;// as for VanDerCorputSequence, we start from one
+			double x = 0.0;
+			double refinementFactor = 1.0 / currentBase;
+			while (remainingIndex > 0) {
+				x += permutation[(int) (remainingIndex % currentBase)] * refinementFactor;
+				remainingIndex = remainingIndex / currentBase;
+				refinementFactor = refinementFactor / currentBase;
+			}
+			point[j] = x;
+		}
+	}
+
+	// the consecutive points are computed by adding one to the digits of the index
+	@Override
+	public LowDiscrepancySequenceGenerator getGenerator(long firstIndex) {
+		return new HaltonSequenceGenerator(base, permutations, firstIndex);
+	}
+}
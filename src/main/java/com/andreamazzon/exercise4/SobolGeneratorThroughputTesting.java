@@ -0,0 +1,70 @@
+package com.andreamazzon.exercise4;
+
+/**
+ * This class contains one main method that compares the time needed to compute
+ * the first points of a Sobol sequence and of a Halton sequence in the same
+ * dimension, by the method fill of their generators, which computes every point
+ * from the previous one and writes the points in a given array. For the Sobol
+ * sequence, the time of getSamplePoint, which computes every point from its
+ * index, is also measured. The points are generated several times, and only the
+ * last times are measured: the first ones are needed by the Java Virtual
+ * Machine to compile the methods.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class SobolGeneratorThroughputTesting {
+
+	public static void main(String[] args) {
+
+		int dimension = SobolSequence.MAXIMUM_DIMENSION;
+		int numberOfPoints = 1 << 22;
+		int blockSize = 1024;// the points are written in blocks of this size by fill
+
+		int numberOfWarmUpRounds = 3;
+		int numberOfMeasuredRounds = 5;
+
+		LowDiscrepancySequence[] sequences = { new SobolSequence(dimension),
+				new HaltonSequence(HaltonSequence.getFirstPrimes(dimension)) };
+		String[] names = { "Sobol", "Halton" };
+		double[][] block = new double[dimension][blockSize];
+
+		long[] timesWithGenerator = new long[sequences.length];
+		long timeWithSamplePoint = 0;
+		double checkSum = 0;// we use the points, otherwise the computations might be skipped
+
+		for (int round = 0; round < numberOfWarmUpRounds + numberOfMeasuredRounds; round++) {
+			for (int s = 0; s < sequences.length; s++) {
+				long start = System.nanoTime();
+				LowDiscrepancySequenceGenerator generator = sequences[s].getGenerator(0);
+				for (int generated = 0; generated < numberOfPoints; generated += blockSize) {
+					generator.fill(block, Math.min(blockSize, numberOfPoints - generated));
+					checkSum += block[dimension - 1][0];
+				}
+				long timeOfThisRound = System.nanoTime() - start;
+				if (round >= numberOfWarmUpRounds) {
+					timesWithGenerator[s] += timeOfThisRound;
+				}
+			}
+
+			long start = System.nanoTime();
+			for (int i = 0; i < numberOfPoints; i++) {
+				checkSum += sequences[0].getSamplePoint(i)[dimension - 1];
+			}
+			long timeOfThisRound = System.nanoTime() - start;
+			if (round >= numberOfWarmUpRounds) {
+				timeWithSamplePoint += timeOfThisRound;
+			}
+		}
+
+		double numberOfMeasuredPoints = (double) numberOfMeasuredRounds * numberOfPoints;
+
+		System.out.println("Dimension " + dimension + " (check sum " + checkSum + ")");
+		for (int s = 0; s < sequences.length; s++) {
+			System.out.println("Nanoseconds per point with the generator of the " + names[s] + " sequence: "
+					+ timesWithGenerator[s] / numberOfMeasuredPoints);
+		}
+		System.out.println("Nanoseconds per point with getSamplePoint of the Sobol sequence: "
+				+ timeWithSamplePoint / numberOfMeasuredPoints);
+	}
+}
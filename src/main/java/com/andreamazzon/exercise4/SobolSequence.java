@@ -0,0 +1,162 @@
+package com.andreamazzon.exercise4;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is used to get elements of a d-dimensional Sobol sequence. The
+ * j-th element of a point is given by 32 binary digits, computed as the XOR of
+ * the direction numbers v_j^k for which the k-th bit of the Gray code
+ * i^(i>>1) of the index i is one. So consecutive points only differ by one
+ * direction number, and SobolSequenceGenerator computes every point from the
+ * previous one with one XOR for every element. The first point is (0,...,0).
+ *
+ * The direction numbers are the ones of S. Joe and F. Y. Kuo: the ones for the
+ * first MAXIMUM_DIMENSION dimensions are given in this class, and the ones for
+ * more dimensions (up to 21201 in the file new-joe-kuo-6.21201 of Joe and Kuo)
+ * can be read by fromJoeKuoDirectionNumbers.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class SobolSequence implements LowDiscrepancySequence {
+
+	public static final int MAXIMUM_DIMENSION = 21;
+
+	private static final int NUMBER_OF_BITS = 32;
+	private static final double NORMALIZATION = 1.0 / (1L << NUMBER_OF_BITS);
+
+	/*
+	 * The parameters of Joe and Kuo for the dimensions from 2: the degree s of the
+	 * primitive polynomial, its coefficients a and the initial numbers m_1,...,m_s.
+	 * The first dimension has all the m_k equal to one.
+	 */
+	private static final int[][] JOE_KUO_PARAMETERS = {
+			{ 1, 0, 1 },
+			{ 2, 1, 1, 3 },
+			{ 3, 1, 1, 3, 1 },
+			{ 3, 2, 1, 1, 1 },
+			{ 4, 1, 1, 1, 3, 3 },
+			{ 4, 4, 1, 3, 5, 13 },
+			{ 5, 2, 1, 1, 5, 5, 17 },
+			{ 5, 4, 1, 1, 5, 5, 5 },
+			{ 5, 7, 1, 1, 7, 11, 19 },
+			{ 5, 11, 1, 1, 5, 1, 1 },
+			{ 5, 13, 1, 1, 1, 3, 11 },
+			{ 5, 14, 1, 3, 5, 5, 31 },
+			{ 6, 1, 1, 3, 3, 9, 7, 49 },
+			{ 6, 13, 1, 1, 1, 15, 21, 21 },
+			{ 6, 16, 1, 3, 1, 13, 27, 49 },
+			{ 6, 19, 1, 1, 1, 15, 7, 5 },
+			{ 6, 22, 1, 3, 1, 15, 13, 25 },
+			{ 6, 25, 1, 1, 5, 5, 19, 61 },
+			{ 7, 1, 1, 3, 7, 11, 23, 15, 103 },
+			{ 7, 4, 1, 3, 7, 13, 13, 15, 69 } };
+
+	private final int dimension;
+	// directionNumbers[j][k] is the k-th direction number of the j-th dimension, times 2^32
+	private final long[][] directionNumbers;
+
+	/**
+	 * It constructs the sequence for the given dimension.
+	 *
+	 * @param dimension, the dimension: at most MAXIMUM_DIMENSION
+	 */
+	public SobolSequence(int dimension) {
+		this(dimension, JOE_KUO_PARAMETERS);
+	}
+
+	/*
+	 * It constructs the sequence from the parameters of Joe and Kuo for the
+	 * dimensions from 2: every row is {s, a, m_1,...,m_s}.
+	 */
+	private SobolSequence(int dimension, int[][] parameters) {
+		if (dimension < 1 || dimension > parameters.length + 1) {
+			throw new IllegalArgumentException(
+					"The dimension of the Sobol sequence must be between 1 and " + (parameters.length + 1) + ".");
+		}
+		this.dimension = dimension;
+		this.directionNumbers = new long[dimension][NUMBER_OF_BITS];
+		for (int k = 0; k < NUMBER_OF_BITS; k++) {
+			directionNumbers[0][k] = 1L << (NUMBER_OF_BITS - 1 - k);
+		}
+		for (int j = 1; j < dimension; j++) {
+			final int[] parametersOfDimension = parameters[j - 1];
+			final int degree = parametersOfDimension[0];
+			final int coefficients = parametersOfDimension[1];
+			final long[] v = directionNumbers[j];
+			for (int k = 0; k < Math.min(degree, NUMBER_OF_BITS); k++) {
+				v[k] = (long) parametersOfDimension[2 + k] << (NUMBER_OF_BITS - 1 - k);
+			}
+			// recursion given by the primitive polynomial
+			for (int k = degree; k < NUMBER_OF_BITS; k++) {
+				v[k] = v[k - degree] ^ (v[k - degree] >> degree);
+				for (int l = 1; l < degree; l++) {
+					if (((coefficients >> (degree - 1 - l)) & 1) == 1) {
+						v[k] ^= v[k - l];
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * It constructs the Sobol sequence of the given dimension with the direction
+	 * numbers read from the reader passed as an argument, in the format of the
+	 * files of Joe and Kuo: a header line, and then one line "d s a m_1 ... m_s"
+	 * for every dimension d from 2.
+	 *
+	 * @param reader,    the reader of the file of the direction numbers
+	 * @param dimension, the dimension of the sequence
+	 * @return the Sobol sequence
+	 * @throws IOException if the reader fails
+	 */
+	public static SobolSequence fromJoeKuoDirectionNumbers(BufferedReader reader, int dimension) throws IOException {
+		final List<int[]> parameters = new ArrayList<int[]>();
+		reader.readLine();// the header
+		String line;
+		while (parameters.size() < dimension - 1 && (line = reader.readLine()) != null) {
+			final String[] fields = line.trim().split("\\s+");
+			if (fields.length < 3) {
+				continue;// empty line
+			}
+			final int[] parametersOfDimension = new int[fields.length - 1];// without d
+			for (int i = 1; i < fields.length; i++) {
+				parametersOfDimension[i - 1] = Integer.parseInt(fields[i]);
+			}
+			if (parametersOfDimension.length != 2 + parametersOfDimension[0]) {
+				throw new IllegalArgumentException("Wrong number of direction numbers in the line: " + line);
+			}
+			parameters.add(parametersOfDimension);
+		}
+		return new SobolSequence(dimension, parameters.toArray(new int[parameters.size()][]));
+	}
+
+	@Override
+	public int getDimension() {
+		return dimension;
+	}
+
+	@Override
+	public void fillSamplePoint(int index, double[] point) {
+		final int grayCode = index ^ (index >>> 1);
+		for (int j = 0; j < dimension; j++) {
+			final long[] v = directionNumbers[j];
+			long x = 0;
+			for (int k = 0; k < NUMBER_OF_BITS; k++) {
+				if (((grayCode >>> k) & 1) == 1) {
+					x ^= v[k];
+				}
+			}
+			point[j] = x * NORMALIZATION;
+		}
+	}
+
+	// the consecutive points are computed by one XOR for every element
+	@Override
+	public LowDiscrepancySequenceGenerator getGenerator(long firstIndex) {
+		return new SobolSequenceGenerator(directionNumbers, firstIndex);
+	}
+}
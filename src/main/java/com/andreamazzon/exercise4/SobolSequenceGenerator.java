@@ -0,0 +1,127 @@
+package com.andreamazzon.exercise4;
+
+import java.util.Arrays;
+
+/**
+ * This class generates the consecutive points of a Sobol sequence. The point
+ * with index i is the XOR of the direction numbers v^k for which the k-th bit of
+ * the Gray code i^(i>>1) is one. The Gray codes of i and i+1 only differ in the
+ * bit c, where c is the number of trailing zeros of i+1: so the point i+1 is
+ * obtained from the point i by one XOR with v^c for every element, without
+ * looking at the other bits of the index.
+ *
+ * The method skipTo computes the point of any index from its Gray code, so that
+ * different threads can start from different parts of the sequence. The index
+ * must be smaller than 2^32.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class SobolSequenceGenerator implements LowDiscrepancySequenceGenerator {
+
+	private static final int NUMBER_OF_BITS = 32;
+	private static final long MAXIMUM_NUMBER_OF_POINTS = 1L << NUMBER_OF_BITS;
+	private static final double NORMALIZATION = 1.0 / MAXIMUM_NUMBER_OF_POINTS;
+
+	private final int dimension;
+	/*
+	 * directionNumbersOfBits[k][j] is the k-th direction number of the j-th
+	 * dimension: the direction numbers used by one update are contiguous
+	 */
+	private final long[][] directionNumbersOfBits;
+
+	private final long[] state;// the elements of the next point, times 2^32
+	private long index;// the index of the next point
+
+	/**
+	 * It constructs a generator with the given direction numbers, starting from
+	 * the given index.
+	 *
+	 * @param directionNumbers, directionNumbers[j][k] is the k-th direction number
+	 *                          of the j-th dimension, times 2^32
+	 * @param firstIndex,       the index of the first point
+	 */
+	SobolSequenceGenerator(long[][] directionNumbers, long firstIndex) {
+		this.dimension = directionNumbers.length;
+		this.directionNumbersOfBits = new long[NUMBER_OF_BITS][dimension];
+		for (int j = 0; j < dimension; j++) {
+			for (int k = 0; k < NUMBER_OF_BITS; k++) {
+				directionNumbersOfBits[k][j] = directionNumbers[j][k];
+			}
+		}
+		this.state = new long[dimension];
+		skipTo(firstIndex);
+	}
+
+	@Override
+	public int getDimension() {
+		return dimension;
+	}
+
+	@Override
+	public long getIndex() {
+		return index;
+	}
+
+	@Override
+	public void skipTo(long index) {
+		if (index < 0 || index >= MAXIMUM_NUMBER_OF_POINTS) {
+			throw new IllegalArgumentException("The index of a Sobol point must be between 0 and 2^32 - 1.");
+		}
+		this.index = index;
+		final long grayCode = index ^ (index >>> 1);
+		Arrays.fill(state, 0L);
+		for (int k = 0; k < NUMBER_OF_BITS; k++) {
+			if (((grayCode >>> k) & 1) == 1) {
+				final long[] directionNumbersOfBit = directionNumbersOfBits[k];
+				for (int j = 0; j < dimension; j++) {
+					state[j] ^= directionNumbersOfBit[j];
+				}
+			}
+		}
+	}
+
+	@Override
+	public void nextSamplePoint(double[] point) {
+		if (index == MAXIMUM_NUMBER_OF_POINTS) {
+			throw new IllegalStateException("Only 2^32 Sobol points can be generated.");
+		}
+		for (int j = 0; j < dimension; j++) {
+			point[j] = state[j] * NORMALIZATION;
+		}
+		increment();
+	}
+
+	@Override
+	public void fill(double[][] points, int numberOfPoints) {
+		if (index + numberOfPoints > MAXIMUM_NUMBER_OF_POINTS) {
+			throw new IllegalStateException("Only 2^32 Sobol points can be generated.");
+		}
+		for (int i = 0; i < numberOfPoints; i++) {
+			// after the last point, the bit 32 does not exist: the state is not used any more
+			final long[] directionNumbersOfBit = directionNumbersOfBits[Long.numberOfTrailingZeros(index + 1)
+					& (NUMBER_OF_BITS - 1)];
+			for (int j = 0; j < dimension; j++) {
+				final long element = state[j];
+				points[j][i] = element * NORMALIZATION;
+				state[j] = element ^ directionNumbersOfBit[j];
+			}
+			index++;
+		}
+	}
+
+	/*
+	 * It moves to the next point: the bit of the Gray code which changes is the
+	 * number of trailing zeros of the next index.
+	 */
+	private void increment() {
+		index++;
+		if (index == MAXIMUM_NUMBER_OF_POINTS) {
+			return;// no more points
+		}
+		final long[] directionNumbersOfBit = directionNumbersOfBits[Long.numberOfTrailingZeros(index)];
+		for (int j = 0; j < dimension; j++) {
+			state[j] ^= directionNumbersOfBit[j];
+		}
+	}
+}
@@ -32,15 +32,19 @@ public class VanDerCorputSequence {
 	}
 
 	/**
-	 * @param index The length of the sequence starting with 0
-	 * @param base  The base.
+	 * The numbers are given by a HaltonSequenceGenerator, which computes every one
+	 * from the previous one with at most one rounding. So they can differ in the
+	 * last bits, by a few ulps, from the ones given by getVanDerCorputNumber, which
+	 * rounds at every digit.
+	 *
+	 * @param n    The length of the sequence starting with 0
+	 * @param base The base.
 	 * @return The van der Corput sequence up to the index n
 	 */
 	public static double[] getVanDerCorputSequence(int n, int base) {
-		double[] sequence = new double[n];
-		for (int i = 0; i <= n - 1; i++) {
-			sequence[i] = getVanDerCorputNumber(i, base);
-		}
-		return sequence;
+		double[][] sequence = new double[1][n];
+		// the numbers are computed one from the previous, see HaltonSequenceGenerator
+		new HaltonSequenceGenerator(new int[] { base }).fill(sequence, n);
+		return sequence[0];
 	}
 }
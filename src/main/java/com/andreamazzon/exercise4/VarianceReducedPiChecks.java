@@ -0,0 +1,62 @@
+package com.andreamazzon.exercise4;
+
+import com.andreamazzon.exercise3.montecarlo.SamplingStrategies;
+import com.andreamazzon.exercise3.montecarlopi.MonteCarloPi;
+import com.andreamazzon.exercise6.randomvariables.XoshiroRandomSource;
+
+/**
+ * This class contains one main method that compares the sampling strategies of
+ * MonteCarloPi and MonteCarloPiFromHypersphere. For every strategy we print the
+ * standard deviation of 100 approximations of pi, the standard error computed
+ * from a single approximation, and how many times less points than the crude
+ * approximation are needed for the same accuracy, i.e., the ratio between the
+ * variances of the crude and of the variance reduced approximations.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class VarianceReducedPiChecks {
+
+	public static void main(String[] args) {
+
+		int numberOfComputations = 100;
+		int numberOfPoints = 100000;
+		int numberOfThreads = Runtime.getRuntime().availableProcessors();
+		long seed = 1897;
+
+		System.out.println("Approximation of pi from the area of the circle");
+		System.out.println();
+		double crudeStandardDeviation = 0;
+		for (SamplingStrategies strategy : SamplingStrategies.values()) {
+			MonteCarloPi piComputer = new MonteCarloPi(numberOfComputations, numberOfPoints, numberOfThreads, seed,
+					strategy);
+			double standardDeviation = piComputer.getStandardDeviationComputations();
+			if (strategy == SamplingStrategies.CRUDE) {
+				crudeStandardDeviation = standardDeviation;
+			}
+			System.out.println(strategy + ": standard deviation " + standardDeviation + ", standard error "
+					+ piComputer.piMonteCarloWithStandardError(strategy, new XoshiroRandomSource(seed))
+							.getStandardError()
+					+ ", reduction of the points "
+					+ Math.pow(crudeStandardDeviation / standardDeviation, 2));
+		}
+
+		for (int dimension = 3; dimension <= 7; dimension += 2) {
+			System.out.println();
+			System.out.println("Approximation of pi from the volume of the hypersphere in dimension " + dimension);
+			System.out.println();
+			for (SamplingStrategies strategy : SamplingStrategies.values()) {
+				MonteCarloPiFromHypersphere piComputer = new MonteCarloPiFromHypersphere(numberOfComputations,
+						numberOfPoints, dimension, numberOfThreads, seed, strategy);
+				double standardDeviation = piComputer.getStandardDeviationComputations();
+				if (strategy == SamplingStrategies.CRUDE) {
+					crudeStandardDeviation = standardDeviation;
+				}
+				System.out.println(strategy + ": standard deviation " + standardDeviation + ", standard error "
+						+ piComputer.piMonteCarloWithStandardError(strategy, new XoshiroRandomSource(seed))
+								.getStandardError()
+						+ ", reduction of the points " + Math.pow(crudeStandardDeviation / standardDeviation, 2));
+			}
+		}
+	}
+}
@@ -5,7 +5,20 @@
  * 1_{\{x_1^2+x_2^+...+x_d^2 <= 1\}\], see equation (1) of the exercise sheet.
  * In particular, the quality of the approximation is tested when the points
  * (x_1^i,\dots,x_d^i), i=1,..,d are sampled by Monte-Carlo and when they are
- * sampled by an Halton sequence.
- * 
+ * sampled by an Halton sequence. MonteCarloPiFromHypersphere draws the points
+ * in blocks and splits every computation in tasks which are run in parallel.
+ * It can also sample the points with the variance reduction techniques of
+ * SamplingStrategies, which are compared in VarianceReducedPiChecks.
+ *
+ * The class QuasiMonteCarloIntegration integrates general functions in [0,1]^d
+ * with the points of a LowDiscrepancySequence: a HaltonSequence, a
+ * ScrambledHaltonSequence or a SobolSequence. Its computations are shifted by
+ * independent random vectors, so that the error of the approximation can be
+ * estimated as for Monte-Carlo, by the methods of MonteCarloEvaluations. The
+ * consecutive points of a sequence are given by a
+ * LowDiscrepancySequenceGenerator: HaltonSequenceGenerator computes every point
+ * of a (scrambled) Halton sequence from the previous one, adding one to the
+ * digits of the index, and SobolSequenceGenerator computes every point of a
+ * Sobol sequence from the previous one by one XOR for every element.
  */
 package com.andreamazzon.exercise4;
\ No newline at end of file
@@ -0,0 +1,408 @@
+package com.andreamazzon.exercise5.discrepancy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.andreamazzon.exercise4.LowDiscrepancySequence;
+import com.andreamazzon.exercise4.LowDiscrepancySequenceGenerator;
+import com.andreamazzon.exercise6.randomvariables.RandomSource;
+import com.andreamazzon.exercise6.randomvariables.SplitMixRandomSource;
+
+/**
+ * This class is devoted to the computation of the star discrepancy of a set of
+ * n points x_1,...,x_n in [0,1]^d, i.e., of the maximum over b in [0,1]^d of
+ * the local discrepancies
+ *
+ * \[ max( b_1...b_d - |{x_i \in [0,b)}|/n, |{x_i \in [0,b]}|/n - b_1...b_d ). \]
+ *
+ * The maximum is reached at a point b whose elements b_j are elements x_ij of
+ * the points or 1: so it can be computed exactly by checking all these points,
+ * which are (n+1)^d. This is done by getStarDiscrepancy(), which needs O(n^d)
+ * operations and is then only feasible for small d. For bigger dimensions, the
+ * class gives:
+ *
+ * - the L2 star discrepancy, i.e., the square root of the integral over b of the
+ * square of |{x_i \in [0,b)}|/n - b_1...b_d, computed by the formula of Warnock
+ * in O(n^2 d) operations, see getL2StarDiscrepancy();
+ *
+ * - a lower bound of the star discrepancy, given by the maximum of the local
+ * discrepancies at the points b found by a randomized local search, see
+ * getStarDiscrepancyLowerBound.
+ *
+ * The computations are split in tasks run by numberOfThreads threads, whose
+ * results are put together in the order of the tasks: so they do not depend on
+ * the number of threads. A long computation can be stopped by calling cancel()
+ * from another thread: the method running it then throws a
+ * CancellationException, and so do all the methods called later.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class DiscrepancyMultiDimension {
+
+	private static final int NUMBER_OF_POINTS_PER_TASK = 256;// for the formula of Warnock
+
+	private final double[][] points;// points[i] is the i-th point
+	private final int numberOfPoints;
+	private final int dimension;
+	private final int numberOfThreads;
+
+	private volatile boolean isCancelled;
+
+	/**
+	 * It constructs an object computing the discrepancies of the given points.
+	 *
+	 * @param points,          the points: points[i] is the i-th point, an array of
+	 *                         length d. They are not modified.
+	 * @param numberOfThreads, the number of threads running the computations
+	 */
+	public DiscrepancyMultiDimension(double[][] points, int numberOfThreads) {
+		if (points.length == 0) {
+			throw new IllegalArgumentException("The set must contain at least one point.");
+		}
+		this.points = points;
+		this.numberOfPoints = points.length;
+		this.dimension = points[0].length;
+		this.numberOfThreads = numberOfThreads;
+	}
+
+	/**
+	 * It returns the first numberOfPoints points of a low discrepancy sequence, in
+	 * the form needed by the constructor.
+	 *
+	 * @param sequence,       the low discrepancy sequence
+	 * @param numberOfPoints, the number of points
+	 * @return the array whose i-th element is the i-th point of the sequence
+	 */
+	public static double[][] getFirstPoints(LowDiscrepancySequence sequence, int numberOfPoints) {
+		final double[][] firstPoints = new double[numberOfPoints][sequence.getDimension()];
+		final LowDiscrepancySequenceGenerator generator = sequence.getGenerator(0);
+		for (int i = 0; i < numberOfPoints; i++) {
+			generator.nextSamplePoint(firstPoints[i]);
+		}
+		return firstPoints;
+	}
+
+	/**
+	 * It stops the computations running or called later: they throw a
+	 * CancellationException. It can be called from any thread.
+	 */
+	public void cancel() {
+		isCancelled = true;
+	}
+
+	/**
+	 * It computes the star discrepancy exactly, checking all the points b whose
+	 * elements are elements of the points of the set or 1. For every choice of
+	 * b_1,...,b_{d-1}, the points in the boxes are sorted by their last element,
+	 * and all the values of b_d are checked in one pass: so it needs O(n^d)
+	 * operations, and it is feasible only for small dimensions. The values of b_1
+	 * are split among the threads.
+	 *
+	 * @return the star discrepancy
+	 */
+	public double getStarDiscrepancy() {
+		// the possible values of the elements of b, for every dimension
+		final double[][] values = new double[dimension][];
+		for (int j = 0; j < dimension; j++) {
+			values[j] = getPossibleValues(j);
+		}
+		// the indices of all the points, sorted by their last element
+		final int lastDimension = dimension - 1;
+		final Integer[] sortedIndices = new Integer[numberOfPoints];
+		for (int i = 0; i < numberOfPoints; i++) {
+			sortedIndices[i] = i;
+		}
+		Arrays.sort(sortedIndices, (i, k) -> Double.compare(points[i][lastDimension], points[k][lastDimension]));
+		final int[] allPoints = new int[numberOfPoints];
+		for (int i = 0; i < numberOfPoints; i++) {
+			allPoints[i] = sortedIndices[i];
+		}
+
+		if (dimension == 1) {
+			return getMaximumOverLastDimension(values[0], allPoints, numberOfPoints, allPoints, numberOfPoints, 1.0);
+		}
+		final List<Callable<Double>> tasks = new ArrayList<Callable<Double>>();
+		for (final double firstValue : values[0]) {
+			tasks.add(() -> {
+				final int[] closedPoints = new int[numberOfPoints];
+				final int[] openPoints = new int[numberOfPoints];
+				int numberOfClosedPoints = 0;
+				int numberOfOpenPoints = 0;
+				for (final int i : allPoints) {
+					if (points[i][0] <= firstValue) {
+						closedPoints[numberOfClosedPoints++] = i;
+						if (points[i][0] < firstValue) {
+							openPoints[numberOfOpenPoints++] = i;
+						}
+					}
+				}
+				return getMaximumOverBoxes(values, 1, closedPoints, numberOfClosedPoints, openPoints,
+						numberOfOpenPoints, firstValue);
+			});
+		}
+		double starDiscrepancy = 0;
+		for (final double maximumOfTask : runTasks(tasks)) {
+			starDiscrepancy = Math.max(starDiscrepancy, maximumOfTask);
+		}
+		return starDiscrepancy;
+	}
+
+	/*
+	 * It returns the maximum local discrepancy over the boxes whose elements from
+	 * the given dimension on are free. closedPoints are the points in the box
+	 * [0,b_1] x ... x [0,b_{j-1}] and openPoints the ones in [0,b_1) x ... x
+	 * [0,b_{j-1}), both sorted by the last element. volume is b_1...b_{j-1}.
+	 */
+	private double getMaximumOverBoxes(double[][] values, int dimensionIndex, int[] closedPoints,
+			int numberOfClosedPoints, int[] openPoints, int numberOfOpenPoints, double volume) {
+		if (isCancelled) {
+			throw new CancellationException("The computation of the discrepancy has been cancelled.");
+		}
+		if (dimensionIndex == dimension - 1) {
+			return getMaximumOverLastDimension(values[dimensionIndex], closedPoints, numberOfClosedPoints, openPoints,
+					numberOfOpenPoints, volume);
+		}
+		double maximum = 0;
+		final int[] newClosedPoints = new int[numberOfClosedPoints];
+		final int[] newOpenPoints = new int[numberOfOpenPoints];
+		for (final double value : values[dimensionIndex]) {
+			// the points which stay in the boxes: the order by the last element is kept
+			int numberOfNewClosedPoints = 0;
+			for (int k = 0; k < numberOfClosedPoints; k++) {
+				if (points[closedPoints[k]][dimensionIndex] <= value) {
+					newClosedPoints[numberOfNewClosedPoints++] = closedPoints[k];
+				}
+			}
+			int numberOfNewOpenPoints = 0;
+			for (int k = 0; k < numberOfOpenPoints; k++) {
+				if (points[openPoints[k]][dimensionIndex] < value) {
+					newOpenPoints[numberOfNewOpenPoints++] = openPoints[k];
+				}
+			}
+			maximum = Math.max(maximum, getMaximumOverBoxes(values, dimensionIndex + 1, newClosedPoints,
+					numberOfNewClosedPoints, newOpenPoints, numberOfNewOpenPoints, volume * value));
+		}
+		return maximum;
+	}
+
+	/*
+	 * It returns the maximum local discrepancy over the values of the last element
+	 * of b, going through the points sorted by their last element.
+	 */
+	private double getMaximumOverLastDimension(double[] lastValues, int[] closedPoints, int numberOfClosedPoints,
+			int[] openPoints, int numberOfOpenPoints, double volume) {
+		final int lastDimension = dimension - 1;
+		double maximum = 0;
+		int closedCount = 0;// points of the closed box with last element <= value
+		int openCount = 0;// points of the open box with last element < value
+		for (final double value : lastValues) {
+			while (closedCount < numberOfClosedPoints && points[closedPoints[closedCount]][lastDimension] <= value) {
+				closedCount++;
+			}
+			while (openCount < numberOfOpenPoints && points[openPoints[openCount]][lastDimension] < value) {
+				openCount++;
+			}
+			final double boxVolume = volume * value;
+			maximum = Math.max(maximum, Math.max(boxVolume - (double) openCount / numberOfPoints,
+					(double) closedCount / numberOfPoints - boxVolume));
+		}
+		return maximum;
+	}
+
+	/*
+	 * the sorted distinct elements of the points in the given dimension, and 1
+	 */
+	private double[] getPossibleValues(int dimensionIndex) {
+		final double[] values = new double[numberOfPoints + 1];
+		for (int i = 0; i < numberOfPoints; i++) {
+			values[i] = points[i][dimensionIndex];
+		}
+		values[numberOfPoints] = 1.0;
+		Arrays.sort(values);
+		int numberOfDistinctValues = 0;
+		for (int i = 0; i < values.length; i++) {
+			if (i == 0 || values[i] != values[i - 1]) {
+				values[numberOfDistinctValues++] = values[i];
+			}
+		}
+		return Arrays.copyOf(values, numberOfDistinctValues);
+	}
+
+	/**
+	 * It computes the L2 star discrepancy by the formula of Warnock:
+	 *
+	 * \[ T^2 = 3^{-d} - 2^{1-d}/n \sum_i \prod_j (1 - x_ij^2) + 1/n^2 \sum_i
+	 * \sum_k \prod_j (1 - max(x_ij, x_kj)). \]
+	 *
+	 * The double sum needs O(n^2 d) operations: the points are split in blocks,
+	 * and every task sums the terms of the points of its block with themselves and
+	 * with the following ones.
+	 *
+	 * @return the L2 star discrepancy T
+	 */
+	public double getL2StarDiscrepancy() {
+		final List<Callable<Double>> tasks = new ArrayList<Callable<Double>>();
+		for (int firstPoint = 0; firstPoint < numberOfPoints; firstPoint += NUMBER_OF_POINTS_PER_TASK) {
+			final int from = firstPoint;
+			final int to = Math.min(numberOfPoints, firstPoint + NUMBER_OF_POINTS_PER_TASK);
+			tasks.add(() -> {
+				double sumOfProducts = 0;// 1/n^2 times the double sum, for the rows of this block
+				double sumOfSingleProducts = 0;
+				for (int i = from; i < to; i++) {
+					if (isCancelled) {
+						throw new CancellationException("The computation of the discrepancy has been cancelled.");
+					}
+					final double[] point = points[i];
+					double singleProduct = 1;
+					double diagonalProduct = 1;
+					for (int j = 0; j < dimension; j++) {
+						singleProduct *= 1 - point[j] * point[j];
+						diagonalProduct *= 1 - point[j];
+					}
+					sumOfSingleProducts += singleProduct;
+					double sumOfRow = 0;
+					for (int k = i + 1; k < numberOfPoints; k++) {
+						final double[] otherPoint = points[k];
+						double product = 1;
+						for (int j = 0; j < dimension; j++) {
+							product *= 1 - Math.max(point[j], otherPoint[j]);
+						}
+						sumOfRow += product;
+					}
+					sumOfProducts += diagonalProduct + 2 * sumOfRow;// the terms (i,k) and (k,i)
+				}
+				return sumOfProducts / ((double) numberOfPoints * numberOfPoints)
+						- Math.pow(2, 1 - dimension) * sumOfSingleProducts / numberOfPoints;
+			});
+		}
+		double squaredDiscrepancy = Math.pow(3, -dimension);
+		for (final double termsOfTask : runTasks(tasks)) {
+			squaredDiscrepancy += termsOfTask;
+		}
+		return Math.sqrt(Math.max(squaredDiscrepancy, 0.0));
+	}
+
+	/**
+	 * It computes a lower bound of the star discrepancy by a randomized local
+	 * search. Every trial starts from a point b whose elements are drawn among the
+	 * possible values, i.e., the elements of the points of the set and 1, and
+	 * then tries numberOfIterations times to move a random element of b to one of
+	 * the neighbouring possible values, keeping the move if the local discrepancy
+	 * does not decrease. Every local discrepancy costs O(nd) operations. The
+	 * trials are split among the threads, every one with its own stream of pseudo
+	 * random numbers split from the seed.
+	 *
+	 * @param numberOfTrials,     the number of starting points of the search
+	 * @param numberOfIterations, the number of moves tried in every trial
+	 * @param seed,               the seed of the random numbers
+	 * @return the maximum local discrepancy found, which is a lower bound of the
+	 *         star discrepancy
+	 */
+	public double getStarDiscrepancyLowerBound(int numberOfTrials, int numberOfIterations, long seed) {
+		final double[][] values = new double[dimension][];
+		for (int j = 0; j < dimension; j++) {
+			values[j] = getPossibleValues(j);
+		}
+		final SplitMixRandomSource seedSource = new SplitMixRandomSource(seed);
+		final List<Callable<Double>> tasks = new ArrayList<Callable<Double>>();
+		for (int trial = 0; trial < numberOfTrials; trial++) {
+			final RandomSource randomSource = seedSource.split();// split here, in the order of the trials
+			tasks.add(() -> {
+				final int[] positions = new int[dimension];// b_j = values[j][positions[j]]
+				final double[] corner = new double[dimension];
+				for (int j = 0; j < dimension; j++) {
+					positions[j] = (int) (randomSource.nextDouble() * values[j].length);
+					corner[j] = values[j][positions[j]];
+				}
+				double localDiscrepancy = getLocalDiscrepancy(corner);
+				for (int iteration = 0; iteration < numberOfIterations; iteration++) {
+					if (isCancelled) {
+						throw new CancellationException("The computation of the discrepancy has been cancelled.");
+					}
+					final int j = (int) (randomSource.nextDouble() * dimension);
+					final int oldPosition = positions[j];
+					final int newPosition = oldPosition + (randomSource.nextDouble() < 0.5 ? -1 : 1);
+					if (newPosition < 0 || newPosition >= values[j].length) {
+						continue;
+					}
+					corner[j] = values[j][newPosition];
+					final double newLocalDiscrepancy = getLocalDiscrepancy(corner);
+					if (newLocalDiscrepancy >= localDiscrepancy) {
+						positions[j] = newPosition;
+						localDiscrepancy = newLocalDiscrepancy;
+					} else {
+						corner[j] = values[j][oldPosition];
+					}
+				}
+				return localDiscrepancy;
+			});
+		}
+		double lowerBound = 0;
+		for (final double maximumOfTrial : runTasks(tasks)) {
+			lowerBound = Math.max(lowerBound, maximumOfTrial);
+		}
+		return lowerBound;
+	}
+
+	/**
+	 * It computes the local discrepancy at the point b, i.e., the maximum of
+	 * b_1...b_d - |{x_i \in [0,b)}|/n and |{x_i \in [0,b]}|/n - b_1...b_d.
+	 *
+	 * @param corner, the point b
+	 * @return the local discrepancy at b
+	 */
+	public double getLocalDiscrepancy(double[] corner) {
+		double volume = 1;
+		for (int j = 0; j < dimension; j++) {
+			volume *= corner[j];
+		}
+		int openCount = 0;
+		int closedCount = 0;
+		for (final double[] point : points) {
+			boolean isInClosedBox = true;
+			boolean isInOpenBox = true;
+			for (int j = 0; j < dimension && isInClosedBox; j++) {
+				isInClosedBox = point[j] <= corner[j];
+				isInOpenBox &= point[j] < corner[j];
+			}
+			if (isInClosedBox) {
+				closedCount++;
+				if (isInOpenBox) {
+					openCount++;
+				}
+			}
+		}
+		return Math.max(volume - (double) openCount / numberOfPoints,
+				(double) closedCount / numberOfPoints - volume);
+	}
+
+	/*
+	 * It runs the tasks with numberOfThreads threads and returns their results in
+	 * the order of the tasks.
+	 */
+	private double[] runTasks(List<Callable<Double>> tasks) {
+		if (isCancelled) {
+			throw new CancellationException("The computation of the discrepancy has been cancelled.");
+		}
+		final double[] results = new double[tasks.size()];
+		final ForkJoinPool pool = new ForkJoinPool(numberOfThreads);
+		try {
+			final List<ForkJoinTask<Double>> submittedTasks = new ArrayList<ForkJoinTask<Double>>();
+			for (final Callable<Double> task : tasks) {
+				submittedTasks.add(pool.submit(task));
+			}
+			for (int i = 0; i < results.length; i++) {
+				results[i] = submittedTasks.get(i).join();// it rethrows the exception if the task has failed
+			}
+			return results;
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package com.andreamazzon.exercise5.discrepancy;
+
+import java.util.Arrays;
+
+/**
+ * This class computes the discrepancy and the star discrepancy of the first n
+ * points of a given sequence in [0,1], updating them when the points are added
+ * one after the other: so the discrepancies for all the n up to the length N of
+ * the sequence are computed in O(N log(N)^2) operations, instead of the O(N^2
+ * log(N)) operations needed to compute every one from scratch.
+ *
+ * As explained in DiscrepancyOneDimension, both discrepancies are given by the
+ * minimum and the maximum of t_k = x_k - k/n, where x_0 <= ... <= x_{n-1} are
+ * the sorted points. When a point is added, n increases by one and the rank k
+ * of the points bigger than it increases by one: so n t_k = n x_k - k is a line
+ * in n, whose intercept decreases by one when a smaller point is added. Since
+ * the whole sequence is given in the constructor, the points are sorted once,
+ * and the lines are stored at the position of their point in the sorted
+ * sequence by two objects of type KineticMaximumTree, which give the maximum of
+ * n t_k and of -n t_k over the points added so far.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class IncrementalDiscrepancyOneDimension {
+
+	private final double[] points;
+	private final int[] sortedPositions;// sortedPositions[i] is the position of points[i] in the sorted sequence
+
+	private final KineticMaximumTree maximumTree;// lines n x_k - k
+	private final KineticMaximumTree minimumTree;// lines k - n x_k
+	// Fenwick tree counting the points added so far, by position in the sorted sequence
+	private final int[] numbersOfAddedPoints;
+
+	private int numberOfPoints;// the number n of points added so far
+
+	/**
+	 * It constructs an object which computes the discrepancies of the first n
+	 * points of the given sequence, starting from n = 0.
+	 *
+	 * @param points, the sequence of points in [0,1]. It is not modified.
+	 */
+	public IncrementalDiscrepancyOneDimension(double[] points) {
+		this.points = points.clone();
+		final int length = points.length;
+		// the indices of the points, sorted by the value of the points (stable for equal points)
+		final Integer[] sortedIndices = new Integer[length];
+		for (int i = 0; i < length; i++) {
+			sortedIndices[i] = i;
+		}
+		Arrays.sort(sortedIndices, (i, j) -> Double.compare(this.points[i], this.points[j]));
+		sortedPositions = new int[length];
+		for (int position = 0; position < length; position++) {
+			sortedPositions[sortedIndices[position]] = position;
+		}
+		maximumTree = new KineticMaximumTree(length);
+		minimumTree = new KineticMaximumTree(length);
+		numbersOfAddedPoints = new int[length + 1];
+	}
+
+	/**
+	 * It adds the next point of the sequence.
+	 */
+	public void addNextPoint() {
+		if (numberOfPoints == points.length) {
+			throw new IllegalStateException("All the points of the sequence have already been added.");
+		}
+		final double point = points[numberOfPoints];
+		final int position = sortedPositions[numberOfPoints];
+		numberOfPoints++;
+		maximumTree.advanceTo(numberOfPoints);
+		minimumTree.advanceTo(numberOfPoints);
+
+		final int rank = getNumberOfAddedPointsBefore(position);// the k of the new point
+		maximumTree.activate(position, -rank, point);
+		minimumTree.activate(position, rank, -point);
+		// the points after it have one more point before them
+		maximumTree.addToIntercepts(position + 1, points.length, -1);
+		minimumTree.addToIntercepts(position + 1, points.length, 1);
+		for (int i = position + 1; i <= points.length; i += i & (-i)) {
+			numbersOfAddedPoints[i]++;
+		}
+	}
+
+	/**
+	 * getter method for the number of points
+	 *
+	 * @return the number n of points added so far
+	 */
+	public int getNumberOfPoints() {
+		return numberOfPoints;
+	}
+
+	/**
+	 * It returns the discrepancy of the points added so far.
+	 *
+	 * @return the discrepancy
+	 */
+	public double getDiscrepancy() {
+		checkNumberOfPoints();
+		return (1.0 + maximumTree.getMaximum() + minimumTree.getMaximum()) / numberOfPoints;
+	}
+
+	/**
+	 * It returns the star discrepancy of the points added so far.
+	 *
+	 * @return the star discrepancy
+	 */
+	public double getStarDiscrepancy() {
+		checkNumberOfPoints();
+		return Math.max(maximumTree.getMaximum(), 1.0 + minimumTree.getMaximum()) / numberOfPoints;
+	}
+
+	/**
+	 * It returns the star discrepancies of the first n points of the given
+	 * sequence, for n = 1, ..., N, where N is the length of the sequence.
+	 *
+	 * @param points, the sequence of points in [0,1]
+	 * @return the array whose element n-1 is the star discrepancy of the first n
+	 *         points
+	 */
+	public static double[] getStarDiscrepancies(double[] points) {
+		final IncrementalDiscrepancyOneDimension discrepancy = new IncrementalDiscrepancyOneDimension(points);
+		final double[] starDiscrepancies = new double[points.length];
+		for (int n = 0; n < points.length; n++) {
+			discrepancy.addNextPoint();
+			starDiscrepancies[n] = discrepancy.getStarDiscrepancy();
+		}
+		return starDiscrepancies;
+	}
+
+	/**
+	 * It returns the discrepancies of the first n points of the given sequence,
+	 * for n = 1, ..., N, where N is the length of the sequence.
+	 *
+	 * @param points, the sequence of points in [0,1]
+	 * @return the array whose element n-1 is the discrepancy of the first n points
+	 */
+	public static double[] getDiscrepancies(double[] points) {
+		final IncrementalDiscrepancyOneDimension discrepancy = new IncrementalDiscrepancyOneDimension(points);
+		final double[] discrepancies = new double[points.length];
+		for (int n = 0; n < points.length; n++) {
+			discrepancy.addNextPoint();
+			discrepancies[n] = discrepancy.getDiscrepancy();
+		}
+		return discrepancies;
+	}
+
+	// the number of points added so far whose position in the sorted sequence is smaller
+	private int getNumberOfAddedPointsBefore(int position) {
+		int count = 0;
+		for (int i = position; i > 0; i -= i & (-i)) {
+			count += numbersOfAddedPoints[i];
+		}
+		return count;
+	}
+
+	private void checkNumberOfPoints() {
+		if (numberOfPoints == 0) {
+			throw new IllegalStateException("No point has been added.");
+		}
+	}
+}
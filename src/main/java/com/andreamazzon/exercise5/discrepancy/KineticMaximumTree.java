@@ -0,0 +1,163 @@
+package com.andreamazzon.exercise5.discrepancy;
+
+import java.util.Arrays;
+
+/**
+ * This class stores lines a_p + b_p t for the positions p = 0,...,m-1, which
+ * can be activated one by one, and gives the maximum of the active lines at a
+ * time t which can only increase. The intercepts of all the lines in a range of
+ * positions can be increased by the same value.
+ *
+ * It is a kinetic segment tree: every node stores the line of its subtree which
+ * is maximum at the current time, and the first time after which this might
+ * not be true any more, i.e., when the line of one child overtakes the one of
+ * the other in the node or in one of its descendants. When the time increases,
+ * only the nodes whose time has passed are computed again. Adding the same
+ * value to all the lines of a subtree does not change which one is the maximum,
+ * so it is stored in the node and given to the children only when needed.
+ *
+ * It is used by IncrementalDiscrepancyOneDimension.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class KineticMaximumTree {
+
+	private final int numberOfLeaves;// a power of two
+
+	// the line which is maximum in the subtree of every node, and when this might change
+	private final double[] intercepts;
+	private final double[] slopes;
+	private final double[] changeTimes;
+	// the value to be added to the intercepts of the children of every node
+	private final double[] pendingAdditions;
+
+	private double time;
+
+	KineticMaximumTree(int numberOfPositions) {
+		int leaves = 1;
+		while (leaves < numberOfPositions) {
+			leaves *= 2;
+		}
+		numberOfLeaves = leaves;
+		intercepts = new double[2 * leaves];
+		slopes = new double[2 * leaves];
+		changeTimes = new double[2 * leaves];
+		pendingAdditions = new double[2 * leaves];
+		Arrays.fill(intercepts, Double.NEGATIVE_INFINITY);// no active line
+		Arrays.fill(changeTimes, Double.POSITIVE_INFINITY);
+	}
+
+	/*
+	 * It moves the time forward, computing again the nodes whose maximum might
+	 * have changed.
+	 */
+	void advanceTo(double newTime) {
+		if (newTime < time) {
+			throw new IllegalArgumentException("The time can only increase.");
+		}
+		time = newTime;
+		updateAfterChangeTime(1);
+	}
+
+	// the maximum of the active lines at the current time
+	double getMaximum() {
+		return getValue(1);
+	}
+
+	// it activates the line intercept + slope t at the given position
+	void activate(int position, double intercept, double slope) {
+		activate(1, 0, numberOfLeaves, position, intercept, slope);
+	}
+
+	// it adds value to the intercepts of the lines at the positions from, ..., to - 1
+	void addToIntercepts(int from, int to, double value) {
+		if (from < to) {
+			addToIntercepts(1, 0, numberOfLeaves, from, to, value);
+		}
+	}
+
+	private void activate(int node, int left, int right, int position, double intercept, double slope) {
+		if (right - left == 1) {
+			intercepts[node] = intercept;
+			slopes[node] = slope;
+			return;
+		}
+		pushAdditions(node);
+		final int middle = (left + right) / 2;
+		if (position < middle) {
+			activate(2 * node, left, middle, position, intercept, slope);
+		} else {
+			activate(2 * node + 1, middle, right, position, intercept, slope);
+		}
+		pull(node);
+	}
+
+	private void addToIntercepts(int node, int left, int right, int from, int to, double value) {
+		if (to <= left || right <= from) {
+			return;
+		}
+		if (from <= left && right <= to) {
+			add(node, value);
+			return;
+		}
+		pushAdditions(node);
+		final int middle = (left + right) / 2;
+		addToIntercepts(2 * node, left, middle, from, to, value);
+		addToIntercepts(2 * node + 1, middle, right, from, to, value);
+		pull(node);
+	}
+
+	private void updateAfterChangeTime(int node) {
+		if (changeTimes[node] > time) {
+			return;// leaves always return here
+		}
+		pushAdditions(node);
+		updateAfterChangeTime(2 * node);
+		updateAfterChangeTime(2 * node + 1);
+		pull(node);
+	}
+
+	private void add(int node, double value) {
+		intercepts[node] += value;// it stays -infinity if no line is active
+		pendingAdditions[node] += value;
+	}
+
+	private void pushAdditions(int node) {
+		if (pendingAdditions[node] != 0) {
+			add(2 * node, pendingAdditions[node]);
+			add(2 * node + 1, pendingAdditions[node]);
+			pendingAdditions[node] = 0;
+		}
+	}
+
+	/*
+	 * It chooses the maximum line of the two children at the current time, and
+	 * computes the time when the other one might overtake it.
+	 */
+	private void pull(int node) {
+		final int leftChild = 2 * node;
+		final int rightChild = 2 * node + 1;
+		final double leftValue = getValue(leftChild);
+		final double rightValue = getValue(rightChild);
+		// with the same value, the winner is the one which grows faster
+		final boolean isLeftWinner = leftValue > rightValue
+				|| (leftValue == rightValue && slopes[leftChild] >= slopes[rightChild]);
+		final int winner = isLeftWinner ? leftChild : rightChild;
+		final int loser = isLeftWinner ? rightChild : leftChild;
+
+		intercepts[node] = intercepts[winner];
+		slopes[node] = slopes[winner];
+		double changeTime = Math.min(changeTimes[leftChild], changeTimes[rightChild]);
+		if (intercepts[loser] != Double.NEGATIVE_INFINITY && slopes[loser] > slopes[winner]) {
+			final double overtakingTime = time
+					+ (getValue(winner) - getValue(loser)) / (slopes[loser] - slopes[winner]);
+			changeTime = Math.min(changeTime, overtakingTime);
+		}
+		changeTimes[node] = changeTime;
+	}
+
+	private double getValue(int node) {
+		return intercepts[node] + slopes[node] * time;
+	}
+}
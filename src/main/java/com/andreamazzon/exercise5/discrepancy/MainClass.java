@@ -35,6 +35,19 @@ public class MainClass {
 		System.out.println("The star discrepancy of the set " + Arrays.toString(thirdSet) + " is "
 				+ DiscrepancyOneDimension.getStarDiscrepancy(thirdSet));
 
+		/*
+		 * the star discrepancies of the Van der Corput sequences of all lengths up to
+		 * one million: they are updated adding one element after the other
+		 */
+		int longestSequenceSize = 1000000;
+		long start = System.currentTimeMillis();
+		double[] starDiscrepancies = VanDerCorputDiscrepancy.getVanDerCorputStarDiscrepancies(longestSequenceSize, 2);
+		long end = System.currentTimeMillis();
+		System.out.println("The star discrepancy of the Van der Corput sequence of length " + longestSequenceSize
+				+ " is " + starDiscrepancies[longestSequenceSize - 1] + ", log(n)/n is "
+				+ Math.log(longestSequenceSize) / longestSequenceSize + " (all the lengths computed in "
+				+ (end - start) / 1000.0 + " seconds)");
+
 		// the we plot the star discrepancies of Van der Corput
 		int maxSequenceSize = 1000;
 		int base = 2;
@@ -0,0 +1,98 @@
+package com.andreamazzon.exercise5.discrepancy;
+
+import java.util.concurrent.CancellationException;
+
+import com.andreamazzon.exercise4.HaltonSequence;
+import com.andreamazzon.exercise4.LowDiscrepancySequence;
+import com.andreamazzon.exercise4.ScrambledHaltonSequence;
+import com.andreamazzon.exercise4.SobolSequence;
+import com.andreamazzon.exercise6.randomvariables.XoshiroRandomSource;
+
+/**
+ * This class has a main method where we compare the discrepancies of the first
+ * points of the Halton sequence with the base {2,3,5,7,11,13,17} used in
+ * ComparisonPiFromHypersphere, of the scrambled Halton sequence and of the
+ * Sobol sequence, and of independent uniform points: the exact star discrepancy
+ * in dimension two, and the L2 star discrepancy and a lower bound of the star
+ * discrepancy in dimension seven. At the end we stop an exact computation which
+ * would take too long.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class MultiDimensionalDiscrepancyChecks {
+
+	public static void main(String[] args) throws InterruptedException {
+
+		int numberOfThreads = Runtime.getRuntime().availableProcessors();
+		long seed = 1897;
+
+		int[] base = { 2, 3, 5, 7, 11, 13, 17 };
+		int dimension = base.length;
+
+		LowDiscrepancySequence[] sequences = { new HaltonSequence(base), new ScrambledHaltonSequence(base, seed),
+				new SobolSequence(dimension) };
+		String[] names = { "Halton", "Scrambled Halton", "Sobol", "Uniform" };
+
+		int numberOfPointsInTwoDimensions = 1000;
+		int numberOfPoints = 4096;
+
+		for (int s = 0; s < names.length; s++) {
+			double[][] points = s < sequences.length
+					? DiscrepancyMultiDimension.getFirstPoints(sequences[s], numberOfPoints)
+					: getUniformPoints(numberOfPoints, dimension, seed);
+
+			// the first two elements of the first points
+			double[][] pointsInTwoDimensions = new double[numberOfPointsInTwoDimensions][];
+			for (int i = 0; i < numberOfPointsInTwoDimensions; i++) {
+				pointsInTwoDimensions[i] = new double[] { points[i][0], points[i][1] };
+			}
+			double starDiscrepancyInTwoDimensions = new DiscrepancyMultiDimension(pointsInTwoDimensions,
+					numberOfThreads).getStarDiscrepancy();
+
+			DiscrepancyMultiDimension discrepancy = new DiscrepancyMultiDimension(points, numberOfThreads);
+
+			System.out.println(names[s] + ":");
+			System.out.println("star discrepancy of " + numberOfPointsInTwoDimensions
+					+ " points in dimension 2: " + starDiscrepancyInTwoDimensions);
+			System.out.println("L2 star discrepancy of " + numberOfPoints + " points in dimension " + dimension
+					+ ": " + discrepancy.getL2StarDiscrepancy());
+			System.out.println("lower bound of the star discrepancy of " + numberOfPoints
+					+ " points in dimension " + dimension + ": "
+					+ discrepancy.getStarDiscrepancyLowerBound(64, 2000, seed));
+			System.out.println();
+		}
+
+		/*
+		 * the exact star discrepancy in dimension 7 would need about n^7 operations:
+		 * we stop it after one second, calling cancel() from another thread.
+		 */
+		DiscrepancyMultiDimension discrepancy = new DiscrepancyMultiDimension(
+				DiscrepancyMultiDimension.getFirstPoints(sequences[0], numberOfPoints), numberOfThreads);
+		Thread canceller = new Thread(() -> {
+			try {
+				Thread.sleep(1000);
+			} catch (InterruptedException exception) {
+				return;
+			}
+			discrepancy.cancel();
+		});
+		canceller.start();
+		try {
+			discrepancy.getStarDiscrepancy();
+		} catch (CancellationException exception) {
+			System.out.println("The exact star discrepancy in dimension " + dimension + " has been cancelled.");
+		}
+		canceller.join();
+	}
+
+	// independent uniform points, for the comparison
+	private static double[][] getUniformPoints(int numberOfPoints, int dimension, long seed) {
+		XoshiroRandomSource randomSource = new XoshiroRandomSource(seed);
+		double[][] points = new double[numberOfPoints][dimension];
+		for (double[] point : points) {
+			randomSource.fill(point, 0, dimension);
+		}
+		return points;
+	}
+}
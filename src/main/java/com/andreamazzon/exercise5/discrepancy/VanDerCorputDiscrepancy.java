@@ -33,7 +33,7 @@ public class VanDerCorputDiscrepancy {
 	public static double getVanDerCorputStarDiscrepancy(int sequenceLength, int base) {
 		/*
 		 * the vector given by the first sequenceLength elements of the Van der Corput
-		 * sequence: it must be sorted when computing the star discrepancy
+		 * sequence
 		 */
 		double[] vanDerCorputSequence = VanDerCorputSequence.getVanDerCorputSequence(sequenceLength, base);
 		double starDiscrepancy = DiscrepancyOneDimension.getStarDiscrepancy(vanDerCorputSequence);
@@ -53,14 +53,41 @@ public class VanDerCorputDiscrepancy {
 	public static double getVanDerCorputDiscrepancy(int sequenceLength, int base) {
 		/*
 		 * the vector given by the first sequenceLength elements of the Van der Corput
-		 * sequence: it is sorted when computing the star discrepancy, see the methods
-		 * in DiscrepancyOneDimension
+		 * sequence
 		 */
 		double[] vanDerCorputSequence = VanDerCorputSequence.getVanDerCorputSequence(sequenceLength, base);
 		double discrepancy = DiscrepancyOneDimension.getDiscrepancy(vanDerCorputSequence);
 		return discrepancy;
 	}
 
+	/**
+	 * It computes and returns the star discrepancies of the Van der Corput
+	 * sequences of base base and length n, for all n from 1 to maxSequenceLength.
+	 *
+	 * @param maxSequenceLength, the length of the longest sequence
+	 * @param base,              the base of the sequences
+	 * @return the array whose element n-1 is the star discrepancy of the sequence
+	 *         of length n
+	 */
+	public static double[] getVanDerCorputStarDiscrepancies(int maxSequenceLength, int base) {
+		double[] vanDerCorputSequence = VanDerCorputSequence.getVanDerCorputSequence(maxSequenceLength, base);
+		return IncrementalDiscrepancyOneDimension.getStarDiscrepancies(vanDerCorputSequence);
+	}
+
+	/**
+	 * It computes and returns the discrepancies of the Van der Corput sequences of
+	 * base base and length n, for all n from 1 to maxSequenceLength.
+	 *
+	 * @param maxSequenceLength, the length of the longest sequence
+	 * @param base,              the base of the sequences
+	 * @return the array whose element n-1 is the discrepancy of the sequence of
+	 *         length n
+	 */
+	public static double[] getVanDerCorputDiscrepancies(int maxSequenceLength, int base) {
+		double[] vanDerCorputSequence = VanDerCorputSequence.getVanDerCorputSequence(maxSequenceLength, base);
+		return IncrementalDiscrepancyOneDimension.getDiscrepancies(vanDerCorputSequence);
+	}
+
 	/**
 	 * It plots the star discrepancy of Van der Corput sequences of increasing
 	 * length n and base base, together with the values of log(n)/n.
@@ -71,14 +98,21 @@ public class VanDerCorputDiscrepancy {
 	 */
 	public static void plotVanDerCorputStarDiscrepancy(int maxSequenceLength, int base) throws Exception {
 
+		/*
+		 * the star discrepancies of the first n elements of the sequence, for all n up
+		 * to maxSequenceLength: they are computed all together, adding the elements
+		 * one after the other, see IncrementalDiscrepancyOneDimension
+		 */
+		double[] starDiscrepancies = getVanDerCorputStarDiscrepancies(maxSequenceLength, base);
+
 		/*
 		 * a function mapping the length of a Van der Corput sequence of the given base
 		 * to the star discrepancy of the sequence. Note that the function maps doubles
 		 * to doubles, so sequenceLength is considered to be a double, and must be
-		 * downcasted when we call the getVanDerCorputStarDiscrepancy method.
+		 * downcasted when we take the element of the array.
 		 */
 		DoubleUnaryOperator starDiscrepancyFunction = (sequenceLength) -> {
-			double starDiscrepancy = getVanDerCorputStarDiscrepancy((int) sequenceLength, base);
+			double starDiscrepancy = starDiscrepancies[(int) sequenceLength - 1];
 			return starDiscrepancy;
 		};
 
@@ -111,14 +145,17 @@ public class VanDerCorputDiscrepancy {
 	 * @param base,              the base of the sequences
 	 */
 	public void plotVanDerCorputDiscrepancy(int maxSequenceLength, int base) throws Exception {
+		// the discrepancies of the first n elements of the sequence, for all n up to maxSequenceLength
+		double[] discrepancies = getVanDerCorputDiscrepancies(maxSequenceLength, base);
+
 		/*
 		 * a function mapping the length of a Van der Corput sequence of the given base
 		 * to the discrepancy of the sequence. Note that the function maps doubles to
 		 * doubles, so sequenceLength is considered to be a double, and must be
-		 * downcasted when we call the getVanDerCorputStarDiscrepancy method.
+		 * downcasted when we take the element of the array.
 		 */
 		DoubleUnaryOperator discrepancyFunction = (sequenceLength) -> {
-			double discrepancy = getVanDerCorputDiscrepancy((int) sequenceLength, base);
+			double discrepancy = discrepancies[(int) sequenceLength - 1];
 			return discrepancy;
 		};
 
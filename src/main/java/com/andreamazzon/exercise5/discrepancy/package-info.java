@@ -2,6 +2,12 @@
  * In this package we compute the discrepancy and the star discrepancy of a
  * one-dimensional set. In particular, we compute the discrepancy and the star
  * discrepancy of a Van der Corput sequence of a given length and given base,
- * and plot the values for increasing length of the sequence.
+ * and plot the values for increasing length of the sequence. The class
+ * IncrementalDiscrepancyOneDimension updates the discrepancies when the points
+ * of a sequence are added one after the other, so that the discrepancies of all
+ * the lengths up to N are computed in O(N log(N)^2) operations. The class
+ * DiscrepancyMultiDimension deals with sets of points in [0,1]^d: it computes
+ * the exact star discrepancy for small d, the L2 star discrepancy and a lower
+ * bound of the star discrepancy, in parallel.
  */
 package com.andreamazzon.exercise5.discrepancy;
\ No newline at end of file
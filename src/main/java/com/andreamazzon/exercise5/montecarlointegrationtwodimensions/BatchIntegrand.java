@@ -0,0 +1,69 @@
+package com.andreamazzon.exercise5.montecarlointegrationtwodimensions;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * This interface represents a function f: [0,1]^d -> R which is evaluated on a
+ * block of points at once. The points are given coordinate by coordinate: the
+ * j-th coordinate of the i-th point is points[j][i]. In this way the values of
+ * one coordinate are contiguous in memory, and the function can be evaluated in
+ * a tight loop over primitive doubles, without creating any object.
+ *
+ * Functions of one point can be turned into objects of this type by the static
+ * methods fromFunction and fromOperator.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+@FunctionalInterface
+public interface BatchIntegrand {
+
+	/**
+	 * It evaluates the function on the first numberOfPoints points of the block,
+	 * and writes the values in the first numberOfPoints elements of values.
+	 *
+	 * @param points,         the points: points[j][i] is the j-th coordinate of
+	 *                        the i-th point
+	 * @param numberOfPoints, the number of points to be considered
+	 * @param values,         the array where the values are written
+	 */
+	void evaluate(double[][] points, int numberOfPoints, double[] values);
+
+	/**
+	 * It returns a BatchIntegrand evaluating the given function of a point in
+	 * dimension d, represented by an array of length d, one point at a time.
+	 *
+	 * @param integrand, the function of one point
+	 * @param dimension, the dimension of the points
+	 * @return the BatchIntegrand evaluating the function
+	 */
+	static BatchIntegrand fromFunction(ToDoubleFunction<double[]> integrand, int dimension) {
+		return (points, numberOfPoints, values) -> {
+			final double[] point = new double[dimension];// one array for the whole block
+			for (int i = 0; i < numberOfPoints; i++) {
+				for (int j = 0; j < dimension; j++) {
+					point[j] = points[j][i];
+				}
+				values[i] = integrand.applyAsDouble(point);
+			}
+		};
+	}
+
+	/**
+	 * It returns a BatchIntegrand evaluating the given function of two variables.
+	 * No object is created for the single points.
+	 *
+	 * @param integrand, the function of two variables
+	 * @return the BatchIntegrand evaluating the function
+	 */
+	static BatchIntegrand fromOperator(DoubleBinaryOperator integrand) {
+		return (points, numberOfPoints, values) -> {
+			final double[] firstCoordinates = points[0];
+			final double[] secondCoordinates = points[1];
+			for (int i = 0; i < numberOfPoints; i++) {
+				values[i] = integrand.applyAsDouble(firstCoordinates[i], secondCoordinates[i]);
+			}
+		};
+	}
+}
@@ -0,0 +1,69 @@
+package com.andreamazzon.exercise5.montecarlointegrationtwodimensions;
+
+import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.ToDoubleFunction;
+
+import com.andreamazzon.exercise6.randomvariables.XoshiroRandomSource;
+
+/**
+ * This class contains one main method that compares the time needed to compute
+ * the same Monte Carlo integral in [0,1] x [0,1] when the integrand is given as
+ * a BiFunction<Double, Double, Double>, as a DoubleBinaryOperator, as a
+ * function of an array and as a BatchIntegrand working directly on the blocks.
+ * The same seed is used every time, so the integrals must be the same up to
+ * rounding. The integrals are computed several times, and only the last times
+ * are measured: the first ones are needed by the Java Virtual Machine to
+ * compile the methods.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class IntegrandThroughputTesting {
+
+	public static void main(String[] args) {
+
+		int numberOfDrawings = 10000000;
+		long seed = 1897;
+
+		int numberOfWarmUpRounds = 5;
+		int numberOfMeasuredRounds = 10;
+
+		BiFunction<Double, Double, Double> boxedIntegrand = (x, y) -> Math.exp(-x * y);
+		DoubleBinaryOperator primitiveIntegrand = (x, y) -> Math.exp(-x * y);
+		ToDoubleFunction<double[]> integrandOfArray = point -> Math.exp(-point[0] * point[1]);
+		BatchIntegrand batchIntegrand = (points, numberOfPoints, values) -> {
+			for (int i = 0; i < numberOfPoints; i++) {
+				values[i] = Math.exp(-points[0][i] * points[1][i]);
+			}
+		};
+
+		MonteCarloIntegrationHypercube[] integrators = {
+				new MonteCarloIntegrationTwoDimensions(boxedIntegrand, 1, numberOfDrawings),
+				MonteCarloIntegrationTwoDimensions.fromPrimitive(primitiveIntegrand, 1, numberOfDrawings),
+				new MonteCarloIntegrationHypercube(integrandOfArray, 2, 1, numberOfDrawings),
+				new MonteCarloIntegrationHypercube(batchIntegrand, 2, 1, numberOfDrawings) };
+		String[] names = { "BiFunction", "DoubleBinaryOperator", "ToDoubleFunction<double[]>", "BatchIntegrand" };
+
+		long[] times = new long[integrators.length];
+		double[] integrals = new double[integrators.length];
+
+		for (int round = 0; round < numberOfWarmUpRounds + numberOfMeasuredRounds; round++) {
+			for (int k = 0; k < integrators.length; k++) {
+				long start = System.nanoTime();
+				integrals[k] = integrators[k].computeIntegral(new XoshiroRandomSource(seed));
+				long timeOfThisRound = System.nanoTime() - start;
+				if (round >= numberOfWarmUpRounds) {
+					times[k] += timeOfThisRound;
+				}
+			}
+		}
+
+		double numberOfMeasuredPoints = (double) numberOfMeasuredRounds * numberOfDrawings;
+
+		for (int k = 0; k < integrators.length; k++) {
+			System.out.println("Integral with " + names[k] + ": " + integrals[k] + ", nanoseconds per point: "
+					+ times[k] / numberOfMeasuredPoints);
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package com.andreamazzon.exercise5.montecarlointegrationtwodimensions;
+
+import java.util.function.ToDoubleFunction;
+
+import com.andreamazzon.exercise3.montecarlo.BlockAccumulator;
+import com.andreamazzon.exercise3.montecarlo.MonteCarloExperimentsWithCheckpoints;
+import com.andreamazzon.exercise6.randomvariables.RandomSource;
+
+/**
+ * This class deals with the Monte Carlo integration of f: [0,1]^d->R, i.e.,
+ * with the approximation
+ *
+ * \[ 1/n \sum_{i=1}^n f(x_i) \approx \int_{[0,1]^d} f(x)dx, \]
+ *
+ * where x_1,...,x_n are independent and uniformly distributed in [0,1]^d. The
+ * integrand is given as a BatchIntegrand, or as a ToDoubleFunction<double[]>
+ * which is then evaluated by a BatchIntegrand: the points are drawn in blocks,
+ * and the integrand is evaluated on a whole block at once. No object is created
+ * for the single points, and the integrand works on primitive doubles.
+ *
+ * The class extends MonteCarloExperimentsWithCheckpoints, so it inherits the
+ * fields numberOfMonteCarloComputations and monteCarloComputations, which is
+ * the array storing the computations of the Monte-Carlo integral. The array is
+ * filled by the implementation of generateMonteCarloComputations().
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class MonteCarloIntegrationHypercube extends MonteCarloExperimentsWithCheckpoints {
+
+	private static final int NUMBER_OF_POINTS_PER_BLOCK = 1024;
+
+	private final BatchIntegrand integrand;
+	private final int dimension;
+
+	// public constructor
+	public MonteCarloIntegrationHypercube(BatchIntegrand integrand, int dimension, int numberOfMonteCarloComputations,
+			int numberOfDrawings) {
+		this.integrand = integrand;
+		this.dimension = dimension;
+		this.numberOfMonteCarloComputations = numberOfMonteCarloComputations;
+		this.numberOfDrawings = numberOfDrawings;
+	}
+
+	/*
+	 * public constructor for computations run in parallel by numberOfThreads
+	 * threads: every computation has its own stream of pseudo random numbers, split
+	 * from the seed
+	 */
+	public MonteCarloIntegrationHypercube(BatchIntegrand integrand, int dimension, int numberOfMonteCarloComputations,
+			int numberOfDrawings, int numberOfThreads, long seed) {
+		this(integrand, dimension, numberOfMonteCarloComputations, numberOfDrawings);
+		this.numberOfThreads = numberOfThreads;
+		this.isSeeded = true;
+		this.seed = seed;
+	}
+
+	// public constructor, with the integrand as a function of one point
+	public MonteCarloIntegrationHypercube(ToDoubleFunction<double[]> integrand, int dimension,
+			int numberOfMonteCarloComputations, int numberOfDrawings) {
+		this(BatchIntegrand.fromFunction(integrand, dimension), dimension, numberOfMonteCarloComputations,
+				numberOfDrawings);
+	}
+
+	// public constructor, with the integrand as a function of one point, for computations run in parallel
+	public MonteCarloIntegrationHypercube(ToDoubleFunction<double[]> integrand, int dimension,
+			int numberOfMonteCarloComputations, int numberOfDrawings, int numberOfThreads, long seed) {
+		this(BatchIntegrand.fromFunction(integrand, dimension), dimension, numberOfMonteCarloComputations,
+				numberOfDrawings, numberOfThreads, seed);
+	}
+
+	/**
+	 * getter method for the dimension
+	 *
+	 * @return the dimension d of the hypercube [0,1]^d
+	 */
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * It computes the Monte Carlo approximation of the integral of integrand in
+	 * [0,1]^d.
+	 *
+	 * @return the approximated value of the integral
+	 */
+	public double computeIntegral() {
+		return computeIntegral(Math::random);
+	}
+
+	/**
+	 * It computes the Monte Carlo approximation of the integral of integrand in
+	 * [0,1]^d, with the random numbers given by the source passed as an argument.
+	 *
+	 * @param randomSource, the source of the uniform numbers
+	 * @return the approximated value of the integral
+	 */
+	public double computeIntegral(RandomSource randomSource) {
+		return computeIntegralWithError(randomSource).getMean();
+	}
+
+	/**
+	 * It computes the Monte Carlo approximation of the integral of integrand in
+	 * [0,1]^d, together with its standard error.
+	 *
+	 * @return the BlockAccumulator giving the approximated value of the integral by
+	 *         getMean() and its standard error by getStandardError()
+	 */
+	public BlockAccumulator computeIntegralWithError() {
+		return computeIntegralWithError(Math::random);
+	}
+
+	/**
+	 * It computes the Monte Carlo approximation of the integral of integrand in
+	 * [0,1]^d, together with its standard error, with the random numbers given by
+	 * the source passed as an argument. The points are drawn and evaluated in
+	 * blocks, and the values of every block are summed by a BlockAccumulator.
+	 *
+	 * @param randomSource, the source of the uniform numbers
+	 * @return the BlockAccumulator giving the approximated value of the integral by
+	 *         getMean() and its standard error by getStandardError()
+	 */
+	public BlockAccumulator computeIntegralWithError(RandomSource randomSource) {
+		final int sizeOfBlock = Math.min(NUMBER_OF_POINTS_PER_BLOCK, numberOfDrawings);
+		final double[][] points = new double[dimension][sizeOfBlock];
+		final double[] values = new double[sizeOfBlock];
+		final BlockAccumulator accumulator = new BlockAccumulator();
+		for (int firstPoint = 0; firstPoint < numberOfDrawings; firstPoint += sizeOfBlock) {
+			final int numberOfPoints = Math.min(sizeOfBlock, numberOfDrawings - firstPoint);
+			drawPoints(randomSource, points, numberOfPoints);
+			integrand.evaluate(points, numberOfPoints, values);
+			accumulator.add(values, numberOfPoints);
+		}
+		return accumulator;
+	}
+
+	/*
+	 * It draws numberOfPoints points uniformly distributed in [0,1]^d, one point
+	 * after the other: the uniform numbers are then used in the same order as by
+	 * drawSingleValue.
+	 */
+	private void drawPoints(RandomSource randomSource, double[][] points, int numberOfPoints) {
+		for (int i = 0; i < numberOfPoints; i++) {
+			for (int j = 0; j < dimension; j++) {
+				points[j][i] = randomSource.nextDouble();
+			}
+		}
+	}
+
+	// the integrand evaluated at a point uniformly distributed in [0,1]^d
+	@Override
+	protected double drawSingleValue(RandomSource randomSource) {
+		final double[][] point = new double[dimension][1];
+		final double[] value = new double[1];
+		drawPoints(randomSource, point, 1);
+		integrand.evaluate(point, 1, value);
+		return value[0];
+	}
+
+	@Override
+	protected void generateMonteCarloComputations() {
+		fillMonteCarloComputations(this::computeIntegral);// specific computation
+	}
+}
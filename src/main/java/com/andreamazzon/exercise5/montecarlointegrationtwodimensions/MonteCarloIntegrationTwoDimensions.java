@@ -1,62 +1,114 @@
 package com.andreamazzon.exercise5.montecarlointegrationtwodimensions;
 
 import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
 
-import com.andreamazzon.exercise3.montecarlo.MonteCarloExperiments;
+import com.andreamazzon.exercise6.randomvariables.RandomSource;
 
 /**
- * This class deals with the Monte Carlo integration of f: [0,1]x[0,1]->R. It
- * has two private fields: the function itself, in the form of a
- * BiFunction<Double, Double, Double> object, and numberOfDrawings, i.e., the
- * number n in the approximation
+ * This class deals with the Monte Carlo integration of f: [0,1]x[0,1]->R, i.e.,
+ * with the approximation
  *
  * \[ 1/n \sum_{i=1}^n f(x_i,y_i) \approx \int_0^1 \int_0^1 f(x,y)dxdy. \]
  *
- * The class extends MonteCarloExperiments, so it inherits the fields
- * numberOfMonteCarloComputations and monteCarloComputations, which is the array
- * storing the computations of the Monte-Carlo integral. The array is filled by
- * the implementation of generateMonteCarloComputations().
+ * The function is given to the constructors as a BiFunction<Double, Double,
+ * Double>, as in the first version of this class: in this case, every
+ * evaluation boxes the two coordinates and unboxes the result. It can also be
+ * given as a DoubleBinaryOperator, which works on primitive doubles, to the
+ * static methods fromPrimitive.
+ *
+ * The class extends MonteCarloIntegrationHypercube with dimension 2, where the
+ * points are drawn and the function is evaluated in blocks.
  *
  * @author Andrea Mazzon
  *
  */
-public class MonteCarloIntegrationTwoDimensions extends MonteCarloExperiments {
+public class MonteCarloIntegrationTwoDimensions extends MonteCarloIntegrationHypercube {
+
+	// function from R x R to R, working on primitive doubles
+	private final DoubleBinaryOperator integrand;
+
+	// constructor with the function working on primitive doubles, see fromPrimitive
+	private MonteCarloIntegrationTwoDimensions(DoubleBinaryOperator integrand, int numberOfMonteCarloComputations,
+			int numberOfDrawings) {
+		super(BatchIntegrand.fromOperator(integrand), 2, numberOfMonteCarloComputations, numberOfDrawings);
+		this.integrand = integrand;
+	}
+
+	// the same as above, for computations run in parallel
+	private MonteCarloIntegrationTwoDimensions(DoubleBinaryOperator integrand, int numberOfMonteCarloComputations,
+			int numberOfDrawings, int numberOfThreads, long seed) {
+		super(BatchIntegrand.fromOperator(integrand), 2, numberOfMonteCarloComputations, numberOfDrawings,
+				numberOfThreads, seed);
+		this.integrand = integrand;
+	}
 
 	/*
-	 * Function from R x R to R. Note the use of generics! (Look for example at the
-	 * declaration of the method apply in the implementation of BiFunction)
+	 * public constructor with the function as a BiFunction. Note the use of
+	 * generics! (Look for example at the declaration of the method apply in the
+	 * implementation of BiFunction)
 	 */
-	private BiFunction<Double, Double, Double> integrand;
+	public MonteCarloIntegrationTwoDimensions(BiFunction<Double, Double, Double> integrand,
+			int numberOfMonteCarloComputations, int numberOfDrawings) {
+		this((DoubleBinaryOperator) integrand::apply, numberOfMonteCarloComputations, numberOfDrawings);
+	}
 
-	// public constructor
+	/*
+	 * public constructor with the function as a BiFunction, for computations run
+	 * in parallel by numberOfThreads threads: every computation has its own stream
+	 * of pseudo random numbers, split from the seed
+	 */
 	public MonteCarloIntegrationTwoDimensions(BiFunction<Double, Double, Double> integrand,
+			int numberOfMonteCarloComputations, int numberOfDrawings, int numberOfThreads, long seed) {
+		this((DoubleBinaryOperator) integrand::apply, numberOfMonteCarloComputations, numberOfDrawings,
+				numberOfThreads, seed);
+	}
+
+	/**
+	 * It returns an object which integrates the given function, working on
+	 * primitive doubles, with no boxing.
+	 *
+	 * @param integrand,                      the function to be integrated in
+	 *                                        [0,1]x[0,1]
+	 * @param numberOfMonteCarloComputations, the number of Monte-Carlo
+	 *                                        computations
+	 * @param numberOfDrawings,               the number of drawings for every
+	 *                                        computation
+	 * @return the object computing the Monte-Carlo integrals
+	 */
+	public static MonteCarloIntegrationTwoDimensions fromPrimitive(DoubleBinaryOperator integrand,
 			int numberOfMonteCarloComputations, int numberOfDrawings) {
-		this.integrand = integrand;
-		this.numberOfMonteCarloComputations = numberOfMonteCarloComputations;
-		this.numberOfDrawings = numberOfDrawings;
+		return new MonteCarloIntegrationTwoDimensions(integrand, numberOfMonteCarloComputations, numberOfDrawings);
 	}
 
 	/**
-	 * It computes the Monte Carlo approximation of the integral of integrand in
-	 * [0,1] x [0,1].
+	 * It returns an object which integrates the given function, working on
+	 * primitive doubles, with no boxing. The computations are run in parallel by
+	 * numberOfThreads threads: every computation has its own stream of pseudo
+	 * random numbers, split from the seed.
 	 *
-	 * @return the approximated value of the integral
+	 * @param integrand,                      the function to be integrated in
+	 *                                        [0,1]x[0,1]
+	 * @param numberOfMonteCarloComputations, the number of Monte-Carlo
+	 *                                        computations
+	 * @param numberOfDrawings,               the number of drawings for every
+	 *                                        computation
+	 * @param numberOfThreads,                the number of threads running the
+	 *                                        computations
+	 * @param seed,                           the seed from which the streams are
+	 *                                        split
+	 * @return the object computing the Monte-Carlo integrals
 	 */
-	public double computeIntegral() {
-		double integralValue = 0;
-		for (int i = 0; i < numberOfDrawings; i++) {
-			// every time with a different seed
-			integralValue = (integralValue * i // previous average times number of previous computations
-					+ integrand.apply(Math.random(), Math.random())) / (i + 1.0);
-		}
-		return integralValue;
+	public static MonteCarloIntegrationTwoDimensions fromPrimitive(DoubleBinaryOperator integrand,
+			int numberOfMonteCarloComputations, int numberOfDrawings, int numberOfThreads, long seed) {
+		return new MonteCarloIntegrationTwoDimensions(integrand, numberOfMonteCarloComputations, numberOfDrawings,
+				numberOfThreads, seed);
 	}
 
+	// the integrand evaluated at a point uniformly distributed in [0,1] x [0,1]
 	@Override
-	protected void generateMonteCarloComputations() {
-		monteCarloComputations = new double[numberOfMonteCarloComputations];
-		for (int i = 0; i < numberOfMonteCarloComputations; i++) {
-			monteCarloComputations[i] = computeIntegral();// specific computation
-		}
+	protected double drawSingleValue(RandomSource randomSource) {
+		// no block is needed for a single point
+		return integrand.applyAsDouble(randomSource.nextDouble(), randomSource.nextDouble());
 	}
-}
\ No newline at end of file
+}
@@ -1,8 +1,9 @@
 package com.andreamazzon.exercise5.montecarlointegrationtwodimensions;
 
-import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
 
 import com.andreamazzon.exercise3.montecarlo.MonteCarloExperimentsWithExactResult;
+import com.andreamazzon.exercise6.randomvariables.RandomSource;
 
 /**
  * This class deals with the approximation of Pi from the area of the unit
@@ -20,11 +21,30 @@ public class MonteCarloPiFromTwoDimensionsIntegration extends MonteCarloExperime
 
 	// public constructor
 	public MonteCarloPiFromTwoDimensionsIntegration(int numberOfMonteCarloComputations, int numberOfDrawings) {
-		BiFunction<Double, Double, Double> integrand = ((x,
+		DoubleBinaryOperator integrand = ((x,
 				y) -> 2 * (x - 0.5) * 2 * (x - 0.5) + 2 * (y - 0.5) * 2 * (y - 0.5) <= 1 ? 4.0 : 0.0);
-		this.monteCarloPiIndicator = new MonteCarloIntegrationTwoDimensions(integrand, numberOfMonteCarloComputations,
-				numberOfDrawings);
+		this.monteCarloPiIndicator = MonteCarloIntegrationTwoDimensions.fromPrimitive(integrand,
+				numberOfMonteCarloComputations, numberOfDrawings);
 		this.exactResult = Math.PI;
+		// also here, since they are used by getComputationsAtCheckpoints
+		this.numberOfMonteCarloComputations = numberOfMonteCarloComputations;
+		this.numberOfDrawings = numberOfDrawings;
+	}
+
+	// public constructor for computations run in parallel, see MonteCarloIntegrationTwoDimensions
+	public MonteCarloPiFromTwoDimensionsIntegration(int numberOfMonteCarloComputations, int numberOfDrawings,
+			int numberOfThreads, long seed) {
+		DoubleBinaryOperator integrand = ((x,
+				y) -> 2 * (x - 0.5) * 2 * (x - 0.5) + 2 * (y - 0.5) * 2 * (y - 0.5) <= 1 ? 4.0 : 0.0);
+		this.monteCarloPiIndicator = MonteCarloIntegrationTwoDimensions.fromPrimitive(integrand,
+				numberOfMonteCarloComputations, numberOfDrawings, numberOfThreads, seed);
+		this.exactResult = Math.PI;
+		// also here, since they are used by getComputationsAtCheckpoints
+		this.numberOfMonteCarloComputations = numberOfMonteCarloComputations;
+		this.numberOfDrawings = numberOfDrawings;
+		this.numberOfThreads = numberOfThreads;
+		this.isSeeded = true;
+		this.seed = seed;
 	}
 
 	@Override
@@ -32,4 +52,10 @@ public class MonteCarloPiFromTwoDimensionsIntegration extends MonteCarloExperime
 		// use of delegation through composition
 		monteCarloComputations = monteCarloPiIndicator.getComputations();
 	}
+
+	@Override
+	protected double drawSingleValue(RandomSource randomSource) {
+		// use of delegation through composition
+		return monteCarloPiIndicator.drawSingleValue(randomSource);
+	}
 }
\ No newline at end of file
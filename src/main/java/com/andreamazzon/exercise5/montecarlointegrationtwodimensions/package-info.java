@@ -3,6 +3,10 @@
  * Monte Carlo integration of a general function f: [0,1] x [0,1] -> R. In the
  * class MonteCarloPiFromTwoDimensionsIntegration we use the implementation in
  * MonteCarloIntegrationTwoDimensions to get the usual Monte-Carlo approximation
- * of pi from the area of the unit circle.
+ * of pi from the area of the unit circle. MonteCarloIntegrationTwoDimensions
+ * extends MonteCarloIntegrationHypercube, which integrates functions in
+ * [0,1]^d evaluated on blocks of points by a BatchIntegrand, without creating
+ * objects for the single points. The class IntegrandThroughputTesting compares
+ * the time needed with a BiFunction and with a DoubleBinaryOperator.
  */
-package com.andreamazzon.exercise5.montecarlointegrationtwodimensions;
\ No newline at end of file
+package com.andreamazzon.exercise5.montecarlointegrationtwodimensions;
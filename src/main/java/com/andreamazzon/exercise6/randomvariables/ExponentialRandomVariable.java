@@ -19,6 +19,15 @@ public class ExponentialRandomVariable extends RandomVariable {
 		this.lambda = lambda;// intensity
 	}
 
+	/*
+	 * public constructor, with the source of the uniform numbers used to generate
+	 * the realizations.
+	 */
+	public ExponentialRandomVariable(double lambda, RandomSource randomSource) {
+		super(randomSource);
+		this.lambda = lambda;// intensity
+	}
+
 	public double getLambda() { // getter, if the user wants to get the intensity
 		return lambda;
 	}
@@ -0,0 +1,50 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+import com.andreamazzon.exercise3.overflowlinearcongruentialgenerator.SkipAheadLinearCongruentialGenerator;
+
+/**
+ * This class is a SplittableRandomSource based on the linear congruential
+ * generator of SkipAheadLinearCongruentialGenerator: the numbers are the ones
+ * of the generator divided by its modulus. The method split() returns a source
+ * starting from the current number of the sequence, whereas the calling source
+ * jumps SUBSTREAM_LENGTH numbers ahead. Note that the modulus is about 2.8 *
+ * 10^12: the sources obtained by split() do not overlap only for less than
+ * about 650 calls, each giving less than SUBSTREAM_LENGTH numbers. The generator
+ * is here mostly for didactic purposes: its numbers are not as good as the ones
+ * of SplitMixRandomSource or XoshiroRandomSource.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class LinearCongruentialRandomSource implements SplittableRandomSource {
+
+	/**
+	 * The number of pseudo random numbers between two sources given by split().
+	 */
+	public static final long SUBSTREAM_LENGTH = 1L << 32;
+
+	private final SkipAheadLinearCongruentialGenerator generator;
+
+	public LinearCongruentialRandomSource(long seed) {
+		this(new SkipAheadLinearCongruentialGenerator(seed));
+	}
+
+	private LinearCongruentialRandomSource(SkipAheadLinearCongruentialGenerator generator) {
+		this.generator = generator;
+	}
+
+	@Override
+	public double nextDouble() {
+		return generator.getNextDouble();
+	}
+
+	@Override
+	public SplittableRandomSource split() {
+		// a new generator in the same position, and then this one jumps ahead
+		final SkipAheadLinearCongruentialGenerator newGenerator = new SkipAheadLinearCongruentialGenerator(
+				generator.getSeed());
+		newGenerator.skip(generator.getCount());
+		generator.skip(SUBSTREAM_LENGTH);
+		return new LinearCongruentialRandomSource(newGenerator);
+	}
+}
@@ -0,0 +1,142 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+import net.finmath.functions.NormalDistribution;
+
+/**
+ * This class contains one main method that compares the new cumulative
+ * distribution function and quantile function of NormalRandomVariable, computed
+ * by StandardNormalFunctions, with the previous approximations, given by the
+ * Taylor expansion of the error function and by the formula of Abramowitz and
+ * Stegun. First we compare their accuracy, taking as a benchmark the functions
+ * of the Finmath library (the cumulative distribution function there is
+ * computed from the error function of Apache Commons Math). Then we compare the
+ * time needed to evaluate them: the functions are evaluated several times, and
+ * only the last times are measured, since the first ones are needed by the Java
+ * Virtual Machine to compile the methods.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class NormalFunctionsTesting {
+
+	public static void main(String[] args) {
+
+		final NormalRandomVariable standardNormal = new NormalRandomVariable(0.0, 1.0);
+
+		// accuracy of the cumulative distribution function
+		System.out.println("Maximum absolute error of the cumulative distribution function");
+		for (final double bound : new double[] { 1.0, 3.0, 5.0, 8.0 }) {
+			double maximumErrorTaylor = 0;
+			double maximumErrorNew = 0;
+			for (double x = -bound; x <= bound; x += 1E-3) {
+				final double exactValue = NormalDistribution.cumulativeDistribution(x);
+				maximumErrorTaylor = Math.max(maximumErrorTaylor,
+						Math.abs(standardNormal.taylorCdfFunction(x) - exactValue));
+				maximumErrorNew = Math.max(maximumErrorNew, Math.abs(standardNormal.cdfFunction(x) - exactValue));
+			}
+			System.out.println("In [" + -bound + ", " + bound + "]: Taylor expansion " + maximumErrorTaylor
+					+ ", new " + maximumErrorNew);
+		}
+
+		System.out.println();
+		System.out.println("Relative error of the cumulative distribution function in the left tail");
+		for (final double x : new double[] { -10.0, -20.0, -30.0 }) {
+			final double exactValue = NormalDistribution.cumulativeDistribution(x);
+			System.out.println("In " + x + ": " + Math.abs(standardNormal.cdfFunction(x) / exactValue - 1));
+		}
+
+		// accuracy of the quantile function
+		double maximumErrorAbramowitz = 0;
+		double maximumErrorNew = 0;
+		double maximumRoundTripError = 0;
+		for (double p = 1E-6; p < 1; p += 1E-6) {
+			final double exactValue = NormalDistribution.inverseCumulativeDistribution(p);
+			maximumErrorAbramowitz = Math.max(maximumErrorAbramowitz,
+					Math.abs(standardNormal.abramowitzQuantile(p) - exactValue));
+			final double newValue = standardNormal.quantileFunction(p);
+			maximumErrorNew = Math.max(maximumErrorNew, Math.abs(newValue - exactValue));
+			maximumRoundTripError = Math.max(maximumRoundTripError,
+					Math.abs(standardNormal.cdfFunction(newValue) - p));
+		}
+		System.out.println();
+		System.out.println("Maximum absolute error of the quantile function in (0,1)");
+		System.out.println("Abramowitz and Stegun: " + maximumErrorAbramowitz + ", new: " + maximumErrorNew);
+		System.out.println("Maximum of |cdf(quantile(p)) - p|: " + maximumRoundTripError);
+
+		// throughput
+		final int numberOfPoints = 1000000;
+		final int numberOfWarmUpRounds = 5;
+		final int numberOfMeasuredRounds = 10;
+
+		final double[] uniforms = new double[numberOfPoints];
+		for (int i = 0; i < numberOfPoints; i++) {
+			uniforms[i] = (i + 0.5) / numberOfPoints;
+		}
+		final double[] values = new double[numberOfPoints];
+
+		long timeAbramowitz = 0;
+		long timeNewQuantile = 0;
+		long timeBatchQuantile = 0;
+		long timeTaylor = 0;
+		long timeNewCdf = 0;
+		long timeBatchCdf = 0;
+		double checkSum = 0;// we use the results, otherwise the computations might be skipped
+
+		for (int round = 0; round < numberOfWarmUpRounds + numberOfMeasuredRounds; round++) {
+			final boolean isMeasured = round >= numberOfWarmUpRounds;
+
+			long start = System.nanoTime();
+			for (int i = 0; i < numberOfPoints; i++) {
+				values[i] = standardNormal.abramowitzQuantile(uniforms[i]);
+			}
+			timeAbramowitz += isMeasured ? System.nanoTime() - start : 0;
+			checkSum += values[numberOfPoints / 3];
+
+			start = System.nanoTime();
+			for (int i = 0; i < numberOfPoints; i++) {
+				values[i] = standardNormal.quantileFunction(uniforms[i]);
+			}
+			timeNewQuantile += isMeasured ? System.nanoTime() - start : 0;
+			checkSum += values[numberOfPoints / 3];
+
+			start = System.nanoTime();
+			System.arraycopy(uniforms, 0, values, 0, numberOfPoints);
+			StandardNormalFunctions.inverseCumulativeDistribution(values, 0, numberOfPoints);
+			timeBatchQuantile += isMeasured ? System.nanoTime() - start : 0;
+
+			// the quantiles are now the points where the cumulative distribution function is evaluated
+			final double[] points = values.clone();
+
+			start = System.nanoTime();
+			for (int i = 0; i < numberOfPoints; i++) {
+				values[i] = standardNormal.taylorCdfFunction(points[i]);
+			}
+			timeTaylor += isMeasured ? System.nanoTime() - start : 0;
+			checkSum += values[numberOfPoints / 3];
+
+			start = System.nanoTime();
+			for (int i = 0; i < numberOfPoints; i++) {
+				values[i] = standardNormal.cdfFunction(points[i]);
+			}
+			timeNewCdf += isMeasured ? System.nanoTime() - start : 0;
+			checkSum += values[numberOfPoints / 3];
+
+			start = System.nanoTime();
+			System.arraycopy(points, 0, values, 0, numberOfPoints);
+			StandardNormalFunctions.cumulativeDistribution(values, 0, numberOfPoints);
+			timeBatchCdf += isMeasured ? System.nanoTime() - start : 0;
+			checkSum += values[numberOfPoints / 3];
+		}
+
+		final double numberOfEvaluations = (double) numberOfMeasuredRounds * numberOfPoints;
+
+		System.out.println();
+		System.out.println("Nanoseconds per evaluation (check sum " + checkSum + ")");
+		System.out.println("Quantile function. Abramowitz and Stegun: " + timeAbramowitz / numberOfEvaluations
+				+ ", new: " + timeNewQuantile / numberOfEvaluations + ", new in a block: "
+				+ timeBatchQuantile / numberOfEvaluations);
+		System.out.println("Cumulative distribution function. Taylor expansion: " + timeTaylor / numberOfEvaluations
+				+ ", new: " + timeNewCdf / numberOfEvaluations + ", new in a block: "
+				+ timeBatchCdf / numberOfEvaluations);
+	}
+}
@@ -0,0 +1,15 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+/**
+ * The methods that can be used to generate many realizations of a standard
+ * normal random variable at once, see
+ * NormalRandomVariable.fillStandardNormal.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public enum NormalGenerationMethods {
+
+	ZIGGURAT, POLARBOXMULLER, INVERSECDF;
+
+}
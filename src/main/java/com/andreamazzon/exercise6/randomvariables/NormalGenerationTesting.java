@@ -0,0 +1,76 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+import java.util.SplittableRandom;
+
+/**
+ * This class contains one main method that compares the generation of many
+ * realizations of a standard normal random variable one at a time, by the
+ * method generate() of NormalRandomVariable, with the generation in a block by
+ * the method fillStandardNormal, for the three methods ziggurat, polar
+ * Box-Muller and inversion of the distribution function. For every method we
+ * print the sample mean, the sample standard deviation, the frequency of values
+ * bigger than 3 (which checks the tails) and the time needed. The uniform
+ * numbers are given by a SplittableRandom object: the results are then
+ * reproducible.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class NormalGenerationTesting {
+
+	public static void main(String[] args) {
+
+		final int numberOfDrawings = 10000000;
+		final int numberOfRounds = 3;// the first ones are needed by the JVM to compile the methods
+		final long seed = 1897;
+
+		final double exactProbabilityBiggerThanThree = 1.3498980316301e-3;// 1 - Phi(3)
+
+		final double[] realizations = new double[numberOfDrawings];
+
+		final NormalRandomVariable standardNormal = new NormalRandomVariable(0.0, 1.0);
+
+		System.out.println("P(X > 3) = " + exactProbabilityBiggerThanThree);
+		System.out.println();
+
+		long elapsedTime = 0;
+		for (int round = 0; round < numberOfRounds; round++) {
+			final long start = System.nanoTime();
+			for (int i = 0; i < numberOfDrawings; i++) {
+				realizations[i] = standardNormal.generate();
+			}
+			elapsedTime = System.nanoTime() - start;
+		}
+		printStatistics("generate(), one at a time", realizations, elapsedTime);
+
+		for (final NormalGenerationMethods method : NormalGenerationMethods.values()) {
+			for (int round = 0; round < numberOfRounds; round++) {
+				final SplittableRandom uniformGenerator = new SplittableRandom(seed);
+				final long start = System.nanoTime();
+				NormalRandomVariable.fillStandardNormal(realizations, 0, numberOfDrawings,
+						uniformGenerator::nextDouble, method);
+				elapsedTime = System.nanoTime() - start;
+			}
+			printStatistics("fillStandardNormal, " + method, realizations, elapsedTime);
+		}
+	}
+
+	private static void printStatistics(String name, double[] realizations, long elapsedTime) {
+		double sum = 0;
+		double sumOfSquares = 0;
+		int numberOfValuesBiggerThanThree = 0;
+		for (final double realization : realizations) {
+			sum += realization;
+			sumOfSquares += realization * realization;
+			numberOfValuesBiggerThanThree += realization > 3 ? 1 : 0;
+		}
+		final int n = realizations.length;
+		final double mean = sum / n;
+		System.out.println(name);
+		System.out.println("Sample mean: " + mean);
+		System.out.println("Sample std dev: " + Math.sqrt((sumOfSquares - n * mean * mean) / (n - 1)));
+		System.out.println("Frequency of values bigger than 3: " + (double) numberOfValuesBiggerThanThree / n);
+		System.out.println("Nanoseconds per realization: " + (double) elapsedTime / n);
+		System.out.println();
+	}
+}
@@ -13,6 +13,36 @@ public class NormalRandomVariable extends RandomVariable {
 	private double sigma; // standard deviation
 	private final int orderOfApproximationForErf = 10;
 
+	/*
+	 * Tables for the ziggurat algorithm of Marsaglia and Tsang, in the version of
+	 * Doornik (2005) which only needs uniform doubles. The area under
+	 * exp(-x^2/2) for x >= 0 is covered by NUMBER_OF_BLOCKS blocks of the same area
+	 * ZIGGURAT_AREA: block i, i >= 1, is the rectangle [0, ZIGGURAT_X[i]] x
+	 * [f(ZIGGURAT_X[i]), f(ZIGGURAT_X[i + 1])], whereas block 0 is the rectangle
+	 * below f(ZIGGURAT_R) together with the tail x > ZIGGURAT_R. ZIGGURAT_RATIO[i]
+	 * is ZIGGURAT_X[i + 1] / ZIGGURAT_X[i]: a point of block i whose abscissa is
+	 * smaller than ZIGGURAT_X[i + 1] is surely below the density.
+	 */
+	private static final int NUMBER_OF_BLOCKS = 128;
+	private static final double ZIGGURAT_R = 3.442619855899;
+	private static final double ZIGGURAT_AREA = 9.91256303526217e-3;
+	private static final double[] ZIGGURAT_X = new double[NUMBER_OF_BLOCKS + 1];
+	private static final double[] ZIGGURAT_RATIO = new double[NUMBER_OF_BLOCKS];
+
+	static {
+		double densityAtLastX = Math.exp(-0.5 * ZIGGURAT_R * ZIGGURAT_R);
+		ZIGGURAT_X[0] = ZIGGURAT_AREA / densityAtLastX;// width of the rectangle with the same area of block 0
+		ZIGGURAT_X[1] = ZIGGURAT_R;
+		ZIGGURAT_X[NUMBER_OF_BLOCKS] = 0;
+		for (int i = 2; i < NUMBER_OF_BLOCKS; i++) {
+			ZIGGURAT_X[i] = Math.sqrt(-2 * Math.log(ZIGGURAT_AREA / ZIGGURAT_X[i - 1] + densityAtLastX));
+			densityAtLastX = Math.exp(-0.5 * ZIGGURAT_X[i] * ZIGGURAT_X[i]);
+		}
+		for (int i = 0; i < NUMBER_OF_BLOCKS; i++) {
+			ZIGGURAT_RATIO[i] = ZIGGURAT_X[i + 1] / ZIGGURAT_X[i];
+		}
+	}
+
 	/*
 	 * public constructor, and no public setters: every object will have its own
 	 * mean and standard deviation.
@@ -22,6 +52,16 @@ public class NormalRandomVariable extends RandomVariable {
 		this.sigma = sigma;
 	}
 
+	/*
+	 * public constructor, with the source of the uniform numbers used to generate
+	 * the realizations, also by generateAR() and by the Box-Muller methods.
+	 */
+	public NormalRandomVariable(double mu, double sigma, RandomSource randomSource) {
+		super(randomSource);
+		this.mu = mu;
+		this.sigma = sigma;
+	}
+
 	public double getMu() { // getter for mu
 		return mu;
 	}
@@ -73,13 +113,31 @@ public class NormalRandomVariable extends RandomVariable {
 
 	/**
 	 * It returns the value in a given point of the cumulative distribution function
-	 * of a normal random variable, with mean mu and standard deviation sigma.
+	 * of a normal random variable, with mean mu and standard deviation sigma. It is
+	 * computed by StandardNormalFunctions, with an accuracy of the order of the
+	 * machine precision on the whole real line.
 	 *
 	 * @param x, the point where the cumulative distribution function is evaluated
 	 * @returns the value of the cumulative distribution function in x
 	 */
 	@Override
 	public double cdfFunction(double x) {
+		return StandardNormalFunctions.cumulativeDistribution((x - mu) / sigma);
+	}
+
+	/**
+	 * It returns the value in a given point of the approximation of the cumulative
+	 * distribution function of a normal random variable, with mean mu and standard
+	 * deviation sigma, given by the Taylor expansion of the error function. Note:
+	 * the approximation is good only near mu, and it is completely wrong for
+	 * |x - mu| bigger than about 3 sigma. It is kept in order to compare it with
+	 * cdfFunction.
+	 *
+	 * @param x, the point where the cumulative distribution function is evaluated
+	 * @returns the value of the approximation of the cumulative distribution
+	 *          function in x
+	 */
+	public double taylorCdfFunction(double x) {
 		return 0.5 * (1 + errorFunction((x - mu) / (Math.sqrt(2) * sigma)));
 	}
 
@@ -104,15 +162,30 @@ public class NormalRandomVariable extends RandomVariable {
 		return -t + (c0 + c1 * t + c2 * t * t) / (1 + d1 * t + d2 * t * t + d3 * t * t * t);
 	}
 
+	/**
+	 * It returns the value in a point x in [0,1] of the quantile function. It is
+	 * computed by StandardNormalFunctions, with an accuracy of the order of the
+	 * machine precision, whereas the approximation of abramowitzQuantile has an
+	 * error up to 4.5e-4.
+	 *
+	 * @param x, the point where the quantile function is evaluated
+	 * @returns the value of the quantile function in x
+	 */
+	@Override
+	public double quantileFunction(double x) {
+		// qF(x) = sigma qFS(x) + mu, see abramowitzQuantile
+		return sigma * StandardNormalFunctions.inverseCumulativeDistribution(x) + mu;
+	}
+
 	/**
 	 * It returns the value in a point x in [0,1] of the approximation of the
-	 * quantile function basing on Abramowitz and Stegun 26.2.23.
+	 * quantile function basing on Abramowitz and Stegun 26.2.23. It is kept in
+	 * order to compare it with quantileFunction.
 	 *
 	 * @param x, the point where the quantile function is approximated
 	 * @returns the value of the approximation of the quantile function in x
 	 */
-	@Override
-	public double quantileFunction(double x) {
+	public double abramowitzQuantile(double x) {
 		/*
 		 * The original approximation formula is intended to hold for a standard normal
 		 * random variable (i.e., mu = 0, sigma = 1) for x <= 0.5. However, note that
@@ -139,16 +212,17 @@ public class NormalRandomVariable extends RandomVariable {
 	 */
 	public double generateAR() { // generation
 
+		final RandomSource randomSource = getRandomSource();
 		double uniformDrawing, exponentialDrawing;
 		do {// you do it at least once: example of do..while
 			// generation of uniformDrawing and exponentialDrawing
-			uniformDrawing = Math.random();// realization of a uniformly distribute random variable in (0,1)
-			exponentialDrawing = (new ExponentialRandomVariable(1.0)).generate();// realization of exp random variable
+			uniformDrawing = randomSource.nextDouble();// realization of a uniformly distribute random variable in (0,1)
+			exponentialDrawing = (new ExponentialRandomVariable(1.0)).generate(randomSource);// realization of exp random variable
 		}
 		// rejected if u > f(y)/(C*g(y)), C = (2*e/pi)^1/2
 		while (uniformDrawing > Math.exp(-(exponentialDrawing - 1) * (exponentialDrawing - 1) / 2));
 		double absoluteValueStandardNormalDrawing = exponentialDrawing;
-		double signOfNormalDrawing = Math.random() < 0.5 ? 1 : -1;
+		double signOfNormalDrawing = randomSource.nextDouble() < 0.5 ? 1 : -1;
 		double standardNormalDrawing = absoluteValueStandardNormalDrawing * signOfNormalDrawing;
 		return sigma * standardNormalDrawing + mu;// multiply by sigma and add mu
 	}
@@ -180,8 +254,9 @@ public class NormalRandomVariable extends RandomVariable {
 	 * @return array of doubles of length 2, containing the two realizations
 	 */
 	public double[] generateBoxMuller() {
-		double firstUniform = Math.random();// random variable uniformly distributed in (0,1)
-		double secondUniform = Math.random();// random variable uniformly distributed in (0,1)
+		final RandomSource randomSource = getRandomSource();
+		double firstUniform = randomSource.nextDouble();// random variable uniformly distributed in (0,1)
+		double secondUniform = randomSource.nextDouble();// random variable uniformly distributed in (0,1)
 		double leftTerm = Math.sqrt(-2.0 * Math.log(firstUniform));
 		double firstStandard = leftTerm * Math.cos(2 * Math.PI * secondUniform);
 		double secondStandard = leftTerm * Math.sin(2 * Math.PI * secondUniform);
@@ -196,11 +271,12 @@ public class NormalRandomVariable extends RandomVariable {
 	 * @return array of doubles of length 2, containing the two realizations
 	 */
 	public double[] generateARBoxMuller() {
+		final RandomSource randomSource = getRandomSource();
 		double firstUniformInMinusOneOne, secondUniformInMinusOneOne, sumOfSquares, s;
 		do {// you do it at least once: example of do..while
 			// two random variables uniformly distributed in (-1,1)
-			firstUniformInMinusOneOne = 2 * Math.random() - 1;
-			secondUniformInMinusOneOne = 2 * Math.random() - 1;
+			firstUniformInMinusOneOne = 2 * randomSource.nextDouble() - 1;
+			secondUniformInMinusOneOne = 2 * randomSource.nextDouble() - 1;
 			sumOfSquares = firstUniformInMinusOneOne * firstUniformInMinusOneOne
 					+ secondUniformInMinusOneOne * secondUniformInMinusOneOne;
 		} while (sumOfSquares > 1);// rejected if > 1
@@ -212,4 +288,143 @@ public class NormalRandomVariable extends RandomVariable {
 
 	}
 
+	/**
+	 * It writes destination.length independent realizations of a standard normal
+	 * random variable in the given array, by the ziggurat algorithm. No object is
+	 * created, and the uniform numbers are taken from the given source: the
+	 * realizations are then reproducible if the source is.
+	 *
+	 * @param destination,  the array where the realizations are written
+	 * @param randomSource, the source of the uniform numbers. It can also be
+	 *                      Math::random
+	 */
+	public static void fillStandardNormal(double[] destination, RandomSource randomSource) {
+		fillStandardNormal(destination, 0, destination.length, randomSource, NormalGenerationMethods.ZIGGURAT);
+	}
+
+	/**
+	 * It writes length independent realizations of a standard normal random
+	 * variable in the given array, starting from position offset, with the given
+	 * method. No object is created, and the uniform numbers are taken from the
+	 * given source.
+	 *
+	 * @param destination,  the array where the realizations are written
+	 * @param offset,       the position of the first realization
+	 * @param length,       the number of realizations
+	 * @param randomSource, the source of the uniform numbers
+	 * @param method,       the method used: ziggurat, polar Box-Muller or
+	 *                      inversion of the distribution function
+	 */
+	public static void fillStandardNormal(double[] destination, int offset, int length, RandomSource randomSource,
+			NormalGenerationMethods method) {
+		if (offset < 0 || length < 0 || offset + length > destination.length) {
+			throw new IllegalArgumentException("The realizations do not fit in the array.");
+		}
+		switch (method) {
+		case ZIGGURAT:
+			for (int i = offset; i < offset + length; i++) {
+				destination[i] = nextStandardNormalByZiggurat(randomSource);
+			}
+			break;
+
+		case POLARBOXMULLER:
+			fillStandardNormalByPolarBoxMuller(destination, offset, length, randomSource);
+			break;
+
+		case INVERSECDF:
+			/*
+			 * the uniform numbers are first written in the array, and then transformed in
+			 * place: so the source can give them in a block, which is faster for example
+			 * for a linear congruential generator.
+			 */
+			randomSource.fill(destination, offset, length);
+			for (int i = offset; i < offset + length; i++) {
+				while (destination[i] == 0) {// the quantile function is -infinity in 0
+					destination[i] = randomSource.nextDouble();
+				}
+			}
+			StandardNormalFunctions.inverseCumulativeDistribution(destination, offset, length);
+			break;
+
+		default:
+			throw new IllegalArgumentException("Unknown generation method: " + method);
+		}
+	}
+
+	/**
+	 * It writes destination.length independent realizations of a normal random
+	 * variable with mean mu and standard deviation sigma in the given array, with
+	 * the given method.
+	 *
+	 * @param destination,  the array where the realizations are written
+	 * @param randomSource, the source of the uniform numbers
+	 * @param method,       the method used to generate the standard normal
+	 *                      realizations
+	 */
+	public void fill(double[] destination, RandomSource randomSource, NormalGenerationMethods method) {
+		fillStandardNormal(destination, 0, destination.length, randomSource, method);
+		for (int i = 0; i < destination.length; i++) {
+			destination[i] = sigma * destination[i] + mu;// multiply by sigma and add mu
+		}
+	}
+
+	/*
+	 * One realization of a standard normal random variable by the ziggurat
+	 * algorithm: most of the times, only two uniform numbers, one multiplication
+	 * and one comparison are needed.
+	 */
+	private static double nextStandardNormalByZiggurat(RandomSource randomSource) {
+		while (true) {
+			final double uniformInMinusOneOne = 2 * randomSource.nextDouble() - 1;
+			final int block = (int) (randomSource.nextDouble() * NUMBER_OF_BLOCKS);
+			// the point is inside the part of the block which is surely below the density
+			if (Math.abs(uniformInMinusOneOne) < ZIGGURAT_RATIO[block]) {
+				return uniformInMinusOneOne * ZIGGURAT_X[block];
+			}
+			// base block: sample from the tail, by the method of Marsaglia (1964)
+			if (block == 0) {
+				double x, y;
+				do {
+					x = Math.log(1 - randomSource.nextDouble()) / ZIGGURAT_R;// negative
+					y = Math.log(1 - randomSource.nextDouble());
+				} while (-2 * y < x * x);
+				return uniformInMinusOneOne < 0 ? x - ZIGGURAT_R : ZIGGURAT_R - x;
+			}
+			// the point is in the wedge between the density and the block: we accept it if below the density
+			final double x = uniformInMinusOneOne * ZIGGURAT_X[block];
+			final double densityAtLeftEnd = Math.exp(-0.5 * (ZIGGURAT_X[block] * ZIGGURAT_X[block] - x * x));
+			final double densityAtRightEnd = Math
+					.exp(-0.5 * (ZIGGURAT_X[block + 1] * ZIGGURAT_X[block + 1] - x * x));
+			if (densityAtRightEnd + randomSource.nextDouble() * (densityAtLeftEnd - densityAtRightEnd) < 1.0) {
+				return x;
+			}
+		}
+	}
+
+	/*
+	 * Realizations of a standard normal random variable by the polar Box-Muller
+	 * algorithm, as in generateARBoxMuller(), without creating any array: every
+	 * accepted pair of uniform numbers gives two realizations. If length is odd,
+	 * the second realization of the last pair is not used.
+	 */
+	private static void fillStandardNormalByPolarBoxMuller(double[] destination, int offset, int length,
+			RandomSource randomSource) {
+		final int end = offset + length;
+		int i = offset;
+		while (i < end) {
+			double firstUniformInMinusOneOne, secondUniformInMinusOneOne, sumOfSquares;
+			do {
+				firstUniformInMinusOneOne = 2 * randomSource.nextDouble() - 1;
+				secondUniformInMinusOneOne = 2 * randomSource.nextDouble() - 1;
+				sumOfSquares = firstUniformInMinusOneOne * firstUniformInMinusOneOne
+						+ secondUniformInMinusOneOne * secondUniformInMinusOneOne;
+			} while (sumOfSquares >= 1 || sumOfSquares == 0);// rejected if outside the unit disk, or in 0
+			final double s = Math.sqrt(-2.0 * Math.log(sumOfSquares) / sumOfSquares);
+			destination[i++] = firstUniformInMinusOneOne * s;
+			if (i < end) {
+				destination[i++] = secondUniformInMinusOneOne * s;
+			}
+		}
+	}
+
 }
@@ -0,0 +1,121 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+/**
+ * This class is a RandomSource based on the counter-based generator
+ * Philox4x32-10 of Salmon, Moraes, Dror and Shaw (2011). The generator has no
+ * state apart from a counter: the block of numbers with a given counter is
+ * obtained by applying ten rounds of a bijection, which depends on a key of 64
+ * bits, to the counter of 128 bits. Every block gives four numbers of 32 bits,
+ * i.e., two doubles.
+ *
+ * Here the key is the seed, the first 32 bits of the counter count the blocks,
+ * and the other 96 bits are three integers chosen at construction, which
+ * identify the stream: for example a time index, a factor index and a block of
+ * paths of a Brownian motion. So every stream can be created directly from its
+ * indices, without generating or splitting the other ones, and it is always the
+ * same for the same seed and indices. Every stream has 2^33 numbers.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class PhiloxRandomSource implements RandomSource {
+
+	// the multipliers and the increments of the key, from the article
+	private static final long MULTIPLIER0 = 0xD2511F53L;
+	private static final long MULTIPLIER1 = 0xCD9E8D57L;
+	private static final int KEY_INCREMENT0 = 0x9E3779B9;
+	private static final int KEY_INCREMENT1 = 0xBB67AE85;
+
+	private final int key0, key1;
+	private final int streamIndex0, streamIndex1, streamIndex2;
+
+	private int blockCounter;
+	private final long[] block = new long[2];// the output of the current block, in two longs
+	private int numberOfUsedDoubles = 2;// 0 or 1 if the current block has still numbers to give
+
+	/**
+	 * It constructs the stream identified by the three given indices, for the
+	 * given seed.
+	 *
+	 * @param seed,         the key of the generator
+	 * @param streamIndex0, the first index of the stream
+	 * @param streamIndex1, the second index of the stream
+	 * @param streamIndex2, the third index of the stream
+	 */
+	public PhiloxRandomSource(long seed, int streamIndex0, int streamIndex1, int streamIndex2) {
+		this.key0 = (int) seed;
+		this.key1 = (int) (seed >>> 32);
+		this.streamIndex0 = streamIndex0;
+		this.streamIndex1 = streamIndex1;
+		this.streamIndex2 = streamIndex2;
+	}
+
+	/**
+	 * It returns the four numbers of 32 bits given by Philox4x32-10 for the given
+	 * counter and key.
+	 *
+	 * @param counter, the four words of the counter
+	 * @param key,     the two words of the key
+	 * @return the four words of the output
+	 */
+	public static int[] getBlock(int[] counter, int[] key) {
+		final long[] output = new long[2];
+		computeBlock(counter[0], counter[1], counter[2], counter[3], key[0], key[1], output);
+		return new int[] { (int) (output[0] >>> 32), (int) output[0], (int) (output[1] >>> 32), (int) output[1] };
+	}
+
+	/*
+	 * The ten rounds: in every round, two words are multiplied by the multipliers,
+	 * and the high and low halves of the products are mixed with the other words
+	 * and the key, which is incremented after every round. The output words are
+	 * written in two longs, the first word in the high bits.
+	 */
+	private static void computeBlock(int c0, int c1, int c2, int c3, int k0, int k1, long[] output) {
+		for (int round = 0; round < 10; round++) {
+			final long product0 = MULTIPLIER0 * (c0 & 0xFFFFFFFFL);
+			final long product1 = MULTIPLIER1 * (c2 & 0xFFFFFFFFL);
+			final int newC0 = (int) (product1 >>> 32) ^ c1 ^ k0;
+			final int newC2 = (int) (product0 >>> 32) ^ c3 ^ k1;
+			c1 = (int) product1;
+			c3 = (int) product0;
+			c0 = newC0;
+			c2 = newC2;
+			k0 += KEY_INCREMENT0;
+			k1 += KEY_INCREMENT1;
+		}
+		output[0] = ((long) c0 << 32) | (c1 & 0xFFFFFFFFL);
+		output[1] = ((long) c2 << 32) | (c3 & 0xFFFFFFFFL);
+	}
+
+	@Override
+	public double nextDouble() {
+		if (numberOfUsedDoubles == 2) {
+			nextBlock();
+		}
+		return (block[numberOfUsedDoubles++] >>> 11) * 0x1.0p-53;// the 53 most significant bits, divided by 2^53
+	}
+
+	@Override
+	public void fill(double[] destination, int offset, int length) {
+		int i = offset;
+		// first the numbers left in the current block, if any
+		for (; i < offset + length && numberOfUsedDoubles < 2; i++) {
+			destination[i] = nextDouble();
+		}
+		// then two numbers from every block
+		for (; i + 1 < offset + length; i += 2) {
+			computeBlock(blockCounter++, streamIndex0, streamIndex1, streamIndex2, key0, key1, block);
+			destination[i] = (block[0] >>> 11) * 0x1.0p-53;
+			destination[i + 1] = (block[1] >>> 11) * 0x1.0p-53;
+		}
+		// the last number, if length is odd: the other number of its block stays for the next call
+		if (i < offset + length) {
+			destination[i] = nextDouble();
+		}
+	}
+
+	private void nextBlock() {
+		computeBlock(blockCounter++, streamIndex0, streamIndex1, streamIndex2, key0, key1, block);
+		numberOfUsedDoubles = 0;
+	}
+}
@@ -0,0 +1,37 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+/**
+ * This interface represents a source of pseudo random numbers uniformly
+ * distributed in [0,1), which is used to generate realizations of random
+ * variables. Since it has only one abstract method, it can also be given by a
+ * lambda expression or a method reference: for example, Math::random is a
+ * RandomSource.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+@FunctionalInterface
+public interface RandomSource {
+
+	/**
+	 * It returns the next pseudo random number uniformly distributed in [0,1).
+	 *
+	 * @return the next pseudo random number uniformly distributed in [0,1)
+	 */
+	double nextDouble();
+
+	/**
+	 * It writes length pseudo random numbers uniformly distributed in [0,1) in the
+	 * given array, starting from position offset. They are the same numbers that
+	 * we would get by calling nextDouble() length times.
+	 *
+	 * @param destination, the array where the numbers are written
+	 * @param offset,      the position of the first number written
+	 * @param length,      how many numbers are written
+	 */
+	default void fill(double[] destination, int offset, int length) {
+		for (int i = offset; i < offset + length; i++) {
+			destination[i] = nextDouble();
+		}
+	}
+}
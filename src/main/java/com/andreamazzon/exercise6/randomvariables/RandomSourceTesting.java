@@ -0,0 +1,107 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class contains one main method that tests the sources of uniform numbers
+ * which can be given to the random variables. First, it checks that two random
+ * variables built with sources with the same seed give the same sample mean.
+ * Then it computes the sample mean of a normal random variable splitting the
+ * sample in blocks computed by different threads: this is done once with
+ * Math.random(), which is shared by all the threads, and once giving every
+ * block its own source, obtained by split(). In the second case the result does
+ * not depend on the number of threads.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class RandomSourceTesting {
+
+	public static void main(String[] args) throws InterruptedException, ExecutionException {
+
+		final long seed = 1897;
+		final int numberOfSimulations = 1000000;
+
+		System.out.println("Sample means of an exponential random variable, two objects with the same seed");
+		for (final String name : new String[] { "SplitMix", "xoshiro256**", "linear congruential" }) {
+			final double firstMean = new ExponentialRandomVariable(0.2, getSource(name, seed))
+					.getSampleMean(numberOfSimulations);
+			final double secondMean = new ExponentialRandomVariable(0.2, getSource(name, seed))
+					.getSampleMean(numberOfSimulations);
+			System.out.println(name + ": " + firstMean + " " + secondMean);
+		}
+
+		System.out.println();
+
+		final int numberOfBlocks = 16;
+		final int sizeOfBlock = 1000000;
+		final NormalRandomVariable normal = new NormalRandomVariable(1.0, 2.0);
+
+		final int maximumNumberOfThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+		for (int numberOfThreads = 1; numberOfThreads <= maximumNumberOfThreads; numberOfThreads *= 2) {
+			final ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+
+			// Math.random(), shared among the threads
+			long start = System.currentTimeMillis();
+			final List<Future<Double>> sharedBlocks = new ArrayList<Future<Double>>();
+			for (int block = 0; block < numberOfBlocks; block++) {
+				sharedBlocks.add(executor.submit(() -> {
+					double sum = 0;
+					for (int i = 0; i < sizeOfBlock; i++) {
+						sum += normal.generate();
+					}
+					return sum;
+				}));
+			}
+			final double meanWithMathRandom = sumOfFutures(sharedBlocks) / (numberOfBlocks * sizeOfBlock);
+			final long timeWithMathRandom = System.currentTimeMillis() - start;
+
+			// one source for every block, split in the same order whatever the number of threads
+			start = System.currentTimeMillis();
+			final SplittableRandomSource rootSource = new XoshiroRandomSource(seed);
+			final List<Future<Double>> splitBlocks = new ArrayList<Future<Double>>();
+			for (int block = 0; block < numberOfBlocks; block++) {
+				final RandomSource blockSource = rootSource.split();
+				splitBlocks.add(executor.submit(() -> {
+					double sum = 0;
+					for (int i = 0; i < sizeOfBlock; i++) {
+						sum += normal.generate(blockSource);
+					}
+					return sum;
+				}));
+			}
+			final double meanWithSplitSources = sumOfFutures(splitBlocks) / (numberOfBlocks * sizeOfBlock);
+			final long timeWithSplitSources = System.currentTimeMillis() - start;
+
+			executor.shutdown();
+
+			System.out.println(numberOfThreads + " threads. Math.random(): mean " + meanWithMathRandom + " in "
+					+ timeWithMathRandom + " ms. Split sources: mean " + meanWithSplitSources + " in "
+					+ timeWithSplitSources + " ms");
+		}
+	}
+
+	private static SplittableRandomSource getSource(String name, long seed) {
+		switch (name) {
+		case "SplitMix":
+			return new SplitMixRandomSource(seed);
+		case "xoshiro256**":
+			return new XoshiroRandomSource(seed);
+		default:
+			return new LinearCongruentialRandomSource(seed);
+		}
+	}
+
+	private static double sumOfFutures(List<Future<Double>> futures) throws InterruptedException, ExecutionException {
+		double sum = 0;
+		for (final Future<Double> future : futures) {
+			sum += future.get();// in the order of the blocks
+		}
+		return sum;
+	}
+}
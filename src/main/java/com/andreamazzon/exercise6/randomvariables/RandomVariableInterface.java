@@ -19,6 +19,18 @@ public interface RandomVariableInterface {
 	 */
 	double generate();
 
+	/**
+	 * It generates a realization of a random variable with given distribution,
+	 * using the uniform numbers given by the source passed as an argument. The
+	 * random variable is represented by the object calling the method. This is
+	 * useful when different threads generate realizations of the same random
+	 * variable: each of them can use its own source.
+	 *
+	 * @param randomSource, the source of the uniform numbers
+	 * @return a realization of the random variable
+	 */
+	double generate(RandomSource randomSource);
+
 	/**
 	 * It generates a realization of a function of a random variable with given
 	 * distribution. The random variable is represented by the object calling the
@@ -50,6 +62,46 @@ public interface RandomVariableInterface {
 	 */
 	double getAnalyticStdDeviation();
 
+	/**
+	 * It generates n independent realizations of a random variable with given
+	 * distribution, and returns their statistics (mean, standard deviation,
+	 * higher moments, minimum and maximum), computed in one pass without storing
+	 * the realizations. The random variable is represented by the object calling
+	 * the method.
+	 *
+	 * @param n, the size of the sample
+	 * @return the statistics of the sample
+	 */
+	SampleStatistics getSampleStatistics(int n);
+
+	/**
+	 * It generates n independent realizations of a function of a random variable
+	 * with given distribution, and returns their statistics, computed in one pass
+	 * without storing the realizations. The random variable is represented by the
+	 * object calling the method, and the function by a DoubleUnaryOperator given
+	 * as an argument.
+	 *
+	 * @param n,        the size of the sample
+	 * @param function, the function to be sampled represented by a
+	 *                  DoubleUnaryOperator
+	 * @return the statistics of the sample
+	 */
+	SampleStatistics getSampleStatistics(int n, DoubleUnaryOperator function);
+
+	/**
+	 * It generates n independent realizations of a random variable with given
+	 * distribution by the given number of threads, and returns their statistics.
+	 * Every thread computes the statistics of some blocks of the sample, and these
+	 * are then merged. If the source of the uniform numbers of the random variable
+	 * is a SplittableRandomSource, the result does not depend on the number of
+	 * threads.
+	 *
+	 * @param n,               the size of the sample
+	 * @param numberOfThreads, the number of threads generating the sample
+	 * @return the statistics of the sample
+	 */
+	SampleStatistics getSampleStatistics(int n, int numberOfThreads);
+
 	/**
 	 * It returns the average of a one-dimensional array of specified length n of
 	 * independent realizations of a random variable with given distribution. The
@@ -0,0 +1,218 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+/**
+ * This class computes the statistics of a sample (mean, variance, standard
+ * deviation, skewness, kurtosis, minimum and maximum) in one pass, without
+ * storing the sample: the values are given one by one to the method add, and
+ * the statistics are updated every time. So the memory needed does not depend
+ * on the size of the sample.
+ *
+ * The mean is computed from the sum of the values, which is updated by Kahan
+ * summation in order to reduce the rounding errors. The central moments are
+ * updated by the formulas of Welford and Pebay, which avoid the cancellation of
+ * the formula E[X^2] - E[X]^2. Two objects of this class, for example computed
+ * by different threads on different parts of a sample, can be merged by the
+ * method merge: the result is the object we would have for the whole sample.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class SampleStatistics {
+
+	private long numberOfValues;
+
+	private double sum;
+	private double compensation;// the low order bits lost in sum, see Kahan summation
+
+	private double runningMean;// updated by Welford's formula, used for the central moments
+	private double secondCentralMoment;// sum of (x_i - mean)^2
+	private double thirdCentralMoment;// sum of (x_i - mean)^3
+	private double fourthCentralMoment;// sum of (x_i - mean)^4
+
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * It updates the statistics with a new value of the sample.
+	 *
+	 * @param value, the new value of the sample
+	 */
+	public void add(double value) {
+		addToSum(value, 0);
+
+		final long previousNumberOfValues = numberOfValues++;
+		final double n = numberOfValues;
+		final double delta = value - runningMean;
+		final double deltaOverN = delta / n;
+		final double deltaOverNSquared = deltaOverN * deltaOverN;
+		final double term = delta * deltaOverN * previousNumberOfValues;
+
+		runningMean += deltaOverN;
+		// the order matters: every moment is updated with the old values of the lower ones
+		fourthCentralMoment += term * deltaOverNSquared * (n * n - 3 * n + 3)
+				+ 6 * deltaOverNSquared * secondCentralMoment - 4 * deltaOverN * thirdCentralMoment;
+		thirdCentralMoment += term * deltaOverN * (n - 2) - 3 * deltaOverN * secondCentralMoment;
+		secondCentralMoment += term;
+
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+	}
+
+	/**
+	 * It updates the statistics of the object calling the method with the ones of
+	 * another sample: after the call, the object represents the sample given by
+	 * the union of the two samples.
+	 *
+	 * @param other, the statistics of the other sample. It is not modified
+	 * @return the object calling the method, with the updated statistics
+	 */
+	public SampleStatistics merge(SampleStatistics other) {
+		if (other.numberOfValues == 0) {
+			return this;
+		}
+		if (numberOfValues == 0) {
+			copyFrom(other);
+			return this;
+		}
+		addToSum(other.sum, other.compensation);
+
+		final double firstN = numberOfValues;
+		final double secondN = other.numberOfValues;
+		final double n = firstN + secondN;
+		final double delta = other.runningMean - runningMean;
+		final double deltaSquared = delta * delta;
+
+		final double mergedFourthMoment = fourthCentralMoment + other.fourthCentralMoment
+				+ deltaSquared * deltaSquared * firstN * secondN * (firstN * firstN - firstN * secondN + secondN * secondN)
+						/ (n * n * n)
+				+ 6 * deltaSquared * (firstN * firstN * other.secondCentralMoment + secondN * secondN * secondCentralMoment)
+						/ (n * n)
+				+ 4 * delta * (firstN * other.thirdCentralMoment - secondN * thirdCentralMoment) / n;
+		final double mergedThirdMoment = thirdCentralMoment + other.thirdCentralMoment
+				+ deltaSquared * delta * firstN * secondN * (firstN - secondN) / (n * n)
+				+ 3 * delta * (firstN * other.secondCentralMoment - secondN * secondCentralMoment) / n;
+		final double mergedSecondMoment = secondCentralMoment + other.secondCentralMoment
+				+ deltaSquared * firstN * secondN / n;
+
+		runningMean += delta * secondN / n;
+		secondCentralMoment = mergedSecondMoment;
+		thirdCentralMoment = mergedThirdMoment;
+		fourthCentralMoment = mergedFourthMoment;
+		numberOfValues += other.numberOfValues;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+		return this;
+	}
+
+	/*
+	 * Kahan summation: compensation keeps (with opposite sign) the part of the
+	 * values which has been lost when adding them to sum.
+	 */
+	private void addToSum(double value, double valueCompensation) {
+		final double correctedValue = value - compensation - valueCompensation;
+		final double newSum = sum + correctedValue;
+		compensation = (newSum - sum) - correctedValue;
+		sum = newSum;
+	}
+
+	private void copyFrom(SampleStatistics other) {
+		numberOfValues = other.numberOfValues;
+		sum = other.sum;
+		compensation = other.compensation;
+		runningMean = other.runningMean;
+		secondCentralMoment = other.secondCentralMoment;
+		thirdCentralMoment = other.thirdCentralMoment;
+		fourthCentralMoment = other.fourthCentralMoment;
+		min = other.min;
+		max = other.max;
+	}
+
+	/**
+	 * getter method for the size of the sample
+	 *
+	 * @return the number of values added so far
+	 */
+	public long getNumberOfValues() {
+		return numberOfValues;
+	}
+
+	/**
+	 * It returns the mean of the sample.
+	 *
+	 * @return the mean of the sample, NaN if the sample is empty
+	 */
+	public double getMean() {
+		return numberOfValues == 0 ? Double.NaN : sum / numberOfValues;
+	}
+
+	/**
+	 * It returns the variance of the sample, i.e., the sum of the squared
+	 * differences from the mean divided by the size of the sample.
+	 *
+	 * @return the variance of the sample, NaN if the sample is empty
+	 */
+	public double getVariance() {
+		return numberOfValues == 0 ? Double.NaN : secondCentralMoment / numberOfValues;
+	}
+
+	/**
+	 * It returns the unbiased estimator of the variance, i.e., the sum of the
+	 * squared differences from the mean divided by the size of the sample minus
+	 * one.
+	 *
+	 * @return the unbiased estimator of the variance, NaN if the sample has less
+	 *         than two values
+	 */
+	public double getUnbiasedVariance() {
+		return numberOfValues < 2 ? Double.NaN : secondCentralMoment / (numberOfValues - 1);
+	}
+
+	/**
+	 * It returns the standard deviation of the sample, i.e., the square root of
+	 * getVariance().
+	 *
+	 * @return the standard deviation of the sample
+	 */
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+
+	/**
+	 * It returns the skewness of the sample, i.e., its third central moment
+	 * divided by the cube of the standard deviation.
+	 *
+	 * @return the skewness of the sample
+	 */
+	public double getSkewness() {
+		return Math.sqrt((double) numberOfValues) * thirdCentralMoment / Math.pow(secondCentralMoment, 1.5);
+	}
+
+	/**
+	 * It returns the excess kurtosis of the sample, i.e., its fourth central moment
+	 * divided by the square of the variance, minus 3: so it is about zero for a
+	 * sample of a normal random variable.
+	 *
+	 * @return the excess kurtosis of the sample
+	 */
+	public double getKurtosis() {
+		return numberOfValues * fourthCentralMoment / (secondCentralMoment * secondCentralMoment) - 3;
+	}
+
+	/**
+	 * getter method for the minimum of the sample
+	 *
+	 * @return the minimum of the sample, infinity if the sample is empty
+	 */
+	public double getMin() {
+		return min;
+	}
+
+	/**
+	 * getter method for the maximum of the sample
+	 *
+	 * @return the maximum of the sample, minus infinity if the sample is empty
+	 */
+	public double getMax() {
+		return max;
+	}
+}
@@ -0,0 +1,44 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+/**
+ * This class contains one main method that computes the statistics of a sample
+ * of realizations of a normal random variable by the method
+ * getSampleStatistics, first with one thread and then with more threads. It
+ * prints the statistics, which do not depend on the number of threads since
+ * the random variable is built with a splittable source, and the time needed.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class SampleStatisticsTesting {
+
+	public static void main(String[] args) {
+
+		final long seed = 1897;
+		final int numberOfSimulations = 20000000;
+
+		final double mu = 1.0;
+		final double sigma = 2.0;
+
+		final int maximumNumberOfThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+		System.out.println("Mu: " + mu + ", sigma: " + sigma + ", skewness and excess kurtosis: 0");
+		System.out.println();
+
+		for (int numberOfThreads = 1; numberOfThreads <= maximumNumberOfThreads; numberOfThreads *= 2) {
+			final NormalRandomVariable normal = new NormalRandomVariable(mu, sigma, new XoshiroRandomSource(seed));
+
+			final long start = System.currentTimeMillis();
+			final SampleStatistics statistics = normal.getSampleStatistics(numberOfSimulations, numberOfThreads);
+			final long elapsedTime = System.currentTimeMillis() - start;
+
+			System.out.println(numberOfThreads + " threads, " + elapsedTime + " ms");
+			System.out.println("Sample mean: " + statistics.getMean() + ", sample std dev: "
+					+ statistics.getStandardDeviation());
+			System.out.println("Skewness: " + statistics.getSkewness() + ", excess kurtosis: "
+					+ statistics.getKurtosis());
+			System.out.println("Minimum: " + statistics.getMin() + ", maximum: " + statistics.getMax());
+			System.out.println();
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+import java.util.SplittableRandom;
+
+/**
+ * This class is a SplittableRandomSource which wraps an object of type
+ * java.util.SplittableRandom, whose algorithm is SplitMix64. It is fast, and
+ * the sources obtained by split() are statistically independent.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class SplitMixRandomSource implements SplittableRandomSource {
+
+	private final SplittableRandom generator;
+
+	public SplitMixRandomSource(long seed) {
+		this(new SplittableRandom(seed));
+	}
+
+	private SplitMixRandomSource(SplittableRandom generator) {
+		this.generator = generator;
+	}
+
+	@Override
+	public double nextDouble() {
+		return generator.nextDouble();
+	}
+
+	@Override
+	public SplittableRandomSource split() {
+		return new SplitMixRandomSource(generator.split());
+	}
+}
@@ -0,0 +1,27 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+/**
+ * This interface represents a source of pseudo random numbers uniformly
+ * distributed in [0,1) which is seedable and which can be split: the method
+ * split() returns a new source whose numbers do not overlap with the ones of
+ * the source calling it. The objects implementing it are not supposed to be
+ * shared among threads: if more threads need pseudo random numbers, every
+ * thread should get its own source by split(). If the sources are split in a
+ * fixed order, the numbers used by every thread, and then the results, are
+ * always the same, whatever the number of threads.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public interface SplittableRandomSource extends RandomSource {
+
+	/**
+	 * It returns a new source of pseudo random numbers, whose numbers do not
+	 * overlap with the ones of the source calling the method. The new source only
+	 * depends on the seed of the calling one and on how many times this has been
+	 * used and split.
+	 *
+	 * @return a new source of pseudo random numbers
+	 */
+	SplittableRandomSource split();
+}
@@ -0,0 +1,196 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+/**
+ * This class provides the cumulative distribution function and the quantile
+ * function of a standard normal random variable, with an accuracy of the order
+ * of the machine precision on the whole domain. They are given for a single
+ * point and, for convenience, also for blocks of points of an array, which are
+ * transformed in place one after the other by the same functions: this is what
+ * is needed for example by the inversion method, when many uniform numbers
+ * (also from a low discrepancy sequence) have to be transformed in realizations
+ * of a normal random variable. The methods for blocks are not faster than the
+ * ones for a single point called in a loop, and give the same results.
+ *
+ * The cumulative distribution function is computed by the rational Chebyshev
+ * approximations of W. J. Cody (Algorithm 715, 1993), and the quantile function
+ * by the algorithm AS241 of M. J. Wichura (1988).
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public final class StandardNormalFunctions {
+
+	private static final double ONE_OVER_SQUARE_ROOT_OF_TWO_PI = 0.398942280401432677939946059934;
+
+	// coefficients of Cody's approximation for |x| <= 0.66291
+	private static final double[] A = { 2.2352520354606839287, 161.02823106855587881, 1067.6894854603709582,
+			18154.981253343561249, 0.065682337918207449113 };
+	private static final double[] B = { 47.20258190468824187, 976.09855173777669322, 10260.932208618978205,
+			45507.789335026729956 };
+	// coefficients of Cody's approximation for 0.66291 < |x| <= sqrt(32)
+	private static final double[] C = { 0.39894151208813466764, 8.8831497943883759412, 93.506656132177855979,
+			597.27027639480026226, 2494.5375852903726711, 6848.1904505362823326, 11602.651437647350124,
+			9842.7148383839780218, 1.0765576773720192317e-8 };
+	private static final double[] D = { 22.266688044328115691, 235.38790178262499861, 1519.377599407554805,
+			6485.558298266760755, 18615.571640885098091, 34900.952721145977266, 38912.003286093271411,
+			19685.429676859990727 };
+	// coefficients of Cody's approximation for |x| > sqrt(32)
+	private static final double[] P = { 0.21589853405795699, 0.1274011611602473639, 0.022235277870649807,
+			0.001421619193227893466, 2.9112874951168792e-5, 0.02307344176494017303 };
+	private static final double[] Q = { 1.28426009614491121, 0.468238212480865118, 0.0659881378689285515,
+			0.00378239633202758244, 7.29751555083966205e-5 };
+
+	// coefficients of Wichura's approximation for |p - 0.5| <= 0.425
+	private static final double[] CENTRAL_NUMERATOR = { 3.3871328727963666080, 1.3314166789178437745e+2,
+			1.9715909503065514427e+3, 1.3731693765509461125e+4, 4.5921953931549871457e+4, 6.7265770927008700853e+4,
+			3.3430575583588128105e+4, 2.5090809287301226727e+3 };
+	private static final double[] CENTRAL_DENOMINATOR = { 1.0, 4.2313330701600911252e+1, 6.8718700749205790830e+2,
+			5.3941960214247511077e+3, 2.1213794301586595867e+4, 3.9307895800092710610e+4, 2.8729085735721942674e+4,
+			5.2264952788528545610e+3 };
+	// coefficients of Wichura's approximation for sqrt(-log(min(p, 1 - p))) <= 5
+	private static final double[] INTERMEDIATE_NUMERATOR = { 1.42343711074968357734, 4.63033784615654529590,
+			5.76949722146069140550, 3.64784832476320460504, 1.27045825245236838258, 2.41780725177450611770e-1,
+			2.27238449892691845833e-2, 7.74545014278341407640e-4 };
+	private static final double[] INTERMEDIATE_DENOMINATOR = { 1.0, 2.05319162663775882187, 1.67638483018380384940,
+			6.89767334985100004550e-1, 1.48103976427480074590e-1, 1.51986665636164571966e-2,
+			5.47593808499534494600e-4, 1.05075007164441684324e-9 };
+	// coefficients of Wichura's approximation for sqrt(-log(min(p, 1 - p))) > 5
+	private static final double[] TAIL_NUMERATOR = { 6.65790464350110377720, 5.46378491116411436990,
+			1.78482653991729133580, 2.96560571828504891230e-1, 2.65321895265761230930e-2, 1.24266094738807843860e-3,
+			2.71155556874348757815e-5, 2.01033439929228813265e-7 };
+	private static final double[] TAIL_DENOMINATOR = { 1.0, 5.99832206555887937690e-1, 1.36929880922735805310e-1,
+			1.48753612908506148525e-2, 7.86869131145613259100e-4, 1.84631831751005468180e-5,
+			1.42151175831644588870e-7, 2.04426310338993978564e-15 };
+
+	private StandardNormalFunctions() {
+		// only static methods
+	}
+
+	/**
+	 * It returns the cumulative distribution function of a standard normal random
+	 * variable evaluated at x, with relative error of the order of 1e-15 also in
+	 * the tails.
+	 *
+	 * @param x, the point where the cumulative distribution function is evaluated
+	 * @return the cumulative distribution function evaluated at x
+	 */
+	public static double cumulativeDistribution(double x) {
+		final double y = Math.abs(x);
+		if (y <= 0.66291) {
+			final double xSquared = x * x;
+			double numerator = A[4] * xSquared;
+			double denominator = xSquared;
+			for (int i = 0; i < 3; i++) {
+				numerator = (numerator + A[i]) * xSquared;
+				denominator = (denominator + B[i]) * xSquared;
+			}
+			return 0.5 + x * (numerator + A[3]) / (denominator + B[3]);
+		}
+		double tail;// P(X > |x|)
+		if (y <= 5.656854249492380195206754896838) {// sqrt(32)
+			double numerator = C[8] * y;
+			double denominator = y;
+			for (int i = 0; i < 7; i++) {
+				numerator = (numerator + C[i]) * y;
+				denominator = (denominator + D[i]) * y;
+			}
+			tail = (numerator + C[7]) / (denominator + D[7]);
+		} else {
+			final double inverseOfXSquared = 1 / (x * x);
+			double numerator = P[5] * inverseOfXSquared;
+			double denominator = inverseOfXSquared;
+			for (int i = 0; i < 4; i++) {
+				numerator = (numerator + P[i]) * inverseOfXSquared;
+				denominator = (denominator + Q[i]) * inverseOfXSquared;
+			}
+			tail = inverseOfXSquared * (numerator + P[4]) / (denominator + Q[4]);
+			tail = (ONE_OVER_SQUARE_ROOT_OF_TWO_PI - tail) / y;
+		}
+		/*
+		 * exp(-y^2/2) is computed as exp(-z^2/2)exp(-(y-z)(y+z)/2), where z is y
+		 * rounded down to a multiple of 1/16: z^2 is then exact, and the rounding error
+		 * of y^2 is not amplified by the exponential.
+		 */
+		final double rounded = Math.floor(y * 16) / 16;
+		final double difference = (y - rounded) * (y + rounded);
+		tail *= Math.exp(-rounded * rounded * 0.5) * Math.exp(-difference * 0.5);
+		return x > 0 ? 1 - tail : tail;
+	}
+
+	/**
+	 * It returns the quantile function of a standard normal random variable
+	 * evaluated at p, with relative error of the order of 1e-16. It returns
+	 * -infinity for p = 0 and infinity for p = 1.
+	 *
+	 * @param p, the point where the quantile function is evaluated. It must be in
+	 *           [0,1]
+	 * @return the quantile function evaluated at p
+	 */
+	public static double inverseCumulativeDistribution(double p) {
+		if (!(p >= 0 && p <= 1)) {
+			throw new IllegalArgumentException("The argument of the quantile function must be in [0,1].");
+		}
+		final double q = p - 0.5;
+		if (Math.abs(q) <= 0.425) {
+			final double r = 0.180625 - q * q;
+			return q * evaluatePolynomial(CENTRAL_NUMERATOR, r) / evaluatePolynomial(CENTRAL_DENOMINATOR, r);
+		}
+		double r = Math.sqrt(-Math.log(q < 0 ? p : 1 - p));// infinity for p = 0 or p = 1
+		final double absoluteValue;
+		if (r <= 5) {
+			r -= 1.6;
+			absoluteValue = evaluatePolynomial(INTERMEDIATE_NUMERATOR, r)
+					/ evaluatePolynomial(INTERMEDIATE_DENOMINATOR, r);
+		} else if (r < Double.POSITIVE_INFINITY) {
+			r -= 5;
+			absoluteValue = evaluatePolynomial(TAIL_NUMERATOR, r) / evaluatePolynomial(TAIL_DENOMINATOR, r);
+		} else {
+			absoluteValue = Double.POSITIVE_INFINITY;
+		}
+		return Math.copySign(absoluteValue, q);// qFS(p) = - qFS(1-p)
+	}
+
+	/**
+	 * It replaces the values at positions offset,...,offset+length-1 of the given
+	 * array with the cumulative distribution function of a standard normal random
+	 * variable evaluated at them, by cumulativeDistribution(double).
+	 *
+	 * @param values, the array whose values are transformed
+	 * @param offset, the position of the first value transformed
+	 * @param length, the number of values transformed
+	 */
+	public static void cumulativeDistribution(double[] values, int offset, int length) {
+		for (int i = offset; i < offset + length; i++) {
+			values[i] = cumulativeDistribution(values[i]);
+		}
+	}
+
+	/**
+	 * It replaces the values at positions offset,...,offset+length-1 of the given
+	 * array with the quantile function of a standard normal random variable
+	 * evaluated at them, by inverseCumulativeDistribution(double). This is how a
+	 * block of uniform numbers is transformed into a block of realizations of a
+	 * standard normal random variable.
+	 *
+	 * @param values, the array whose values are transformed. They must be in [0,1]
+	 * @param offset, the position of the first value transformed
+	 * @param length, the number of values transformed
+	 */
+	public static void inverseCumulativeDistribution(double[] values, int offset, int length) {
+		for (int i = offset; i < offset + length; i++) {
+			values[i] = inverseCumulativeDistribution(values[i]);
+		}
+	}
+
+	/*
+	 * It evaluates the polynomial c[0] + c[1] x + ... + c[n-1] x^(n-1) by the
+	 * Horner scheme.
+	 */
+	private static double evaluatePolynomial(double[] coefficients, double x) {
+		double value = coefficients[coefficients.length - 1];
+		for (int i = coefficients.length - 2; i >= 0; i--) {
+			value = value * x + coefficients[i];
+		}
+		return value;
+	}
+}
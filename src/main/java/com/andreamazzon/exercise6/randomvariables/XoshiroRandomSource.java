@@ -0,0 +1,117 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+/**
+ * This class is a SplittableRandomSource based on the generator xoshiro256** of
+ * Blackman and Vigna, which has a state of 256 bits and period 2^256 - 1. The
+ * state is initialized from the seed by SplitMix64, as suggested by the
+ * authors. The method split() returns a source starting from the current state,
+ * whereas the calling source jumps 2^128 numbers ahead: so the sources given by
+ * successive calls of split() are in disjoint blocks of the sequence, as long as
+ * each of them gives less than 2^128 numbers.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class XoshiroRandomSource implements SplittableRandomSource {
+
+	// the polynomial which gives a jump of 2^128 numbers
+	private static final long[] JUMP = { 0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL,
+			0x39abdc4529b1661cL };
+
+	private long s0, s1, s2, s3;// the state
+
+	public XoshiroRandomSource(long seed) {
+		long x = seed;
+		s0 = splitMix(x += 0x9e3779b97f4a7c15L);
+		s1 = splitMix(x += 0x9e3779b97f4a7c15L);
+		s2 = splitMix(x += 0x9e3779b97f4a7c15L);
+		s3 = splitMix(x += 0x9e3779b97f4a7c15L);
+	}
+
+	private XoshiroRandomSource(long s0, long s1, long s2, long s3) {
+		this.s0 = s0;
+		this.s1 = s1;
+		this.s2 = s2;
+		this.s3 = s3;
+	}
+
+	// the output function of SplitMix64, used only for the seed
+	private static long splitMix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * It returns the next 64 bits of the sequence.
+	 *
+	 * @return the next pseudo random long
+	 */
+	public long nextLong() {
+		final long result = Long.rotateLeft(s1 * 5, 7) * 9;
+		final long t = s1 << 17;
+		s2 ^= s0;
+		s3 ^= s1;
+		s1 ^= s2;
+		s0 ^= s3;
+		s2 ^= t;
+		s3 = Long.rotateLeft(s3, 45);
+		return result;
+	}
+
+	@Override
+	public double nextDouble() {
+		return (nextLong() >>> 11) * 0x1.0p-53;// the 53 most significant bits, divided by 2^53
+	}
+
+	/*
+	 * same numbers as nextDouble(), but the state is kept in local variables for
+	 * the whole array
+	 */
+	@Override
+	public void fill(double[] destination, int offset, int length) {
+		long t0 = s0, t1 = s1, t2 = s2, t3 = s3;
+		for (int i = offset; i < offset + length; i++) {
+			final long result = Long.rotateLeft(t1 * 5, 7) * 9;
+			final long t = t1 << 17;
+			t2 ^= t0;
+			t3 ^= t1;
+			t1 ^= t2;
+			t0 ^= t3;
+			t2 ^= t;
+			t3 = Long.rotateLeft(t3, 45);
+			destination[i] = (result >>> 11) * 0x1.0p-53;
+		}
+		s0 = t0;
+		s1 = t1;
+		s2 = t2;
+		s3 = t3;
+	}
+
+	@Override
+	public SplittableRandomSource split() {
+		final XoshiroRandomSource newSource = new XoshiroRandomSource(s0, s1, s2, s3);
+		jump();
+		return newSource;
+	}
+
+	// it moves the state 2^128 numbers ahead
+	private void jump() {
+		long t0 = 0, t1 = 0, t2 = 0, t3 = 0;
+		for (final long jump : JUMP) {
+			for (int bit = 0; bit < 64; bit++) {
+				if ((jump & (1L << bit)) != 0) {
+					t0 ^= s0;
+					t1 ^= s1;
+					t2 ^= s2;
+					t3 ^= s3;
+				}
+				nextLong();
+			}
+		}
+		s0 = t0;
+		s1 = t1;
+		s2 = t2;
+		s3 = t3;
+	}
+}
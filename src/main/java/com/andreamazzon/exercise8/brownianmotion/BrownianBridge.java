@@ -0,0 +1,167 @@
+package com.andreamazzon.exercise8.brownianmotion;
+
+import java.util.ArrayDeque;
+
+import net.finmath.time.TimeDiscretization;
+
+/**
+ * This class builds discretized paths of a Brownian motion by the Brownian
+ * bridge, for a possibly non uniform time discretization (t_0,t_1,..,t_n). The
+ * value at the final time t_n is computed first from the first normal
+ * realization, as B_{t_n} = sqrt(t_n - t_0) Z_0. Then the values at the
+ * times between two times already computed, t_l and t_r, are computed from the
+ * distribution of B_t given B_{t_l} and B_{t_r}, which is normal with mean
+ * (t_r - t)/(t_r - t_l) B_{t_l} + (t - t_l)/(t_r - t_l) B_{t_r} and variance
+ * (t - t_l)(t_r - t)/(t_r - t_l): the time t is the one in the middle of the
+ * indices l and r. The intervals are split in the order in which they are
+ * found, so that the first normal realizations determine the coarse shape of
+ * the path and the last ones only its small oscillations. When the normal
+ * realizations come from a low discrepancy sequence, most of the variance is
+ * then given by its first coordinates, which are the best distributed.
+ *
+ * The indices and the weights of the construction only depend on the time
+ * discretization, and are computed once in the constructor.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class BrownianBridge {
+
+	private final int numberOfTimeSteps;
+
+	/*
+	 * The k-th normal realization gives the value at the time with index
+	 * timeIndices[k], from the ones with indices leftIndices[k] and
+	 * rightIndices[k]: rightIndices[0] is -1, since the final value only depends
+	 * on the initial one.
+	 */
+	private final int[] timeIndices;
+	private final int[] leftIndices;
+	private final int[] rightIndices;
+	private final double[] leftWeights;
+	private final double[] rightWeights;
+	private final double[] standardDeviations;
+
+	public BrownianBridge(TimeDiscretization times) {
+		numberOfTimeSteps = times.getNumberOfTimeSteps();
+		timeIndices = new int[numberOfTimeSteps];
+		leftIndices = new int[numberOfTimeSteps];
+		rightIndices = new int[numberOfTimeSteps];
+		leftWeights = new double[numberOfTimeSteps];
+		rightWeights = new double[numberOfTimeSteps];
+		standardDeviations = new double[numberOfTimeSteps];
+
+		// the final value
+		timeIndices[0] = numberOfTimeSteps;
+		leftIndices[0] = 0;
+		rightIndices[0] = -1;
+		leftWeights[0] = 1;
+		standardDeviations[0] = Math.sqrt(times.getTime(numberOfTimeSteps) - times.getTime(0));
+
+		// the intervals to be split, as pairs of indices, in the order in which they are found
+		final ArrayDeque<int[]> intervals = new ArrayDeque<int[]>();
+		intervals.add(new int[] { 0, numberOfTimeSteps });
+		int k = 1;
+		while (!intervals.isEmpty()) {
+			final int[] interval = intervals.poll();
+			final int left = interval[0];
+			final int right = interval[1];
+			if (right - left < 2) {
+				continue;
+			}
+			final int middle = (left + right) / 2;
+			final double leftTime = times.getTime(left);
+			final double rightTime = times.getTime(right);
+			final double time = times.getTime(middle);
+			timeIndices[k] = middle;
+			leftIndices[k] = left;
+			rightIndices[k] = right;
+			leftWeights[k] = (rightTime - time) / (rightTime - leftTime);
+			rightWeights[k] = (time - leftTime) / (rightTime - leftTime);
+			standardDeviations[k] = Math.sqrt((time - leftTime) * (rightTime - time) / (rightTime - leftTime));
+			k++;
+			intervals.add(new int[] { left, middle });
+			intervals.add(new int[] { middle, right });
+		}
+	}
+
+	/**
+	 * getter method for the number of time steps
+	 *
+	 * @return the number of time steps, which is also the number of normal
+	 *         realizations needed for every path
+	 */
+	public int getNumberOfTimeSteps() {
+		return numberOfTimeSteps;
+	}
+
+	/**
+	 * It computes the increments of numberOfPaths paths starting from 0 from the
+	 * normal realizations passed as an argument. The computation is done for all
+	 * the paths at once, one time after the other.
+	 *
+	 * @param normals,       the normal realizations: normals[k][i] is the k-th one
+	 *                       for the i-th path, in the order of the construction.
+	 *                       There must be one row for every time step
+	 * @param numberOfPaths, the number of paths
+	 * @param values,        an array with numberOfTimeSteps + 1 rows of length at
+	 *                       least numberOfPaths, where the values of the paths are
+	 *                       written: values[j][i] is the one of the i-th path at
+	 *                       time t_j
+	 * @param increments,    an array with numberOfTimeSteps rows of length at
+	 *                       least numberOfPaths, where the increments are written:
+	 *                       increments[j][i] is B_{t_{j+1}} - B_{t_j} for the i-th
+	 *                       path
+	 */
+	public void computeIncrements(double[][] normals, int numberOfPaths, double[][] values, double[][] increments) {
+		computeValues(normals, numberOfPaths, values);
+		for (int j = 0; j < numberOfTimeSteps; j++) {
+			final double[] incrementsOfTime = increments[j];
+			final double[] currentValues = values[j];
+			final double[] nextValues = values[j + 1];
+			for (int i = 0; i < numberOfPaths; i++) {
+				incrementsOfTime[i] = nextValues[i] - currentValues[i];
+			}
+		}
+	}
+
+	/**
+	 * It computes the values of numberOfPaths paths starting from 0 from the
+	 * normal realizations passed as an argument, as computeIncrements does, without
+	 * computing the increments.
+	 *
+	 * @param normals,       the normal realizations: normals[k][i] is the k-th one
+	 *                       for the i-th path, in the order of the construction.
+	 *                       There must be one row for every time step
+	 * @param numberOfPaths, the number of paths
+	 * @param values,        an array with numberOfTimeSteps + 1 rows of length at
+	 *                       least numberOfPaths, where the values of the paths are
+	 *                       written: values[j][i] is the one of the i-th path at
+	 *                       time t_j
+	 */
+	public void computeValues(double[][] normals, int numberOfPaths, double[][] values) {
+		final double[] initialValues = values[0];
+		for (int i = 0; i < numberOfPaths; i++) {
+			initialValues[i] = 0;
+		}
+		for (int k = 0; k < numberOfTimeSteps; k++) {
+			final double[] newValues = values[timeIndices[k]];
+			final double[] leftValues = values[leftIndices[k]];
+			final double[] normalsOfTime = normals[k];
+			final double leftWeight = leftWeights[k];
+			final double standardDeviation = standardDeviations[k];
+			if (rightIndices[k] < 0) {
+				for (int i = 0; i < numberOfPaths; i++) {
+					newValues[i] = leftWeight * leftValues[i] + standardDeviation * normalsOfTime[i];
+				}
+			} else {
+				final double[] rightValues = values[rightIndices[k]];
+				final double rightWeight = rightWeights[k];
+				for (int i = 0; i < numberOfPaths; i++) {
+					newValues[i] = leftWeight * leftValues[i] + rightWeight * rightValues[i]
+							+ standardDeviation * normalsOfTime[i];
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.andreamazzon.exercise8.brownianmotion;
+
+import com.andreamazzon.exercise4.SobolSequence;
+
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * This class contains one main method that compares the paths built by the
+ * increments and by the Brownian bridge, when the normal realizations are
+ * given by pseudo random numbers and by a Sobol sequence. We approximate
+ * E[max(A,0)], where A is the average of the values of the Brownian motion at
+ * the times t_1,...,t_n: this is the price of an Asian call option with strike
+ * 0 in the Bachelier model with zero interest rate. Since A is normal with mean
+ * zero and variance v = 1/n^2 sum_{i,j} min(t_i,t_j), the exact value is
+ * sqrt(v/(2 pi)).
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class BrownianBridgeChecks {
+
+	// the Monte-Carlo approximation of E[max(A,0)]
+	private static double getAsianCall(MyBrownianMotion brownianMotion) {
+		final int numberOfTimeSteps = brownianMotion.getTimeDiscretization().getNumberOfTimeSteps();
+		RandomVariable sum = brownianMotion.getSimulations(1, 0);
+		for (int timeIndex = 2; timeIndex <= numberOfTimeSteps; timeIndex++) {
+			sum = sum.add(brownianMotion.getSimulations(timeIndex, 0));
+		}
+		return sum.div(numberOfTimeSteps).floor(0.0).getAverage();
+	}
+
+	public static void main(String[] args) {
+
+		final int numberOfTimeSteps = 16;// the dimension of the Sobol sequence
+		final TimeDiscretization times = new TimeDiscretizationFromArray(0.0, numberOfTimeSteps,
+				1.0 / numberOfTimeSteps);
+
+		double varianceOfAverage = 0;
+		for (int i = 1; i <= numberOfTimeSteps; i++) {
+			for (int j = 1; j <= numberOfTimeSteps; j++) {
+				varianceOfAverage += Math.min(times.getTime(i), times.getTime(j));
+			}
+		}
+		varianceOfAverage /= numberOfTimeSteps * numberOfTimeSteps;
+		final double exactValue = Math.sqrt(varianceOfAverage / (2 * Math.PI));
+		System.out.println("Exact value: " + exactValue);
+		System.out.println();
+
+		for (int numberOfPaths = 1 << 10; numberOfPaths <= 1 << 16; numberOfPaths <<= 2) {
+			System.out.println("Errors with " + numberOfPaths + " paths");
+			for (final PathConstructionMethods method : PathConstructionMethods.values()) {
+				final MyBrownianMotion pseudoRandom = new MyBrownianMotion(times, 1, numberOfPaths, 1, 1897, method);
+				final MyBrownianMotion sobol = new MyBrownianMotion(times, 1, numberOfPaths, method,
+						StandardNormalVectorSource.fromLowDiscrepancySequence(new SobolSequence(numberOfTimeSteps)));
+				System.out.println(method + ", pseudo random numbers: "
+						+ Math.abs(getAsianCall(pseudoRandom) - exactValue) + ", Sobol sequence: "
+						+ Math.abs(getAsianCall(sobol) - exactValue));
+			}
+			System.out.println();
+		}
+	}
+}
@@ -114,8 +114,8 @@ public class BrownianChecks {
 		// here we approximate the integral with respect to time
 		double leftHandSide = 0.0;
 		for (int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
-			leftHandSide += brownianMotion.getSimulations(timeIndex, 0).get(samplePath)
-					* brownianMotion.getBrownianIncrement(timeIndex, 0).get(samplePath);
+			leftHandSide += brownianMotion.getSimulation(timeIndex, 0, samplePath)
+					* brownianMotion.getBrownianIncrement(timeIndex, 0, samplePath);
 		}
 
 		System.out.println();
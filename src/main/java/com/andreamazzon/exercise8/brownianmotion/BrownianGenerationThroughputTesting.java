@@ -0,0 +1,88 @@
+package com.andreamazzon.exercise8.brownianmotion;
+
+import com.andreamazzon.exercise6.randomvariables.NormalRandomVariable;
+
+/**
+ * This class contains one main method that compares the time needed to
+ * generate the increments of a Brownian motion with 100000 paths and 2 factors
+ * in two ways: path by path, one normal realization at a time, as
+ * MyBrownianMotion did before, writing the increments in the same time-major
+ * array, so that every write goes to a different row; and by MyBrownianMotion,
+ * which fills every row in blocks. At last, the increments are generated by
+ * all the available threads, and we check that they are the same.
+ * The generation is repeated several times, and only the last times are
+ * measured: the first ones are needed by the Java Virtual Machine to compile
+ * the methods. With 1000 time steps the increments take 1.6 GB, so here we take
+ * 200 time steps: they can be increased if the Java Virtual Machine has enough
+ * memory.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class BrownianGenerationThroughputTesting {
+
+	public static void main(String[] args) {
+
+		final int numberOfPaths = 100000;
+		final int numberOfFactors = 2;
+		final int numberOfTimeSteps = 200;
+		final double deltaT = 0.01;
+		final long seed = 1897;
+
+		final int numberOfWarmUpRounds = 2;
+		final int numberOfMeasuredRounds = 3;
+
+		long timePathByPath = 0;
+		long timeByRows = 0;
+
+		for (int round = 0; round < numberOfWarmUpRounds + numberOfMeasuredRounds; round++) {
+
+			long start = System.nanoTime();
+			double[] increments = new double[numberOfTimeSteps * numberOfFactors * numberOfPaths];
+			final NormalRandomVariable normalRv = new NormalRandomVariable(0.0, 1.0);
+			final double volatility = Math.sqrt(deltaT);
+			for (int pathIndex = 0; pathIndex < numberOfPaths; pathIndex++) {
+				for (int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
+					for (int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
+						increments[(timeIndex * numberOfFactors + factorIndex) * numberOfPaths + pathIndex] = normalRv
+								.generate() * volatility;
+					}
+				}
+			}
+			long timeOfThisRound = System.nanoTime() - start;
+			if (round >= numberOfWarmUpRounds) {
+				timePathByPath += timeOfThisRound;
+			}
+			increments = null;// so that the memory can be freed
+
+			start = System.nanoTime();
+			final MyBrownianMotion brownianMotion = new MyBrownianMotion(0.0, numberOfTimeSteps, deltaT,
+					numberOfFactors, numberOfPaths, 1, seed);
+			brownianMotion.getBrownianIncrement(0, 0);// it generates all the increments
+			timeOfThisRound = System.nanoTime() - start;
+			if (round >= numberOfWarmUpRounds) {
+				timeByRows += timeOfThisRound;
+			}
+		}
+
+		final double numberOfMeasuredIncrements = (double) numberOfMeasuredRounds * numberOfPaths * numberOfFactors
+				* numberOfTimeSteps;
+		System.out.println("Nanoseconds per increment, path by path: " + timePathByPath / numberOfMeasuredIncrements);
+		System.out.println("Nanoseconds per increment, by rows: " + timeByRows / numberOfMeasuredIncrements);
+
+		final int numberOfThreads = Runtime.getRuntime().availableProcessors();
+		final MyBrownianMotion parallelBrownianMotion = new MyBrownianMotion(0.0, numberOfTimeSteps, deltaT,
+				numberOfFactors, numberOfPaths, numberOfThreads, seed);
+		final long start = System.nanoTime();
+		final double lastIncrement = parallelBrownianMotion.getBrownianIncrement(numberOfTimeSteps - 1, 1)
+				.get(numberOfPaths - 1);
+		final double timeInSeconds = (System.nanoTime() - start) / 1e9;
+		final MyBrownianMotion sequentialBrownianMotion = new MyBrownianMotion(0.0, numberOfTimeSteps, deltaT,
+				numberOfFactors, numberOfPaths, 1, seed);
+
+		System.out.println();
+		System.out.println("Seconds needed with " + numberOfThreads + " threads: " + timeInSeconds);
+		System.out.println("Same last increment as with one thread: " + (lastIncrement == sequentialBrownianMotion
+				.getBrownianIncrement(numberOfTimeSteps - 1, 1).get(numberOfPaths - 1)));
+	}
+}
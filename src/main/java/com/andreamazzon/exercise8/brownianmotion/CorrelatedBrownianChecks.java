@@ -0,0 +1,106 @@
+package com.andreamazzon.exercise8.brownianmotion;
+
+import net.finmath.functions.AnalyticFormulas;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * This class contains one main method that checks CorrelatedBrownianMotion. We
+ * first price an exchange option, with payoff max(S^1_T - S^2_T, 0), for two
+ * geometric Brownian motions S^i_t = S_0 exp(-sigma_i^2 t/2 + sigma_i W^i_t)
+ * with zero interest rate, for correlations of W^1 and W^2 from -1 to 1: the
+ * same independent Brownian motion is used for all the correlations, so only
+ * the sums giving the correlated increments are computed again. The prices are
+ * compared with the analytic ones, which are given by the Black-Scholes
+ * formula with strike S_0 and volatility sqrt(sigma_1^2 - 2 rho sigma_1
+ * sigma_2 + sigma_2^2).
+ *
+ * Then we measure the time needed to compute the increments of a basket of 50
+ * assets with the Cholesky decomposition and with the principal component
+ * analysis with 5 factors, and the value of a call on the average of the
+ * assets that we get in the two cases.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class CorrelatedBrownianChecks {
+
+	// the Monte-Carlo price of a call on the average of the geometric Brownian motions
+	private static double getBasketCall(MyBrownianMotion brownianMotion, double initialValue, double volatility,
+			double strike) {
+		final int finalTimeIndex = brownianMotion.getTimeDiscretization().getNumberOfTimeSteps();
+		final double maturity = brownianMotion.getTimeDiscretization().getTime(finalTimeIndex);
+		final int numberOfAssets = brownianMotion.getNumberOfFactors();
+		RandomVariable sum = null;
+		for (int factorIndex = 0; factorIndex < numberOfAssets; factorIndex++) {
+			final RandomVariable value = brownianMotion.getSimulations(finalTimeIndex, factorIndex).mult(volatility)
+					.add(-0.5 * volatility * volatility * maturity).exp().mult(initialValue);
+			sum = sum == null ? value : sum.add(value);
+		}
+		return sum.div(numberOfAssets).sub(strike).floor(0.0).getAverage();
+	}
+
+	public static void main(String[] args) {
+
+		final double initialValue = 100.0;
+		final double[] volatilities = { 0.25, 0.3 };
+		final double maturity = 1.0;
+		final int numberOfTimeSteps = 100;
+		final int numberOfPaths = 100000;
+		final TimeDiscretization times = new TimeDiscretizationFromArray(0.0, numberOfTimeSteps,
+				maturity / numberOfTimeSteps);
+
+		final MyBrownianMotion independentBrownianMotion = new MyBrownianMotion(times, 2, numberOfPaths, 1, 1897);
+
+		System.out.println("Correlation    Monte-Carlo price    Analytic price");
+		for (int i = 0; i <= 20; i++) {
+			final double correlation = (i - 10) * 0.1;// the correlation goes from -1 to 1
+			final double[][] correlationMatrix = { { 1.0, correlation }, { correlation, 1.0 } };
+			final CorrelatedBrownianMotion brownianMotion = new CorrelatedBrownianMotion(independentBrownianMotion,
+					correlationMatrix, FactorizationMethods.CHOLESKY, 1);
+
+			final RandomVariable firstAsset = brownianMotion.getSimulations(numberOfTimeSteps, 0)
+					.mult(volatilities[0]).add(-0.5 * volatilities[0] * volatilities[0] * maturity).exp()
+					.mult(initialValue);
+			final RandomVariable secondAsset = brownianMotion.getSimulations(numberOfTimeSteps, 1)
+					.mult(volatilities[1]).add(-0.5 * volatilities[1] * volatilities[1] * maturity).exp()
+					.mult(initialValue);
+			final double monteCarloPrice = firstAsset.sub(secondAsset).floor(0.0).getAverage();
+
+			final double volatilityOfRatio = Math.sqrt(volatilities[0] * volatilities[0]
+					- 2 * correlation * volatilities[0] * volatilities[1] + volatilities[1] * volatilities[1]);
+			final double analyticPrice = AnalyticFormulas.blackScholesOptionValue(initialValue, 0.0,
+					volatilityOfRatio, maturity, initialValue);
+			System.out.printf("%5.1f          %10.4f           %10.4f%n", correlation, monteCarloPrice, analyticPrice);
+		}
+		System.out.println();
+
+		final int numberOfAssets = 50;
+		final int numberOfReducedFactors = 5;
+		final int numberOfPathsForBasket = 20000;
+		final TimeDiscretization timesForBasket = new TimeDiscretizationFromArray(0.0, 50, 0.02);
+		final double[][] basketCorrelation = new double[numberOfAssets][numberOfAssets];
+		for (int a = 0; a < numberOfAssets; a++) {
+			for (int b = 0; b < numberOfAssets; b++) {
+				basketCorrelation[a][b] = Math.exp(-Math.abs(a - b) / 25.0);
+			}
+		}
+
+		for (int repetition = 0; repetition < 3; repetition++) {// the first ones warm up the JVM
+			System.out.println("Basket of " + numberOfAssets + " assets, repetition " + repetition);
+			for (final FactorizationMethods method : FactorizationMethods.values()) {
+				final int numberOfFactors = method == FactorizationMethods.CHOLESKY ? numberOfAssets
+						: numberOfReducedFactors;
+				final long start = System.nanoTime();
+				final CorrelatedBrownianMotion brownianMotion = new CorrelatedBrownianMotion(timesForBasket,
+						basketCorrelation, method, numberOfFactors, numberOfPathsForBasket, 1, 1897);
+				final double basketCall = getBasketCall(brownianMotion, initialValue, 0.25, initialValue);
+				final long end = System.nanoTime();
+				System.out.printf("%-8s with %2d factors: %6d ms, basket call %.4f%n", method, numberOfFactors,
+						(end - start) / 1000000, basketCall);
+			}
+			System.out.println();
+		}
+	}
+}
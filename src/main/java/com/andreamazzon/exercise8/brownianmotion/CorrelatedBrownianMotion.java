@@ -0,0 +1,383 @@
+package com.andreamazzon.exercise8.brownianmotion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.finmath.functions.LinearAlgebra;
+import net.finmath.time.TimeDiscretization;
+
+/**
+ * This class provides the implementation of a discrete time d-dimensional
+ * Brownian motion whose factors have a given correlation matrix R. The
+ * increments are computed from the ones of a MyBrownianMotion with r
+ * independent factors: if R = F F^T, with F a d x r matrix, the increment of
+ * the a-th factor is ΔW^a_j = sum_k F[a][k] ΔB^k_j, so that the covariance of
+ * ΔW_j is Δ_j F F^T = Δ_j R. The matrix F is given by one of the
+ * FactorizationMethods: for the Cholesky decomposition r = d, whereas for the
+ * principal component analysis r can be smaller than d, and then F F^T is an
+ * approximation of R, renormalized to have ones on the diagonal. With r < d,
+ * less independent increments have to be generated and the sum has less
+ * terms.
+ *
+ * The factorization only depends on the matrix, on the method and on r: it is
+ * computed once and kept in a cache shared by all the objects of the class,
+ * so that Brownian motions with the same correlation do not compute it again.
+ * The independent Brownian motion can also be shared: for example, the same
+ * increments can be correlated with different matrices.
+ *
+ * The sum is done for all the paths at once, one time step after the other.
+ * The paths are taken in blocks of NUMBER_OF_PATHS_PER_BLOCK_OF_SUM, so that
+ * the rows of the r independent increments of a block stay in the cache while
+ * they are used for all the d factors; the entries of F which are zero, as the
+ * ones above the diagonal for the Cholesky decomposition, are skipped. The time
+ * steps are split in tasks, which run in parallel if more threads are given.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class CorrelatedBrownianMotion extends MyBrownianMotion {
+
+	/**
+	 * The maximum number of factorizations kept in the cache: when there are more,
+	 * the one used least recently is removed.
+	 */
+	public static final int MAXIMUM_NUMBER_OF_CACHED_FACTORIZATIONS = 64;
+
+	// the number of paths whose independent increments are combined together
+	private static final int NUMBER_OF_PATHS_PER_BLOCK_OF_SUM = 1024;
+	// the tasks of the parallel computation have about this number of increments
+	private static final int NUMBER_OF_INCREMENTS_PER_TASK = 1 << 18;
+
+	// least recently used first
+	private static final Map<FactorizationKey, double[][]> cachedFactorizations = Collections
+			.synchronizedMap(new LinkedHashMap<FactorizationKey, double[][]>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<FactorizationKey, double[][]> eldest) {
+					return size() > MAXIMUM_NUMBER_OF_CACHED_FACTORIZATIONS;
+				}
+			});
+
+	private final MyBrownianMotion independentBrownianMotion;
+	private final double[][] factorMatrix;// d x r, from the cache: it must not be modified
+	private final FactorizationMethods factorizationMethod;
+
+	/**
+	 * It constructs a correlated Brownian motion from the increments of the given
+	 * one, whose number of factors is the number r of columns of F.
+	 *
+	 * @param independentBrownianMotion, the Brownian motion with independent
+	 *                                   factors. For CHOLESKY, it must have as
+	 *                                   many factors as the rows of correlation
+	 * @param correlation,               the correlation matrix R of the factors
+	 * @param factorizationMethod,       the way in which R is factorized
+	 * @param numberOfThreads,           the number of threads which compute the
+	 *                                   increments
+	 */
+	public CorrelatedBrownianMotion(MyBrownianMotion independentBrownianMotion, double[][] correlation,
+			FactorizationMethods factorizationMethod, int numberOfThreads) {
+		// the seed is not used: the increments come from independentBrownianMotion
+		super(independentBrownianMotion.getTimeDiscretization(), correlation.length,
+				independentBrownianMotion.getNumberOfPaths(), numberOfThreads, 0L);
+		this.independentBrownianMotion = independentBrownianMotion;
+		this.factorizationMethod = factorizationMethod;
+		this.factorMatrix = getCachedFactorMatrix(correlation, factorizationMethod,
+				independentBrownianMotion.getNumberOfFactors());
+	}
+
+	/**
+	 * It constructs a correlated Brownian motion from a new Brownian motion with
+	 * numberOfIndependentFactors independent factors.
+	 *
+	 * @param timeDiscretization,         the time discretization
+	 * @param correlation,                the correlation matrix R of the factors
+	 * @param factorizationMethod,        the way in which R is factorized
+	 * @param numberOfIndependentFactors, the number r of independent factors. For
+	 *                                    CHOLESKY, it must be the number of rows
+	 *                                    of correlation
+	 * @param numberOfPaths,              the number of simulated paths
+	 * @param numberOfThreads,            the number of threads which compute the
+	 *                                    increments
+	 * @param seed,                       the seed of the independent increments
+	 */
+	public CorrelatedBrownianMotion(TimeDiscretization timeDiscretization, double[][] correlation,
+			FactorizationMethods factorizationMethod, int numberOfIndependentFactors, int numberOfPaths,
+			int numberOfThreads, long seed) {
+		this(new MyBrownianMotion(timeDiscretization, numberOfIndependentFactors, numberOfPaths, numberOfThreads,
+				seed), correlation, factorizationMethod, numberOfThreads);
+	}
+
+	/**
+	 * It returns the matrix F such that F F^T is the correlation matrix, or its
+	 * approximation, given by the factorization method. It is taken from the
+	 * cache if it has already been computed.
+	 *
+	 * @param correlation,         the correlation matrix R, d x d
+	 * @param factorizationMethod, the way in which R is factorized
+	 * @param numberOfFactors,     the number r of columns of F. For CHOLESKY, it
+	 *                             must be d
+	 * @return a copy of the d x r matrix F
+	 */
+	public static double[][] getFactorMatrix(double[][] correlation, FactorizationMethods factorizationMethod,
+			int numberOfFactors) {
+		final double[][] factorMatrix = getCachedFactorMatrix(correlation, factorizationMethod, numberOfFactors);
+		final double[][] copy = new double[factorMatrix.length][];
+		for (int a = 0; a < factorMatrix.length; a++) {
+			copy[a] = factorMatrix[a].clone();
+		}
+		return copy;
+	}
+
+	private static double[][] getCachedFactorMatrix(double[][] correlation, FactorizationMethods factorizationMethod,
+			int numberOfFactors) {
+		final int dimension = correlation.length;
+		for (final double[] row : correlation) {
+			if (row.length != dimension) {
+				throw new IllegalArgumentException("The correlation matrix must be square.");
+			}
+		}
+		if (numberOfFactors < 1 || numberOfFactors > dimension) {
+			throw new IllegalArgumentException("The number of factors must be between 1 and " + dimension + ".");
+		}
+		if (factorizationMethod == FactorizationMethods.CHOLESKY && numberOfFactors != dimension) {
+			throw new IllegalArgumentException("The Cholesky decomposition needs " + dimension + " factors.");
+		}
+		final FactorizationKey key = new FactorizationKey(correlation, factorizationMethod, numberOfFactors);
+		double[][] factorMatrix = cachedFactorizations.get(key);
+		if (factorMatrix == null) {
+			// two threads may compute the same matrix, but the result is the same
+			factorMatrix = factorizationMethod == FactorizationMethods.CHOLESKY
+					? getCholeskyDecomposition(key.correlation)
+					: LinearAlgebra.factorReduction(key.correlation, numberOfFactors);
+			cachedFactorizations.put(key, factorMatrix);
+		}
+		return factorMatrix;
+	}
+
+	/*
+	 * It returns the lower triangular L with L L^T = R. R can be only positive
+	 * semidefinite, as for correlations equal to 1 or -1: when the pivot of a
+	 * column is zero, up to rounding errors, the column is set to zero.
+	 */
+	private static double[][] getCholeskyDecomposition(double[][] correlation) {
+		final int dimension = correlation.length;
+		final double tolerance = 1E-12;
+		final double[][] lower = new double[dimension][dimension];
+		for (int j = 0; j < dimension; j++) {
+			double pivot = correlation[j][j];
+			for (int k = 0; k < j; k++) {
+				pivot -= lower[j][k] * lower[j][k];
+			}
+			if (pivot < -tolerance) {
+				throw new IllegalArgumentException("The correlation matrix is not positive semidefinite.");
+			}
+			if (pivot <= tolerance) {
+				continue;// the column stays zero
+			}
+			final double diagonalEntry = Math.sqrt(pivot);
+			lower[j][j] = diagonalEntry;
+			for (int i = j + 1; i < dimension; i++) {
+				double entry = correlation[i][j];
+				for (int k = 0; k < j; k++) {
+					entry -= lower[i][k] * lower[j][k];
+				}
+				lower[i][j] = entry / diagonalEntry;
+			}
+		}
+		return lower;
+	}
+
+	/*
+	 * The increments of the a-th factor in the j-th time step are the sum over k
+	 * of F[a][k] times the ones of the k-th independent factor: for every time
+	 * step and every block of paths, the rows of the block are summed one after
+	 * the other.
+	 */
+	@Override
+	protected double[] generateIncrements() {
+		final double[] independentIncrements = independentBrownianMotion.getArrayOfIncrements();
+		final double[] increments = createArrayOfIncrements();
+		final int numberOfTimeSteps = getTimeDiscretization().getNumberOfTimeSteps();
+		final int numberOfAssets = getNumberOfFactors();
+		final int numberOfPaths = getNumberOfPaths();
+
+		final int[] numberOfColumnsToSum = getNumberOfColumnsToSum();
+
+		final int numberOfTimeStepsPerTask = Math.max(1,
+				NUMBER_OF_INCREMENTS_PER_TASK / (numberOfAssets * numberOfPaths));
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+		for (int firstTimeIndex = 0; firstTimeIndex < numberOfTimeSteps; firstTimeIndex += numberOfTimeStepsPerTask) {
+			final int first = firstTimeIndex;
+			final int last = Math.min(firstTimeIndex + numberOfTimeStepsPerTask, numberOfTimeSteps);
+			tasks.add(() -> {
+				for (int timeIndex = first; timeIndex < last; timeIndex++) {
+					for (int firstPath = 0; firstPath < numberOfPaths; firstPath += NUMBER_OF_PATHS_PER_BLOCK_OF_SUM) {
+						final int numberOfPathsInBlock = Math.min(NUMBER_OF_PATHS_PER_BLOCK_OF_SUM,
+								numberOfPaths - firstPath);
+						for (int a = 0; a < numberOfAssets; a++) {
+							final int position = getPosition(timeIndex, a) + firstPath;
+							for (int k = 0; k < numberOfColumnsToSum[a]; k++) {
+								final double weight = factorMatrix[a][k];
+								if (weight == 0) {
+									continue;
+								}
+								final int independentPosition = independentBrownianMotion.getPosition(timeIndex, k)
+										+ firstPath;
+								for (int i = 0; i < numberOfPathsInBlock; i++) {
+									increments[position + i] += weight * independentIncrements[independentPosition + i];
+								}
+							}
+						}
+					}
+				}
+			});
+		}
+		runTasks(tasks);
+		return increments;
+	}
+
+	// the entries of F after the last non zero one of every row are skipped
+	private int[] getNumberOfColumnsToSum() {
+		final int[] numberOfColumnsToSum = new int[factorMatrix.length];
+		for (int a = 0; a < factorMatrix.length; a++) {
+			for (int k = 0; k < factorMatrix[a].length; k++) {
+				if (factorMatrix[a][k] != 0) {
+					numberOfColumnsToSum[a] = k + 1;
+				}
+			}
+		}
+		return numberOfColumnsToSum;
+	}
+
+	/**
+	 * It returns an object giving the same increments as this Brownian motion,
+	 * generated by windows of time steps when they are asked for, see
+	 * WindowedBrownianIncrements. Every window is computed from the window of the
+	 * independent increments with the same index, given by the independent
+	 * Brownian motion, by the same sums as in the computation of all the
+	 * increments. This is possible only when the independent increments can be
+	 * generated by windows, i.e., when they are built by the increments from the
+	 * seed.
+	 *
+	 * @param windowLength,           the number of time steps of a window
+	 * @param maximumNumberOfWindows, the maximum number of windows stored
+	 * @return the increments of this Brownian motion, generated by windows
+	 * @throws IllegalStateException, if the increments of the independent
+	 *                                Brownian motion cannot be generated by
+	 *                                windows
+	 */
+	@Override
+	public WindowedBrownianIncrements getWindowedIncrements(int windowLength, int maximumNumberOfWindows) {
+		// every independent window is used once, for the correlated window with the same index
+		final WindowedBrownianIncrements independentIncrements = independentBrownianMotion
+				.getWindowedIncrements(windowLength, 1);
+		return new CorrelatedWindowedIncrements(independentIncrements, factorMatrix, getNumberOfColumnsToSum(),
+				maximumNumberOfWindows);
+	}
+
+	/**
+	 * getter method for the factorization method
+	 *
+	 * @return the way in which the correlation matrix is factorized
+	 */
+	public FactorizationMethods getFactorizationMethod() {
+		return factorizationMethod;
+	}
+
+	/**
+	 * getter method for the independent Brownian motion
+	 *
+	 * @return the Brownian motion whose increments are correlated
+	 */
+	public MyBrownianMotion getIndependentBrownianMotion() {
+		return independentBrownianMotion;
+	}
+
+	/*
+	 * The increments of a window are the sums over k of F[a][k] times the ones of
+	 * the k-th independent factor in the window with the same index, as in
+	 * generateIncrements().
+	 */
+	private static final class CorrelatedWindowedIncrements extends WindowedBrownianIncrements {
+
+		private final WindowedBrownianIncrements independentIncrements;
+		private final double[][] factorMatrix;
+		private final int[] numberOfColumnsToSum;
+
+		CorrelatedWindowedIncrements(WindowedBrownianIncrements independentIncrements, double[][] factorMatrix,
+				int[] numberOfColumnsToSum, int maximumNumberOfWindows) {
+			// the seed is not used: the increments come from independentIncrements
+			super(independentIncrements.getTimeDiscretization(), factorMatrix.length,
+					independentIncrements.getNumberOfPaths(), 0L, independentIncrements.getWindowLength(),
+					maximumNumberOfWindows);
+			this.independentIncrements = independentIncrements;
+			this.factorMatrix = factorMatrix;
+			this.numberOfColumnsToSum = numberOfColumnsToSum;
+		}
+
+		@Override
+		protected void fillWindow(double[] window, int firstTimeIndex, int numberOfTimeStepsInWindow) {
+			final double[] independentWindow = independentIncrements
+					.getWindow(firstTimeIndex / independentIncrements.getWindowLength());
+			final int numberOfPaths = getNumberOfPaths();
+			for (int timeIndex = firstTimeIndex; timeIndex < firstTimeIndex + numberOfTimeStepsInWindow; timeIndex++) {
+				for (int a = 0; a < factorMatrix.length; a++) {
+					final int position = getPositionInWindow(timeIndex, a);
+					for (int k = 0; k < numberOfColumnsToSum[a]; k++) {
+						final double weight = factorMatrix[a][k];
+						if (weight == 0) {
+							continue;
+						}
+						final int independentPosition = independentIncrements.getPositionInWindow(timeIndex, k);
+						for (int i = 0; i < numberOfPaths; i++) {
+							window[position + i] += weight * independentWindow[independentPosition + i];
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/*
+	 * The key of the cache: a copy of the correlation matrix, so that it cannot
+	 * be modified by the caller, with the method and the number of factors.
+	 */
+	private static final class FactorizationKey {
+
+		private final double[][] correlation;
+		private final FactorizationMethods factorizationMethod;
+		private final int numberOfFactors;
+		private final int hashCode;
+
+		FactorizationKey(double[][] correlation, FactorizationMethods factorizationMethod, int numberOfFactors) {
+			this.correlation = new double[correlation.length][];
+			for (int a = 0; a < correlation.length; a++) {
+				this.correlation[a] = correlation[a].clone();
+			}
+			this.factorizationMethod = factorizationMethod;
+			this.numberOfFactors = numberOfFactors;
+			hashCode = 31 * (31 * Arrays.deepHashCode(this.correlation) + factorizationMethod.hashCode())
+					+ numberOfFactors;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof FactorizationKey)) {
+				return false;
+			}
+			final FactorizationKey other = (FactorizationKey) object;
+			return factorizationMethod == other.factorizationMethod && numberOfFactors == other.numberOfFactors
+					&& Arrays.deepEquals(correlation, other.correlation);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.andreamazzon.exercise8.brownianmotion;
+
+/**
+ * The ways in which CorrelatedBrownianMotion can factorize the correlation
+ * matrix R into F F^T: by the Cholesky decomposition, where F is lower
+ * triangular and has as many columns as rows, or by the principal component
+ * analysis, where the columns of F are the eigenvectors of the largest
+ * eigenvalues of R, multiplied by the square roots of the eigenvalues, and
+ * there can be less columns than rows.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public enum FactorizationMethods {
+
+	CHOLESKY, PCA;
+
+}
@@ -1,5 +1,14 @@
 package com.andreamazzon.exercise8.brownianmotion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.andreamazzon.exercise6.randomvariables.NormalGenerationMethods;
 import com.andreamazzon.exercise6.randomvariables.NormalRandomVariable;
+import com.andreamazzon.exercise6.randomvariables.PhiloxRandomSource;
 
 import net.finmath.montecarlo.RandomVariableFromDoubleArray;
 import net.finmath.stochastic.RandomVariable;
@@ -17,6 +26,41 @@ import net.finmath.time.TimeDiscretizationFromArray;
  * having distribution N(0, Δ_j) with Δ_j:= t_j-t_{j-1}. Then we simply go
  * forward putting B_{t_j}= B_{t_{j-1}} + ΔB_j.
  *
+ * All the increments are stored in a single array of doubles, time-major: the
+ * realizations of ΔB_j for a given factor are contiguous, and they are followed
+ * by the ones of the next factor and then by the ones of the next time step.
+ * The paths are computed from the increments, and stored in the same way, only
+ * when they are asked for the first time. No RandomVariable is kept: the
+ * objects returned by the getters are created when the getters are called, and
+ * contain a copy of the realizations.
+ *
+ * The increments are generated one row at a time: the standard normal
+ * realizations of a row are written in the array in blocks of
+ * NUMBER_OF_PATHS_PER_BLOCK paths, and then the whole row is multiplied by the
+ * square root of the time step, in a loop that the Java Virtual Machine can
+ * vectorize. Every block of a row has its own stream of uniform numbers, given
+ * by a PhiloxRandomSource identified by the time index, the factor index and
+ * the index of the block: so the increments only depend on the seed, and the
+ * rows can be generated in any order. If more threads are given, the rows are
+ * split in tasks, every one with a factor and a group of consecutive time
+ * steps, which run in parallel. If no seed is given, it is drawn by
+ * Math.random().
+ *
+ * The paths can also be built by the Brownian bridge, see BrownianBridge, and
+ * from the vectors of normal realizations given by a
+ * StandardNormalVectorSource, for example from a low discrepancy sequence. In
+ * these cases the increments are computed for a block of paths at a time, one
+ * factor after the other: every path is given by a vector of numberOfTimeSteps
+ * * numberOfFactors normal realizations, whose coordinate k * numberOfFactors +
+ * l is used for the factor l in the k-th step of the construction. Without a
+ * StandardNormalVectorSource, the blocks have NUMBER_OF_PATHS_PER_BLOCK paths,
+ * the coordinate k * numberOfFactors + l of the paths of the b-th block is
+ * given by the same stream which gives the increments of the time step k for
+ * the factor l, and the blocks are computed in parallel, every thread reusing
+ * the same arrays for its blocks. With it, the blocks are computed one after
+ * the other, by the calling thread, and they are smaller when the vectors are
+ * long, so that the normal realizations of a block take a bounded memory.
+ *
  * @author Andrea Mazzon
  *
  */
@@ -27,14 +71,29 @@ public class MyBrownianMotion {
 	private final int numberOfFactors; //more than one if this is a multi-dimensional Brownian motion
 	private final int numberOfPaths; //number of simulations
 	private final double initialValue = 0;
+
+	/**
+	 * The number of paths of a block of a row, which has its own stream of
+	 * uniform numbers.
+	 */
+	public static final int NUMBER_OF_PATHS_PER_BLOCK = 4096;
+	// the tasks of the parallel generation have about this number of increments
+	private static final int NUMBER_OF_INCREMENTS_PER_TASK = 1 << 18;
+
+	private int numberOfThreads = 1;// the number of threads generating the increments
+	private long seed = (long) (Math.random() * Long.MAX_VALUE);// the key of the streams of the blocks
+
+	private PathConstructionMethods pathConstructionMethod = PathConstructionMethods.INCREMENTS;
+	private StandardNormalVectorSource normalSource;// if null, the normal realizations are given by the seed
 	/*
-	 * Matrices of RandomVariableFromDoubleArray types: dimensions are time length
-	 * and number of factors. A random variable can be seen as a vector, so these
-	 * matrices can be seen as 3-dimensional matrices of doubles, the third
-	 * dimension being the number of simulations.
+	 * The increment of the factor k in the j-th time step for the path i is
+	 * brownianIncrements[(j * numberOfFactors + k) * numberOfPaths + i], and the
+	 * value of the factor k at time t_{j+1} for the path i is brownianPaths[(j *
+	 * numberOfFactors + k) * numberOfPaths + i]: the value at time t_0 is always
+	 * initialValue, and is not stored.
 	 */
-	private RandomVariable[][] brownianIncrements;
-	private RandomVariable[][] brownianPaths;
+	private double[] brownianIncrements;
+	private double[] brownianPaths;
 
 	public MyBrownianMotion( // Constructor
 			TimeDiscretization timeDiscretization, int numberOfFactors,
@@ -58,24 +117,74 @@ public class MyBrownianMotion {
 	}
 
 	/*
-	 * It generates a Brownian motion, i.e., it fills the entries of brownianIncrements and brownianPaths.
-	 * In particular, it first creates 3-dimensional matrices of doubles and then wraps them in
-	 * 2-dimensional matrices of objects of type RandomVariableFromDoubleArray.
+	 * Overloaded constructor with the seed of the streams and the number of threads
+	 * which generate the increments: they only depend on the seed, and not on the
+	 * number of threads.
+	 */
+	public MyBrownianMotion(TimeDiscretization timeDiscretization, int numberOfFactors, int numberOfPaths,
+			int numberOfThreads, long seed) {
+		this(timeDiscretization, numberOfFactors, numberOfPaths);
+		this.numberOfThreads = numberOfThreads;
+		this.seed = seed;
+	}
+
+	// the same as above, generating a time discretization internally from the given data
+	public MyBrownianMotion(double initialTimeValue, int numberOfTimeSteps, double deltaT, int numberOfFactors,
+			int numberOfPaths, int numberOfThreads, long seed) {
+		this(initialTimeValue, numberOfTimeSteps, deltaT, numberOfFactors, numberOfPaths);
+		this.numberOfThreads = numberOfThreads;
+		this.seed = seed;
+	}
+
+	/*
+	 * Overloaded constructor with the seed, the number of threads and the method
+	 * used to build the paths
+	 */
+	public MyBrownianMotion(TimeDiscretization timeDiscretization, int numberOfFactors, int numberOfPaths,
+			int numberOfThreads, long seed, PathConstructionMethods pathConstructionMethod) {
+		this(timeDiscretization, numberOfFactors, numberOfPaths, numberOfThreads, seed);
+		this.pathConstructionMethod = pathConstructionMethod;
+	}
+
+	/*
+	 * Overloaded constructor with the method used to build the paths and the
+	 * source of the vectors of normal realizations, one for every path, of
+	 * dimension numberOfTimeSteps * numberOfFactors: otherwise an
+	 * IllegalArgumentException is thrown
+	 */
+	public MyBrownianMotion(TimeDiscretization timeDiscretization, int numberOfFactors, int numberOfPaths,
+			PathConstructionMethods pathConstructionMethod, StandardNormalVectorSource normalSource) {
+		this(timeDiscretization, numberOfFactors, numberOfPaths);
+		final int dimension = timeDiscretization.getNumberOfTimeSteps() * numberOfFactors;
+		if (normalSource.getDimension() != dimension) {
+			throw new IllegalArgumentException("The vectors of the source must have dimension numberOfTimeSteps * "
+					+ "numberOfFactors = " + dimension + ": " + normalSource.getDimension());
+		}
+		this.pathConstructionMethod = pathConstructionMethod;
+		this.normalSource = normalSource;
+	}
+
+	/*
+	 * It generates the increments of the Brownian motion, i.e., it fills the
+	 * entries of brownianIncrements.
 	 */
 	private void generateBrownianMotion() {
+		brownianIncrements = generateIncrements();
+	}
+
+	/*
+	 * It returns the array with the increments of the Brownian motion, in the
+	 * order described above. Subclasses can override it in order to compute the
+	 * increments in another way: the paths and all the getters are then based on
+	 * them.
+	 */
+	protected double[] generateIncrements() {
 		/*
 		 *  number of time steps: we get it through the getNumberOfTimeSteps method of
 		 *  TimeDiscretizationFromArray
 		 */
 		final int numberOfTimeSteps = times.getNumberOfTimeSteps();
-		final int numberOfTimes = times.getNumberOfTimes(); // number of times = numberOfTimesteps + 1
-		// 3-tensor. Dimensions are: number of time steps, number of factors and number of paths
-		final double[][][] brownianIncrements3Array = new double[numberOfTimeSteps][numberOfFactors]
-				[numberOfPaths];
-		// paths have numberOfTimeSteps + 1 points
-		final double[][][] brownianPaths3Array = new double[numberOfTimes][numberOfFactors]
-				[numberOfPaths];
-		final NormalRandomVariable normalRv = new NormalRandomVariable(0.0, 1.0);
+		final double[] increments = createArrayOfIncrements();
 
 		final double[] volatilities = new double[numberOfTimeSteps]; // allocate space for volatilities array
 		for (int i = 0; i < numberOfTimeSteps; i++) {
@@ -86,49 +195,295 @@ public class MyBrownianMotion {
 			volatilities[i] = Math.sqrt(times.getTimeStep(i)); //other method of TimeDiscretizationFromArray!
 		}
 
-		// loop: Generate uncorrelated Brownian increments
-		for (int pathIndex = 0; pathIndex < numberOfPaths; pathIndex++) {
-			for (int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
-				// first we fill the entries of the 3-dimensional matrix of doubles
-				brownianPaths3Array[0][factorIndex][pathIndex] = initialValue;
-				for (int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
-					brownianIncrements3Array[timeIndex][factorIndex][pathIndex] = normalRv.generate()
-							* volatilities[timeIndex];
-					// we sum the increment
-					brownianPaths3Array[timeIndex + 1][factorIndex][pathIndex] = brownianPaths3Array[timeIndex][factorIndex][pathIndex]
-							+ brownianIncrements3Array[timeIndex][factorIndex][pathIndex];
+		if (pathConstructionMethod != PathConstructionMethods.INCREMENTS || normalSource != null) {
+			generateByBlocksOfPaths(increments, volatilities);
+			return increments;
+		}
+
+		// every task fills the rows of one factor for a group of consecutive time steps
+		final int numberOfTimeStepsPerTask = Math.max(1, NUMBER_OF_INCREMENTS_PER_TASK / numberOfPaths);
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+		for (int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
+			for (int firstTimeIndex = 0; firstTimeIndex < numberOfTimeSteps; firstTimeIndex += numberOfTimeStepsPerTask) {
+				final int factor = factorIndex;
+				final int first = firstTimeIndex;
+				final int last = Math.min(firstTimeIndex + numberOfTimeStepsPerTask, numberOfTimeSteps);
+				tasks.add(() -> {
+					for (int timeIndex = first; timeIndex < last; timeIndex++) {
+						fillRow(increments, getPosition(timeIndex, factor), numberOfPaths, seed, timeIndex, factor,
+								volatilities[timeIndex]);
+					}
+				});
+			}
+		}
+		runTasks(tasks);
+		return increments;
+	}
+
+	/*
+	 * It returns a new array which can host all the increments, for all the time
+	 * steps, factors and paths.
+	 */
+	double[] createArrayOfIncrements() {
+		final long numberOfIncrements = (long) times.getNumberOfTimeSteps() * numberOfFactors * numberOfPaths;
+		if (numberOfIncrements > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Too many increments to be stored in one array: " + numberOfIncrements);
+		}
+		return new double[(int) numberOfIncrements];
+	}
+
+	/*
+	 * It writes the increments of the given factor in the given time step for all
+	 * the paths in destination, starting from position: they only depend on the
+	 * seed and on the indices.
+	 */
+	static void fillRow(double[] destination, int position, int numberOfPaths, long seed, int timeIndex,
+			int factorIndex, double volatility) {
+		for (int firstPath = 0, block = 0; firstPath < numberOfPaths; firstPath += NUMBER_OF_PATHS_PER_BLOCK, block++) {
+			NormalRandomVariable.fillStandardNormal(destination, position + firstPath,
+					Math.min(NUMBER_OF_PATHS_PER_BLOCK, numberOfPaths - firstPath),
+					new PhiloxRandomSource(seed, timeIndex, factorIndex, block), NormalGenerationMethods.ZIGGURAT);
+		}
+		for (int i = position; i < position + numberOfPaths; i++) {
+			destination[i] *= volatility;
+		}
+	}
+
+	/*
+	 * It computes the increments for a block of paths at a time, from vectors of
+	 * normal realizations, one factor after the other. If they are given by the
+	 * seed, the blocks have NUMBER_OF_PATHS_PER_BLOCK paths and are computed in
+	 * parallel: every task computes the blocks with index equal to its own modulo
+	 * the number of tasks, reusing the same arrays. If they are given by
+	 * normalSource, the blocks are computed one after the other, and have as many
+	 * paths as needed for their vectors to have about NUMBER_OF_INCREMENTS_PER_TASK
+	 * coordinates.
+	 */
+	private void generateByBlocksOfPaths(double[] increments, double[] volatilities) {
+		final int numberOfTimeSteps = times.getNumberOfTimeSteps();
+		final BrownianBridge bridge = pathConstructionMethod == PathConstructionMethods.BROWNIANBRIDGE
+				? new BrownianBridge(times)
+				: null;
+
+		if (normalSource != null) {
+			// the vectors of the source must be taken in order, by the calling thread
+			final int dimension = normalSource.getDimension();
+			final int numberOfPathsPerBlock = Math.min(Math.min(NUMBER_OF_PATHS_PER_BLOCK, numberOfPaths),
+					Math.max(1, NUMBER_OF_INCREMENTS_PER_TASK / dimension));
+			final double[][] normals = new double[dimension][numberOfPathsPerBlock];
+			final double[][] normalsOfFactor = new double[numberOfTimeSteps][];
+			final double[][] values = bridge == null ? null : new double[numberOfTimeSteps + 1][numberOfPathsPerBlock];
+			for (int firstPath = 0; firstPath < numberOfPaths; firstPath += numberOfPathsPerBlock) {
+				final int numberOfPathsInBlock = Math.min(numberOfPathsPerBlock, numberOfPaths - firstPath);
+				normalSource.fill(normals, numberOfPathsInBlock);
+				for (int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
+					// the coordinate k * numberOfFactors + factorIndex is used in the k-th step
+					for (int k = 0; k < numberOfTimeSteps; k++) {
+						normalsOfFactor[k] = normals[k * numberOfFactors + factorIndex];
+					}
+					writeIncrementsOfFactor(increments, volatilities, bridge, normalsOfFactor, values, factorIndex,
+							firstPath, numberOfPathsInBlock);
 				}
 			}
+			return;
 		}
 
+		final int numberOfBlocks = (numberOfPaths + NUMBER_OF_PATHS_PER_BLOCK - 1) / NUMBER_OF_PATHS_PER_BLOCK;
+		final int numberOfPathsPerBlock = Math.min(NUMBER_OF_PATHS_PER_BLOCK, numberOfPaths);
+		final int numberOfTasks = Math.min(numberOfThreads, numberOfBlocks);
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+		for (int taskIndex = 0; taskIndex < numberOfTasks; taskIndex++) {
+			final int firstBlock = taskIndex;
+			tasks.add(() -> {
+				final double[][] normalsOfFactor = new double[numberOfTimeSteps][numberOfPathsPerBlock];
+				final double[][] values = bridge == null ? null
+						: new double[numberOfTimeSteps + 1][numberOfPathsPerBlock];
+				for (int block = firstBlock; block < numberOfBlocks; block += numberOfTasks) {
+					final int firstPath = block * NUMBER_OF_PATHS_PER_BLOCK;
+					final int numberOfPathsInBlock = Math.min(NUMBER_OF_PATHS_PER_BLOCK, numberOfPaths - firstPath);
+					for (int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
+						// the k-th normal realization is given by the stream of the time step k
+						for (int k = 0; k < numberOfTimeSteps; k++) {
+							NormalRandomVariable.fillStandardNormal(normalsOfFactor[k], 0, numberOfPathsInBlock,
+									new PhiloxRandomSource(seed, k, factorIndex, block), NormalGenerationMethods.ZIGGURAT);
+						}
+						writeIncrementsOfFactor(increments, volatilities, bridge, normalsOfFactor, values, factorIndex,
+								firstPath, numberOfPathsInBlock);
+					}
+				}
+			});
+		}
+		runTasks(tasks);
+	}
 
-		/*
-		 * At this point, we have two 3-dimensional matrices whose entries are the Brownian increments
-		 * and values, respectively. Now we want to wrap them into 2-dimensional matrices of types
-		 * RandomVariableFromDoubleArray: a vector containing all the realizations at a given time
-		 * for a given Brownian factor is wrapped into an object of type RandomVariableFromDoubleArray.
-		 */
-		//First, we allocate memory for RandomVariableFromDoubleArray wrapper objects.
-		brownianIncrements = new RandomVariable[numberOfTimeSteps][numberOfFactors];
-		brownianPaths = new RandomVariable[numberOfTimeSteps + 1][numberOfFactors];
+	/*
+	 * It writes in the array the increments of the given factor for the paths
+	 * from firstPath to firstPath + numberOfPathsInBlock - 1, from the normal
+	 * realizations of the factor, normalsOfFactor[k][i] being the one of the k-th
+	 * step for the i-th path of the block. They are built by the increments if
+	 * bridge is null, by the Brownian bridge otherwise: in this case the values of
+	 * the paths are written in values, and the increments are their differences.
+	 */
+	private void writeIncrementsOfFactor(double[] increments, double[] volatilities, BrownianBridge bridge,
+			double[][] normalsOfFactor, double[][] values, int factorIndex, int firstPath, int numberOfPathsInBlock) {
+		final int numberOfTimeSteps = times.getNumberOfTimeSteps();
+		if (bridge == null) {
+			for (int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
+				final double[] normalsOfRow = normalsOfFactor[timeIndex];
+				final int position = getPosition(timeIndex, factorIndex) + firstPath;
+				for (int i = 0; i < numberOfPathsInBlock; i++) {
+					increments[position + i] = normalsOfRow[i] * volatilities[timeIndex];
+				}
+			}
+			return;
+		}
+		bridge.computeValues(normalsOfFactor, numberOfPathsInBlock, values);
+		for (int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
+			final double[] currentValues = values[timeIndex];
+			final double[] nextValues = values[timeIndex + 1];
+			final int position = getPosition(timeIndex, factorIndex) + firstPath;
+			for (int i = 0; i < numberOfPathsInBlock; i++) {
+				increments[position + i] = nextValues[i] - currentValues[i];
+			}
+		}
+	}
 
-		// Wrap the values in RandomVariable objects
+	/*
+	 * It runs the given tasks: in a loop if numberOfThreads is 1, otherwise in
+	 * parallel.
+	 */
+	void runTasks(List<Runnable> tasks) {
+		if (numberOfThreads == 1) {
+			for (final Runnable task : tasks) {
+				task.run();
+			}
+			return;
+		}
+		final ForkJoinPool pool = new ForkJoinPool(numberOfThreads);
+		try {
+			final List<ForkJoinTask<?>> submittedTasks = new ArrayList<ForkJoinTask<?>>();
+			for (final Runnable task : tasks) {
+				submittedTasks.add(pool.submit(task));
+			}
+			for (final ForkJoinTask<?> task : submittedTasks) {
+				task.join();// it rethrows the exception if the task has failed
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/*
+	 * It computes the paths from the increments, i.e., it fills the entries of
+	 * brownianPaths. Since the storage is time-major, the sum is done one row of
+	 * realizations at a time: B_{t_{j+1}} = B_{t_j} + ΔB_{j+1} for all the paths.
+	 */
+	private void generatePaths() {
+		if (brownianIncrements == null) {
+			generateBrownianMotion();
+		}
+		final int numberOfTimeSteps = times.getNumberOfTimeSteps();
+		final double[] paths = new double[brownianIncrements.length];
 		for (int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
-			/*
-			 * The entries for time equal to zero are actually non stochastic: we use an
-			 * overload version of the constructor of RandomVariableFromDoubleArray that
-			 * builds non stochastic random variables (i.e., all the realizations are the
-			 * same).
-			 */
-			brownianPaths[0][factorIndex] = new RandomVariableFromDoubleArray(times.getTime(0), // filtration time
-					initialValue);
-			for (int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
-				brownianIncrements[timeIndex][factorIndex] = new RandomVariableFromDoubleArray(times.getTime(timeIndex),
-						brownianIncrements3Array[timeIndex][factorIndex]);// vector: realizations of the rv
-				brownianPaths[timeIndex + 1][factorIndex] = new RandomVariableFromDoubleArray(times.getTime(timeIndex + 1),
-						brownianPaths3Array[timeIndex + 1][factorIndex]); // be careful on the indexes here
+			final int position = getPosition(0, factorIndex);
+			for (int pathIndex = 0; pathIndex < numberOfPaths; pathIndex++) {
+				paths[position + pathIndex] = initialValue + brownianIncrements[position + pathIndex];
 			}
 		}
+		for (int timeIndex = 1; timeIndex < numberOfTimeSteps; timeIndex++) {
+			for (int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
+				final int position = getPosition(timeIndex, factorIndex);
+				final int previousPosition = getPosition(timeIndex - 1, factorIndex);
+				for (int pathIndex = 0; pathIndex < numberOfPaths; pathIndex++) {
+					paths[position + pathIndex] = paths[previousPosition + pathIndex]
+							+ brownianIncrements[position + pathIndex];
+				}
+			}
+		}
+		brownianPaths = paths;
+	}
+
+	// the position of the first realization of the given row in the arrays
+	int getPosition(int timeIndex, int factorIndex) {
+		return (timeIndex * numberOfFactors + factorIndex) * numberOfPaths;
+	}
+
+	/*
+	 * It checks the indices given to the public getters: since all the rows are
+	 * stored in the same arrays, an index out of range would otherwise give the
+	 * realizations of another row instead of an exception. The last index is
+	 * numberOfTimeSteps - 1 for the increments and numberOfTimes - 1 for the
+	 * paths.
+	 */
+	private void checkIndices(int timeIndex, int numberOfTimeIndices, int factorIndex) {
+		if (timeIndex < 0 || timeIndex >= numberOfTimeIndices) {
+			throw new IllegalArgumentException(
+					"The time index must be between 0 and " + (numberOfTimeIndices - 1) + ": " + timeIndex);
+		}
+		checkFactorIndex(factorIndex);
+	}
+
+	private void checkFactorIndex(int factorIndex) {
+		if (factorIndex < 0 || factorIndex >= numberOfFactors) {
+			throw new IllegalArgumentException(
+					"The factor index must be between 0 and " + (numberOfFactors - 1) + ": " + factorIndex);
+		}
+	}
+
+	private void checkPathIndex(int pathIndex) {
+		if (pathIndex < 0 || pathIndex >= numberOfPaths) {
+			throw new IllegalArgumentException(
+					"The path index must be between 0 and " + (numberOfPaths - 1) + ": " + pathIndex);
+		}
+	}
+
+	/*
+	 * It returns the array with all the increments, generating them if needed. It
+	 * is not copied, so it must not be modified.
+	 */
+	double[] getArrayOfIncrements() {
+		if (brownianIncrements == null) { // generated only once
+			generateBrownianMotion();
+		}
+		return brownianIncrements;
+	}
+
+	/**
+	 * getter method for the number of factors
+	 *
+	 * @return the number of factors, i.e., the dimension of the Brownian motion
+	 */
+	public int getNumberOfFactors() {
+		return numberOfFactors;
+	}
+
+	/**
+	 * getter method for the number of paths
+	 *
+	 * @return the number of simulated paths
+	 */
+	public int getNumberOfPaths() {
+		return numberOfPaths;
+	}
+
+	/**
+	 * It returns an object giving the same increments as this Brownian motion,
+	 * generated by windows of time steps when they are asked for, see
+	 * WindowedBrownianIncrements. This is possible only when the paths are built
+	 * by the increments from the seed.
+	 *
+	 * @param windowLength,           the number of time steps of a window
+	 * @param maximumNumberOfWindows, the maximum number of windows stored
+	 * @return the increments of this Brownian motion, generated by windows
+	 * @throws IllegalStateException, if the paths are not built by the
+	 *                                increments from the seed
+	 */
+	public WindowedBrownianIncrements getWindowedIncrements(int windowLength, int maximumNumberOfWindows) {
+		if (pathConstructionMethod != PathConstructionMethods.INCREMENTS || normalSource != null) {
+			throw new IllegalStateException("Only the increments given by the seed can be generated by windows.");
+		}
+		return new WindowedBrownianIncrements(times, numberOfFactors, numberOfPaths, seed, windowLength,
+				maximumNumberOfWindows);
 	}
 
 	/**
@@ -148,11 +503,14 @@ public class MyBrownianMotion {
 	 *         brownian increments
 	 */
 	public RandomVariable[][] getBrownianIncrements() {
-		// lazy initialization: brownianIncrements gets initialized only when needed
-		if (brownianIncrements == null) { // generated only once
-			generateBrownianMotion();
+		final int numberOfTimeSteps = times.getNumberOfTimeSteps();
+		final RandomVariable[][] increments = new RandomVariable[numberOfTimeSteps][numberOfFactors];
+		for (int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
+			for (int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
+				increments[timeIndex][factorIndex] = getBrownianIncrement(timeIndex, factorIndex);
+			}
 		}
-		return brownianIncrements;
+		return increments;
 	}
 
 	/**
@@ -163,27 +521,40 @@ public class MyBrownianMotion {
 	 * representing the brownian paths
 	 */
 	public RandomVariable[][] getAllThePaths() {
-		// lazy initialization: brownianPaths gets initialized only when needed
-		if (brownianPaths == null) { // generated only once
-			generateBrownianMotion();
+		final int numberOfTimes = times.getNumberOfTimes();
+		final RandomVariable[][] paths = new RandomVariable[numberOfTimes][numberOfFactors];
+		for (int timeIndex = 0; timeIndex < numberOfTimes; timeIndex++) {
+			for (int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
+				paths[timeIndex][factorIndex] = getSimulations(timeIndex, factorIndex);
+			}
 		}
-		return brownianPaths;
+		return paths;
 	}
 
 	/**
-	 * It gets and returns a one-dimensional array of doubles representing the given
-	 * increments of the Brownian motion for a given factor
+	 * It gets and returns the increment of the Brownian motion for a given factor
+	 * in a given time step. The first call generates and stores the increments for
+	 * all the time steps: when they are used one time step after the other, the
+	 * ones given by getWindowedIncrements take a memory which does not depend on
+	 * the number of time steps.
 	 *
-	 * @param factor, index for the factor
-	 * @param path,   index for the path (i.e., a given simulation)
-	 * @return a vector of doubles with the values of the increments over time
+	 * @param timeIndex,   index of the time step: the increment is
+	 *                     B_{t_{timeIndex+1}} - B_{t_timeIndex}
+	 * @param factorIndex, index for the factor
+	 * @return a random variable with the realizations of the increment
+	 * @throws IllegalArgumentException, if timeIndex is not between 0 and
+	 *                                   numberOfTimeSteps - 1 or factorIndex is
+	 *                                   not between 0 and numberOfFactors - 1
 	 */
 	public RandomVariable getBrownianIncrement(int timeIndex, int factorIndex) {
-		// lazy initialization: brownianPaths gets initialized only when needed
+		checkIndices(timeIndex, times.getNumberOfTimeSteps(), factorIndex);
+		// lazy initialization: brownianIncrements gets initialized only when needed
 		if (brownianIncrements == null) { // generated only once
 			generateBrownianMotion();
 		}
-		return brownianIncrements[timeIndex][factorIndex];
+		final int position = getPosition(timeIndex, factorIndex);
+		return new RandomVariableFromDoubleArray(times.getTime(timeIndex),
+				Arrays.copyOfRange(brownianIncrements, position, position + numberOfPaths));
 	}
 
 	/**
@@ -195,13 +566,83 @@ public class MyBrownianMotion {
 	 *                   considered
 	 * @return a random variable which stands for the Brownian motion for a given
 	 *         factor at a given time
+	 * @throws IllegalArgumentException, if timeIndex is not between 0 and
+	 *                                   numberOfTimes - 1 or factorIndex is not
+	 *                                   between 0 and numberOfFactors - 1
 	 */
 	public RandomVariable getSimulations(int timeIndex, int factorIndex) {
+		checkIndices(timeIndex, times.getNumberOfTimes(), factorIndex);
+		if (timeIndex == 0) {
+			/*
+			 * The entries for time equal to zero are actually non stochastic: we use an
+			 * overload version of the constructor of RandomVariableFromDoubleArray that
+			 * builds non stochastic random variables (i.e., all the realizations are the
+			 * same).
+			 */
+			return new RandomVariableFromDoubleArray(times.getTime(0), initialValue);
+		}
 		// lazy initialization: brownianPaths gets initialized only when needed
 		if (brownianPaths == null) { // generated only once
+			generatePaths();
+		}
+		final int position = getPosition(timeIndex - 1, factorIndex);
+		return new RandomVariableFromDoubleArray(times.getTime(timeIndex),
+				Arrays.copyOfRange(brownianPaths, position, position + numberOfPaths));
+	}
+
+	/**
+	 * It gets and returns the increment of the Brownian motion for a given factor
+	 * in a given time step for a given path, without creating any random variable.
+	 * As for getBrownianIncrement(int, int), all the increments are stored: see
+	 * getWindowedIncrements for the ones generated by windows of time steps.
+	 *
+	 * @param timeIndex,   index of the time step: the increment is
+	 *                     B_{t_{timeIndex+1}} - B_{t_timeIndex}
+	 * @param factorIndex, index for the factor
+	 * @param pathIndex,   index for the path (i.e., a given simulation)
+	 * @return the value of the increment
+	 * @throws IllegalArgumentException, if timeIndex is not between 0 and
+	 *                                   numberOfTimeSteps - 1, factorIndex is
+	 *                                   not between 0 and numberOfFactors - 1 or
+	 *                                   pathIndex is not between 0 and
+	 *                                   numberOfPaths - 1
+	 */
+	public double getBrownianIncrement(int timeIndex, int factorIndex, int pathIndex) {
+		checkIndices(timeIndex, times.getNumberOfTimeSteps(), factorIndex);
+		checkPathIndex(pathIndex);
+		// lazy initialization: brownianIncrements gets initialized only when needed
+		if (brownianIncrements == null) { // generated only once
 			generateBrownianMotion();
 		}
-		return brownianPaths[timeIndex][factorIndex];
+		return brownianIncrements[getPosition(timeIndex, factorIndex) + pathIndex];
+	}
+
+	/**
+	 * It gets and returns the value of the Brownian motion for a given factor at a
+	 * given time for a given path, without creating any random variable
+	 *
+	 * @param timeIndex,   index for the time at which the Brownian motion is
+	 *                     considered
+	 * @param factorIndex, index for the factor
+	 * @param pathIndex,   index for the path (i.e., a given simulation)
+	 * @return the value of the Brownian motion
+	 * @throws IllegalArgumentException, if timeIndex is not between 0 and
+	 *                                   numberOfTimes - 1, factorIndex is not
+	 *                                   between 0 and numberOfFactors - 1 or
+	 *                                   pathIndex is not between 0 and
+	 *                                   numberOfPaths - 1
+	 */
+	public double getSimulation(int timeIndex, int factorIndex, int pathIndex) {
+		checkIndices(timeIndex, times.getNumberOfTimes(), factorIndex);
+		checkPathIndex(pathIndex);
+		if (timeIndex == 0) {
+			return initialValue;
+		}
+		// lazy initialization: brownianPaths gets initialized only when needed
+		if (brownianPaths == null) { // generated only once
+			generatePaths();
+		}
+		return brownianPaths[getPosition(timeIndex - 1, factorIndex) + pathIndex];
 	}
 
 	/**
@@ -211,16 +652,15 @@ public class MyBrownianMotion {
 	 * @param factor, index for the factor
 	 * @return one-dimensional array of RandomVariableFromDoubleArray objects
 	 *         representing the evolution in time of the given indexed factor
+	 * @throws IllegalArgumentException, if factorIndex is not between 0 and
+	 *                                   numberOfFactors - 1
 	 */
 	public RandomVariable[] getPathsForFactor(int factorIndex) {
-		// lazy initialization: brownianPaths gets initialized only when needed
-		if (brownianPaths == null) {// generated only once
-			generateBrownianMotion();
-		}
+		checkFactorIndex(factorIndex);
 		final int numberOfTimes = times.getNumberOfTimes();
 		final RandomVariable[] paths = new RandomVariableFromDoubleArray[numberOfTimes];
 		for (int timeIndex = 0; timeIndex < numberOfTimes; timeIndex++) {
-			paths[timeIndex] = brownianPaths[timeIndex][factorIndex];
+			paths[timeIndex] = getSimulations(timeIndex, factorIndex);
 		}
 		return paths;
 	}
@@ -231,15 +671,20 @@ public class MyBrownianMotion {
 	 * @param factor, index for the factor
 	 * @param path, index for the path (i.e., a given simulation)
 	 * @return a vector of doubles with the values of the path over time
+	 * @throws IllegalArgumentException, if factorIndex is not between 0 and
+	 *                                   numberOfFactors - 1 or pathIndex is not
+	 *                                   between 0 and numberOfPaths - 1
 	 */
 	public double[] getSpecificPath(int factorIndex, int pathIndex) {
-		// first we get the vector of random variables, for the given factor
-		final RandomVariable[] paths = getPathsForFactor(factorIndex);
-		final int numberOfTimes = paths.length;
+		checkFactorIndex(factorIndex);
+		checkPathIndex(pathIndex);
+		final int numberOfTimes = times.getNumberOfTimes();
 		final double[] specificPath = new double[numberOfTimes];
-		// the we extrapolate the path for the specific path
-		for (int timeIndex = 0; timeIndex < numberOfTimes; timeIndex++) {
-			specificPath[timeIndex] = paths[timeIndex].get(pathIndex); // get method of RandomVariableFromArray
+		specificPath[0] = initialValue;
+		// we sum the increments of the specific path, without computing all the paths
+		for (int timeIndex = 1; timeIndex < numberOfTimes; timeIndex++) {
+			specificPath[timeIndex] = specificPath[timeIndex - 1]
+					+ getBrownianIncrement(timeIndex - 1, factorIndex, pathIndex);
 		}
 		return specificPath;
 	}
@@ -268,11 +713,7 @@ public class MyBrownianMotion {
 	 * @param path, index for the path (i.e., a given simulation)
 	 */
 	public void printIncrement(int timeindex, int factorIndex, int pathIndex) {
-		// lazy initialization: brownianPaths gets initialized only when needed
-		if (brownianIncrements == null) { // generated only once
-			generateBrownianMotion();
-		}
-		System.out.println(brownianIncrements[timeindex][factorIndex].get(pathIndex));
+		System.out.println(getBrownianIncrement(timeindex, factorIndex, pathIndex));
 	}
 }
 
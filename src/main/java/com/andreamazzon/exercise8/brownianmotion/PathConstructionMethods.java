@@ -0,0 +1,16 @@
+package com.andreamazzon.exercise8.brownianmotion;
+
+/**
+ * The ways in which MyBrownianMotion can build its paths from vectors of
+ * independent standard normal realizations: by the increments, every one given
+ * by one normal realization times the square root of the time step, or by the
+ * Brownian bridge, see BrownianBridge.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public enum PathConstructionMethods {
+
+	INCREMENTS, BROWNIANBRIDGE;
+
+}
@@ -0,0 +1,67 @@
+package com.andreamazzon.exercise8.brownianmotion;
+
+import com.andreamazzon.exercise4.LowDiscrepancySequence;
+import com.andreamazzon.exercise4.LowDiscrepancySequenceGenerator;
+import com.andreamazzon.exercise6.randomvariables.StandardNormalFunctions;
+
+/**
+ * This interface represents a source of vectors of standard normal
+ * realizations, which MyBrownianMotion transforms into paths: every vector
+ * gives one path. The vectors can be independent, or they can be obtained from
+ * the points of a low discrepancy sequence, in order to simulate the paths by
+ * Quasi Monte-Carlo.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public interface StandardNormalVectorSource {
+
+	/**
+	 * getter method for the dimension
+	 *
+	 * @return the number of coordinates of every vector
+	 */
+	int getDimension();
+
+	/**
+	 * It writes the next numberOfVectors vectors in the array passed as an
+	 * argument, coordinate by coordinate: the j-th coordinate of the i-th vector is
+	 * written in normals[j][i].
+	 *
+	 * @param normals,         the array with one row for every coordinate, of
+	 *                         length at least numberOfVectors
+	 * @param numberOfVectors, the number of vectors to be written
+	 */
+	void fill(double[][] normals, int numberOfVectors);
+
+	/**
+	 * It returns a source whose vectors are given by the points of the low
+	 * discrepancy sequence, starting from the one with index 1, transformed by the
+	 * quantile function of the standard normal distribution coordinate by
+	 * coordinate. The point with index 0 is skipped, since its coordinates are 0
+	 * for the Halton and Sobol sequences. The source has a state, and must not be
+	 * shared among threads.
+	 *
+	 * @param sequence, the low discrepancy sequence, whose dimension is the one of
+	 *                  the vectors
+	 * @return the source of the vectors
+	 */
+	static StandardNormalVectorSource fromLowDiscrepancySequence(LowDiscrepancySequence sequence) {
+		final LowDiscrepancySequenceGenerator generator = sequence.getGenerator(1);
+		return new StandardNormalVectorSource() {
+
+			@Override
+			public int getDimension() {
+				return generator.getDimension();
+			}
+
+			@Override
+			public void fill(double[][] normals, int numberOfVectors) {
+				generator.fill(normals, numberOfVectors);
+				for (final double[] coordinates : normals) {
+					StandardNormalFunctions.inverseCumulativeDistribution(coordinates, 0, numberOfVectors);
+				}
+			}
+		};
+	}
+}
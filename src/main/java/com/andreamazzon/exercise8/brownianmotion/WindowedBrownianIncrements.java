@@ -0,0 +1,224 @@
+package com.andreamazzon.exercise8.brownianmotion;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.finmath.montecarlo.RandomVariableFromDoubleArray;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+
+/**
+ * This class provides the increments of a discrete time possibly
+ * multi-dimensional Brownian motion without storing all of them. The time
+ * steps are grouped in windows of windowLength consecutive steps: the window
+ * with index k contains the steps k*windowLength,...,(k+1)*windowLength - 1.
+ * When an increment is asked for, the whole window containing its time step is
+ * generated, for all the factors and the paths, unless it is already stored.
+ * At most maximumNumberOfWindows windows are stored: when a new one is
+ * generated, the one used least recently is removed, and it is generated again
+ * if it is asked for later.
+ *
+ * The increments of a time step and a factor are generated as in
+ * MyBrownianMotion, by PhiloxRandomSource streams identified by the seed, the
+ * time index, the factor index and the index of the block of paths. So they do
+ * not depend on the order in which the windows are generated or on how many
+ * times they are generated, and they are the same as the ones of a
+ * MyBrownianMotion with the same seed, built by the increments. The memory used
+ * is proportional to numberOfPaths * windowLength * maximumNumberOfWindows, for
+ * any number of time steps: this is useful when the increments are used one
+ * time step after the other, as in an Euler scheme. The windows of the
+ * increments of a CorrelatedBrownianMotion are computed in the same way from
+ * the windows of its independent increments.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class WindowedBrownianIncrements {
+
+	private final TimeDiscretization times;
+	private final int numberOfFactors;
+	private final int numberOfPaths;
+	private final long seed;
+	private final int windowLength;
+
+	/*
+	 * The stored windows, by their index, least recently used first. The
+	 * increment of the factor k in the j-th time step of the window for the path
+	 * i is window[(j * numberOfFactors + k) * numberOfPaths + i].
+	 */
+	private final Map<Integer, double[]> windows;
+	private int numberOfGeneratedWindows;
+
+	/**
+	 * It constructs an object giving the increments of a Brownian motion with
+	 * the given seed.
+	 *
+	 * @param timeDiscretization,     the time discretization
+	 * @param numberOfFactors,        the number of independent factors
+	 * @param numberOfPaths,          the number of simulated paths
+	 * @param seed,                   the key of the streams of the increments
+	 * @param windowLength,           the number of time steps of a window
+	 * @param maximumNumberOfWindows, the maximum number of windows stored
+	 */
+	public WindowedBrownianIncrements(TimeDiscretization timeDiscretization, int numberOfFactors, int numberOfPaths,
+			long seed, int windowLength, int maximumNumberOfWindows) {
+		if (windowLength < 1 || maximumNumberOfWindows < 1) {
+			throw new IllegalArgumentException("The length and the number of the windows must be positive.");
+		}
+		final long numberOfIncrementsPerWindow = (long) windowLength * numberOfFactors * numberOfPaths;
+		if (numberOfIncrementsPerWindow > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException(
+					"Too many increments to be stored in one window: " + numberOfIncrementsPerWindow);
+		}
+		this.times = timeDiscretization;
+		this.numberOfFactors = numberOfFactors;
+		this.numberOfPaths = numberOfPaths;
+		this.seed = seed;
+		this.windowLength = windowLength;
+		windows = new LinkedHashMap<Integer, double[]>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, double[]> eldest) {
+				return size() > maximumNumberOfWindows;
+			}
+		};
+	}
+
+	/*
+	 * It returns the window with the given index, generating it if it is not
+	 * stored.
+	 */
+	synchronized double[] getWindow(int windowIndex) {
+		double[] window = windows.get(windowIndex);
+		if (window == null) {
+			final int firstTimeIndex = windowIndex * windowLength;
+			final int numberOfTimeStepsInWindow = Math.min(windowLength,
+					times.getNumberOfTimeSteps() - firstTimeIndex);
+			window = new double[numberOfTimeStepsInWindow * numberOfFactors * numberOfPaths];
+			fillWindow(window, firstTimeIndex, numberOfTimeStepsInWindow);
+			windows.put(windowIndex, window);
+			numberOfGeneratedWindows++;
+		}
+		return window;
+	}
+
+	/*
+	 * It writes the increments of the window starting from the given time index
+	 * in the array passed as an argument, whose entries are all zero. Here they
+	 * are given by the streams identified by the seed, as in MyBrownianMotion.
+	 * Subclasses can override it in order to compute the increments in another
+	 * way.
+	 */
+	protected void fillWindow(double[] window, int firstTimeIndex, int numberOfTimeStepsInWindow) {
+		for (int j = 0; j < numberOfTimeStepsInWindow; j++) {
+			final int timeIndex = firstTimeIndex + j;
+			final double volatility = Math.sqrt(times.getTimeStep(timeIndex));
+			for (int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
+				MyBrownianMotion.fillRow(window, getPositionInWindow(timeIndex, factorIndex), numberOfPaths, seed,
+						timeIndex, factorIndex, volatility);
+			}
+		}
+	}
+
+	// the position of the first realization of the given row in its window
+	int getPositionInWindow(int timeIndex, int factorIndex) {
+		return ((timeIndex % windowLength) * numberOfFactors + factorIndex) * numberOfPaths;
+	}
+
+	private void checkIndices(int timeIndex, int factorIndex) {
+		if (timeIndex < 0 || timeIndex >= times.getNumberOfTimeSteps()) {
+			throw new IllegalArgumentException("The time index must be between 0 and "
+					+ (times.getNumberOfTimeSteps() - 1) + ": " + timeIndex);
+		}
+		if (factorIndex < 0 || factorIndex >= numberOfFactors) {
+			throw new IllegalArgumentException(
+					"The factor index must be between 0 and " + (numberOfFactors - 1) + ": " + factorIndex);
+		}
+	}
+
+	/**
+	 * It gets and returns the increment of the Brownian motion for a given factor
+	 * in a given time step, generating its window if it is not stored
+	 *
+	 * @param timeIndex,   index of the time step: the increment is
+	 *                     B_{t_{timeIndex+1}} - B_{t_timeIndex}
+	 * @param factorIndex, index for the factor
+	 * @return a random variable with the realizations of the increment
+	 * @throws IllegalArgumentException, if the time index or the factor index
+	 *                                   are out of range
+	 */
+	public RandomVariable getBrownianIncrement(int timeIndex, int factorIndex) {
+		checkIndices(timeIndex, factorIndex);
+		final double[] realizations = new double[numberOfPaths];
+		System.arraycopy(getWindow(timeIndex / windowLength), getPositionInWindow(timeIndex, factorIndex),
+				realizations, 0, numberOfPaths);
+		return new RandomVariableFromDoubleArray(times.getTime(timeIndex), realizations);
+	}
+
+	/**
+	 * It gets and returns the increment of the Brownian motion for a given
+	 * factor in a given time step for a given path, generating its window if it
+	 * is not stored
+	 *
+	 * @param timeIndex,   index of the time step
+	 * @param factorIndex, index for the factor
+	 * @param pathIndex,   index for the path (i.e., a given simulation)
+	 * @return the value of the increment
+	 * @throws IllegalArgumentException, if one of the indices is out of range
+	 */
+	public double getBrownianIncrement(int timeIndex, int factorIndex, int pathIndex) {
+		checkIndices(timeIndex, factorIndex);
+		if (pathIndex < 0 || pathIndex >= numberOfPaths) {
+			throw new IllegalArgumentException(
+					"The path index must be between 0 and " + (numberOfPaths - 1) + ": " + pathIndex);
+		}
+		return getWindow(timeIndex / windowLength)[getPositionInWindow(timeIndex, factorIndex) + pathIndex];
+	}
+
+	/**
+	 * getter method for the number of windows generated so far, counting the
+	 * ones generated again after being removed
+	 *
+	 * @return the number of generated windows
+	 */
+	public synchronized int getNumberOfGeneratedWindows() {
+		return numberOfGeneratedWindows;
+	}
+
+	/**
+	 * getter method for the length of the windows
+	 *
+	 * @return the number of time steps of a window
+	 */
+	public int getWindowLength() {
+		return windowLength;
+	}
+
+	/**
+	 * getter method for the number of factors
+	 *
+	 * @return the number of factors
+	 */
+	public int getNumberOfFactors() {
+		return numberOfFactors;
+	}
+
+	/**
+	 * getter method for the number of paths
+	 *
+	 * @return the number of simulated paths
+	 */
+	public int getNumberOfPaths() {
+		return numberOfPaths;
+	}
+
+	/**
+	 * It gets and returns the time discretization
+	 *
+	 * @return the time discretization
+	 */
+	public TimeDiscretization getTimeDiscretization() {
+		return times;
+	}
+}
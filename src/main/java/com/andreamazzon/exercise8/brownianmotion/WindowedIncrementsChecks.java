@@ -0,0 +1,61 @@
+package com.andreamazzon.exercise8.brownianmotion;
+
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * This class contains one main method that simulates a geometric Brownian
+ * motion S_t = S_0 exp(-sigma^2 t/2 + sigma B_t) on a long time horizon,
+ * walking forward one time step after the other with the increments given by
+ * WindowedBrownianIncrements. Only a few windows of time steps are stored at
+ * the same time, so the memory used is much smaller than the one needed by all
+ * the increments. We check that the mean of S_T is close to S_0, and print the
+ * memory used by the windows and the one that all the increments would need.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class WindowedIncrementsChecks {
+
+	public static void main(String[] args) {
+
+		final int numberOfTimeSteps = 10000;
+		final int numberOfPaths = 10000;
+		final double maturity = 10.0;
+		final double initialValue = 100.0;
+		final double volatility = 0.1;
+		final int windowLength = 50;
+		final int maximumNumberOfWindows = 2;
+
+		final TimeDiscretization times = new TimeDiscretizationFromArray(0.0, numberOfTimeSteps,
+				maturity / numberOfTimeSteps);
+		final MyBrownianMotion brownianMotion = new MyBrownianMotion(times, 1, numberOfPaths, 1, 1897);
+		// the increments are never generated all together: only by windows
+		final WindowedBrownianIncrements increments = brownianMotion.getWindowedIncrements(windowLength,
+				maximumNumberOfWindows);
+
+		final long start = System.nanoTime();
+		final double[] logarithms = new double[numberOfPaths];// log(S_t/S_0), updated at every step
+		for (int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
+			final double drift = -0.5 * volatility * volatility * times.getTimeStep(timeIndex);
+			final double[] incrementsOfStep = increments.getBrownianIncrement(timeIndex, 0).getRealizations();
+			for (int pathIndex = 0; pathIndex < numberOfPaths; pathIndex++) {
+				logarithms[pathIndex] += drift + volatility * incrementsOfStep[pathIndex];
+			}
+		}
+		double sum = 0;
+		for (final double logarithm : logarithms) {
+			sum += initialValue * Math.exp(logarithm);
+		}
+		final long end = System.nanoTime();
+
+		final double standardError = initialValue
+				* Math.sqrt((Math.exp(volatility * volatility * maturity) - 1) / numberOfPaths);
+		System.out.println("Mean of S_T: " + sum / numberOfPaths + ", exact value: " + initialValue
+				+ ", standard error: " + standardError);
+		System.out.println("Time: " + (end - start) / 1000000 + " ms, generated windows: "
+				+ increments.getNumberOfGeneratedWindows());
+		System.out.println("Memory of the windows: " + 8L * windowLength * maximumNumberOfWindows * numberOfPaths / (1 << 20)
+				+ " MB, memory of all the increments: " + 8L * numberOfTimeSteps * numberOfPaths / (1 << 20) + " MB");
+	}
+}
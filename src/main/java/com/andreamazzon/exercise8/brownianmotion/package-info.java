@@ -1,6 +1,10 @@
 /**
  * In this package we see a first example of simulations of stochastic processes.
- * We create and test an n-dimensional Brownian motion.
+ * We create and test an n-dimensional Brownian motion. Its paths can be built by
+ * the increments or by the Brownian bridge, and from pseudo random numbers or
+ * from a low discrepancy sequence, through a StandardNormalVectorSource. Its
+ * factors can also be correlated, see CorrelatedBrownianMotion, and its
+ * increments can be generated by windows of time steps when they are needed,
+ * see WindowedBrownianIncrements.
  */
 package com.andreamazzon.exercise8.brownianmotion;
-
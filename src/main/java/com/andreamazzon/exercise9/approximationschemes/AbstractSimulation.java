@@ -1,10 +1,18 @@
 package com.andreamazzon.exercise9.approximationschemes;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.DoubleUnaryOperator;
 
+import net.finmath.functions.NormalDistribution;
 import net.finmath.montecarlo.BrownianMotion;
 import net.finmath.montecarlo.BrownianMotionFromMersenneRandomNumbers;
 import net.finmath.montecarlo.RandomVariableFromDoubleArray;
+import net.finmath.randomnumbers.MersenneTwister;
 import net.finmath.stochastic.RandomVariable;
 import net.finmath.time.TimeDiscretization;
 
@@ -21,6 +29,27 @@ import net.finmath.time.TimeDiscretization;
  * We want to simulate
  * dX_t=\mu(t,X_t)dt+\sigma(t,X_t)dW_t
  *
+ * The way in which the paths are generated is given by a KernelConfiguration, see setKernelConfiguration.
+ * The subclasses which implement ScalarSchemeCoefficients also give the drift and the diffusion path by
+ * path, as doubles. For them, the process can be generated by the fused kernel, which uses these scalar
+ * versions: every path is advanced in a loop over doubles, without creating RandomVariable objects. The
+ * Brownian increments are drawn there by a Mersenne Twister in the same order as the ones of the finmath
+ * BrownianMotionFromMersenneRandomNumbers used otherwise, i.e., path after path and, for every path, time
+ * after time: so the realizations are the same in the two cases, and the only arrays allocated are the ones
+ * storing them.
+ *
+ * The fused kernel can also be run in parallel. In this case the paths are split in chunks of fixed size,
+ * and every chunk is generated by a task of a ForkJoinPool with its own Mersenne Twister, whose seed is
+ * determined by the seed of the simulation and by the index of the chunk. The chunks do not depend on the
+ * number of threads, so neither do the realizations. They are however different from the ones obtained
+ * without the parallel kernel, where the Brownian increments are given by a finmath BrownianMotion.
+ *
+ * With the parallel kernel it is also possible to store only the realizations at some time indices,
+ * given in the kernel configuration, together with the ones at the last time: every chunk only keeps the
+ * realizations at the current time while going forward. The memory needed is then of order number of paths
+ * times number of stored times, instead of number of paths times number of times. The stored realizations
+ * are the same as the ones of the parallel kernel storing all the paths.
+ *
  * @author Andrea Mazzon
  *
  */
@@ -51,6 +80,25 @@ public abstract class AbstractSimulation {
 	protected DoubleUnaryOperator transform;
 	protected DoubleUnaryOperator inverseTransform;//log for log Euler
 
+	//how the paths are generated: by default, by operations on RandomVariable objects
+	private KernelConfiguration kernelConfiguration = KernelConfiguration.randomVariableOperations();
+
+	//true if the process is generated by the scalar versions of drift and diffusion
+	private boolean useFusedKernel;
+
+	//true if the chunks of paths are generated in parallel by the fused kernel
+	private boolean useParallelKernel;
+	private int numberOfThreads = 1;
+
+	/*
+	 * if not null, only the realizations at these time indices (and at the last time) are stored. This is
+	 * possible only with the parallel kernel.
+	 */
+	private int[] timeIndicesToStore;
+
+	//it must not depend on the number of threads, otherwise the realizations would do so
+	private static final int NUMBER_OF_PATHS_PER_CHUNK = 4096;
+
 	/*
 	 * they of course depend on the process and on the scheme. We suppose that the drift
 	 * and the diffusion are functions of the process and of the time.
@@ -58,10 +106,30 @@ public abstract class AbstractSimulation {
 	protected abstract RandomVariable getDrift(RandomVariable lastRealization, int timeIndex);
 	protected abstract RandomVariable getDiffusion(RandomVariable lastRealization, int timeIndex);
 
+	/*
+	 * it returns this object as ScalarSchemeCoefficients, which is needed by the fused and the parallel
+	 * kernels
+	 */
+	private ScalarSchemeCoefficients getScalarSchemeCoefficients() {
+		if (!(this instanceof ScalarSchemeCoefficients)) {
+			throw new IllegalStateException("The fused and the parallel kernels can only be used by subclasses "
+					+ "implementing ScalarSchemeCoefficients.");
+		}
+		return (ScalarSchemeCoefficients) this;
+	}
+
 	/*
 	 * it actually generates the process
 	 */
 	private void generate() {
+		if (useParallelKernel) {
+			generateWithParallelKernel();
+			return;
+		}
+		if (useFusedKernel) {
+			generateWithFusedKernel();
+			return;
+		}
 
 		final int numberOfTimes = times.getNumberOfTimes();
 
@@ -102,8 +170,175 @@ public abstract class AbstractSimulation {
 		}
 	}
 
+	/*
+	 * it generates the process path by path with the scalar versions of drift and diffusion. The Brownian
+	 * increments are drawn in the same order as in BrownianMotionFromMersenneRandomNumbers, with the same
+	 * seed: the i-th path uses the numbers from i*(numberOfTimes-1) to (i+1)*(numberOfTimes-1)-1. The only
+	 * arrays allocated are the ones where the realizations are stored.
+	 */
+	private void generateWithFusedKernel() {
+		final ScalarSchemeCoefficients coefficients = getScalarSchemeCoefficients();
+		final int numberOfTimes = times.getNumberOfTimes();
+
+		final double[] volatilities = new double[numberOfTimes - 1];
+		for (int timeIndex = 0; timeIndex < numberOfTimes - 1; timeIndex++) {
+			volatilities[timeIndex] = Math.sqrt(times.getTimeStep(timeIndex));
+		}
+		final double[][] realizations = new double[numberOfTimes][numberOfSimulations];
+
+		final MersenneTwister mersenneTwister = new MersenneTwister(seed);
+		for (int pathIndex = 0; pathIndex < numberOfSimulations; pathIndex++) {
+			double lastRealization = initialValue;
+			for (int timeIndex = 1; timeIndex < numberOfTimes; timeIndex++) {
+				final double brownianIncrement = NormalDistribution.inverseCumulativeDistribution(
+						mersenneTwister.nextDoubleFast()) * volatilities[timeIndex - 1];
+				// same order of the operations as in generate(), so that we get exactly the same numbers
+				lastRealization = transform.applyAsDouble(inverseTransform.applyAsDouble(lastRealization)
+						+ coefficients.getDrift(lastRealization, timeIndex)
+						+ coefficients.getDiffusion(lastRealization, brownianIncrement, timeIndex));
+				realizations[timeIndex][pathIndex] = lastRealization;
+			}
+		}
+
+		paths = new RandomVariable[numberOfTimes];
+		paths[0] = new RandomVariableFromDoubleArray(times.getTime(0), initialValue);
+		for (int timeIndex = 1; timeIndex < numberOfTimes; timeIndex++) {
+			paths[timeIndex] = new RandomVariableFromDoubleArray(times.getTime(timeIndex), realizations[timeIndex]);
+		}
+	}
+
+	/*
+	 * it generates the process by the fused kernel, with the paths split in chunks which are generated in
+	 * parallel. The Brownian motion field is not used here: every chunk draws its own increments.
+	 */
+	private void generateWithParallelKernel() {
+		getScalarSchemeCoefficients();// it fails here, and not in the tasks, if the subclass does not support it
+
+		final int numberOfTimes = times.getNumberOfTimes();
+
+		final double[] volatilities = new double[numberOfTimes - 1];
+		for (int timeIndex = 0; timeIndex < numberOfTimes - 1; timeIndex++) {
+			volatilities[timeIndex] = Math.sqrt(times.getTimeStep(timeIndex));
+		}
+
+		/*
+		 * every chunk writes the realizations of its paths here. If some row is null, the realizations at
+		 * that time are not stored.
+		 */
+		final double[][] realizations = new double[numberOfTimes][];
+		for (int timeIndex = 1; timeIndex < numberOfTimes; timeIndex++) {
+			if (isTimeIndexStored(timeIndex)) {
+				realizations[timeIndex] = new double[numberOfSimulations];
+			}
+		}
+
+		/*
+		 * the seeds of the chunks are drawn here, in the order of the chunks, so that they only depend on
+		 * the seed of the simulation
+		 */
+		final int numberOfChunks = (numberOfSimulations + NUMBER_OF_PATHS_PER_CHUNK - 1) / NUMBER_OF_PATHS_PER_CHUNK;
+		final SplittableRandom seedGenerator = new SplittableRandom(seed);
+		final long[] chunkSeeds = new long[numberOfChunks];
+		for (int chunkIndex = 0; chunkIndex < numberOfChunks; chunkIndex++) {
+			chunkSeeds[chunkIndex] = seedGenerator.nextLong();
+		}
+
+		final ForkJoinPool pool = new ForkJoinPool(numberOfThreads);
+		try {
+			final List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+			for (int chunkIndex = 0; chunkIndex < numberOfChunks; chunkIndex++) {
+				final int firstPath = chunkIndex * NUMBER_OF_PATHS_PER_CHUNK;
+				final int lastPath = Math.min(firstPath + NUMBER_OF_PATHS_PER_CHUNK, numberOfSimulations);
+				final long chunkSeed = chunkSeeds[chunkIndex];
+				tasks.add(pool.submit(() -> generateChunk(firstPath, lastPath, chunkSeed, volatilities, realizations)));
+			}
+			for (final ForkJoinTask<?> task : tasks) {
+				task.join();// it rethrows the exception if the task has failed
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		paths = new RandomVariable[numberOfTimes];
+		paths[0] = new RandomVariableFromDoubleArray(times.getTime(0), initialValue);
+		for (int timeIndex = 1; timeIndex < numberOfTimes; timeIndex++) {
+			if (realizations[timeIndex] != null) {
+				paths[timeIndex] = new RandomVariableFromDoubleArray(times.getTime(timeIndex), realizations[timeIndex]);
+			}
+		}
+	}
+
+	/*
+	 * it generates the paths from firstPath (included) to lastPath (excluded), going forward in time. The
+	 * Brownian increments are drawn time after time by a Mersenne Twister with the given seed. Only the
+	 * realizations at the current time are kept here: they are copied in realizations if the row is not null.
+	 */
+	private void generateChunk(int firstPath, int lastPath, long chunkSeed, double[] volatilities,
+			double[][] realizations) {
+		final ScalarSchemeCoefficients coefficients = getScalarSchemeCoefficients();
+		final MersenneTwister mersenneTwister = new MersenneTwister(chunkSeed);
+		final double[] lastRealizations = new double[lastPath - firstPath];
+		Arrays.fill(lastRealizations, initialValue);
+
+		for (int timeIndex = 1; timeIndex < times.getNumberOfTimes(); timeIndex++) {
+			final double volatility = volatilities[timeIndex - 1];
+			final double[] newRealizations = realizations[timeIndex];
+			for (int pathIndex = firstPath; pathIndex < lastPath; pathIndex++) {
+				final double brownianIncrement = NormalDistribution.inverseCumulativeDistribution(
+						mersenneTwister.nextDoubleFast()) * volatility;
+				final double lastRealization = lastRealizations[pathIndex - firstPath];
+				final double newRealization = transform.applyAsDouble(inverseTransform.applyAsDouble(lastRealization)
+						+ coefficients.getDrift(lastRealization, timeIndex)
+						+ coefficients.getDiffusion(lastRealization, brownianIncrement, timeIndex));
+				lastRealizations[pathIndex - firstPath] = newRealization;
+			}
+			if (newRealizations != null) {
+				System.arraycopy(lastRealizations, 0, newRealizations, firstPath, lastPath - firstPath);
+			}
+		}
+	}
+
+	/**
+	 * It sets the way in which the paths are generated. It must be called before the paths are generated.
+	 * @param kernelConfiguration, the configuration of the kernel generating the paths
+	 * @throws IllegalStateException, if the paths have already been generated, or if the configuration
+	 * uses the fused kernel and the class does not implement ScalarSchemeCoefficients
+	 * @throws IllegalArgumentException, if some of the time indices to store is not an index of the time
+	 * discretization
+	 */
+	public void setKernelConfiguration(KernelConfiguration kernelConfiguration) {
+		if (paths != null) {
+			throw new IllegalStateException("The paths have already been generated.");
+		}
+		if (kernelConfiguration.isFusedKernelUsed()) {
+			getScalarSchemeCoefficients();
+		}
+		final int[] timeIndices = kernelConfiguration.getTimeIndicesToStore();
+		if (timeIndices != null) {
+			for (final int timeIndex : timeIndices) {
+				if (timeIndex < 0 || timeIndex >= times.getNumberOfTimes()) {
+					throw new IllegalArgumentException("The time index to store " + timeIndex
+							+ " is not between 0 and " + (times.getNumberOfTimes() - 1) + ".");
+				}
+			}
+		}
+		this.kernelConfiguration = kernelConfiguration;
+		useFusedKernel = kernelConfiguration.isFusedKernelUsed();
+		useParallelKernel = kernelConfiguration.isParallelKernelUsed();
+		numberOfThreads = kernelConfiguration.getNumberOfThreads();
+		timeIndicesToStore = kernelConfiguration.getTimeIndicesToStore();
+	}
+
 	//getters
 
+	/**
+	 * It returns the way in which the paths are generated
+	 * @return the configuration of the kernel generating the paths
+	 */
+	public KernelConfiguration getKernelConfiguration() {
+		return kernelConfiguration;
+	}
+
 	/**
 	 * It gets the initial value of the process, as a double
 	 * @return  the initial value of the process
@@ -144,12 +379,61 @@ public abstract class AbstractSimulation {
 		return numberOfSimulations;
 	}
 
+	/**
+	 * It returns true if the process is generated by the fused kernel, i.e., path by path with the scalar
+	 * versions of drift and diffusion, false if it is generated by operations on RandomVariable objects
+	 * @return true if the process is generated by the fused kernel
+	 */
+	public boolean isFusedKernelUsed() {
+		return useFusedKernel;
+	}
+
+	/**
+	 * It returns true if the chunks of paths are generated in parallel by the fused kernel
+	 * @return true if the paths are generated in parallel
+	 */
+	public boolean isParallelKernelUsed() {
+		return useParallelKernel;
+	}
+
+	/**
+	 * It returns the number of threads used to generate the paths by the parallel kernel
+	 * @return the number of threads used by the parallel kernel
+	 */
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	/**
+	 * It returns true if the realizations of the process at the given time index are stored. This is
+	 * always the case, unless some time indices to store have been given in the kernel configuration.
+	 * @param timeIndex, index of the time considered
+	 * @return true if the realizations at the given time index are stored
+	 */
+	public boolean isTimeIndexStored(int timeIndex) {
+		if (timeIndicesToStore == null || timeIndex == 0 || timeIndex == times.getNumberOfTimes() - 1) {
+			return true;
+		}
+		for (final int timeIndexToStore : timeIndicesToStore) {
+			if (timeIndexToStore == timeIndex) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * It returns the vector of random variables with the realizations of the process.
 	 * It generates the process only if this has not already done.
 	 * @return paths, vector of random variables with the realizations of the process.
+	 * @throws IllegalStateException, in streaming mode, i.e., if only the realizations at some time indices
+	 * are stored
 	 */
 	public RandomVariable[] getPaths() {
+		if (timeIndicesToStore != null) {
+			throw new IllegalStateException("In streaming mode the paths are not stored: only the realizations "
+					+ "at the time indices given in the kernel configuration can be returned.");
+		}
 		if (paths == null) {
 			generate();
 		}
@@ -161,8 +445,13 @@ public abstract class AbstractSimulation {
 	 * It generates the process only if this has not already done.
 	 * @param timeInstant, index of the time considered
 	 * @return paths, vector of random variables with the realizations of the process.
+	 * @throws IllegalArgumentException, if the realizations at the given time index are not stored
 	 */
 	public RandomVariable getProcessAtGivenTimeIndex(int timeIndex) { //return the whole realisation at time t
+		if (!isTimeIndexStored(timeIndex)) {
+			throw new IllegalArgumentException("The realizations at the time index " + timeIndex
+					+ " are not stored: it must be given in the kernel configuration.");
+		}
 		if (paths == null) {
 			generate();
 		}
@@ -182,6 +471,7 @@ public abstract class AbstractSimulation {
 	 * It returns a vector of doubles representing a path of the process for a given simulation.
 	 * @param pathNumber, index of the simulation we consider
 	 * @return the path of the process for the given simulation index
+	 * @throws IllegalStateException, in streaming mode, since the paths are not stored
 	 */
 	public double[] getPathForGivenSimulation(int pathNumber) {
 		final RandomVariable[] pathAsRandomVariables = getPaths();
@@ -196,6 +486,7 @@ public abstract class AbstractSimulation {
 	/**
 	 * It prints a vector of doubles representing a path of the process for a given simulation.
 	 * @param pathNumber, index of the simulation we consider
+	 * @throws IllegalStateException, in streaming mode, since the paths are not stored
 	 */
 	public void printAPath(int pathNumber) {
 		final double[] samplePath = getPathForGivenSimulation(pathNumber);
@@ -10,7 +10,7 @@ import net.finmath.time.TimeDiscretization;
  *
  * @author Andrea Mazzon
  */
-public class EulerSchemeForBlackScholes extends AbstractSimulation {
+public class EulerSchemeForBlackScholes extends AbstractSimulation implements ScalarSchemeCoefficients {
 
 	private final double muDrift;//mu
 	private final double sigmaVolatility;//sigma
@@ -49,5 +49,22 @@ public class EulerSchemeForBlackScholes extends AbstractSimulation {
 		return lastRealization.mult(sigmaVolatility).mult(brownianIncrement);
 	}
 
+	/*
+	 * The drift mu*S_{t_{k-1}}*(t_k-t_{k-1}) for a single path.
+	 */
+	@Override
+	public double getDrift(double lastRealization, int timeIndex) {
+		final double timeStep = times.getTimeStep(timeIndex - 1);
+		return lastRealization * muDrift * timeStep;
+	}
+
+	/*
+	 * The diffusion sigma*S_{t_{k-1}}*(W_{t_k}-W_{t_{k-1}) for a single path.
+	 */
+	@Override
+	public double getDiffusion(double lastRealization, double brownianIncrement, int timeIndex) {
+		return lastRealization * sigmaVolatility * brownianIncrement;
+	}
+
 }
 
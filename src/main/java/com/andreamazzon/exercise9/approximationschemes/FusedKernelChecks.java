@@ -0,0 +1,76 @@
+package com.andreamazzon.exercise9.approximationschemes;
+
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * This class has a main method which checks that the fused kernel of AbstractSimulation gives the same
+ * paths as the generation based on operations on RandomVariable objects, for the Euler, log Euler and
+ * Milstein schemes, and compares the time needed by the two.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class FusedKernelChecks {
+
+	public static void main(String[] args) {
+
+		final int numberOfSimulations = 20000;//number of simulated paths
+
+		final double initialPrice = 100.0;
+		final double riskFreeRate = 0.04;
+		final double volatility = 0.25;
+
+		//time discretization
+		final double initialTime = 0;
+		final double timeHorizon = 1.0;
+		final int numberOfTimeSteps = 500;
+		final double delta = timeHorizon / numberOfTimeSteps;
+		final TimeDiscretization times = new TimeDiscretizationFromArray(initialTime,
+				numberOfTimeSteps, delta);
+
+		final int seed = 1897;
+
+		final AbstractSimulation[] withRandomVariables = {
+				new EulerSchemeForBlackScholes(numberOfSimulations, volatility, riskFreeRate, initialPrice, seed, times),
+				new LogEulerSchemeForBlackScholes(numberOfSimulations, volatility, riskFreeRate, initialPrice, seed, times),
+				new MilsteinSchemeForBlackScholes(numberOfSimulations, volatility, riskFreeRate, initialPrice, seed, times)
+		};
+
+		final AbstractSimulation[] withFusedKernel = {
+				new EulerSchemeForBlackScholes(numberOfSimulations, volatility, riskFreeRate, initialPrice, seed, times),
+				new LogEulerSchemeForBlackScholes(numberOfSimulations, volatility, riskFreeRate, initialPrice, seed, times),
+				new MilsteinSchemeForBlackScholes(numberOfSimulations, volatility, riskFreeRate, initialPrice, seed, times)
+		};
+		for (final AbstractSimulation simulation : withFusedKernel) {
+			simulation.setKernelConfiguration(KernelConfiguration.fusedKernel());
+		}
+
+		final String[] names = { "Euler", "log Euler", "Milstein" };
+
+		for (int schemeIndex = 0; schemeIndex < names.length; schemeIndex++) {
+
+			long start = System.currentTimeMillis();
+			withRandomVariables[schemeIndex].getPaths();
+			final long timeWithRandomVariables = System.currentTimeMillis() - start;
+
+			start = System.currentTimeMillis();
+			withFusedKernel[schemeIndex].getPaths();
+			final long timeWithFusedKernel = System.currentTimeMillis() - start;
+
+			//maximum difference between the two simulations, over all the times and all the paths
+			double maximumDifference = 0;
+			for (int timeIndex = 0; timeIndex < times.getNumberOfTimes(); timeIndex++) {
+				maximumDifference = Math.max(maximumDifference,
+						withRandomVariables[schemeIndex].getProcessAtGivenTimeIndex(timeIndex)
+						.sub(withFusedKernel[schemeIndex].getProcessAtGivenTimeIndex(timeIndex)).abs().getMax());
+			}
+
+			System.out.println(names[schemeIndex] + " scheme");
+			System.out.println("Maximum difference between the two generations: " + maximumDifference);
+			System.out.println("Time with RandomVariable operations: " + timeWithRandomVariables + " ms");
+			System.out.println("Time with the fused kernel: " + timeWithFusedKernel + " ms");
+			System.out.println();
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.andreamazzon.exercise9.approximationschemes;
+
+/**
+ * This class describes how the paths of an AbstractSimulation are generated:
+ * - by operations on RandomVariable objects, which is the default;
+ * - by the fused kernel, which advances the paths in loops over doubles;
+ * - by the parallel kernel, which runs the fused kernel on chunks of paths in
+ * parallel, with a given number of threads, possibly storing only the
+ * realizations at some time indices and at the last time.
+ * The objects are created by the static methods of the class, and cannot be
+ * modified. See AbstractSimulation for the details.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public final class KernelConfiguration {
+
+	private final boolean useFusedKernel;
+	private final boolean useParallelKernel;
+	private final int numberOfThreads;
+	private final int[] timeIndicesToStore;// null if all the realizations are stored
+
+	private KernelConfiguration(boolean useFusedKernel, boolean useParallelKernel, int numberOfThreads,
+			int[] timeIndicesToStore) {
+		this.useFusedKernel = useFusedKernel;
+		this.useParallelKernel = useParallelKernel;
+		this.numberOfThreads = numberOfThreads;
+		this.timeIndicesToStore = timeIndicesToStore;
+	}
+
+	/**
+	 * It returns the configuration where the paths are generated by operations on
+	 * RandomVariable objects
+	 *
+	 * @return the default configuration
+	 */
+	public static KernelConfiguration randomVariableOperations() {
+		return new KernelConfiguration(false, false, 1, null);
+	}
+
+	/**
+	 * It returns the configuration where the paths are generated by the fused
+	 * kernel, by the calling thread
+	 *
+	 * @return the configuration of the fused kernel
+	 */
+	public static KernelConfiguration fusedKernel() {
+		return new KernelConfiguration(true, false, 1, null);
+	}
+
+	/**
+	 * It returns the configuration where the paths are generated by the parallel
+	 * kernel and all the realizations are stored
+	 *
+	 * @param numberOfThreads, the number of threads generating the chunks of
+	 *                         paths
+	 * @return the configuration of the parallel kernel
+	 */
+	public static KernelConfiguration parallelKernel(int numberOfThreads) {
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("The number of threads must be positive.");
+		}
+		return new KernelConfiguration(true, true, numberOfThreads, null);
+	}
+
+	/**
+	 * It returns the configuration where the paths are generated by the parallel
+	 * kernel and only the realizations at the given time indices, at time zero
+	 * and at the last time are stored
+	 *
+	 * @param numberOfThreads,    the number of threads generating the chunks of
+	 *                            paths
+	 * @param timeIndicesToStore, the time indices whose realizations are stored
+	 * @return the configuration of the parallel kernel
+	 */
+	public static KernelConfiguration parallelKernel(int numberOfThreads, int[] timeIndicesToStore) {
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("The number of threads must be positive.");
+		}
+		return new KernelConfiguration(true, true, numberOfThreads, timeIndicesToStore.clone());
+	}
+
+	/**
+	 * @return true if the paths are generated by the fused kernel, also in
+	 *         parallel
+	 */
+	public boolean isFusedKernelUsed() {
+		return useFusedKernel;
+	}
+
+	/**
+	 * @return true if the chunks of paths are generated in parallel
+	 */
+	public boolean isParallelKernelUsed() {
+		return useParallelKernel;
+	}
+
+	/**
+	 * @return the number of threads used by the parallel kernel
+	 */
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	/**
+	 * @return a copy of the time indices whose realizations are stored, or null
+	 *         if all of them are stored
+	 */
+	public int[] getTimeIndicesToStore() {
+		return timeIndicesToStore == null ? null : timeIndicesToStore.clone();
+	}
+}
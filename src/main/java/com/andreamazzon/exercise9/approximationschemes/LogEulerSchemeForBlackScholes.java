@@ -13,7 +13,7 @@ import net.finmath.time.TimeDiscretization;
  *
  * @author Andrea Mazzon
  */
-public class LogEulerSchemeForBlackScholes extends AbstractSimulation {
+public class LogEulerSchemeForBlackScholes extends AbstractSimulation implements ScalarSchemeCoefficients {
 
 	private final double muDrift;//mu
 	private final double sigmaVolatility;//sigma
@@ -57,4 +57,20 @@ public class LogEulerSchemeForBlackScholes extends AbstractSimulation {
 		final RandomVariable brownianIncrement = brownianMotion.getBrownianIncrement(timeIndex - 1, 0);
 		return brownianIncrement.mult(sigmaVolatility);
 	}
+
+	/*
+	 * The drift (mu-sigma^2/2)*(t_k-t_{k-1}) of the logarithm, which is the same for all the paths.
+	 */
+	@Override
+	public double getDrift(double lastRealization, int timeIndex) {
+		return (muDrift-0.5*sigmaVolatility*sigmaVolatility)*(times.getTimeStep(timeIndex - 1));
+	}
+
+	/*
+	 * The diffusion sigma*(W_{t_k}-W_{t_{k-1}) of the logarithm for a single path.
+	 */
+	@Override
+	public double getDiffusion(double lastRealization, double brownianIncrement, int timeIndex) {
+		return brownianIncrement * sigmaVolatility;
+	}
 }
@@ -10,7 +10,7 @@ import net.finmath.time.TimeDiscretization;
  *
  * @author Andrea Mazzon
  */
-public class MilsteinSchemeForBlackScholes extends AbstractSimulation {
+public class MilsteinSchemeForBlackScholes extends AbstractSimulation implements ScalarSchemeCoefficients {
 
 	private final double muDrift;//mu
 	private final double sigmaVolatility;//sigma
@@ -50,4 +50,25 @@ public class MilsteinSchemeForBlackScholes extends AbstractSimulation {
 				.mult(sigmaVolatility*sigmaVolatility*0.5);
 		return linearTerm.add(adjustment);
 	}
+
+	/*
+	 * The drift mu*S_{t_{k-1}}*(t_k-t_{k-1}) for a single path.
+	 */
+	@Override
+	public double getDrift(double lastRealization, int timeIndex) {
+		final double timeStep = times.getTimeStep(timeIndex - 1);
+		return lastRealization * muDrift * timeStep;
+	}
+
+	/*
+	 * The diffusion of the Milstein scheme for a single path, with the operations in the same order as above.
+	 */
+	@Override
+	public double getDiffusion(double lastRealization, double brownianIncrement, int timeIndex) {
+		final double timeStep = times.getTimeStep(timeIndex - 1);
+		final double linearTerm = lastRealization * sigmaVolatility * brownianIncrement;
+		final double adjustment = (brownianIncrement * brownianIncrement - timeStep) * lastRealization
+				* (sigmaVolatility*sigmaVolatility*0.5);
+		return linearTerm + adjustment;
+	}
 }
@@ -0,0 +1,82 @@
+package com.andreamazzon.exercise9.approximationschemes;
+
+import net.finmath.functions.AnalyticFormulas;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * This class has a main method which checks that the paths generated by the parallel kernel of
+ * AbstractSimulation do not depend on the number of threads, and compares the time needed for different
+ * numbers of threads. It also prints the price of a call option computed with the parallel kernel,
+ * together with the analytic one.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class ParallelKernelChecks {
+
+	public static void main(String[] args) {
+
+		final int numberOfSimulations = 100000;//number of simulated paths
+
+		final double initialPrice = 100.0;
+		final double riskFreeRate = 0.04;
+		final double volatility = 0.25;
+
+		//time discretization
+		final double initialTime = 0;
+		final double timeHorizon = 1.0;//it is also the maturity of the option
+		final int numberOfTimeSteps = 100;
+		final double delta = timeHorizon / numberOfTimeSteps;
+		final TimeDiscretization times = new TimeDiscretizationFromArray(initialTime,
+				numberOfTimeSteps, delta);
+
+		final double strike = 100.0;
+
+		final int seed = 1897;
+
+		//at least up to 8 threads, in order to check the reproducibility also on small machines
+		final int maximumNumberOfThreads = Math.max(8, Runtime.getRuntime().availableProcessors());
+
+		//the paths generated with one thread are the benchmark
+		final AbstractSimulation singleThread = new LogEulerSchemeForBlackScholes(numberOfSimulations, volatility,
+				riskFreeRate, initialPrice, seed, times);
+		singleThread.setKernelConfiguration(KernelConfiguration.parallelKernel(1));
+
+		long start = System.currentTimeMillis();
+		singleThread.getPaths();
+		System.out.println("Time with 1 thread: " + (System.currentTimeMillis() - start) + " ms");
+
+		for (int numberOfThreads = 2; numberOfThreads <= maximumNumberOfThreads; numberOfThreads *= 2) {
+
+			final AbstractSimulation multiThread = new LogEulerSchemeForBlackScholes(numberOfSimulations,
+					volatility, riskFreeRate, initialPrice, seed, times);
+			multiThread.setKernelConfiguration(KernelConfiguration.parallelKernel(numberOfThreads));
+
+			start = System.currentTimeMillis();
+			multiThread.getPaths();
+			final long elapsedTime = System.currentTimeMillis() - start;
+
+			//maximum difference with respect to the single thread, over all the times and all the paths
+			double maximumDifference = 0;
+			for (int timeIndex = 0; timeIndex < times.getNumberOfTimes(); timeIndex++) {
+				maximumDifference = Math.max(maximumDifference, singleThread.getProcessAtGivenTimeIndex(timeIndex)
+						.sub(multiThread.getProcessAtGivenTimeIndex(timeIndex)).abs().getMax());
+			}
+
+			System.out.println("Time with " + numberOfThreads + " threads: " + elapsedTime + " ms. "
+					+ "Maximum difference with respect to 1 thread: " + maximumDifference);
+		}
+
+		System.out.println();
+
+		final double analyticCallValue = AnalyticFormulas.blackScholesOptionValue(initialPrice,
+				riskFreeRate, volatility, timeHorizon, strike);
+
+		final CallOption callOption = new CallOption(singleThread);
+
+		System.out.println("Analytical price of the call: " + analyticCallValue);
+		System.out.println("Price of the call with the parallel kernel: "
+				+ callOption.priceCall(strike, timeHorizon, riskFreeRate));
+	}
+}
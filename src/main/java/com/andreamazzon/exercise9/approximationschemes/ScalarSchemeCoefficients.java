@@ -0,0 +1,36 @@
+package com.andreamazzon.exercise9.approximationschemes;
+
+/**
+ * This interface is implemented by the subclasses of AbstractSimulation which
+ * can also give the drift and the diffusion of their scheme path by path, as
+ * doubles. Only these subclasses can be generated by the fused kernel of
+ * AbstractSimulation, which advances all the paths in loops over arrays of
+ * doubles.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public interface ScalarSchemeCoefficients {
+
+	/**
+	 * It returns the drift of the scheme for a single path
+	 *
+	 * @param lastRealization, the value of the process for the path at time
+	 *                         t_{k-1}
+	 * @param timeIndex,       the index k of the time t_k
+	 * @return the drift of the scheme for the path
+	 */
+	double getDrift(double lastRealization, int timeIndex);
+
+	/**
+	 * It returns the diffusion of the scheme for a single path
+	 *
+	 * @param lastRealization,   the value of the process for the path at time
+	 *                           t_{k-1}
+	 * @param brownianIncrement, the increment W_{t_k}-W_{t_{k-1}} of the same
+	 *                           path
+	 * @param timeIndex,         the index k of the time t_k
+	 * @return the diffusion of the scheme for the path
+	 */
+	double getDiffusion(double lastRealization, double brownianIncrement, int timeIndex);
+}
@@ -0,0 +1,76 @@
+package com.andreamazzon.exercise9.approximationschemes;
+
+import net.finmath.functions.AnalyticFormulas;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * This class has a main method which checks that, when only the realizations at some time indices are
+ * stored, these are the same as the ones we get when all the paths are stored. Then it computes the price
+ * of a call option with a number of paths and of time steps for which storing all the paths would need
+ * several gigabytes.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+public class StreamingChecks {
+
+	public static void main(String[] args) {
+
+		final double initialPrice = 100.0;
+		final double riskFreeRate = 0.04;
+		final double volatility = 0.25;
+
+		final double initialTime = 0;
+		final double timeHorizon = 1.0;//it is also the maturity of the option
+		final double strike = 100.0;
+
+		final int seed = 1897;
+		final int numberOfThreads = Runtime.getRuntime().availableProcessors();
+
+		//first check: same realizations at the stored times
+		int numberOfSimulations = 20000;
+		int numberOfTimeSteps = 100;
+		TimeDiscretization times = new TimeDiscretizationFromArray(initialTime,
+				numberOfTimeSteps, timeHorizon / numberOfTimeSteps);
+
+		final int[] timeIndicesToStore = { 25, 50 };
+
+		final AbstractSimulation allThePaths = new EulerSchemeForBlackScholes(numberOfSimulations, volatility,
+				riskFreeRate, initialPrice, seed, times);
+		allThePaths.setKernelConfiguration(KernelConfiguration.parallelKernel(numberOfThreads));
+		final AbstractSimulation someTimes = new EulerSchemeForBlackScholes(numberOfSimulations, volatility,
+				riskFreeRate, initialPrice, seed, times);
+		someTimes.setKernelConfiguration(KernelConfiguration.parallelKernel(numberOfThreads, timeIndicesToStore));
+
+		for (final int timeIndex : new int[] { 25, 50, numberOfTimeSteps }) {
+			final double maximumDifference = allThePaths.getProcessAtGivenTimeIndex(timeIndex)
+					.sub(someTimes.getProcessAtGivenTimeIndex(timeIndex)).abs().getMax();
+			System.out.println("Maximum difference at time index " + timeIndex + ": " + maximumDifference);
+		}
+
+		System.out.println("Is the time index 30 stored? " + someTimes.isTimeIndexStored(30));
+
+		System.out.println();
+
+		//second check: many paths and time steps, only the final value is stored
+		numberOfSimulations = 1000000;
+		numberOfTimeSteps = 1000;
+		times = new TimeDiscretizationFromArray(initialTime, numberOfTimeSteps, timeHorizon / numberOfTimeSteps);
+
+		final AbstractSimulation onlyFinalValue = new LogEulerSchemeForBlackScholes(numberOfSimulations,
+				volatility, riskFreeRate, initialPrice, seed, times);
+		onlyFinalValue.setKernelConfiguration(KernelConfiguration.parallelKernel(numberOfThreads, new int[] {}));
+
+		final long start = System.currentTimeMillis();
+		final double price = new CallOption(onlyFinalValue).priceCall(strike, timeHorizon, riskFreeRate);
+		final long elapsedTime = System.currentTimeMillis() - start;
+
+		System.out.println("Storing all the paths would need about "
+				+ (8L * numberOfSimulations * (numberOfTimeSteps + 1) >> 20) + " MB");
+		System.out.println("Price of the call with " + numberOfSimulations + " paths and " + numberOfTimeSteps
+				+ " time steps: " + price + ", computed in " + elapsedTime + " ms");
+		System.out.println("Analytical price of the call: " + AnalyticFormulas.blackScholesOptionValue(initialPrice,
+				riskFreeRate, volatility, timeHorizon, strike));
+	}
+}
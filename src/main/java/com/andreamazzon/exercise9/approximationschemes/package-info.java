@@ -2,5 +2,6 @@
  * In this package we deal with the simulation of a general stochastic process for a general scheme,
  * and as examples we see the simulation of a Black-Scholes model for Euler, log Euler, and Milstein
  * schemes. We then test the methods by computing the price of a call option.
+ * The paths can also be generated by a fused kernel working on arrays of doubles, possibly in parallel.
  */
 package com.andreamazzon.exercise9.approximationschemes;
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.andreamazzon.exercise3.montecarlo;
+
+import java.util.function.DoubleUnaryOperator;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.andreamazzon.exercise3.montecarlointegration.MonteCarloIntegrationGeneralFunction;
+import com.andreamazzon.exercise6.randomvariables.XoshiroRandomSource;
+
+/**
+ * This test class checks the mean and the variance given by BlockAccumulator
+ * against the ones computed directly, also for values with a big common part,
+ * and the standard error given by the Monte-Carlo integration.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class BlockAccumulatorTest {
+
+	@Test
+	void testMeanAndVariance() {
+		final int numberOfValues = 1003;// not a multiple of four
+		final double[] values = new double[numberOfValues];
+		for (int i = 0; i < numberOfValues; i++) {
+			values[i] = 1E9 + (i % 7);// a big common part: the naive formula for the variance fails
+		}
+		double mean = 0;
+		for (final double value : values) {
+			mean += (value - 1E9) / numberOfValues;
+		}
+		double variance = 0;
+		for (final double value : values) {
+			variance += (value - 1E9 - mean) * (value - 1E9 - mean) / (numberOfValues - 1);
+		}
+
+		// the values given in blocks of different sizes
+		final BlockAccumulator accumulator = new BlockAccumulator();
+		accumulator.add(values, 5);
+		final double[] rest = new double[numberOfValues - 5];
+		System.arraycopy(values, 5, rest, 0, rest.length);
+		accumulator.add(rest, rest.length);
+
+		Assert.assertEquals(numberOfValues, accumulator.getNumberOfValues());
+		Assert.assertEquals(1E9 + mean, accumulator.getMean(), 1E-12 * 1E9);
+		Assert.assertEquals(variance, accumulator.getVariance(), 1E-10);
+	}
+
+	@Test
+	void testStandardErrorOfTheIntegral() {
+		// the variance of U^2 with U uniform in [0,1] is 1/5-1/9
+		final DoubleUnaryOperator square = x -> x * x;
+		final int numberOfDrawings = 1000000;
+		final BlockAccumulator integral = new MonteCarloIntegrationGeneralFunction(square, 1, numberOfDrawings)
+				.computeIntegralWithError(new XoshiroRandomSource(1897));
+		final double exactStandardError = Math.sqrt((1.0 / 5 - 1.0 / 9) / numberOfDrawings);
+		Assert.assertEquals(exactStandardError, integral.getStandardError(), exactStandardError / 100);
+		Assert.assertEquals(1.0 / 3, integral.getMean(), 5 * exactStandardError);
+	}
+}
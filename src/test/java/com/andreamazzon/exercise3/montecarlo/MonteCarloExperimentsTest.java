@@ -0,0 +1,57 @@
+package com.andreamazzon.exercise3.montecarlo;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.andreamazzon.exercise3.montecarlointegration.MonteCarloIntegrationPowerFunction;
+import com.andreamazzon.exercise3.montecarlopi.MonteCarloPi;
+
+/**
+ * This test class checks that the Monte-Carlo computations run in parallel with
+ * a seed do not depend on the number of threads, and that the approximations
+ * computed by getComputationsAtCheckpoints are the ones given by the first
+ * drawings of the same sequences.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class MonteCarloExperimentsTest {
+
+	final int numberOfComputations = 20;
+	final int numberOfDrawings = 10000;
+	final long seed = 1897;
+
+	@Test
+	void testSameComputationsForDifferentNumbersOfThreads() {
+		final double[] oneThread = new MonteCarloPi(numberOfComputations, numberOfDrawings, 1, seed)
+				.getComputations();
+		final double[] fourThreads = new MonteCarloPi(numberOfComputations, numberOfDrawings, 4, seed)
+				.getComputations();
+		Assert.assertArrayEquals(oneThread, fourThreads, 0.0);
+
+		final double[] integralsOneThread = new MonteCarloIntegrationPowerFunction(2.0, numberOfComputations,
+				numberOfDrawings, 1, seed).getComputations();
+		final double[] integralsThreeThreads = new MonteCarloIntegrationPowerFunction(2.0, numberOfComputations,
+				numberOfDrawings, 3, seed).getComputations();
+		Assert.assertArrayEquals(integralsOneThread, integralsThreeThreads, 0.0);
+	}
+
+	@Test
+	void testDifferentStreamsForDifferentComputations() {
+		final double[] computations = new MonteCarloPi(numberOfComputations, numberOfDrawings, 2, seed)
+				.getComputations();
+		Assert.assertNotEquals(computations[0], computations[1], 0.0);
+	}
+
+	@Test
+	void testCheckpoints() {
+		final MonteCarloPi simulator = new MonteCarloPi(numberOfComputations, numberOfDrawings, 2, seed);
+		final double[][] computationsAtCheckpoints = simulator
+				.getComputationsAtCheckpoints(new int[] { 100, 1000, numberOfDrawings });
+		Assert.assertArrayEquals(simulator.getComputations(), computationsAtCheckpoints[2], 0.0);
+
+		final double[] computationsWithFewerDrawings = new MonteCarloPi(numberOfComputations, 1000, 3, seed)
+				.getComputations();
+		Assert.assertArrayEquals(computationsWithFewerDrawings, computationsAtCheckpoints[1], 0.0);
+	}
+}
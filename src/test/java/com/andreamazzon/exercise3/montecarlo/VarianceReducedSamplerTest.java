@@ -0,0 +1,58 @@
+package com.andreamazzon.exercise3.montecarlo;
+
+import java.util.function.ToDoubleFunction;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.andreamazzon.exercise3.montecarlopi.MonteCarloPi;
+import com.andreamazzon.exercise6.randomvariables.XoshiroRandomSource;
+
+/**
+ * This test class checks the sampling strategies of VarianceReducedSampler for
+ * a linear function, which antithetic points and a control variate given by
+ * the function itself integrate exactly, and the approximations of pi given by
+ * all the strategies.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class VarianceReducedSamplerTest {
+
+	@Test
+	void testLinearFunction() {
+		final int dimension = 3;
+		// f(x) = x_1 + 2 x_2 + 3 x_3, whose mean is 3
+		final ToDoubleFunction<double[]> function = point -> point[0] + 2 * point[1] + 3 * point[2];
+		final VarianceReducedSampler sampler = new VarianceReducedSampler(function, dimension, function, 3.0);
+
+		final EstimateWithStandardError antithetic = sampler.getMean(SamplingStrategies.ANTITHETIC, 1000,
+				new XoshiroRandomSource(1));
+		Assert.assertEquals(3.0, antithetic.getValue(), 1E-12);
+		Assert.assertEquals(0.0, antithetic.getStandardError(), 1E-6);
+
+		final EstimateWithStandardError withControlVariate = sampler.getMean(SamplingStrategies.CONTROLVARIATE, 1000,
+				new XoshiroRandomSource(1));
+		Assert.assertEquals(3.0, withControlVariate.getValue(), 1E-12);
+		Assert.assertEquals(0.0, withControlVariate.getStandardError(), 1E-6);
+
+		// a Latin hypercube sample integrates the additive functions much better than independent points
+		final EstimateWithStandardError crude = sampler.getMean(SamplingStrategies.CRUDE, 16000,
+				new XoshiroRandomSource(1));
+		final EstimateWithStandardError stratified = sampler.getMean(SamplingStrategies.STRATIFIED, 16000,
+				new XoshiroRandomSource(1));
+		Assert.assertEquals(3.0, stratified.getValue(), 5 * stratified.getStandardError());
+		Assert.assertTrue(stratified.getStandardError() < 0.01 * crude.getStandardError());
+	}
+
+	@Test
+	void testPi() {
+		final MonteCarloPi piComputer = new MonteCarloPi(1, 100000);
+		for (final SamplingStrategies strategy : SamplingStrategies.values()) {
+			final EstimateWithStandardError pi = piComputer.piMonteCarloWithStandardError(strategy,
+					new XoshiroRandomSource(7));
+			Assert.assertEquals(Math.PI, pi.getValue(), 5 * pi.getStandardError());
+			Assert.assertTrue(pi.getStandardError() < 0.006);
+		}
+	}
+}
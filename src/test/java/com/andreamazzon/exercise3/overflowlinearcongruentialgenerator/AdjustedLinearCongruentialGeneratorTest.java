@@ -0,0 +1,83 @@
+package com.andreamazzon.exercise3.overflowlinearcongruentialgenerator;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This test class checks that the methods fill and fillUniform of AdjustedLinearCongruentialGenerator
+ * give the same numbers as the sequence generated by getRandomNumberSequence(), also when they are called
+ * after getNextInteger(), and that getNextInteger() goes on with the same numbers after fill has passed
+ * the end of the stored sequence, also after more than Integer.MAX_VALUE numbers.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class AdjustedLinearCongruentialGeneratorTest {
+
+	final long seed = 2814749763100L;
+	final int numberOfPseudoRandomNumbers = 100000;
+
+	@Test
+	void testFill() {
+		final AdjustedLinearCongruentialGenerator generator = new AdjustedLinearCongruentialGenerator(
+				numberOfPseudoRandomNumbers, seed);
+		final long[] sequence = generator.getRandomNumberSequence();
+
+		final long firstNumber = generator.getNextInteger();// x[1]
+		Assert.assertEquals(sequence[1], firstNumber);
+
+		// x[2],...,x[numberOfPseudoRandomNumbers - 1000], with some space at the beginning of the array
+		final int length = numberOfPseudoRandomNumbers - 1001;
+		final long[] filled = new long[length + 5];
+		generator.fill(filled, 5, length);
+		for (int i = 0; i < length; i++) {
+			Assert.assertEquals(sequence[i + 2], filled[i + 5]);
+		}
+
+		final double[] uniforms = new double[1000];
+		generator.fillUniform(uniforms, 0, 1000);
+		for (int i = 0; i < 1000; i++) {
+			Assert.assertEquals(sequence[length + 2 + i] / (double) generator.getModulus(), uniforms[i], 0.0);
+		}
+	}
+
+	@Test
+	void testNextIntegerAfterTheEndOfTheSequence() {
+		final int numberOfStoredNumbers = 10;
+		final AdjustedLinearCongruentialGenerator generator = new AdjustedLinearCongruentialGenerator(
+				numberOfStoredNumbers, seed);
+		// the same numbers, all given by fill, longer than the stored sequence
+		final long[] expected = new long[3 * numberOfStoredNumbers];
+		new AdjustedLinearCongruentialGenerator(numberOfStoredNumbers, seed).fill(expected, 0, expected.length);
+
+		Assert.assertEquals(expected[0], generator.getNextInteger());// x[1], from the stored sequence
+		final long[] filled = new long[numberOfStoredNumbers + 5];
+		generator.fill(filled, 0, filled.length);// it goes past x[numberOfStoredNumbers]
+		for (int i = 0; i < filled.length; i++) {
+			Assert.assertEquals(expected[i + 1], filled[i]);
+		}
+		for (int i = filled.length + 1; i < expected.length; i++) {
+			Assert.assertEquals(expected[i], generator.getNextInteger());
+		}
+	}
+
+	@Test
+	void testNextIntegerAfterIntegerMaxValueNumbers() {
+		final int numberOfStoredNumbers = 10;
+		final long[] expected = new long[20];
+		new AdjustedLinearCongruentialGenerator(numberOfStoredNumbers, seed).fill(expected, 0, expected.length);
+
+		final AdjustedLinearCongruentialGenerator generator = new AdjustedLinearCongruentialGenerator(
+				numberOfStoredNumbers, seed);
+		// as if Integer.MAX_VALUE - 5 numbers had already been given: the numbers are the same
+		generator.setCount(Integer.MAX_VALUE - 5);
+		final long[] filled = new long[10];
+		generator.fill(filled, 0, filled.length);// the index of the next number goes past Integer.MAX_VALUE
+		for (int i = 0; i < filled.length; i++) {
+			Assert.assertEquals(expected[i], filled[i]);
+		}
+		for (int i = filled.length; i < expected.length; i++) {
+			Assert.assertEquals(expected[i], generator.getNextInteger());
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.andreamazzon.exercise3.overflowlinearcongruentialgenerator;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This test class checks that SkipAheadLinearCongruentialGenerator gives the same numbers as
+ * AdjustedLinearCongruentialGenerator, and that jumping ahead in the sequence gives the same numbers as
+ * going forward one step at a time.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class SkipAheadLinearCongruentialGeneratorTest {
+
+	final long seed = 2814749763100L;
+	final int numberOfPseudoRandomNumbers = 100000;
+
+	@Test
+	void testSameSequence() {
+		final long[] sequence = new AdjustedLinearCongruentialGenerator(numberOfPseudoRandomNumbers, seed)
+				.getRandomNumberSequence();
+		final SkipAheadLinearCongruentialGenerator generator = new SkipAheadLinearCongruentialGenerator(seed);
+		for (int i = 1; i <= numberOfPseudoRandomNumbers; i++) {
+			Assert.assertEquals(sequence[i], generator.getNextInteger());
+		}
+	}
+
+	@Test
+	void testSkipAhead() {
+		final SkipAheadLinearCongruentialGenerator generator = new SkipAheadLinearCongruentialGenerator(seed);
+		final long[] sequence = new long[numberOfPseudoRandomNumbers + 1];
+		sequence[0] = seed;
+		for (int i = 1; i <= numberOfPseudoRandomNumbers; i++) {
+			sequence[i] = generator.getNextInteger();
+		}
+
+		final SkipAheadLinearCongruentialGenerator jumpingGenerator = new SkipAheadLinearCongruentialGenerator(seed);
+		for (final int index : new int[] { 0, 1, 2, 1000, 65537, numberOfPseudoRandomNumbers }) {
+			Assert.assertEquals(sequence[index], jumpingGenerator.getIntegerAtIndex(index));
+		}
+
+		jumpingGenerator.skip(12344);
+		Assert.assertEquals(sequence[12345], jumpingGenerator.getNextInteger());
+
+		final SkipAheadLinearCongruentialGenerator substream = generator.getSubstream(3, 1000);
+		Assert.assertEquals(sequence[3001], substream.getNextInteger());
+	}
+}
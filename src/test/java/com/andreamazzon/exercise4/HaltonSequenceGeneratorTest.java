@@ -0,0 +1,48 @@
+package com.andreamazzon.exercise4;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This test class checks that the points given one after the other by the
+ * generators of the Halton and of the scrambled Halton sequence are the ones
+ * computed from their index, also after skipping to a given index.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class HaltonSequenceGeneratorTest {
+
+	final int[] base = HaltonSequence.getFirstPrimes(7);
+	final int numberOfPoints = 20000;
+
+	@Test
+	void testConsecutivePoints() {
+		final LowDiscrepancySequence[] sequences = { new HaltonSequence(base), new ScrambledHaltonSequence(base, 1897) };
+		for (final LowDiscrepancySequence sequence : sequences) {
+			final LowDiscrepancySequenceGenerator generator = sequence.getGenerator(0);
+			final double[] point = new double[base.length];
+			for (int i = 0; i < numberOfPoints; i++) {
+				generator.nextSamplePoint(point);
+				Assert.assertArrayEquals(sequence.getSamplePoint(i), point, 1E-15);
+			}
+			Assert.assertEquals(numberOfPoints, generator.getIndex());
+		}
+	}
+
+	@Test
+	void testSkipAndFill() {
+		final HaltonSequence sequence = new HaltonSequence(base);
+		final long firstIndex = 123456789L;
+		final LowDiscrepancySequenceGenerator generator = sequence.getGenerator(0);
+		generator.skipTo(firstIndex);
+		final double[][] points = new double[base.length][100];
+		generator.fill(points, 100);
+		for (int i = 0; i < 100; i++) {
+			for (int j = 0; j < base.length; j++) {
+				Assert.assertEquals(VanDerCorputSequence.getVanDerCorputNumber(firstIndex + i, base[j]), points[j][i],
+						1E-15);
+			}
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.andreamazzon.exercise4;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.andreamazzon.exercise6.randomvariables.RandomSource;
+import com.andreamazzon.exercise6.randomvariables.XoshiroRandomSource;
+
+/**
+ * This test class checks that the points drawn in blocks give the same
+ * approximation of pi as the points drawn one by one, and that the computations
+ * run in parallel do not depend on the number of threads.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class MonteCarloPiFromHypersphereTest {
+
+	@Test
+	void testBlocksAgainstSingleValues() {
+		final int dimension = 5;
+		final int numberOfPoints = 10000;// not a multiple of the size of the blocks
+		final MonteCarloPiFromHypersphere piComputer = new MonteCarloPiFromHypersphere(1, numberOfPoints, dimension);
+
+		final RandomSource randomSource = new XoshiroRandomSource(3);
+		double sumOfValues = 0;
+		for (int i = 0; i < numberOfPoints; i++) {
+			sumOfValues += piComputer.drawSingleValue(randomSource);
+		}
+		Assert.assertEquals(piComputer.getEstimateFromMean(sumOfValues / numberOfPoints),
+				piComputer.piMonteCarloGeneralDimension(new XoshiroRandomSource(3)), 0.0);
+	}
+
+	@Test
+	void testIndependenceFromNumberOfThreads() {
+		// more than one task for every computation
+		final int numberOfPoints = 200000;
+		final double[] computationsWithOneThread = new MonteCarloPiFromHypersphere(4, numberOfPoints, 3, 1, 1897)
+				.getComputations();
+		final double[] computationsWithThreeThreads = new MonteCarloPiFromHypersphere(4, numberOfPoints, 3, 3, 1897)
+				.getComputations();
+		Assert.assertArrayEquals(computationsWithOneThread, computationsWithThreeThreads, 0.0);
+		for (final double computation : computationsWithOneThread) {
+			Assert.assertEquals(Math.PI, computation, 0.05);
+		}
+	}
+}
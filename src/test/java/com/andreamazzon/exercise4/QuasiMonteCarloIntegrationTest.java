@@ -0,0 +1,66 @@
+package com.andreamazzon.exercise4;
+
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This test class checks the first points of the Sobol sequence, the
+ * stratification of its first 2^m points in every dimension, and that the
+ * randomized Quasi Monte-Carlo integration of a smooth function is close to the
+ * exact integral for all the types of sequences.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class QuasiMonteCarloIntegrationTest {
+
+	@Test
+	void testSobolSequence() {
+		final SobolSequence sobolSequence = new SobolSequence(SobolSequence.MAXIMUM_DIMENSION);
+		Assert.assertArrayEquals(new double[] { 0.75, 0.25, 0.25 },
+				Arrays.copyOf(sobolSequence.getSamplePoint(2), 3), 0.0);
+		Assert.assertArrayEquals(new double[] { 0.625, 0.125, 0.875 },
+				Arrays.copyOf(sobolSequence.getSamplePoint(6), 3), 0.0);
+
+		// every interval [k/2^m, (k+1)/2^m) contains exactly one of the first 2^m points
+		final int numberOfPoints = 1 << 10;
+		final double[] point = new double[SobolSequence.MAXIMUM_DIMENSION];
+		final int[][] numbersOfPointsInIntervals = new int[SobolSequence.MAXIMUM_DIMENSION][numberOfPoints];
+		for (int i = 0; i < numberOfPoints; i++) {
+			sobolSequence.fillSamplePoint(i, point);
+			for (int j = 0; j < point.length; j++) {
+				numbersOfPointsInIntervals[j][(int) (point[j] * numberOfPoints)]++;
+			}
+		}
+		for (final int[] numbersOfPointsInDimension : numbersOfPointsInIntervals) {
+			for (final int numberOfPointsInInterval : numbersOfPointsInDimension) {
+				Assert.assertEquals(1, numberOfPointsInInterval);
+			}
+		}
+	}
+
+	@Test
+	void testIntegralOfSmoothFunction() {
+		final int dimension = 5;
+		// f(x) = exp(x_1 + ... + x_d), whose integral is (e-1)^d
+		final ToDoubleFunction<double[]> integrand = point -> {
+			double sum = 0;
+			for (final double coordinate : point) {
+				sum += coordinate;
+			}
+			return Math.exp(sum);
+		};
+		final double exactResult = Math.pow(Math.E - 1, dimension);
+
+		for (final LowDiscrepancySequenceTypes type : LowDiscrepancySequenceTypes.values()) {
+			final QuasiMonteCarloIntegration integration = new QuasiMonteCarloIntegration(integrand, dimension, type,
+					16, 1 << 12, 2, 1897);
+			Assert.assertEquals(exactResult, integration.getAverageComputations(),
+					5 * integration.getStandardError());
+			Assert.assertEquals(exactResult, integration.getAverageComputations(), 1E-3 * exactResult);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.andreamazzon.exercise4;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This test class checks that the points given one after the other by the
+ * generator of the Sobol sequence are the ones computed from their index, also
+ * after skipping to a given index, and that the direction numbers read in the
+ * format of Joe and Kuo give the same sequence.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class SobolSequenceGeneratorTest {
+
+	final int dimension = SobolSequence.MAXIMUM_DIMENSION;
+
+	@Test
+	void testConsecutivePointsAndSkip() {
+		final SobolSequence sequence = new SobolSequence(dimension);
+		final LowDiscrepancySequenceGenerator generator = sequence.getGenerator(0);
+		final double[] point = new double[dimension];
+		for (int i = 0; i < 5000; i++) {
+			generator.nextSamplePoint(point);
+			Assert.assertArrayEquals(sequence.getSamplePoint(i), point, 0.0);
+		}
+
+		final int firstIndex = 1234567;
+		generator.skipTo(firstIndex);
+		final double[][] points = new double[dimension][300];
+		generator.fill(points, 300);
+		for (int i = 0; i < 300; i++) {
+			final double[] expectedPoint = sequence.getSamplePoint(firstIndex + i);
+			for (int j = 0; j < dimension; j++) {
+				Assert.assertEquals(expectedPoint[j], points[j][i], 0.0);
+			}
+		}
+		Assert.assertEquals(firstIndex + 300, generator.getIndex());
+	}
+
+	@Test
+	void testJoeKuoDirectionNumbers() throws IOException {
+		final String directionNumbers = "d       s       a       m_i\n"
+				+ "2       1       0       1\n"
+				+ "3       2       1       1 3\n"
+				+ "4       3       1       1 3 1\n"
+				+ "5       3       2       1 1 1\n";
+		final SobolSequence sequenceFromFile = SobolSequence
+				.fromJoeKuoDirectionNumbers(new BufferedReader(new StringReader(directionNumbers)), 5);
+		final SobolSequence sequence = new SobolSequence(5);
+		for (int i = 0; i < 1000; i++) {
+			Assert.assertArrayEquals(sequence.getSamplePoint(i), sequenceFromFile.getSamplePoint(i), 0.0);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.andreamazzon.exercise5.discrepancy;
+
+import java.util.concurrent.CancellationException;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.andreamazzon.exercise4.HaltonSequence;
+import com.andreamazzon.exercise6.randomvariables.XoshiroRandomSource;
+
+/**
+ * This test class checks the exact star discrepancy in dimension one against
+ * DiscrepancyOneDimension and in dimension two against the maximum of the local
+ * discrepancies, the L2 star discrepancy against a numerical integration, the
+ * lower bound against the exact star discrepancy, and the cancellation.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class DiscrepancyMultiDimensionTest {
+
+	@Test
+	void testExactStarDiscrepancy() {
+		final XoshiroRandomSource randomSource = new XoshiroRandomSource(1897);
+		final double[] oneDimensionalSet = new double[50];
+		final double[][] oneDimensionalPoints = new double[50][1];
+		for (int i = 0; i < oneDimensionalSet.length; i++) {
+			oneDimensionalSet[i] = randomSource.nextDouble();
+			oneDimensionalPoints[i][0] = oneDimensionalSet[i];
+		}
+		Assert.assertEquals(DiscrepancyOneDimension.getStarDiscrepancy(oneDimensionalSet),
+				new DiscrepancyMultiDimension(oneDimensionalPoints, 1).getStarDiscrepancy(), 1E-15);
+
+		final double[][] points = DiscrepancyMultiDimension.getFirstPoints(new HaltonSequence(new int[] { 2, 3 }), 40);
+		final DiscrepancyMultiDimension discrepancy = new DiscrepancyMultiDimension(points, 3);
+		double maximumOfLocalDiscrepancies = 0;
+		for (final double[] firstPoint : points) {
+			for (final double[] secondPoint : points) {
+				maximumOfLocalDiscrepancies = Math.max(maximumOfLocalDiscrepancies,
+						discrepancy.getLocalDiscrepancy(new double[] { firstPoint[0], secondPoint[1] }));
+				maximumOfLocalDiscrepancies = Math.max(maximumOfLocalDiscrepancies,
+						discrepancy.getLocalDiscrepancy(new double[] { firstPoint[0], 1.0 }));
+				maximumOfLocalDiscrepancies = Math.max(maximumOfLocalDiscrepancies,
+						discrepancy.getLocalDiscrepancy(new double[] { 1.0, secondPoint[1] }));
+			}
+		}
+		final double starDiscrepancy = discrepancy.getStarDiscrepancy();
+		Assert.assertEquals(maximumOfLocalDiscrepancies, starDiscrepancy, 1E-15);
+		Assert.assertTrue(discrepancy.getStarDiscrepancyLowerBound(20, 200, 1897) <= starDiscrepancy);
+	}
+
+	@Test
+	void testL2StarDiscrepancy() {
+		final double[][] points = DiscrepancyMultiDimension.getFirstPoints(new HaltonSequence(new int[] { 2, 3 }), 7);
+		// midpoint rule for the integral of (|{x_i \in [0,b)}|/n - b_1 b_2)^2
+		final int numberOfIntervals = 1000;
+		double integral = 0;
+		for (int k = 0; k < numberOfIntervals; k++) {
+			for (int l = 0; l < numberOfIntervals; l++) {
+				final double[] corner = { (k + 0.5) / numberOfIntervals, (l + 0.5) / numberOfIntervals };
+				int count = 0;
+				for (final double[] point : points) {
+					if (point[0] < corner[0] && point[1] < corner[1]) {
+						count++;
+					}
+				}
+				final double localDifference = (double) count / points.length - corner[0] * corner[1];
+				integral += localDifference * localDifference / (numberOfIntervals * numberOfIntervals);
+			}
+		}
+		final double oneThread = new DiscrepancyMultiDimension(points, 1).getL2StarDiscrepancy();
+		Assert.assertEquals(Math.sqrt(integral), oneThread, 1E-3);
+
+		final double[][] morePoints = DiscrepancyMultiDimension.getFirstPoints(new HaltonSequence(new int[] { 2, 3, 5 }),
+				1000);
+		Assert.assertEquals(new DiscrepancyMultiDimension(morePoints, 1).getL2StarDiscrepancy(),
+				new DiscrepancyMultiDimension(morePoints, 4).getL2StarDiscrepancy(), 0.0);
+	}
+
+	@Test
+	void testCancellation() {
+		final double[][] points = DiscrepancyMultiDimension.getFirstPoints(new HaltonSequence(new int[] { 2, 3 }), 10);
+		final DiscrepancyMultiDimension discrepancy = new DiscrepancyMultiDimension(points, 2);
+		discrepancy.cancel();
+		try {
+			discrepancy.getL2StarDiscrepancy();
+			Assert.fail("The computation should have been cancelled.");
+		} catch (final CancellationException exception) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.andreamazzon.exercise5.discrepancy;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.andreamazzon.exercise6.randomvariables.XoshiroRandomSource;
+
+/**
+ * This test class checks the discrepancy and the star discrepancy computed by
+ * DiscrepancyOneDimension against the ones computed by checking all the
+ * intervals whose ends are points of the set, and the ones updated by
+ * IncrementalDiscrepancyOneDimension against the ones computed from scratch.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class DiscrepancyOneDimensionTest {
+
+	@Test
+	void testAgainstAllIntervals() {
+		final XoshiroRandomSource randomSource = new XoshiroRandomSource(1897);
+		for (int numberOfPoints = 2; numberOfPoints < 60; numberOfPoints++) {
+			final double[] set = new double[numberOfPoints];
+			for (int i = 0; i < numberOfPoints; i++) {
+				// some equal points
+				set[i] = i % 7 == 3 ? set[i - 1] : randomSource.nextDouble();
+			}
+			final double[] copy = set.clone();
+			Assert.assertEquals(getDiscrepancyFromAllIntervals(set, false), DiscrepancyOneDimension.getDiscrepancy(set),
+					1E-14);
+			Assert.assertEquals(getDiscrepancyFromAllIntervals(set, true),
+					DiscrepancyOneDimension.getStarDiscrepancy(set), 1E-14);
+			Assert.assertArrayEquals(copy, set, 0.0);// the set is not sorted
+		}
+	}
+
+	@Test
+	void testIncrementalDiscrepancies() {
+		final XoshiroRandomSource randomSource = new XoshiroRandomSource(1897);
+		final double[] points = new double[700];
+		for (int i = 0; i < points.length; i++) {
+			points[i] = i % 11 == 5 ? points[i / 2] : randomSource.nextDouble();
+		}
+		final double[] starDiscrepancies = IncrementalDiscrepancyOneDimension.getStarDiscrepancies(points);
+		final double[] discrepancies = IncrementalDiscrepancyOneDimension.getDiscrepancies(points);
+		for (int n = 1; n <= points.length; n++) {
+			final double[] firstPoints = Arrays.copyOf(points, n);
+			Assert.assertEquals(DiscrepancyOneDimension.getStarDiscrepancy(firstPoints), starDiscrepancies[n - 1],
+					1E-12);
+			Assert.assertEquals(DiscrepancyOneDimension.getDiscrepancy(firstPoints), discrepancies[n - 1], 1E-12);
+		}
+	}
+
+	/*
+	 * It checks all the intervals [0,b], [0,b), [a,b], (a,b), [a,1), (a,1] with a,
+	 * b points of the set (only the first two if isStar is true): the maximum is
+	 * reached at one of them.
+	 */
+	private static double getDiscrepancyFromAllIntervals(double[] set, boolean isStar) {
+		final int n = set.length;
+		double discrepancy = 0;
+		for (final double b : set) {
+			discrepancy = Math.max(discrepancy, Math.abs(countPoints(set, 0, b, true, true) / (double) n - b));
+			discrepancy = Math.max(discrepancy, Math.abs(countPoints(set, 0, b, true, false) / (double) n - b));
+			if (isStar) {
+				continue;
+			}
+			for (final double a : set) {
+				if (a <= b) {
+					discrepancy = Math.max(discrepancy, countPoints(set, a, b, true, true) / (double) n - (b - a));
+					discrepancy = Math.max(discrepancy, (b - a) - countPoints(set, a, b, false, false) / (double) n);
+				}
+			}
+			discrepancy = Math.max(discrepancy, (1 - b) - countPoints(set, b, 1, false, false) / (double) n);
+		}
+		return discrepancy;
+	}
+
+	private static int countPoints(double[] set, double a, double b, boolean isLeftClosed, boolean isRightClosed) {
+		int count = 0;
+		for (final double x : set) {
+			if ((isLeftClosed ? x >= a : x > a) && (isRightClosed ? x <= b : x < b)) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
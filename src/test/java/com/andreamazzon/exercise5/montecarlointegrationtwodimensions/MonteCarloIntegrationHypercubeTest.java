@@ -0,0 +1,64 @@
+package com.andreamazzon.exercise5.montecarlointegrationtwodimensions;
+
+import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.ToDoubleFunction;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.andreamazzon.exercise6.randomvariables.XoshiroRandomSource;
+
+/**
+ * This test class checks that the Monte-Carlo integral in [0,1] x [0,1] does
+ * not depend on the way the integrand is given, when the same uniform numbers
+ * are used, and that the integral in [0,1]^d is close to the exact one.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class MonteCarloIntegrationHypercubeTest {
+
+	final int numberOfDrawings = 100001;// not a multiple of the size of the blocks
+	final long seed = 1897;
+
+	@Test
+	void testSameIntegralForDifferentIntegrands() {
+		final BiFunction<Double, Double, Double> boxedIntegrand = (x, y) -> x * y * y;
+		final DoubleBinaryOperator primitiveIntegrand = (x, y) -> x * y * y;
+		final ToDoubleFunction<double[]> integrandOfArray = point -> point[0] * point[1] * point[1];
+
+		final double boxedIntegral = new MonteCarloIntegrationTwoDimensions(boxedIntegrand, 1, numberOfDrawings)
+				.computeIntegral(new XoshiroRandomSource(seed));
+		final double primitiveIntegral = MonteCarloIntegrationTwoDimensions.fromPrimitive(primitiveIntegrand, 1,
+				numberOfDrawings).computeIntegral(new XoshiroRandomSource(seed));
+		// a lambda expression with implicit types of the parameters goes to the constructor with a BiFunction
+		final double integralOfLambda = new MonteCarloIntegrationTwoDimensions((x, y) -> x * y * y, 1,
+				numberOfDrawings).computeIntegral(new XoshiroRandomSource(seed));
+		final double integralOfArray = new MonteCarloIntegrationHypercube(integrandOfArray, 2, 1, numberOfDrawings)
+				.computeIntegral(new XoshiroRandomSource(seed));
+
+		Assert.assertEquals(boxedIntegral, primitiveIntegral, 0.0);
+		Assert.assertEquals(boxedIntegral, integralOfLambda, 0.0);
+		Assert.assertEquals(boxedIntegral, integralOfArray, 0.0);
+		Assert.assertEquals(1.0 / 6, boxedIntegral, 1E-2);
+	}
+
+	@Test
+	void testIntegralInHigherDimension() {
+		final int dimension = 5;
+		// the integral of x_1 + ... + x_d in [0,1]^d is d/2
+		final ToDoubleFunction<double[]> sum = point -> {
+			double value = 0;
+			for (final double coordinate : point) {
+				value += coordinate;
+			}
+			return value;
+		};
+		final double[] integrals = new MonteCarloIntegrationHypercube(sum, dimension, 8, numberOfDrawings, 4, seed)
+				.getComputations();
+		for (final double integral : integrals) {
+			Assert.assertEquals(dimension / 2.0, integral, 2E-2);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This test class checks that the realizations written by
+ * NormalRandomVariable.fillStandardNormal are the same as the ones generated
+ * one at a time from a source with the same seed, for all the generation
+ * methods, and that only the positions from offset to offset + length - 1 of
+ * the array are written.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class NormalRandomVariableTest {
+
+	final long seed = 1897;
+	final int offset = 3;
+	final int length = 1001;
+
+	@Test
+	void testFillMatchesGenerate() {
+		// inversion of the distribution function, as generate()
+		final NormalRandomVariable standardNormal = new NormalRandomVariable(0.0, 1.0, new XoshiroRandomSource(seed));
+		final double[] filled = filledArray(NormalGenerationMethods.INVERSECDF);
+		for (int i = 0; i < length; i++) {
+			Assert.assertEquals(standardNormal.generate(), filled[offset + i], 0.0);
+		}
+
+		// polar Box-Muller, as generateARBoxMuller(), which gives two realizations at a time
+		final NormalRandomVariable boxMuller = new NormalRandomVariable(0.0, 1.0, new XoshiroRandomSource(seed));
+		final double[] filledByBoxMuller = filledArray(NormalGenerationMethods.POLARBOXMULLER);
+		for (int i = 0; i < length - 1; i += 2) {
+			final double[] pair = boxMuller.generateARBoxMuller();
+			Assert.assertEquals(pair[0], filledByBoxMuller[offset + i], 0.0);
+			Assert.assertEquals(pair[1], filledByBoxMuller[offset + i + 1], 0.0);
+		}
+
+		// ziggurat: the same as one realization at a time
+		final RandomSource source = new XoshiroRandomSource(seed);
+		final double[] filledByZiggurat = filledArray(NormalGenerationMethods.ZIGGURAT);
+		final double[] oneRealization = new double[1];
+		for (int i = 0; i < length; i++) {
+			NormalRandomVariable.fillStandardNormal(oneRealization, 0, 1, source, NormalGenerationMethods.ZIGGURAT);
+			Assert.assertEquals(oneRealization[0], filledByZiggurat[offset + i], 0.0);
+		}
+	}
+
+	@Test
+	void testBounds() {
+		for (final NormalGenerationMethods method : NormalGenerationMethods.values()) {
+			final double[] filled = filledArray(method);
+			for (int i = 0; i < filled.length; i++) {
+				final boolean written = i >= offset && i < offset + length;
+				Assert.assertEquals(written, !Double.isNaN(filled[i]));
+			}
+			Assert.assertThrows(IllegalArgumentException.class, () -> NormalRandomVariable
+					.fillStandardNormal(new double[length], offset, length, new XoshiroRandomSource(seed), method));
+			Assert.assertThrows(IllegalArgumentException.class, () -> NormalRandomVariable
+					.fillStandardNormal(new double[length], -1, 1, new XoshiroRandomSource(seed), method));
+		}
+	}
+
+	/*
+	 * an array with NaN everywhere apart from the positions from offset to offset
+	 * + length - 1, where the realizations given by a source with the seed are
+	 * written
+	 */
+	private double[] filledArray(NormalGenerationMethods method) {
+		final double[] filled = new double[offset + length + 5];
+		Arrays.fill(filled, Double.NaN);
+		NormalRandomVariable.fillStandardNormal(filled, offset, length, new XoshiroRandomSource(seed), method);
+		return filled;
+	}
+}
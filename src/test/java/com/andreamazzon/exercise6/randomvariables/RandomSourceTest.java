@@ -0,0 +1,86 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.andreamazzon.exercise3.overflowlinearcongruentialgenerator.SkipAheadLinearCongruentialGenerator;
+
+/**
+ * This test class checks that the sources of uniform numbers are reproducible,
+ * that split() gives the expected blocks of the sequence, that random
+ * variables built with sources with the same seed give the same realizations,
+ * and the blocks of the counter-based generator Philox.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class RandomSourceTest {
+
+	final long seed = 1897;
+
+	@Test
+	void testSplitOfXoshiro() {
+		final SplittableRandomSource source = new XoshiroRandomSource(seed);
+		final SplittableRandomSource sameSeed = new XoshiroRandomSource(seed);
+		// the first source given by split() starts where the calling one was
+		final RandomSource firstSplit = source.split();
+		final RandomSource secondSplit = source.split();
+		for (int i = 0; i < 100; i++) {
+			final double number = firstSplit.nextDouble();
+			Assert.assertEquals(sameSeed.nextDouble(), number, 0.0);
+			Assert.assertNotEquals(number, secondSplit.nextDouble(), 0.0);
+			Assert.assertTrue(number >= 0 && number < 1);
+		}
+	}
+
+	@Test
+	void testSplitOfLinearCongruential() {
+		final SplittableRandomSource source = new LinearCongruentialRandomSource(seed);
+		final SkipAheadLinearCongruentialGenerator generator = new SkipAheadLinearCongruentialGenerator(seed);
+		final RandomSource firstSplit = source.split();
+		final RandomSource secondSplit = source.split();
+		final SkipAheadLinearCongruentialGenerator secondSubstream = generator.getSubstream(1,
+				LinearCongruentialRandomSource.SUBSTREAM_LENGTH);
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(generator.getNextDouble(), firstSplit.nextDouble(), 0.0);
+			Assert.assertEquals(secondSubstream.getNextDouble(), secondSplit.nextDouble(), 0.0);
+		}
+	}
+
+	@Test
+	void testReproducibleRealizations() {
+		final NormalRandomVariable first = new NormalRandomVariable(1.0, 2.0, new SplitMixRandomSource(seed));
+		final NormalRandomVariable second = new NormalRandomVariable(1.0, 2.0, new SplitMixRandomSource(seed));
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(first.generate(), second.generate(), 0.0);
+			Assert.assertArrayEquals(first.generateARBoxMuller(), second.generateARBoxMuller(), 0.0);
+			Assert.assertEquals(first.generateAR(), second.generateAR(), 0.0);
+		}
+	}
+
+	@Test
+	void testPhilox() {
+		// known answers from the reference implementation of Salmon et al.
+		Assert.assertArrayEquals(new int[] { 0x6627e8d5, 0xe169c58d, 0xbc57ac4c, 0x9b00dbd8 },
+				PhiloxRandomSource.getBlock(new int[] { 0, 0, 0, 0 }, new int[] { 0, 0 }));
+		Assert.assertArrayEquals(new int[] { 0x408f276d, 0x41c83b0e, 0xa20bc7c6, 0x6d5451fd },
+				PhiloxRandomSource.getBlock(new int[] { -1, -1, -1, -1 }, new int[] { -1, -1 }));
+		Assert.assertArrayEquals(new int[] { 0xd16cfe09, 0x94fdcceb, 0x5001e420, 0x24126ea1 },
+				PhiloxRandomSource.getBlock(new int[] { 0x243f6a88, 0x85a308d3, 0x13198a2e, 0x03707344 },
+						new int[] { 0xa4093822, 0x299f31d0 }));
+
+		// fill gives the same numbers as nextDouble, also starting in the middle of a block
+		final RandomSource source = new PhiloxRandomSource(seed, 3, 1, 4);
+		final RandomSource sameStream = new PhiloxRandomSource(seed, 3, 1, 4);
+		final double[] numbers = new double[10];
+		sameStream.nextDouble();
+		source.nextDouble();
+		sameStream.fill(numbers, 1, 7);
+		sameStream.fill(numbers, 8, 2);
+		for (int i = 1; i < numbers.length; i++) {
+			Assert.assertEquals(source.nextDouble(), numbers[i], 0.0);
+		}
+		Assert.assertNotEquals(new PhiloxRandomSource(seed, 3, 1, 5).nextDouble(),
+				new PhiloxRandomSource(seed, 3, 1, 4).nextDouble(), 0.0);
+	}
+}
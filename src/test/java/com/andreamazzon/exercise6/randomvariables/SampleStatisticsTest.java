@@ -0,0 +1,62 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This test class checks the statistics computed in one pass by SampleStatistics
+ * against the ones computed from the whole sample, and that merging the
+ * statistics of two parts of the sample or generating it with more threads
+ * gives the same result.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class SampleStatisticsTest {
+
+	final long seed = 1897;
+
+	@Test
+	void testAgainstTwoPasses() {
+		final int n = 10001;
+		final double[] sample = new double[n];
+		final ExponentialRandomVariable exponential = new ExponentialRandomVariable(0.5, new XoshiroRandomSource(seed));
+		for (int i = 0; i < n; i++) {
+			sample[i] = exponential.generate();
+		}
+
+		final SampleStatistics firstPart = new SampleStatistics();
+		final SampleStatistics secondPart = new SampleStatistics();
+		double mean = 0;
+		for (int i = 0; i < n; i++) {
+			(i < 3000 ? firstPart : secondPart).add(sample[i]);
+			mean += sample[i] / n;
+		}
+		double second = 0, third = 0, fourth = 0;
+		for (final double value : sample) {
+			final double difference = value - mean;
+			second += difference * difference / n;
+			third += difference * difference * difference / n;
+			fourth += difference * difference * difference * difference / n;
+		}
+
+		final SampleStatistics statistics = firstPart.merge(secondPart);
+		Assert.assertEquals(n, statistics.getNumberOfValues());
+		Assert.assertEquals(mean, statistics.getMean(), 1E-12);
+		Assert.assertEquals(second, statistics.getVariance(), 1E-10);
+		Assert.assertEquals(third / Math.pow(second, 1.5), statistics.getSkewness(), 1E-10);
+		Assert.assertEquals(fourth / (second * second) - 3, statistics.getKurtosis(), 1E-10);
+	}
+
+	@Test
+	void testSameStatisticsForDifferentNumbersOfThreads() {
+		final int n = 300000;// more than one block
+		final SampleStatistics oneThread = new NormalRandomVariable(1.0, 2.0, new SplitMixRandomSource(seed))
+				.getSampleStatistics(n, 1);
+		final SampleStatistics threeThreads = new NormalRandomVariable(1.0, 2.0, new SplitMixRandomSource(seed))
+				.getSampleStatistics(n, 3);
+		Assert.assertEquals(oneThread.getMean(), threeThreads.getMean(), 0.0);
+		Assert.assertEquals(oneThread.getStandardDeviation(), threeThreads.getStandardDeviation(), 0.0);
+		Assert.assertEquals(oneThread.getMax(), threeThreads.getMax(), 0.0);
+	}
+}
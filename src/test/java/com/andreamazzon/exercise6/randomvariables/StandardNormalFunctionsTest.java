@@ -0,0 +1,38 @@
+package com.andreamazzon.exercise6.randomvariables;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This test class checks the cumulative distribution function and the quantile
+ * function of StandardNormalFunctions against some known values, and that the
+ * two are one the inverse of the other.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class StandardNormalFunctionsTest {
+
+	@Test
+	void testKnownValues() {
+		Assert.assertEquals(0.5, StandardNormalFunctions.cumulativeDistribution(0.0), 0.0);
+		Assert.assertEquals(0.9750021048517795, StandardNormalFunctions.cumulativeDistribution(1.96), 1E-15);
+		Assert.assertEquals(7.61985302416047e-24, StandardNormalFunctions.cumulativeDistribution(-10.0), 1E-36);
+		Assert.assertEquals(1.959963984540054, StandardNormalFunctions.inverseCumulativeDistribution(0.975), 1E-14);
+		Assert.assertEquals(-4.753424308822899, StandardNormalFunctions.inverseCumulativeDistribution(1E-6), 1E-13);
+		Assert.assertEquals(Double.NEGATIVE_INFINITY, StandardNormalFunctions.inverseCumulativeDistribution(0.0), 0.0);
+	}
+
+	@Test
+	void testRoundTrip() {
+		final double[] values = new double[999];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = (i + 1) / 1000.0;
+		}
+		StandardNormalFunctions.inverseCumulativeDistribution(values, 0, values.length);
+		StandardNormalFunctions.cumulativeDistribution(values, 0, values.length);
+		for (int i = 0; i < values.length; i++) {
+			Assert.assertEquals((i + 1) / 1000.0, values[i], 1E-15);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.andreamazzon.exercise8.brownianmotion;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * This test class checks that the factorizations used by
+ * CorrelatedBrownianMotion give back the correlation matrix, also when it is
+ * only positive semidefinite, and that the increments it generates have the
+ * given correlation.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class CorrelatedBrownianMotionTest {
+
+	@Test
+	void testFactorizations() {
+		final double[][] correlation = { { 1.0, -1.0, 0.5 }, { -1.0, 1.0, -0.5 }, { 0.5, -0.5, 1.0 } };
+		for (final FactorizationMethods method : FactorizationMethods.values()) {
+			final double[][] factorMatrix = CorrelatedBrownianMotion.getFactorMatrix(correlation, method, 3);
+			for (int a = 0; a < 3; a++) {
+				for (int b = 0; b < 3; b++) {
+					double product = 0;
+					for (int k = 0; k < 3; k++) {
+						product += factorMatrix[a][k] * factorMatrix[b][k];
+					}
+					Assert.assertEquals(correlation[a][b], product, 1E-10);
+				}
+			}
+			// the matrix given by the cache is a copy
+			factorMatrix[0][0] = Double.NaN;
+			Assert.assertFalse(
+					Double.isNaN(CorrelatedBrownianMotion.getFactorMatrix(correlation, method, 3)[0][0]));
+		}
+	}
+
+	@Test
+	void testCorrelationOfIncrements() {
+		final int numberOfPaths = 50000;
+		final double deltaT = 0.1;
+		final TimeDiscretization times = new TimeDiscretizationFromArray(0.0, 5, deltaT);
+		final double[][] correlation = { { 1.0, 0.8, -0.3 }, { 0.8, 1.0, 0.1 }, { -0.3, 0.1, 1.0 } };
+		final CorrelatedBrownianMotion brownianMotion = new CorrelatedBrownianMotion(times, correlation,
+				FactorizationMethods.CHOLESKY, 3, numberOfPaths, 2, 1897);
+
+		for (int timeIndex = 0; timeIndex < times.getNumberOfTimeSteps(); timeIndex++) {
+			for (int a = 0; a < 3; a++) {
+				final RandomVariable first = brownianMotion.getBrownianIncrement(timeIndex, a);
+				for (int b = 0; b < 3; b++) {
+					final RandomVariable second = brownianMotion.getBrownianIncrement(timeIndex, b);
+					final double covariance = first.mult(second).getAverage()
+							- first.getAverage() * second.getAverage();
+					Assert.assertEquals(correlation[a][b] * deltaT, covariance, 0.02 * deltaT);
+				}
+			}
+		}
+	}
+}
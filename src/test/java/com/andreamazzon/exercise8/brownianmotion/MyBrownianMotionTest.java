@@ -0,0 +1,180 @@
+package com.andreamazzon.exercise8.brownianmotion;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.andreamazzon.exercise4.SobolSequence;
+
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * This test class checks that the paths of MyBrownianMotion are the sums of its
+ * increments, both when they are all computed and for a single path, that the
+ * values given for a single path are the ones of the random variables, that the
+ * increments have the right mean and variance, that they do not depend on
+ * the number of threads which generate them, and the paths built by the
+ * Brownian bridge and from a Sobol sequence, whose dimension must fit the
+ * number of time steps and factors. It also checks that indices out of range
+ * are not accepted by the getters.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class MyBrownianMotionTest {
+
+	@Test
+	void testPathsAndIncrements() {
+		final int numberOfTimeSteps = 20;
+		final int numberOfFactors = 3;
+		final int numberOfPaths = 10000;
+		final double deltaT = 0.05;
+		final MyBrownianMotion brownianMotion = new MyBrownianMotion(0.0, numberOfTimeSteps, deltaT,
+				numberOfFactors, numberOfPaths);
+
+		final RandomVariable[][] increments = brownianMotion.getBrownianIncrements();
+		final RandomVariable[][] paths = brownianMotion.getAllThePaths();
+		Assert.assertEquals(numberOfTimeSteps, increments.length);
+		Assert.assertEquals(numberOfTimeSteps + 1, paths.length);
+
+		for (int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
+			Assert.assertTrue(paths[0][factorIndex].isDeterministic());
+			for (int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
+				final RandomVariable increment = increments[timeIndex][factorIndex];
+				Assert.assertEquals(0.0, increment.getAverage(), 5 * Math.sqrt(deltaT / numberOfPaths));
+				Assert.assertEquals(deltaT, increment.getVariance(), 0.1 * deltaT);
+				Assert.assertEquals(0.0,
+						paths[timeIndex + 1][factorIndex].sub(paths[timeIndex][factorIndex]).sub(increment)
+								.getStandardDeviation(),
+						1E-12);
+			}
+			final double[] specificPath = brownianMotion.getSpecificPath(factorIndex, 17);
+			for (int timeIndex = 0; timeIndex <= numberOfTimeSteps; timeIndex++) {
+				Assert.assertEquals(brownianMotion.getSimulations(timeIndex, factorIndex).get(17),
+						specificPath[timeIndex], 1E-12);
+				Assert.assertEquals(brownianMotion.getSimulations(timeIndex, factorIndex).get(17),
+						brownianMotion.getSimulation(timeIndex, factorIndex, 17), 0.0);
+			}
+			for (int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
+				Assert.assertEquals(increments[timeIndex][factorIndex].get(17),
+						brownianMotion.getBrownianIncrement(timeIndex, factorIndex, 17), 0.0);
+			}
+		}
+	}
+
+	@Test
+	void testIndependenceFromNumberOfThreads() {
+		// more than one block of paths and more than one task for every factor
+		final int numberOfPaths = MyBrownianMotion.NUMBER_OF_PATHS_PER_BLOCK + 100;
+		final MyBrownianMotion sequential = new MyBrownianMotion(0.0, 100, 0.01, 2, numberOfPaths, 1, 1897);
+		final MyBrownianMotion parallel = new MyBrownianMotion(0.0, 100, 0.01, 2, numberOfPaths, 3, 1897);
+		for (int timeIndex = 0; timeIndex < 100; timeIndex += 33) {
+			for (int factorIndex = 0; factorIndex < 2; factorIndex++) {
+				Assert.assertArrayEquals(sequential.getBrownianIncrement(timeIndex, factorIndex).getRealizations(),
+						parallel.getBrownianIncrement(timeIndex, factorIndex).getRealizations(), 0.0);
+			}
+		}
+	}
+
+	@Test
+	void testBrownianBridge() {
+		final TimeDiscretization times = new TimeDiscretizationFromArray(0.0, 0.1, 0.15, 0.4, 0.5, 0.9, 1.0, 1.3);
+		final int numberOfPaths = 20000;
+		final MyBrownianMotion byIncrements = new MyBrownianMotion(times, 2, numberOfPaths, 1, 1897,
+				PathConstructionMethods.INCREMENTS);
+		final MyBrownianMotion byBridge = new MyBrownianMotion(times, 2, numberOfPaths, 2, 1897,
+				PathConstructionMethods.BROWNIANBRIDGE);
+
+		// the final value of the bridge is given by the first normal realization of the path
+		final int finalIndex = times.getNumberOfTimeSteps();
+		final RandomVariable finalValues = byBridge.getSimulations(finalIndex, 1);
+		final RandomVariable firstIncrements = byIncrements.getBrownianIncrement(0, 1);
+		final double ratio = Math.sqrt(times.getTime(finalIndex) / times.getTimeStep(0));
+		for (int i = 0; i < numberOfPaths; i += 997) {
+			Assert.assertEquals(ratio * firstIncrements.get(i), finalValues.get(i), 1E-12);
+		}
+
+		// B_{t_j} has variance t_j, and the increments are uncorrelated
+		for (int timeIndex = 1; timeIndex <= finalIndex; timeIndex++) {
+			Assert.assertEquals(times.getTime(timeIndex), byBridge.getSimulations(timeIndex, 0).getVariance(),
+					0.05 * times.getTime(timeIndex));
+		}
+		for (int timeIndex = 1; timeIndex < finalIndex; timeIndex++) {
+			final RandomVariable increment = byBridge.getBrownianIncrement(timeIndex, 0);
+			final RandomVariable previousIncrement = byBridge.getBrownianIncrement(timeIndex - 1, 0);
+			Assert.assertEquals(0.0, increment.mult(previousIncrement).getAverage(),
+					5 * Math.sqrt(times.getTimeStep(timeIndex) * times.getTimeStep(timeIndex - 1) / numberOfPaths));
+		}
+	}
+
+	@Test
+	void testQuasiMonteCarloPaths() {
+		final int numberOfTimeSteps = 16;
+		final TimeDiscretization times = new TimeDiscretizationFromArray(0.0, numberOfTimeSteps, 1.0 / numberOfTimeSteps);
+		final int numberOfPaths = 1 << 12;
+		final double[] errorsOfSecondMoment = new double[2];
+		for (final PathConstructionMethods method : PathConstructionMethods.values()) {
+			final MyBrownianMotion brownianMotion = new MyBrownianMotion(times, 1, numberOfPaths, method,
+					StandardNormalVectorSource.fromLowDiscrepancySequence(new SobolSequence(numberOfTimeSteps)));
+			final RandomVariable finalValues = brownianMotion.getSimulations(numberOfTimeSteps, 0);
+			Assert.assertEquals(0.0, finalValues.getAverage(), 1E-2);
+			errorsOfSecondMoment[method.ordinal()] = Math.abs(finalValues.squared().getAverage() - 1.0);
+		}
+		// with the bridge, the final value only depends on the first coordinate of the Sobol points
+		Assert.assertTrue(errorsOfSecondMoment[PathConstructionMethods.BROWNIANBRIDGE.ordinal()] < 2E-3);
+		Assert.assertTrue(errorsOfSecondMoment[PathConstructionMethods.INCREMENTS.ordinal()] < 5E-2);
+
+		// the vectors must have one coordinate for every time step and factor
+		Assert.assertThrows(IllegalArgumentException.class, () -> new MyBrownianMotion(times, 2, numberOfPaths,
+				PathConstructionMethods.INCREMENTS,
+				StandardNormalVectorSource.fromLowDiscrepancySequence(new SobolSequence(numberOfTimeSteps))));
+	}
+
+	@Test
+	void testIndicesOutOfRange() {
+		final int numberOfTimeSteps = 5;
+		final int numberOfFactors = 2;
+		final int numberOfPaths = 10;
+		final MyBrownianMotion brownianMotion = new MyBrownianMotion(0.0, numberOfTimeSteps, 0.1, numberOfFactors,
+				numberOfPaths);
+
+		// the last increment is the one of the time step numberOfTimeSteps - 1
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> brownianMotion.getBrownianIncrement(numberOfTimeSteps, 0));
+		Assert.assertThrows(IllegalArgumentException.class, () -> brownianMotion.getBrownianIncrement(-1, 0));
+		// this would be the first factor of the next time step in the stored rows
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> brownianMotion.getBrownianIncrement(0, numberOfFactors));
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> brownianMotion.getBrownianIncrement(0, 0, numberOfPaths));
+		Assert.assertThrows(IllegalArgumentException.class, () -> brownianMotion.getBrownianIncrement(0, 0, -1));
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> brownianMotion.getBrownianIncrement(numberOfTimeSteps, 0, 0));
+
+		// the last value of the paths is the one at time numberOfTimeSteps
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> brownianMotion.getSimulations(numberOfTimeSteps + 1, 0));
+		Assert.assertThrows(IllegalArgumentException.class, () -> brownianMotion.getSimulations(-1, 0));
+		Assert.assertThrows(IllegalArgumentException.class, () -> brownianMotion.getSimulations(0, numberOfFactors));
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> brownianMotion.getSimulations(numberOfTimeSteps, numberOfFactors));
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> brownianMotion.getSimulation(numberOfTimeSteps, 0, numberOfPaths));
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> brownianMotion.getSimulation(0, numberOfFactors, 0));
+		Assert.assertThrows(IllegalArgumentException.class, () -> brownianMotion.getSimulation(0, 0, -1));
+
+		Assert.assertThrows(IllegalArgumentException.class, () -> brownianMotion.getPathsForFactor(numberOfFactors));
+		Assert.assertThrows(IllegalArgumentException.class, () -> brownianMotion.getSpecificPath(0, numberOfPaths));
+		Assert.assertThrows(IllegalArgumentException.class, () -> brownianMotion.getSpecificPath(-1, 0));
+
+		// the last indices are still accepted
+		Assert.assertEquals(brownianMotion.getSimulations(numberOfTimeSteps, numberOfFactors - 1).get(numberOfPaths - 1),
+				brownianMotion.getSimulation(numberOfTimeSteps, numberOfFactors - 1, numberOfPaths - 1), 0.0);
+		Assert.assertEquals(
+				brownianMotion.getBrownianIncrement(numberOfTimeSteps - 1, numberOfFactors - 1).get(numberOfPaths - 1),
+				brownianMotion.getBrownianIncrement(numberOfTimeSteps - 1, numberOfFactors - 1, numberOfPaths - 1),
+				0.0);
+	}
+}
@@ -0,0 +1,85 @@
+package com.andreamazzon.exercise8.brownianmotion;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * This test class checks that the increments given by
+ * WindowedBrownianIncrements are the same as the ones of MyBrownianMotion with
+ * the same seed, also when the windows are removed and generated again, that
+ * the same holds for the increments of CorrelatedBrownianMotion, and that
+ * indices out of range are not accepted.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class WindowedBrownianIncrementsTest {
+
+	@Test
+	void testSameIncrementsAsFullGeneration() {
+		final int numberOfTimeSteps = 23;// the last window is shorter
+		final int numberOfFactors = 2;
+		final int numberOfPaths = MyBrownianMotion.NUMBER_OF_PATHS_PER_BLOCK + 100;
+		final TimeDiscretization times = new TimeDiscretizationFromArray(0.0, numberOfTimeSteps, 0.1);
+		final MyBrownianMotion brownianMotion = new MyBrownianMotion(times, numberOfFactors, numberOfPaths, 1,
+				1897);
+		final WindowedBrownianIncrements windowedIncrements = brownianMotion.getWindowedIncrements(5, 2);
+
+		// forward, then backward, so that the first windows have been removed
+		for (int pass = 0; pass < 2; pass++) {
+			for (int step = 0; step < numberOfTimeSteps; step++) {
+				final int timeIndex = pass == 0 ? step : numberOfTimeSteps - 1 - step;
+				for (int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
+					final double[] expected = brownianMotion.getBrownianIncrement(timeIndex, factorIndex)
+							.getRealizations();
+					final double[] actual = windowedIncrements.getBrownianIncrement(timeIndex, factorIndex)
+							.getRealizations();
+					Assert.assertArrayEquals(expected, actual, 0.0);
+					Assert.assertEquals(expected[numberOfPaths - 1],
+							windowedIncrements.getBrownianIncrement(timeIndex, factorIndex, numberOfPaths - 1), 0.0);
+				}
+			}
+		}
+		// five windows forward, then the three generated again backward
+		Assert.assertEquals(8, windowedIncrements.getNumberOfGeneratedWindows());
+	}
+
+	@Test
+	void testCorrelatedIncrements() {
+		final int numberOfTimeSteps = 12;
+		final int numberOfPaths = 1000;
+		final TimeDiscretization times = new TimeDiscretizationFromArray(0.0, numberOfTimeSteps, 0.1);
+		final double[][] correlation = { { 1.0, 0.8, -0.3 }, { 0.8, 1.0, 0.1 }, { -0.3, 0.1, 1.0 } };
+		final CorrelatedBrownianMotion brownianMotion = new CorrelatedBrownianMotion(times, correlation,
+				FactorizationMethods.PCA, 2, numberOfPaths, 1, 1897);
+		final WindowedBrownianIncrements windowedIncrements = brownianMotion.getWindowedIncrements(5, 1);
+
+		Assert.assertEquals(3, windowedIncrements.getNumberOfFactors());
+		for (int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
+			for (int factorIndex = 0; factorIndex < 3; factorIndex++) {
+				Assert.assertArrayEquals(brownianMotion.getBrownianIncrement(timeIndex, factorIndex).getRealizations(),
+						windowedIncrements.getBrownianIncrement(timeIndex, factorIndex).getRealizations(), 0.0);
+			}
+		}
+		Assert.assertEquals(3, windowedIncrements.getNumberOfGeneratedWindows());
+	}
+
+	@Test
+	void testIndicesOutOfRange() {
+		final TimeDiscretization times = new TimeDiscretizationFromArray(0.0, 10, 0.1);
+		final WindowedBrownianIncrements windowedIncrements = new MyBrownianMotion(times, 2, 100, 1, 1897)
+				.getWindowedIncrements(5, 2);
+		Assert.assertThrows(IllegalArgumentException.class, () -> windowedIncrements.getBrownianIncrement(10, 0));
+		Assert.assertThrows(IllegalArgumentException.class, () -> windowedIncrements.getBrownianIncrement(0, 2));
+		Assert.assertThrows(IllegalArgumentException.class, () -> windowedIncrements.getBrownianIncrement(0, -1, 0));
+		Assert.assertThrows(IllegalArgumentException.class, () -> windowedIncrements.getBrownianIncrement(0, 0, 100));
+		// the windows of the independent increments of the bridge cannot be generated
+		final CorrelatedBrownianMotion correlated = new CorrelatedBrownianMotion(
+				new MyBrownianMotion(times, 2, 100, 1, 1897, PathConstructionMethods.BROWNIANBRIDGE),
+				new double[][] { { 1.0, 0.5 }, { 0.5, 1.0 } }, FactorizationMethods.CHOLESKY, 1);
+		Assert.assertThrows(IllegalStateException.class, () -> correlated.getWindowedIncrements(5, 2));
+	}
+}
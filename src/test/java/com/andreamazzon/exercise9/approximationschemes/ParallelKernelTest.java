@@ -0,0 +1,83 @@
+package com.andreamazzon.exercise9.approximationschemes;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * This test class checks that the paths generated by the parallel kernel of AbstractSimulation are the
+ * same for different numbers of threads, that they do not change if only the realizations at some time
+ * indices are stored, that only existing time indices can be stored, and that the fused kernel gives the
+ * same paths as the generation based on operations on RandomVariable objects.
+ *
+ * @author Andrea Mazzon
+ *
+ */
+class ParallelKernelTest {
+
+	final int numberOfSimulations = 10000;//more than one chunk of paths
+
+	final double initialPrice = 100.0;
+	final double riskFreeRate = 0.04;
+	final double volatility = 0.25;
+
+	final double initialTime = 0;
+	final double timeHorizon = 1.0;
+	final int numberOfTimeSteps = 50;
+	final TimeDiscretization times = new TimeDiscretizationFromArray(initialTime,
+			numberOfTimeSteps, timeHorizon / numberOfTimeSteps);
+
+	final int seed = 1897;
+
+	@Test
+	void testSamePathsForDifferentNumbersOfThreads() {
+		final AbstractSimulation singleThread = new MilsteinSchemeForBlackScholes(numberOfSimulations, volatility,
+				riskFreeRate, initialPrice, seed, times);
+		singleThread.setKernelConfiguration(KernelConfiguration.parallelKernel(1));
+		final AbstractSimulation multiThread = new MilsteinSchemeForBlackScholes(numberOfSimulations, volatility,
+				riskFreeRate, initialPrice, seed, times);
+		multiThread.setKernelConfiguration(KernelConfiguration.parallelKernel(4));
+
+		for (int timeIndex = 0; timeIndex < times.getNumberOfTimes(); timeIndex++) {
+			Assert.assertArrayEquals(singleThread.getProcessAtGivenTimeIndex(timeIndex).getRealizations(),
+					multiThread.getProcessAtGivenTimeIndex(timeIndex).getRealizations(), 0.0);
+		}
+	}
+
+	@Test
+	void testStoredTimeIndices() {
+		final AbstractSimulation allThePaths = new LogEulerSchemeForBlackScholes(numberOfSimulations, volatility,
+				riskFreeRate, initialPrice, seed, times);
+		allThePaths.setKernelConfiguration(KernelConfiguration.parallelKernel(2));
+		final AbstractSimulation someTimes = new LogEulerSchemeForBlackScholes(numberOfSimulations, volatility,
+				riskFreeRate, initialPrice, seed, times);
+		someTimes.setKernelConfiguration(KernelConfiguration.parallelKernel(3, new int[] { 10 }));
+
+		Assert.assertArrayEquals(allThePaths.getProcessAtGivenTimeIndex(10).getRealizations(),
+				someTimes.getProcessAtGivenTimeIndex(10).getRealizations(), 0.0);
+		Assert.assertArrayEquals(allThePaths.getFinalValue().getRealizations(),
+				someTimes.getFinalValue().getRealizations(), 0.0);
+		Assert.assertFalse(someTimes.isTimeIndexStored(20));
+		// in streaming mode the paths are not stored
+		Assert.assertThrows(IllegalStateException.class, () -> someTimes.getPathForGivenSimulation(0));
+		// a time index which does not exist cannot be stored
+		final AbstractSimulation wrongTimes = new LogEulerSchemeForBlackScholes(numberOfSimulations, volatility,
+				riskFreeRate, initialPrice, seed, times);
+		Assert.assertThrows(IllegalArgumentException.class, () -> wrongTimes
+				.setKernelConfiguration(KernelConfiguration.parallelKernel(1, new int[] { numberOfTimeSteps + 1 })));
+	}
+
+	@Test
+	void testFusedKernel() {
+		final AbstractSimulation withRandomVariables = new EulerSchemeForBlackScholes(numberOfSimulations,
+				volatility, riskFreeRate, initialPrice, seed, times);
+		final AbstractSimulation withFusedKernel = new EulerSchemeForBlackScholes(numberOfSimulations,
+				volatility, riskFreeRate, initialPrice, seed, times);
+		withFusedKernel.setKernelConfiguration(KernelConfiguration.fusedKernel());
+
+		Assert.assertArrayEquals(withRandomVariables.getFinalValue().getRealizations(),
+				withFusedKernel.getFinalValue().getRealizations(), 0.0);
+	}
+}